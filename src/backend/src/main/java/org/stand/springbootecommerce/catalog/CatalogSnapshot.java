@@ -0,0 +1,314 @@
+package org.stand.springbootecommerce.catalog;
+
+import org.stand.springbootecommerce.catalog.store.MappedProductStore;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * One version of the catalog: every product and category, by id, in id order and, for products,
+ * by category as a sorted array of ids.
+ * <p>
+ * Never modified once built: a write returns a new snapshot sharing what it does not change, so
+ * readers holding this one keep a consistent view without locking. Products and categories are
+ * plain copies detached from any persistence context, with the category of each product resolved,
+ * and are treated as read-only.
+ * <p>
+ * Products are held on the heap, or read from a {@link MappedProductStore} when the catalog is too
+ * large for that; reads return the same products either way.
+ */
+public final class CatalogSnapshot {
+
+    public static final CatalogSnapshot EMPTY = of(0, List.of(), List.of());
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final long version;
+    private final ProductTable products;
+    private final Map<Long, ProductCategory> categoriesById;
+    private final Map<String, ProductCategory> categoriesByName;
+    private final List<ProductCategory> categories;
+    private final Map<Long, long[]> productIdsByCategory;
+    private final LongFunction<ProductCategory> categoryOf = this::categoryOf;
+
+    private CatalogSnapshot(long version, ProductTable products,
+            Map<Long, ProductCategory> categoriesById, Map<String, ProductCategory> categoriesByName,
+            List<ProductCategory> categories, Map<Long, long[]> productIdsByCategory) {
+        this.version = version;
+        this.products = products;
+        this.categoriesById = categoriesById;
+        this.categoriesByName = categoriesByName;
+        this.categories = categories;
+        this.productIdsByCategory = productIdsByCategory;
+    }
+
+    public static CatalogSnapshot of(long version, Collection<Product> products,
+            Collection<ProductCategory> categories) {
+        Map<Long, ProductCategory> categoriesById = new HashMap<>();
+        categories.forEach(category -> categoriesById.put(category.getId(), copy(category)));
+        Map<Long, Product> productsById = new HashMap<>();
+        for (Product product : products) {
+            ProductCategory category = product.getCategory() == null ? null
+                    : categoriesById.computeIfAbsent(product.getCategory().getId(),
+                            id -> copy(product.getCategory()));
+            productsById.put(product.getId(), copy(product, category));
+        }
+        Map<Long, List<Long>> idsByCategory = new HashMap<>();
+        productsById.values().stream()
+                .filter(product -> product.getCategory() != null)
+                .forEach(product -> idsByCategory
+                        .computeIfAbsent(product.getCategory().getId(), id -> new ArrayList<>())
+                        .add(product.getId()));
+        Map<Long, long[]> productIdsByCategory = new HashMap<>();
+        idsByCategory.forEach((categoryId, ids) ->
+                productIdsByCategory.put(categoryId, ids.stream().mapToLong(Long::longValue).sorted().toArray()));
+        return new CatalogSnapshot(version,
+                HeapProductTable.of(productsById.values()),
+                Map.copyOf(categoriesById),
+                byName(categoriesById.values()),
+                sortedById(categoriesById.values(), ProductCategory::getId),
+                Map.copyOf(productIdsByCategory));
+    }
+
+    /**
+     * The catalog of the products appended to a store, which later writes are appended to as well.
+     */
+    public static CatalogSnapshot of(long version, MappedProductStore store,
+            Collection<ProductCategory> categories) {
+        Map<Long, ProductCategory> categoriesById = new HashMap<>();
+        categories.forEach(category -> categoriesById.put(category.getId(), copy(category)));
+        MappedProductTable products = MappedProductTable.of(store);
+        // Per-category arrays from the category column, in two passes so no id is boxed
+        Map<Long, int[]> counts = new HashMap<>();
+        for (int position = 0; position < products.size(); position++) {
+            long categoryId = products.categoryIdAt(position);
+            if (categoryId != 0) {
+                counts.computeIfAbsent(categoryId, id -> new int[1])[0]++;
+            }
+        }
+        Map<Long, long[]> productIdsByCategory = new HashMap<>();
+        counts.forEach((categoryId, count) -> productIdsByCategory.put(categoryId, new long[count[0]]));
+        counts.values().forEach(count -> count[0] = 0);
+        for (int position = 0; position < products.size(); position++) {
+            long categoryId = products.categoryIdAt(position);
+            if (categoryId != 0) {
+                productIdsByCategory.get(categoryId)[counts.get(categoryId)[0]++] = products.idAt(position);
+            }
+        }
+        return new CatalogSnapshot(version,
+                products,
+                Map.copyOf(categoriesById),
+                byName(categoriesById.values()),
+                sortedById(categoriesById.values(), ProductCategory::getId),
+                Map.copyOf(productIdsByCategory));
+    }
+
+    /**
+     * This catalog with the product added, or replacing the one with its id, as the next version.
+     */
+    public CatalogSnapshot withProduct(Product product) {
+        CatalogSnapshot base = product.getCategory() == null
+                || categoriesById.containsKey(product.getCategory().getId())
+                ? this : withCategory(product.getCategory());
+        ProductCategory category = product.getCategory() == null ? null
+                : base.categoriesById.get(product.getCategory().getId());
+        long id = product.getId();
+        Product replaced = base.products.get(id, base.categoryOf);
+
+        // The map of arrays by category is copied, but only the arrays of the categories it leaves
+        // and joins
+        Map<Long, long[]> productIdsByCategory = new HashMap<>(base.productIdsByCategory);
+        if (replaced != null && replaced.getCategory() != null) {
+            productIdsByCategory.computeIfPresent(replaced.getCategory().getId(), (categoryId, ids) -> without(ids, id));
+        }
+        if (category != null) {
+            productIdsByCategory.put(category.getId(),
+                    with(productIdsByCategory.getOrDefault(category.getId(), NO_IDS), id));
+        }
+        return new CatalogSnapshot(version + 1, base.products.with(product, category),
+                base.categoriesById, base.categoriesByName, base.categories, Map.copyOf(productIdsByCategory));
+    }
+
+    /**
+     * This catalog with the category added, or replacing the one with its id, as the next version.
+     * Products held on the heap keep the copy of their category they were added with until they
+     * are replaced.
+     */
+    public CatalogSnapshot withCategory(ProductCategory category) {
+        Map<Long, ProductCategory> categoriesById = new HashMap<>(this.categoriesById);
+        categoriesById.put(category.getId(), copy(category));
+        return new CatalogSnapshot(version + 1, products,
+                Map.copyOf(categoriesById),
+                byName(categoriesById.values()),
+                sortedById(categoriesById.values(), ProductCategory::getId),
+                productIdsByCategory);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Optional<Product> product(long id) {
+        return Optional.ofNullable(products.get(id, categoryOf));
+    }
+
+    /**
+     * Every product, in id order.
+     */
+    public List<Product> products() {
+        return new TableList(products, categoryOf);
+    }
+
+    public List<Product> products(long offset, int limit) {
+        int from = (int) Math.min(offset, products.size());
+        int to = (int) Math.min((long) from + limit, products.size());
+        List<Product> found = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            found.add(products.at(i, categoryOf));
+        }
+        return found;
+    }
+
+    /**
+     * The products with the given ids that exist, in the order of the ids.
+     */
+    public List<Product> products(Collection<Long> ids) {
+        List<Product> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Product product = id == null ? null : products.get(id, categoryOf);
+            if (product != null) {
+                found.add(product);
+            }
+        }
+        return found;
+    }
+
+    public int productCount() {
+        return products.size();
+    }
+
+    /**
+     * Products of a category, in id order.
+     */
+    public List<Product> productsInCategory(long categoryId) {
+        return productsInCategory(categoryId, 0, Integer.MAX_VALUE);
+    }
+
+    public List<Product> productsInCategory(long categoryId, long offset, int limit) {
+        long[] ids = productIdsByCategory.getOrDefault(categoryId, NO_IDS);
+        int from = (int) Math.min(offset, ids.length);
+        int to = (int) Math.min((long) from + limit, ids.length);
+        List<Product> found = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            found.add(products.get(ids[i], categoryOf));
+        }
+        return found;
+    }
+
+    public int productCount(long categoryId) {
+        return productIdsByCategory.getOrDefault(categoryId, NO_IDS).length;
+    }
+
+    /**
+     * Every category, in id order.
+     */
+    public List<ProductCategory> categories() {
+        return categories;
+    }
+
+    public Optional<ProductCategory> category(long id) {
+        return Optional.ofNullable(categoriesById.get(id));
+    }
+
+    public Optional<ProductCategory> category(String name) {
+        return Optional.ofNullable(categoriesByName.get(name));
+    }
+
+    static Product copy(Product product, ProductCategory category) {
+        return Product.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .shortDescription(product.getShortDescription())
+                .quantity(product.getQuantity())
+                .price(product.getPrice())
+                .image(product.getImage())
+                .category(category)
+                .build();
+    }
+
+    private static ProductCategory copy(ProductCategory category) {
+        return ProductCategory.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .build();
+    }
+
+    // A stored product whose category is not known yet keeps it by id only
+    private ProductCategory categoryOf(long id) {
+        ProductCategory category = categoriesById.get(id);
+        return category != null ? category : ProductCategory.builder().id(id).build();
+    }
+
+    private static <T> List<T> sortedById(Collection<T> values, Function<T, Long> id) {
+        return values.stream().sorted(Comparator.comparing(id)).toList();
+    }
+
+    private static Map<String, ProductCategory> byName(Collection<ProductCategory> categories) {
+        Map<String, ProductCategory> byName = new HashMap<>();
+        categories.stream()
+                .filter(category -> category.getName() != null)
+                .forEach(category -> byName.put(category.getName(), category));
+        return Map.copyOf(byName);
+    }
+
+    private static long[] with(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        int insertion = -position - 1;
+        long[] next = new long[ids.length + 1];
+        System.arraycopy(ids, 0, next, 0, insertion);
+        next[insertion] = id;
+        System.arraycopy(ids, insertion, next, insertion + 1, ids.length - insertion);
+        return next;
+    }
+
+    private static long[] without(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        long[] next = new long[ids.length - 1];
+        System.arraycopy(ids, 0, next, 0, position);
+        System.arraycopy(ids, position + 1, next, position, ids.length - position - 1);
+        return next;
+    }
+
+    // Products read on access, so a stored catalog is never built into objects all at once
+    private static final class TableList extends AbstractList<Product> implements RandomAccess {
+
+        private final ProductTable products;
+        private final LongFunction<ProductCategory> categories;
+
+        private TableList(ProductTable products, LongFunction<ProductCategory> categories) {
+            this.products = products;
+            this.categories = categories;
+        }
+
+        @Override
+        public Product get(int index) {
+            return products.at(index, categories);
+        }
+
+        @Override
+        public int size() {
+            return products.size();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.stand.springbootecommerce.catalog;
+
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+
+import java.util.*;
+import java.util.function.LongFunction;
+
+/**
+ * Products held as objects on the heap, each a copy detached from any persistence context with
+ * its category resolved when it was added.
+ * <p>
+ * The products are kept in id order in chunks of at most {@value #MAX_CHUNK}, with the first id
+ * and the position of each chunk: a product is found by two binary searches, and a write copies
+ * the chunk it lands in and those two arrays, not the whole table.
+ */
+final class HeapProductTable implements ProductTable {
+
+    static final int CHUNK = 512;
+    // A chunk growing past it is split in two
+    static final int MAX_CHUNK = 2 * CHUNK;
+
+    private final Product[][] chunks;
+    private final long[] firstIds;
+    private final int[] starts;
+    private final int size;
+
+    private HeapProductTable(Product[][] chunks, long[] firstIds, int[] starts, int size) {
+        this.chunks = chunks;
+        this.firstIds = firstIds;
+        this.starts = starts;
+        this.size = size;
+    }
+
+    /**
+     * @param products copies of the products, with their category resolved
+     */
+    static HeapProductTable of(Collection<Product> products) {
+        Map<Long, Product> productsById = new HashMap<>();
+        products.forEach(product -> productsById.put(product.getId(), product));
+        Product[] sorted = productsById.values().stream()
+                .sorted(Comparator.comparing(Product::getId))
+                .toArray(Product[]::new);
+        Product[][] chunks = new Product[(sorted.length + CHUNK - 1) / CHUNK][];
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            chunks[chunk] = Arrays.copyOfRange(sorted, chunk * CHUNK, Math.min((chunk + 1) * CHUNK, sorted.length));
+        }
+        return of(chunks);
+    }
+
+    private static HeapProductTable of(Product[][] chunks) {
+        long[] firstIds = new long[chunks.length];
+        int[] starts = new int[chunks.length];
+        int size = 0;
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            firstIds[chunk] = chunks[chunk][0].getId();
+            starts[chunk] = size;
+            size += chunks[chunk].length;
+        }
+        return new HeapProductTable(chunks, firstIds, starts, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Product get(long id, LongFunction<ProductCategory> categories) {
+        if (chunks.length == 0) {
+            return null;
+        }
+        Product[] chunk = chunks[chunkOf(id)];
+        int position = positionIn(chunk, id);
+        return position >= 0 ? chunk[position] : null;
+    }
+
+    @Override
+    public Product at(int position, LongFunction<ProductCategory> categories) {
+        Objects.checkIndex(position, size);
+        int chunk = floor(starts, position);
+        return chunks[chunk][position - starts[chunk]];
+    }
+
+    @Override
+    public HeapProductTable with(Product product, ProductCategory category) {
+        Product added = CatalogSnapshot.copy(product, category);
+        if (chunks.length == 0) {
+            return of(new Product[][]{{added}});
+        }
+        int chunk = chunkOf(added.getId());
+        Product[] products = chunks[chunk];
+        int position = positionIn(products, added.getId());
+        if (position >= 0) {
+            // Same ids, same positions: only the chunk changes
+            Product[][] next = chunks.clone();
+            next[chunk] = products.clone();
+            next[chunk][position] = added;
+            return new HeapProductTable(next, firstIds, starts, size);
+        }
+        int insertion = -position - 1;
+        Product[] grown = new Product[products.length + 1];
+        System.arraycopy(products, 0, grown, 0, insertion);
+        grown[insertion] = added;
+        System.arraycopy(products, insertion, grown, insertion + 1, products.length - insertion);
+        Product[][] next;
+        if (grown.length <= MAX_CHUNK) {
+            next = chunks.clone();
+            next[chunk] = grown;
+        } else {
+            next = new Product[chunks.length + 1][];
+            System.arraycopy(chunks, 0, next, 0, chunk);
+            next[chunk] = Arrays.copyOfRange(grown, 0, grown.length / 2);
+            next[chunk + 1] = Arrays.copyOfRange(grown, grown.length / 2, grown.length);
+            System.arraycopy(chunks, chunk + 1, next, chunk + 2, chunks.length - chunk - 1);
+        }
+        return of(next);
+    }
+
+    // The chunk an id is in or belongs to: the last starting at or before it, else the first
+    private int chunkOf(long id) {
+        int position = Arrays.binarySearch(firstIds, id);
+        return position >= 0 ? position : Math.max(0, -position - 2);
+    }
+
+    // Index of the last of the sorted values at or below the key, the first being at or below it
+    private static int floor(int[] values, int key) {
+        int position = Arrays.binarySearch(values, key);
+        return position >= 0 ? position : -position - 2;
+    }
+
+    // Binary search of the id over the products of a chunk, as Arrays.binarySearch
+    private static int positionIn(Product[] products, long id) {
+        int low = 0;
+        int high = products.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = products[middle].getId();
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+}
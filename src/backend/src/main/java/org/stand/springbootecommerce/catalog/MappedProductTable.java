@@ -0,0 +1,196 @@
+package org.stand.springbootecommerce.catalog;
+
+import org.stand.springbootecommerce.catalog.store.LongIntHashMap;
+import org.stand.springbootecommerce.catalog.store.MappedProductStore;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongFunction;
+
+/**
+ * Products kept in a {@link MappedProductStore}, off the heap. What stays on the heap is
+ * primitive: the rows by id, in a {@link LongIntHashMap}, and the rows in id order. A product is
+ * read from its row on each access, as a short-lived object.
+ * <p>
+ * Products added after the build are appended to the store and indexed in a small map copied on
+ * each write, folded into a new hash map once it grows, so a write does not copy the whole index.
+ * The rows in id order are kept in chunks as in {@link HeapProductTable}, a write copying only the
+ * chunk it lands in and the arrays indexing the chunks.
+ */
+final class MappedProductTable implements ProductTable {
+
+    private static final int MAX_APPENDED = 4096;
+
+    private final MappedProductStore store;
+    private final LongIntHashMap rowsById;
+    private final Map<Long, Integer> appendedRowsById;
+    private final int[][] chunks;
+    private final long[] firstIds;
+    private final int[] starts;
+    private final int size;
+
+    private MappedProductTable(MappedProductStore store, LongIntHashMap rowsById,
+            Map<Long, Integer> appendedRowsById, int[][] chunks, long[] firstIds, int[] starts, int size) {
+        this.store = store;
+        this.rowsById = rowsById;
+        this.appendedRowsById = appendedRowsById;
+        this.chunks = chunks;
+        this.firstIds = firstIds;
+        this.starts = starts;
+        this.size = size;
+    }
+
+    /**
+     * The table of every row of the store; of rows with the same id, the last one.
+     */
+    static MappedProductTable of(MappedProductStore store) {
+        int rows = store.rows();
+        LongIntHashMap rowsById = new LongIntHashMap(rows);
+        for (int row = 0; row < rows; row++) {
+            rowsById.put(store.id(row), row);
+        }
+        long[] ids = new long[rowsById.size()];
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            if (rowsById.get(store.id(row)) == row) {
+                ids[count++] = store.id(row);
+            }
+        }
+        Arrays.sort(ids);
+        int chunkSize = HeapProductTable.CHUNK;
+        int[][] chunks = new int[(ids.length + chunkSize - 1) / chunkSize][];
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            chunks[chunk] = new int[Math.min(chunkSize, ids.length - chunk * chunkSize)];
+            for (int i = 0; i < chunks[chunk].length; i++) {
+                chunks[chunk][i] = rowsById.get(ids[chunk * chunkSize + i]);
+            }
+        }
+        return of(store, rowsById, Map.of(), chunks);
+    }
+
+    private static MappedProductTable of(MappedProductStore store, LongIntHashMap rowsById,
+            Map<Long, Integer> appendedRowsById, int[][] chunks) {
+        long[] firstIds = new long[chunks.length];
+        int[] starts = new int[chunks.length];
+        int size = 0;
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            firstIds[chunk] = store.id(chunks[chunk][0]);
+            starts[chunk] = size;
+            size += chunks[chunk].length;
+        }
+        return new MappedProductTable(store, rowsById, appendedRowsById, chunks, firstIds, starts, size);
+    }
+
+    /**
+     * Category id of the product at a position in id order, 0 for none, read without building
+     * the product.
+     */
+    long categoryIdAt(int position) {
+        return store.categoryId(rowAt(position));
+    }
+
+    long idAt(int position) {
+        return store.id(rowAt(position));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Product get(long id, LongFunction<ProductCategory> categories) {
+        int row = row(id);
+        return row == LongIntHashMap.MISSING ? null : store.product(row, categories);
+    }
+
+    @Override
+    public Product at(int position, LongFunction<ProductCategory> categories) {
+        return store.product(rowAt(position), categories);
+    }
+
+    @Override
+    public MappedProductTable with(Product product, ProductCategory category) {
+        int row = store.append(CatalogSnapshot.copy(product, category));
+        Map<Long, Integer> appended = new HashMap<>(appendedRowsById);
+        appended.put(product.getId(), row);
+        LongIntHashMap rowsById = this.rowsById;
+        if (appended.size() >= MAX_APPENDED) {
+            rowsById = rowsById.copy();
+            appended.forEach(rowsById::put);
+            appended.clear();
+        }
+        Map<Long, Integer> appendedRowsById = Map.copyOf(appended);
+        if (chunks.length == 0) {
+            return of(store, rowsById, appendedRowsById, new int[][]{{row}});
+        }
+        int chunk = chunkOf(product.getId());
+        int[] rows = chunks[chunk];
+        int position = positionIn(rows, product.getId());
+        if (position >= 0) {
+            // Same ids, same positions: only the chunk changes
+            int[][] next = chunks.clone();
+            next[chunk] = rows.clone();
+            next[chunk][position] = row;
+            return new MappedProductTable(store, rowsById, appendedRowsById, next, firstIds, starts, size);
+        }
+        int insertion = -position - 1;
+        int[] grown = new int[rows.length + 1];
+        System.arraycopy(rows, 0, grown, 0, insertion);
+        grown[insertion] = row;
+        System.arraycopy(rows, insertion, grown, insertion + 1, rows.length - insertion);
+        int[][] next;
+        if (grown.length <= HeapProductTable.MAX_CHUNK) {
+            next = chunks.clone();
+            next[chunk] = grown;
+        } else {
+            next = new int[chunks.length + 1][];
+            System.arraycopy(chunks, 0, next, 0, chunk);
+            next[chunk] = Arrays.copyOfRange(grown, 0, grown.length / 2);
+            next[chunk + 1] = Arrays.copyOfRange(grown, grown.length / 2, grown.length);
+            System.arraycopy(chunks, chunk + 1, next, chunk + 2, chunks.length - chunk - 1);
+        }
+        return of(store, rowsById, appendedRowsById, next);
+    }
+
+    private int row(long id) {
+        Integer appended = appendedRowsById.get(id);
+        return appended != null ? appended : rowsById.get(id);
+    }
+
+    private int rowAt(int position) {
+        Objects.checkIndex(position, size);
+        // The last chunk starting at or before the position
+        int found = Arrays.binarySearch(starts, position);
+        int chunk = found >= 0 ? found : -found - 2;
+        return chunks[chunk][position - starts[chunk]];
+    }
+
+    // The chunk an id is in or belongs to: the last starting at or before it, else the first
+    private int chunkOf(long id) {
+        int position = Arrays.binarySearch(firstIds, id);
+        return position >= 0 ? position : Math.max(0, -position - 2);
+    }
+
+    // Binary search of the id over the rows of a chunk, as Arrays.binarySearch
+    private int positionIn(int[] rows, long id) {
+        int low = 0;
+        int high = rows.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = store.id(rows[middle]);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -0,0 +1,162 @@
+package org.stand.springbootecommerce.catalog;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.stand.springbootecommerce.catalog.store.MappedProductStore;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.repository.ProductCategoryRepository;
+import org.stand.springbootecommerce.repository.ProductRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The current {@link CatalogSnapshot}, which product and category reads are served from without
+ * a lock or a database connection: a read is a volatile load.
+ * <p>
+ * Writes through this instance publish the next version as soon as they are saved; writers are
+ * serialized, readers never wait for them. A full reload at startup and on the search index
+ * schedule picks up writes from other instances. Until the first load, the first read loads it.
+ * <p>
+ * With {@code catalog.store.directory} set, products are kept off the heap in a
+ * {@link MappedProductStore} there, streamed from the database in batches; each reload writes a
+ * new store and deletes the one it replaces. The stores are kept in a subdirectory of their own,
+ * the only one deleted at startup: the configured directory may be a mount point, which cannot be
+ * removed, and may hold files of others.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCatalog implements MeterBinder {
+
+    private final ProductRepository productRepository;
+    private final ProductCategoryRepository productCategoryRepository;
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final String STORES = "stores";
+
+    private final Object writeLock = new Object();
+
+    // Empty: products on the heap
+    @Value("${catalog.store.directory:}")
+    private String storeDirectory;
+
+    private volatile CatalogSnapshot snapshot;
+    private volatile MappedProductStore store;
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (writeLock) {
+            if (snapshot == null) {
+                reload();
+            }
+            return snapshot;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.rebuild-interval:PT10M}",
+            initialDelayString = "${search.index.rebuild-interval:PT10M}")
+    public void rebuild() {
+        // Writers wait for the reload, so none is published on a snapshot it would then replace
+        synchronized (writeLock) {
+            reload();
+        }
+    }
+
+    /**
+     * Publishes a product just saved, new or updated.
+     */
+    public void add(Product product) {
+        synchronized (writeLock) {
+            snapshot = snapshot().withProduct(product);
+        }
+    }
+
+    /**
+     * Publishes a category just saved, new or updated.
+     */
+    public void add(ProductCategory category) {
+        synchronized (writeLock) {
+            snapshot = snapshot().withCategory(category);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("catalog.snapshot.version", this, catalog -> catalog.snapshot == null ? 0
+                        : catalog.snapshot.version())
+                .description("Version of the catalog snapshot served to reads")
+                .register(registry);
+        Gauge.builder("catalog.snapshot.products", this, catalog -> catalog.snapshot == null ? 0
+                        : catalog.snapshot.productCount())
+                .description("Products in the catalog snapshot")
+                .register(registry);
+        Gauge.builder("catalog.store.size", this, catalog -> catalog.store == null ? 0 : catalog.store.size())
+                .description("Bytes of the memory-mapped product store, strings included")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void reload() {
+        long version = snapshot == null ? 1 : snapshot.version() + 1;
+        if (storeDirectory.isBlank()) {
+            snapshot = CatalogSnapshot.of(version, productRepository.findAllWithCategory(),
+                    productCategoryRepository.findAll());
+        } else {
+            MappedProductStore previous = store;
+            if (previous == null) {
+                deleteStores();
+            }
+            store = load(Path.of(storeDirectory, STORES, "v" + version));
+            snapshot = CatalogSnapshot.of(version, store, productCategoryRepository.findAll());
+            if (previous != null) {
+                previous.close();
+            }
+        }
+        log.info("Catalog snapshot {} loaded: {} products in {} categories", version,
+                snapshot.productCount(), snapshot.categories().size());
+    }
+
+    // Keyset batches, each read in its own persistence context, so the catalog is never on the heap at once
+    private MappedProductStore load(Path directory) {
+        MappedProductStore loaded = MappedProductStore.create(directory);
+        long lastId = 0;
+        List<Product> batch;
+        while (!(batch = productRepository.findNextById(lastId, PageRequest.of(0, LOAD_BATCH_SIZE))).isEmpty()) {
+            batch.forEach(loaded::append);
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        return loaded;
+    }
+
+    // Stores left by a previous run; the configured directory itself may be a mount point
+    private void deleteStores() {
+        try {
+            FileSystemUtils.deleteRecursively(Path.of(storeDirectory, STORES));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete the stores in " + storeDirectory, e);
+        }
+    }
+}
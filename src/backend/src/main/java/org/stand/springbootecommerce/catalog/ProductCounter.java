@@ -0,0 +1,122 @@
+package org.stand.springbootecommerce.catalog;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.entity.user.ProductCount;
+import org.stand.springbootecommerce.repository.ProductCategoryRepository;
+import org.stand.springbootecommerce.repository.ProductCountRepository;
+import org.stand.springbootecommerce.repository.ProductRepository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Exact number of products in the catalog and in each category, so a listing page gets its total
+ * from one primary key read instead of a {@code count(*)} next to its own query.
+ * <p>
+ * The counts are rows of {@link ProductCount}, changed in the transaction that saves the products
+ * and categories they count, so every instance reads the same committed count whatever the age
+ * of its {@link CatalogSnapshot}. The rows are first counted by the database when missing at
+ * startup; until then, and for a category without a row, the count is queried.
+ */
+@Slf4j
+@Component
+public class ProductCounter {
+
+    private final ProductRepository productRepository;
+    private final ProductCategoryRepository productCategoryRepository;
+    private final ProductCountRepository productCountRepository;
+    private final TransactionTemplate initialization;
+
+    public ProductCounter(ProductRepository productRepository, ProductCategoryRepository productCategoryRepository,
+            ProductCountRepository productCountRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productCategoryRepository = productCategoryRepository;
+        this.productCountRepository = productCountRepository;
+        // Its own transaction: an instance losing the race to initialize rolls back only that one
+        this.initialization = new TransactionTemplate(transactionManager);
+        initialization.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (productCountRepository.existsById(ProductCount.CATALOG)) {
+            return;
+        }
+        try {
+            Integer categories = initialization.execute(status -> productCountRepository.insertCatalogCount() == 0
+                    ? null : productCountRepository.insertCategoryCounts());
+            if (categories != null) {
+                log.info("Product counts initialized for the catalog and {} categories", categories);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Another instance inserted the same rows concurrently and committed first
+            log.info("Product counts already initialized");
+        }
+    }
+
+    /**
+     * Saves a product and counts it, new or moved to another category, in one transaction.
+     */
+    @Transactional
+    public Product save(Product product) {
+        Optional<Product> existing = product.getId() == null ? Optional.empty()
+                : productRepository.findById(product.getId());
+        // Read before the save, which merges the product into the existing one
+        Long previousCategory = existing.map(ProductCounter::categoryOf).orElse(null);
+        Product saved = productRepository.save(product);
+        Long category = categoryOf(saved);
+        if (existing.isEmpty()) {
+            productCountRepository.add(category == null ? List.of(ProductCount.CATALOG)
+                    : List.of(ProductCount.CATALOG, category), 1);
+        } else if (!Objects.equals(previousCategory, category)) {
+            if (previousCategory != null) {
+                productCountRepository.add(List.of(previousCategory), -1);
+            }
+            if (category != null) {
+                productCountRepository.add(List.of(category), 1);
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Saves a category, with a count row for it if new, in one transaction: no product can be
+     * added to it before its row exists.
+     */
+    @Transactional
+    public ProductCategory save(ProductCategory category) {
+        boolean created = category.getId() == null;
+        ProductCategory saved = productCategoryRepository.save(category);
+        if (created && productCountRepository.existsById(ProductCount.CATALOG)) {
+            productCountRepository.save(new ProductCount(saved.getId(), 0));
+        }
+        return saved;
+    }
+
+    public long count() {
+        return productCountRepository.findById(ProductCount.CATALOG)
+                .map(ProductCount::getProducts)
+                .orElseGet(productRepository::count);
+    }
+
+    public long count(long categoryId) {
+        return productCountRepository.findById(categoryId)
+                .map(ProductCount::getProducts)
+                .orElseGet(() -> productRepository.countByCategoryId(categoryId));
+    }
+
+    private static Long categoryOf(Product product) {
+        return product.getCategory() == null ? null : product.getCategory().getId();
+    }
+}
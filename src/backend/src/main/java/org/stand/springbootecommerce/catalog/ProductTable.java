@@ -0,0 +1,31 @@
+package org.stand.springbootecommerce.catalog;
+
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+
+import java.util.function.LongFunction;
+
+/**
+ * The products of one {@link CatalogSnapshot}, by id and in id order. Never modified once built:
+ * {@link #with} returns the next table.
+ */
+interface ProductTable {
+
+    int size();
+
+    /**
+     * @param categories the categories of the snapshot, by id, for tables that store only the id
+     * @return the product, or null if none has the id
+     */
+    Product get(long id, LongFunction<ProductCategory> categories);
+
+    /**
+     * The product at a position in id order.
+     */
+    Product at(int position, LongFunction<ProductCategory> categories);
+
+    /**
+     * This table with the product added, or replacing the one with its id, in the given category.
+     */
+    ProductTable with(Product product, ProductCategory category);
+}
@@ -0,0 +1,118 @@
+package org.stand.springbootecommerce.catalog.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A file mapped in memory in fixed-size chunks, mapped as the file grows, so it is not bounded by
+ * the 2 GB of a single buffer. A value never straddles two chunks: {@link #reserve} moves a
+ * record that would to the start of the next one.
+ * <p>
+ * One writer appends; readers may read concurrently whatever was written before it was published
+ * to them. The mapped pages live in the page cache, outside the heap.
+ */
+final class MappedFile implements Closeable {
+
+    static final int DEFAULT_CHUNK_SIZE = 1 << 28;
+
+    private final FileChannel channel;
+    private final int chunkSize;
+    private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+    private long length;
+
+    MappedFile(Path path, int chunkSize) {
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create " + path, e);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Appends room for {@code size} bytes within one chunk.
+     *
+     * @return the position of the room
+     */
+    long reserve(int size) {
+        if (size > chunkSize) {
+            throw new IllegalArgumentException("Record of " + size + " bytes exceeds a chunk");
+        }
+        long position = length;
+        if (position % chunkSize + size > chunkSize) {
+            position = (position / chunkSize + 1) * chunkSize;
+        }
+        long end = position + size;
+        while ((long) chunks.length * chunkSize < end) {
+            map(chunks.length);
+        }
+        length = end;
+        return position;
+    }
+
+    long length() {
+        return length;
+    }
+
+    long getLong(long position) {
+        return chunk(position).getLong(offset(position));
+    }
+
+    int getInt(long position) {
+        return chunk(position).getInt(offset(position));
+    }
+
+    byte[] getBytes(long position, int size) {
+        byte[] bytes = new byte[size];
+        chunk(position).get(offset(position), bytes);
+        return bytes;
+    }
+
+    void putLong(long position, long value) {
+        chunk(position).putLong(offset(position), value);
+    }
+
+    void putInt(long position, int value) {
+        chunk(position).putInt(offset(position), value);
+    }
+
+    void putBytes(long position, byte[] bytes) {
+        chunk(position).put(offset(position), bytes);
+    }
+
+    @Override
+    public void close() {
+        // The mappings stay valid until collected, for readers still holding an older snapshot
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MappedByteBuffer chunk(long position) {
+        return chunks[(int) (position / chunkSize)];
+    }
+
+    private int offset(long position) {
+        return (int) (position % chunkSize);
+    }
+
+    private void map(int index) {
+        try {
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_WRITE, (long) index * chunkSize, chunkSize);
+            MappedByteBuffer[] grown = Arrays.copyOf(chunks, index + 1);
+            grown[index] = chunk;
+            chunks = grown;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map chunk " + index, e);
+        }
+    }
+}
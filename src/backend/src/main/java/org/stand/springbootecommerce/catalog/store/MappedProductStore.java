@@ -0,0 +1,175 @@
+package org.stand.springbootecommerce.catalog.store;
+
+import org.springframework.util.FileSystemUtils;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Products stored off the heap, in memory-mapped files of a directory: one column file per
+ * fixed-width field (id, price in minor units, quantity, category id, position of the strings)
+ * and a heap file of the strings, each a length and its UTF-8 bytes.
+ * <p>
+ * Rows are only appended: a product saved again gets a new row, and whoever indexes rows by id
+ * points it there. One writer appends; a row may be read from any thread once the number of rows
+ * including it has been published to that thread.
+ */
+public final class MappedProductStore implements Closeable {
+
+    private static final long NO_PRICE = Long.MIN_VALUE;
+    private static final long NO_CATEGORY = 0;
+    private static final int NULL_STRING = -1;
+
+    private final Path directory;
+    private final MappedFile ids;
+    private final MappedFile prices;
+    private final MappedFile quantities;
+    private final MappedFile categoryIds;
+    private final MappedFile stringPositions;
+    private final MappedFile strings;
+    private int rows;
+
+    private MappedProductStore(Path directory, int chunkSize) {
+        this.directory = directory;
+        this.ids = new MappedFile(directory.resolve("id.col"), chunkSize);
+        this.prices = new MappedFile(directory.resolve("price.col"), chunkSize);
+        this.quantities = new MappedFile(directory.resolve("quantity.col"), chunkSize);
+        this.categoryIds = new MappedFile(directory.resolve("category.col"), chunkSize);
+        this.stringPositions = new MappedFile(directory.resolve("strings.col"), chunkSize);
+        this.strings = new MappedFile(directory.resolve("strings.heap"), chunkSize);
+    }
+
+    /**
+     * An empty store in the directory, replacing whatever it held.
+     */
+    public static MappedProductStore create(Path directory) {
+        return create(directory, MappedFile.DEFAULT_CHUNK_SIZE);
+    }
+
+    static MappedProductStore create(Path directory, int chunkSize) {
+        try {
+            FileSystemUtils.deleteRecursively(directory);
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create " + directory, e);
+        }
+        return new MappedProductStore(directory, chunkSize);
+    }
+
+    /**
+     * @return the row of the product
+     */
+    public int append(Product product) {
+        int row = rows;
+        ids.putLong(ids.reserve(Long.BYTES), product.getId());
+        // Rounded to the cents as the price column stores it
+        prices.putLong(prices.reserve(Long.BYTES), product.getPrice() == null ? NO_PRICE
+                : product.getPrice().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        quantities.putInt(quantities.reserve(Integer.BYTES), product.getQuantity());
+        categoryIds.putLong(categoryIds.reserve(Long.BYTES), product.getCategory() == null ? NO_CATEGORY
+                : product.getCategory().getId());
+        stringPositions.putLong(stringPositions.reserve(Long.BYTES), appendStrings(Arrays.asList(
+                product.getName(), product.getShortDescription(), product.getDescription(), product.getImage())));
+        rows = row + 1;
+        return row;
+    }
+
+    /**
+     * Rows appended so far, as seen by the writer.
+     */
+    public int rows() {
+        return rows;
+    }
+
+    public long id(int row) {
+        return ids.getLong((long) row * Long.BYTES);
+    }
+
+    /**
+     * @return the category id of the row, 0 for none
+     */
+    public long categoryId(int row) {
+        return categoryIds.getLong((long) row * Long.BYTES);
+    }
+
+    /**
+     * The product of a row, as a new object only the caller holds.
+     */
+    public Product product(int row, LongFunction<ProductCategory> categories) {
+        long price = prices.getLong((long) row * Long.BYTES);
+        long categoryId = categoryId(row);
+        long position = stringPositions.getLong((long) row * Long.BYTES);
+        String[] values = new String[4];
+        for (int i = 0; i < values.length; i++) {
+            int size = strings.getInt(position);
+            position += Integer.BYTES;
+            if (size != NULL_STRING) {
+                values[i] = new String(strings.getBytes(position, size), StandardCharsets.UTF_8);
+                position += size;
+            }
+        }
+        return Product.builder()
+                .id(id(row))
+                .name(values[0])
+                .shortDescription(values[1])
+                .description(values[2])
+                .image(values[3])
+                .price(price == NO_PRICE ? null : BigDecimal.valueOf(price, 2))
+                .quantity(quantities.getInt((long) row * Integer.BYTES))
+                .category(categoryId == NO_CATEGORY ? null : categories.apply(categoryId))
+                .build();
+    }
+
+    /**
+     * Bytes written to the files, strings included.
+     */
+    public long size() {
+        return ids.length() + prices.length() + quantities.length() + categoryIds.length()
+                + stringPositions.length() + strings.length();
+    }
+
+    /**
+     * Closes the files and deletes them. Rows stay readable through the mappings until these are
+     * collected, so snapshots still reading the store are not cut off.
+     */
+    @Override
+    public void close() {
+        List.of(ids, prices, quantities, categoryIds, stringPositions, strings).forEach(MappedFile::close);
+        try {
+            FileSystemUtils.deleteRecursively(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete " + directory, e);
+        }
+    }
+
+    private long appendStrings(List<String> values) {
+        byte[][] encoded = new byte[values.size()][];
+        int size = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = values.get(i) == null ? null : values.get(i).getBytes(StandardCharsets.UTF_8);
+            size += Integer.BYTES + (encoded[i] == null ? 0 : encoded[i].length);
+        }
+        long start = strings.reserve(size);
+        long position = start;
+        for (byte[] bytes : encoded) {
+            strings.putInt(position, bytes == null ? NULL_STRING : bytes.length);
+            position += Integer.BYTES;
+            if (bytes != null) {
+                strings.putBytes(position, bytes);
+                position += bytes.length;
+            }
+        }
+        return start;
+    }
+}
@@ -1,6 +1,8 @@
 package org.stand.springbootecommerce.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,6 +16,11 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.stand.springbootecommerce.repository.UserRepository;
+import org.stand.springbootecommerce.security.BCryptCostCalibrator;
+import org.stand.springbootecommerce.security.BoundedPasswordEncoder;
+import org.stand.springbootecommerce.security.UserPrincipalCache;
+
+import java.time.Duration;
 
 @Configuration
 @RequiredArgsConstructor
@@ -36,24 +43,39 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        // Credentials are checked against the database, never against a cached copy
+        authProvider.setUserDetailsService(email -> userRepository.findByEmail(email)
+                .orElseThrow(() -> notFound(email)));
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
+    // Principals of token-authenticated requests, from the users cache
     @Bean
-    public UserDetailsService userDetailsService() {
-        return email -> userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException(
-                        String.format("User with email='%s' not found", email)
-                ));
+    public UserDetailsService userDetailsService(UserPrincipalCache userPrincipalCache) {
+        return email -> userPrincipalCache.find(email).orElseThrow(() -> notFound(email));
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${password.hashing.threads:0}") int threads,
+            @Value("${password.hashing.queue-capacity:16}") int queueCapacity,
+            @Value("${password.hashing.calibrate:true}") boolean calibrate,
+            @Value("${password.hashing.target-latency:250ms}") Duration targetLatency,
+            @Value("${password.hashing.min-cost:10}") int minCost,
+            @Value("${password.hashing.max-cost:14}") int maxCost) {
+        int cost = calibrate ? BCryptCostCalibrator.calibrate(targetLatency, minCost, maxCost) : minCost;
+        // Hashing runs off the request threads, on a pool sized to half the CPUs by default
+        int poolSize = threads > 0 ? threads
+                : BoundedPasswordEncoder.defaultThreads(Runtime.getRuntime().availableProcessors());
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(cost), poolSize, queueCapacity, meterRegistry);
+    }
+
+    private static UsernameNotFoundException notFound(String email) {
+        return new UsernameNotFoundException(String.format("User with email='%s' not found", email));
     }
 
 }
\ No newline at end of file
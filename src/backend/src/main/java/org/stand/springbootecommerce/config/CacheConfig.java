@@ -0,0 +1,35 @@
+package org.stand.springbootecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /*
+     * Request principals by email, see UserPrincipalCache
+     */
+    public static final String USERS = "users";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.users.maximum-size:10000}") long usersMaximumSize,
+            @Value("${cache.users.ttl:1m}") Duration usersTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // recordStats() feeds the cache.gets / cache.evictions meters bound by actuator
+        cacheManager.registerCustomCache(USERS, Caffeine.newBuilder()
+                .maximumSize(usersMaximumSize)
+                .expireAfterWrite(usersTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -4,7 +4,9 @@ import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Configuration;
+import org.stand.springbootecommerce.security.CurrentUser;
 
 @Configuration
 @OpenAPIDefinition(info = @Info(title = "SouqTech API", version = "1.0.0", description = "Official documentation for the SouqTech e-commerce platform. "
@@ -13,4 +15,9 @@ import org.springframework.context.annotation.Configuration;
                 "orders, and customer reviews."))
 @SecurityScheme(name = "bearerAuth", type = SecuritySchemeType.HTTP, scheme = "bearer", bearerFormat = "JWT", description = "JWT Authentication. Enter 'Bearer ' followed by your token.")
 public class OpenApiConfig {
+
+        static {
+                // Injected from the security context, not a request parameter
+                SpringDocUtils.getConfig().addAnnotationsToIgnore(CurrentUser.class);
+        }
 }
@@ -0,0 +1,46 @@
+package org.stand.springbootecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token buckets per route group, see the {@code rate-limit} block of application.yml.
+ * A request is counted against the first group matching it, and requests matching no group
+ * are not limited.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets kept across all groups and clients, the least recently used go first
+    private long maxKeys = 100_000;
+
+    // A bucket untouched this long is full again anyway, so it is dropped; at least the longest refill-period
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Group {
+
+        // Ant patterns
+        private List<String> paths = new ArrayList<>();
+
+        // Empty means every method
+        private List<String> methods = new ArrayList<>();
+
+        // Burst size
+        private int capacity = 60;
+
+        // Time to refill an empty bucket
+        private Duration refillPeriod = Duration.ofMinutes(1);
+    }
+}
@@ -1,8 +1,12 @@
 package org.stand.springbootecommerce.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -10,7 +14,11 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.stand.springbootecommerce.filter.JwtAuthenticationFilter;
+import org.stand.springbootecommerce.search.SearchAnalyticsEndpoint;
 
 @Configuration
 @EnableWebSecurity
@@ -21,7 +29,35 @@ public class SecurityConfig {
         private final JwtAuthenticationFilter jwtAuthFilter;
         private final AuthenticationProvider authenticationProvider;
 
+        /*
+         * Public catalog reads: anonymous by definition, so they skip JWT parsing,
+         * authentication details and security context population entirely
+         */
+        private static final RequestMatcher PUBLIC_CATALOG_READS = new OrRequestMatcher(
+                        new AntPathRequestMatcher("/api/v1/product/**", HttpMethod.GET.name()),
+                        new AntPathRequestMatcher("/api/v1/category/**", HttpMethod.GET.name()),
+                        new AntPathRequestMatcher("/api/v1/reviews/product/**", HttpMethod.GET.name()));
+
+        @Bean
+        @Order(1)
+        public SecurityFilterChain publicCatalogFilterChain(HttpSecurity http) throws Exception {
+                http
+                                .securityMatcher(PUBLIC_CATALOG_READS)
+                                .csrf(csrf -> csrf.disable())
+                                .cors(cors -> cors.configure(http))
+                                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                                .sessionManagement(session -> session
+                                                .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                                .anonymous(anonymous -> anonymous.disable())
+                                .requestCache(requestCache -> requestCache.disable())
+                                .servletApi(servletApi -> servletApi.disable())
+                                .logout(logout -> logout.disable());
+
+                return http.build();
+        }
+
         @Bean
+        @Order(2)
         public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
                 http
                                 .csrf(csrf -> csrf.disable())
@@ -34,7 +70,9 @@ public class SecurityConfig {
                                                 .requestMatchers("/api/v1/reviews/product/**").permitAll() // Listing
                                                                                                            // reviews is
                                                                                                            // public
-                                                // Monitoring & Actuator
+                                                // Monitoring & Actuator; search analytics holds what users typed
+                                                .requestMatchers(EndpointRequest.to(SearchAnalyticsEndpoint.class))
+                                                .hasRole("ADMIN")
                                                 .requestMatchers("/actuator/**").permitAll()
                                                 // Swagger UI & API Docs
                                                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**",
@@ -50,4 +88,13 @@ public class SecurityConfig {
                 return http.build();
         }
 
+        // The filter is a bean, so Boot would also register it with the servlet container
+        // and run it on every request, public chain included
+        @Bean
+        public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthFilterRegistration(
+                        JwtAuthenticationFilter filter) {
+                FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+                registration.setEnabled(false);
+                return registration;
+        }
 }
@@ -5,9 +5,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -17,10 +17,12 @@ import org.stand.springbootecommerce.dto.request.AuthenticationRequest;
 import org.stand.springbootecommerce.dto.request.RegisterRequest;
 import org.stand.springbootecommerce.dto.response.AuthenticationResponse;
 import org.stand.springbootecommerce.dto.response.BaseResponseBody;
+import org.stand.springbootecommerce.entity.user.User;
 import org.stand.springbootecommerce.error.BaseException;
-import org.stand.springbootecommerce.error.UserNotAuthenticatedException;
-import org.stand.springbootecommerce.error.UserNotFoundException;
+import org.stand.springbootecommerce.mapper.UserMapper;
+import org.stand.springbootecommerce.security.CurrentUser;
 import org.stand.springbootecommerce.service.AuthenticationService;
+import org.stand.springbootecommerce.utiil.JwtUtils;
 
 @Tag(name = "Authentication", description = "Endpoints for user registration and login")
 @RestController
@@ -30,7 +32,7 @@ import org.stand.springbootecommerce.service.AuthenticationService;
 public class AuthenticationController {
 
         private final AuthenticationService authenticationService;
-        private final ModelMapper modelMapper;
+        private final UserMapper userMapper;
 
         @Operation(summary = "Register on the platform")
         @ApiResponses(value = {
@@ -59,16 +61,27 @@ public class AuthenticationController {
                                 .body(authenticationService.authenticate(request));
         }
 
+        @Operation(summary = "Logout: revoke the bearer token", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Token revoked")
+        })
+        @PostMapping("/logout")
+        public ResponseEntity<BaseResponseBody> logout(HttpServletRequest request) {
+                return ResponseEntity
+                                .status(HttpStatus.OK)
+                                .body(authenticationService.logout(JwtUtils.getJwtFromRequest(request)));
+        }
+
         @Operation(summary = "Get current logged-in user information", security = @SecurityRequirement(name = "bearerAuth"))
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "User details retrieved"),
                         @ApiResponse(responseCode = "403", description = "Forbidden (Token missing or invalid)")
         })
         @GetMapping("/me")
-        public ResponseEntity<UserDTO> me() throws UserNotFoundException, UserNotAuthenticatedException {
+        public ResponseEntity<UserDTO> me(@CurrentUser User user) {
                 return ResponseEntity
                                 .status(HttpStatus.OK)
-                                .body(modelMapper.map(authenticationService.me(), UserDTO.class));
+                                .body(userMapper.toDto(user));
         }
 
 }
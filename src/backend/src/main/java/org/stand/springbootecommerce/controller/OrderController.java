@@ -10,6 +10,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.stand.springbootecommerce.entity.user.Order;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.repository.OrderRepository;
+import org.stand.springbootecommerce.security.CurrentUser;
 import org.stand.springbootecommerce.service.OrderService;
 import org.stand.springbootecommerce.dto.response.OrderResponse;
 
@@ -30,8 +33,8 @@ public class OrderController {
             @ApiResponse(responseCode = "403", description = "Unauthorized")
     })
     @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(@RequestBody List<Long> productIds) {
-        Order order = orderService.createOrder(productIds);
+    public ResponseEntity<OrderResponse> createOrder(@CurrentUser User user, @RequestBody List<Long> productIds) {
+        Order order = orderService.createOrder(user, productIds);
         return ResponseEntity.status(HttpStatus.CREATED).body(mapToResponse(order));
     }
 
@@ -40,8 +43,8 @@ public class OrderController {
             @ApiResponse(responseCode = "200", description = "History retrieved")
     })
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getMyOrders() {
-        return ResponseEntity.ok(orderService.getMyOrders().stream()
+    public ResponseEntity<List<OrderResponse>> getMyOrders(@CurrentUser User user) {
+        return ResponseEntity.ok(orderService.getMyOrders(user).stream()
                 .map(this::mapToResponse)
                 .toList());
     }
@@ -55,4 +58,14 @@ public class OrderController {
                 .numberOfProducts(order.getProducts().size())
                 .build();
     }
+
+    private OrderResponse mapToResponse(OrderRepository.OrderSummary order) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .createdAt(order.getCreatedAt())
+                .numberOfProducts(order.getNumberOfProducts())
+                .build();
+    }
 }
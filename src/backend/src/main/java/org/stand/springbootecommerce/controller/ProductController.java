@@ -6,17 +6,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.stand.springbootecommerce.dto.request.ProductBatchRequest;
 import org.stand.springbootecommerce.dto.request.ProductRequest;
+import org.stand.springbootecommerce.dto.response.CursorPageableResponse;
 import org.stand.springbootecommerce.dto.response.PageableResponse;
+import org.stand.springbootecommerce.dto.response.ProductBatchResponse;
 import org.stand.springbootecommerce.dto.response.ProductResponse;
+import org.stand.springbootecommerce.dto.response.SuggestionResponse;
 import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.mapper.ProductMapper;
+import org.stand.springbootecommerce.pagination.CountedPage;
+import org.stand.springbootecommerce.pagination.CursorPage;
+import org.stand.springbootecommerce.pagination.ProductSort;
+import org.stand.springbootecommerce.repository.ProductSummary;
+import org.stand.springbootecommerce.repository.specification.ProductFilter;
 import org.stand.springbootecommerce.service.ProductService;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 @Tag(name = "Products", description = "Product catalog management")
 @CrossOrigin(origins = "http://localhost:4200")
 @RequiredArgsConstructor
@@ -24,29 +36,109 @@ import org.stand.springbootecommerce.service.ProductService;
 @RequestMapping("api/v1/product")
 public class ProductController {
         private final ProductService productService;
-        private final ModelMapper modelMapper;
+        private final ProductMapper productMapper;
 
-        @Operation(summary = "Get list of products", description = "Returns a paginated list of products with optional search query.")
+        @Operation(summary = "Get list of products", description = "Returns a paginated list of products with optional search query and category, and with facets=true the product counts per category, price band, rating band and stock state over the listed products. The total comes from maintained counters, or for a search from its ranking and is then flagged approximate; total=false leaves it out.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "List retrieved successfully")
         })
         @GetMapping
         public ResponseEntity<PageableResponse<ProductResponse>> getProducts(
                         @RequestParam(name = "q", required = false) String query,
+                        @RequestParam(name = "category", required = false) Long category,
                         @RequestParam(name = "pageNumber", required = true) Integer pageNumber,
-                        @RequestParam(name = "pageSize", required = true) Integer pageSize)
+                        @RequestParam(name = "pageSize", required = true) Integer pageSize,
+                        @RequestParam(name = "facets", defaultValue = "false") boolean facets,
+                        @RequestParam(name = "total", defaultValue = "true") boolean total)
                         throws InterruptedException {
-                Page<Product> productPage = productService.getProducts(query, pageNumber, pageSize);
+                CountedPage<Product> productPage = productService.getProducts(query, category, pageNumber, pageSize);
                 PageableResponse<ProductResponse> pageableResponse = new PageableResponse<>(
-                                productPage.getTotalElements(),
+                                null,
                                 productPage.getContent().stream()
-                                                .map(product -> modelMapper.map(product, ProductResponse.class))
+                                                .map(productMapper::toResponse)
+                                                .toList());
+                if (total) {
+                        pageableResponse.setTotal(productPage.getTotalElements());
+                        pageableResponse.setApproximate(productPage.isApproximate());
+                }
+                if (facets) {
+                        pageableResponse.setFacets(productService.getProductFacets(query, category));
+                }
+                return ResponseEntity
+                                .status(HttpStatus.OK)
+                                .body(pageableResponse);
+        }
+
+        @Operation(summary = "Filter products", description = "Returns a page of the products in any of the given categories, within a price range and optionally in stock only, sorted by price, name or newest first, without their description. total=false leaves out the total and its count.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "List retrieved successfully")
+        })
+        @GetMapping("/filter")
+        public ResponseEntity<PageableResponse<ProductResponse>> filterProducts(
+                        @RequestParam(name = "category", required = false) List<Long> categories,
+                        @RequestParam(name = "minPrice", required = false) BigDecimal minPrice,
+                        @RequestParam(name = "maxPrice", required = false) BigDecimal maxPrice,
+                        @RequestParam(name = "inStock", defaultValue = "false") boolean inStock,
+                        @RequestParam(name = "sort", defaultValue = "NEWEST") ProductFilter.Order sort,
+                        @RequestParam(name = "pageNumber", required = true) Integer pageNumber,
+                        @RequestParam(name = "pageSize", required = true) Integer pageSize,
+                        @RequestParam(name = "total", defaultValue = "true") boolean total) {
+                Slice<ProductSummary> products = productService.filterProducts(
+                                new ProductFilter(categories, minPrice, maxPrice, inStock, sort),
+                                pageNumber, pageSize, total);
+                PageableResponse<ProductResponse> pageableResponse = new PageableResponse<>(
+                                null,
+                                products.getContent().stream()
+                                                .map(productMapper::toResponse)
                                                 .toList());
+                if (products instanceof CountedPage<ProductSummary> page) {
+                        pageableResponse.setTotal(page.getTotalElements());
+                        pageableResponse.setApproximate(page.isApproximate());
+                }
                 return ResponseEntity
                                 .status(HttpStatus.OK)
                                 .body(pageableResponse);
         }
 
+        @Operation(summary = "Scroll through products", description = "Returns the page after the cursor (the first page without one) and the cursor of the next page. Seeks on (sort key, id) instead of counting and skipping rows, so deep pages cost as much as the first. Products come without their description, and those matching a query in relevance order.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/scroll")
+        public ResponseEntity<CursorPageableResponse<ProductResponse>> scrollProducts(
+                        @RequestParam(name = "q", required = false) String query,
+                        @RequestParam(name = "cursor", required = false) String cursor,
+                        @RequestParam(name = "sort", defaultValue = "ID") ProductSort sort,
+                        @RequestParam(name = "size", defaultValue = "20") Integer size) {
+                CursorPage<ProductSummary> page = productService.getProducts(query, cursor, sort, size);
+                return ResponseEntity
+                                .status(HttpStatus.OK)
+                                .body(new CursorPageableResponse<>(
+                                                page.content().stream()
+                                                                .map(productMapper::toResponse)
+                                                                .toList(),
+                                                page.nextCursor()));
+        }
+
+        @Operation(summary = "Suggest completions", description = "Top product and category names with a word starting with the prefix, most popular first.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully")
+        })
+        @GetMapping("/suggest")
+        public ResponseEntity<List<SuggestionResponse>> suggest(
+                        @RequestParam(name = "prefix") String prefix,
+                        @RequestParam(name = "limit", defaultValue = "10") Integer limit) {
+                return ResponseEntity
+                                .status(HttpStatus.OK)
+                                .body(productService.suggest(prefix, limit).stream()
+                                                .map(suggestion -> new SuggestionResponse(
+                                                                suggestion.text(),
+                                                                suggestion.type().name(),
+                                                                suggestion.id()))
+                                                .toList());
+        }
+
         @Operation(summary = "Add a new product", description = "Creates a new product in the catalog.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "201", description = "Product created successfully"),
@@ -57,11 +149,34 @@ public class ProductController {
                 return ResponseEntity
                                 .status(HttpStatus.CREATED)
                                 .body(
-                                                modelMapper.map(
+                                                productMapper.toResponse(
                                                                 productService.addProduct(
-                                                                                modelMapper.map(productRequest,
-                                                                                                Product.class)),
-                                                                ProductResponse.class));
+                                                                                productMapper.toEntity(productRequest))));
+        }
+
+        @Operation(summary = "Get products by IDs", description = "Returns the products with the given ids in one query, in the order of the ids, with the ids not found. At most 200 ids.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Products retrieved, possibly with missing ids"),
+                        @ApiResponse(responseCode = "400", description = "Too many ids")
+        })
+        @GetMapping("/batch")
+        public ResponseEntity<ProductBatchResponse> getProductsByIds(@RequestParam(name = "ids") List<Long> ids) {
+                return ResponseEntity
+                                .status(HttpStatus.OK)
+                                .body(toBatchResponse(productService.getProductsByIds(ids)));
+        }
+
+        @Operation(summary = "Get products by IDs (long lists)", description = "Same as GET /batch, with the ids in the body for lists too long for a URL.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Products retrieved, possibly with missing ids"),
+                        @ApiResponse(responseCode = "400", description = "Missing or too many ids")
+        })
+        @PostMapping("/batch")
+        public ResponseEntity<ProductBatchResponse> getProductsByIds(
+                        @Valid @RequestBody ProductBatchRequest productBatchRequest) {
+                return ResponseEntity
+                                .status(HttpStatus.OK)
+                                .body(toBatchResponse(productService.getProductsByIds(productBatchRequest.getIds())));
         }
 
         @Operation(summary = "Get product by ID")
@@ -74,8 +189,12 @@ public class ProductController {
                 return ResponseEntity
                                 .status(HttpStatus.OK)
                                 .body(
-                                                modelMapper.map(productService.getProductById(id),
-                                                                ProductResponse.class));
+                                                productMapper.toResponse(productService.getProductById(id)));
         }
 
-}
\ No newline at end of file
+        private ProductBatchResponse toBatchResponse(ProductService.Batch batch) {
+                return new ProductBatchResponse(
+                                batch.products().stream().map(productMapper::toResponse).toList(),
+                                batch.missing());
+        }
+}
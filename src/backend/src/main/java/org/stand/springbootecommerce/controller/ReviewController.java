@@ -7,18 +7,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.stand.springbootecommerce.dto.response.ReviewResponse;
 import org.stand.springbootecommerce.entity.user.Review;
 import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.mapper.ReviewMapper;
+import org.stand.springbootecommerce.security.CurrentUser;
 import org.stand.springbootecommerce.service.ReviewService;
-import org.stand.springbootecommerce.service.UserService;
 
 @RestController
 @RequestMapping("/api/v1/reviews")
@@ -27,8 +25,7 @@ import org.stand.springbootecommerce.service.UserService;
 public class ReviewController {
 
     private final ReviewService reviewService;
-    private final UserService userService;
-    private final ModelMapper modelMapper;
+    private final ReviewMapper reviewMapper;
 
     @PostMapping("/product/{productId}")
     @Operation(summary = "Add a review", security = @SecurityRequirement(name = "bearerAuth"))
@@ -37,12 +34,11 @@ public class ReviewController {
             @ApiResponse(responseCode = "403", description = "Unauthorized")
     })
     public ResponseEntity<ReviewResponse> addReview(
+            @CurrentUser User user,
             @PathVariable Long productId,
             @RequestBody org.stand.springbootecommerce.dto.request.ReviewRequest request) { // Use fully qualified if
                                                                                             // imports clash, or add
                                                                                             // import
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User user = userService.getUserByEmail(auth.getName());
         Review review = reviewService.addReview(user.getId(), productId, request.getRating(), request.getComment());
         return ResponseEntity.ok(convertToDto(review));
     }
@@ -55,8 +51,7 @@ public class ReviewController {
     public ResponseEntity<Page<ReviewResponse>> getProductReviews(
             @PathVariable Long productId,
             Pageable pageable) {
-        Page<Review> reviews = reviewService.getProductReviews(productId, pageable);
-        return ResponseEntity.ok(reviews.map(this::convertToDto));
+        return ResponseEntity.ok(reviewService.getProductReviews(productId, pageable).map(reviewMapper::toResponse));
     }
 
     @GetMapping("/product/{productId}/rating")
@@ -69,11 +64,7 @@ public class ReviewController {
     }
 
     private ReviewResponse convertToDto(Review review) {
-        ReviewResponse dto = modelMapper.map(review, ReviewResponse.class);
-        if (review.getUser() != null) {
-            dto.setUserName(review.getUser().getName());
-        }
-        return dto;
+        return reviewMapper.toResponse(review);
     }
 
     @PostMapping("/{reviewId}/helpful")
@@ -7,14 +7,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.stand.springbootecommerce.dto.UserDTO;
 import org.stand.springbootecommerce.dto.request.UserUpdateRequest;
+import org.stand.springbootecommerce.entity.user.User;
 import org.stand.springbootecommerce.error.UserNotAuthenticatedException;
 import org.stand.springbootecommerce.error.UserNotFoundException;
+import org.stand.springbootecommerce.mapper.UserMapper;
+import org.stand.springbootecommerce.security.CurrentUser;
 import org.stand.springbootecommerce.service.UserService;
 
 @Tag(name = "Users", description = "User profile management")
@@ -25,7 +27,7 @@ import org.stand.springbootecommerce.service.UserService;
 public class UserController {
 
         private final UserService userService;
-        private final ModelMapper modelMapper;
+        private final UserMapper userMapper;
 
         @Operation(summary = "Update profile information", security = @SecurityRequirement(name = "bearerAuth"))
         @ApiResponses(value = {
@@ -33,10 +35,12 @@ public class UserController {
                         @ApiResponse(responseCode = "403", description = "Unauthorized")
         })
         @PatchMapping
-        public ResponseEntity<UserDTO> updateUser(@Valid @RequestBody UserUpdateRequest updatedUser)
+        public ResponseEntity<UserDTO> updateUser(
+                        @CurrentUser User user,
+                        @Valid @RequestBody UserUpdateRequest updatedUser)
                         throws UserNotFoundException, UserNotAuthenticatedException {
                 return ResponseEntity
                                 .status(HttpStatus.CREATED)
-                                .body(modelMapper.map(userService.updateUser(updatedUser), UserDTO.class));
+                                .body(userMapper.toDto(userService.updateUser(user, updatedUser)));
         }
 }
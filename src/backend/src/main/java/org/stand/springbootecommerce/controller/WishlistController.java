@@ -6,15 +6,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.stand.springbootecommerce.dto.response.WishlistResponse;
 import org.stand.springbootecommerce.entity.user.User;
 import org.stand.springbootecommerce.entity.user.Wishlist;
-import org.stand.springbootecommerce.service.UserService;
+import org.stand.springbootecommerce.mapper.WishlistMapper;
+import org.stand.springbootecommerce.security.CurrentUser;
 import org.stand.springbootecommerce.service.WishlistService;
 
 @Tag(name = "Wishlist", description = "User wishlist management")
@@ -24,21 +22,15 @@ import org.stand.springbootecommerce.service.WishlistService;
 public class WishlistController {
 
     private final WishlistService wishlistService;
-    private final UserService userService;
-    private final ModelMapper modelMapper;
-
-    private User getCurrentUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        return userService.getUserByEmail(auth.getName());
-    }
+    private final WishlistMapper wishlistMapper;
 
     @GetMapping
     @Operation(summary = "Get my wishlist", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Wishlist retrieved")
     })
-    public ResponseEntity<WishlistResponse> getMyWishlist() {
-        Wishlist wishlist = wishlistService.getOrCreateWishlist(getCurrentUser().getId());
+    public ResponseEntity<WishlistResponse> getMyWishlist(@CurrentUser User user) {
+        Wishlist wishlist = wishlistService.getOrCreateWishlist(user.getId());
         return ResponseEntity.ok(convertToDto(wishlist));
     }
 
@@ -47,8 +39,8 @@ public class WishlistController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product added")
     })
-    public ResponseEntity<WishlistResponse> addToWishlist(@PathVariable Long productId) {
-        Wishlist wishlist = wishlistService.addToWishlist(getCurrentUser().getId(), productId);
+    public ResponseEntity<WishlistResponse> addToWishlist(@CurrentUser User user, @PathVariable Long productId) {
+        Wishlist wishlist = wishlistService.addToWishlist(user.getId(), productId);
         return ResponseEntity.ok(convertToDto(wishlist));
     }
 
@@ -57,8 +49,8 @@ public class WishlistController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product removed")
     })
-    public ResponseEntity<WishlistResponse> removeFromWishlist(@PathVariable Long productId) {
-        Wishlist wishlist = wishlistService.removeFromWishlist(getCurrentUser().getId(), productId);
+    public ResponseEntity<WishlistResponse> removeFromWishlist(@CurrentUser User user, @PathVariable Long productId) {
+        Wishlist wishlist = wishlistService.removeFromWishlist(user.getId(), productId);
         return ResponseEntity.ok(convertToDto(wishlist));
     }
 
@@ -67,8 +59,8 @@ public class WishlistController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Sharing status updated")
     })
-    public ResponseEntity<WishlistResponse> toggleSharing() {
-        Wishlist wishlist = wishlistService.togglePublicSharing(getCurrentUser().getId());
+    public ResponseEntity<WishlistResponse> toggleSharing(@CurrentUser User user) {
+        Wishlist wishlist = wishlistService.togglePublicSharing(user.getId());
         return ResponseEntity.ok(convertToDto(wishlist));
     }
 
@@ -84,6 +76,6 @@ public class WishlistController {
     }
 
     private WishlistResponse convertToDto(Wishlist wishlist) {
-        return modelMapper.map(wishlist, WishlistResponse.class);
+        return wishlistMapper.toResponse(wishlist);
     }
 }
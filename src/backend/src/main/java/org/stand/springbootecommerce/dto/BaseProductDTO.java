@@ -34,6 +34,7 @@ public abstract class BaseProductDTO {
     @Schema(description = "Product unit price", example = "799.99")
     @NotNull
     @Positive
+    @Digits(integer = 8, fraction = 2)
     private BigDecimal price;
 
     @Schema(description = "Product image URL", example = "https://example.com/images/s21.jpg")
@@ -19,4 +19,16 @@ public class AuthenticationRequest {
     @Schema(description = "User password", example = "password123")
     @NotBlank
     private String password;
+    @Schema(description = "Token to issue: JWT (default) or SESSION, an opaque token for internal tooling. "
+            + "SESSION falls back to JWT when session tokens are disabled", example = "JWT")
+    private TokenType tokenType;
+
+    public AuthenticationRequest(String email, String password) {
+        this(email, password, null);
+    }
+
+    public enum TokenType {
+        JWT,
+        SESSION
+    }
 }
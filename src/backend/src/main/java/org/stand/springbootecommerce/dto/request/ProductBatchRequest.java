@@ -0,0 +1,18 @@
+package org.stand.springbootecommerce.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Schema(description = "Products to look up at once")
+public class ProductBatchRequest {
+
+    @Schema(description = "Product identifiers, in the order the products are wanted", example = "[3, 1, 2]")
+    @NotNull
+    private List<Long> ids;
+}
@@ -0,0 +1,18 @@
+package org.stand.springbootecommerce.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of a cursor-paginated listing")
+public class CursorPageableResponse<T> {
+    private List<T> list;
+    @Schema(description = "Opaque cursor of the next page, null on the last page")
+    private String nextCursor;
+}
@@ -1,8 +1,10 @@
 package org.stand.springbootecommerce.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -10,7 +12,23 @@ import java.util.List;
 @NoArgsConstructor
 public class PageableResponse<T> {
 
-    private long total;
+    // Null when the client opted out of it
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long total;
+
+    // Whether the total may be off, for search results; null without a total
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean approximate;
+
     private List<T> list;
 
+    // Facet name to value to count, only when requested
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Map<String, Integer>> facets;
+
+    public PageableResponse(Long total, List<T> list) {
+        this.total = total;
+        this.list = list;
+    }
+
 }
@@ -0,0 +1,19 @@
+package org.stand.springbootecommerce.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Products looked up at once")
+public class ProductBatchResponse {
+    @Schema(description = "Products found, in the order of the requested ids")
+    private List<ProductResponse> products;
+    @Schema(description = "Requested ids without a product", example = "[42]")
+    private List<Long> missing;
+}
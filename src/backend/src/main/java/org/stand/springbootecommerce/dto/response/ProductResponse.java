@@ -18,4 +18,4 @@ public class ProductResponse extends BaseProductDTO {
     @Schema(description = "Identifier of the parent category", example = "10")
     @NotNull
     private Long categoryId;
-}
\ No newline at end of file
+}
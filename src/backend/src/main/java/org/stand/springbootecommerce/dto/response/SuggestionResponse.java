@@ -0,0 +1,19 @@
+package org.stand.springbootecommerce.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Typeahead completion")
+public class SuggestionResponse {
+    @Schema(description = "Product or category name", example = "APPLE iPhone 14 256GB Mezzanotte")
+    private String text;
+    @Schema(description = "PRODUCT or CATEGORY", example = "PRODUCT")
+    private String type;
+    @Schema(description = "Identifier of the product or category", example = "1")
+    private Long id;
+}
@@ -4,8 +4,11 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.tuple.GenerationTiming;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Objects;
 
 @NoArgsConstructor
@@ -15,7 +18,14 @@ import java.util.Objects;
 @Setter
 @ToString
 @Entity
-@Table(name = "product")
+// Back the filtered listing, and the seek of cursor pagination by price, for each of its sorts;
+// quantity is last so that the in-stock filter and the page of ids are read from the index alone
+@Table(name = "product", indexes = {
+        @Index(name = "idx_product_price_id_quantity", columnList = "price, id, quantity"),
+        @Index(name = "idx_product_name_id_quantity", columnList = "name, id, quantity"),
+        @Index(name = "idx_product_category_price_id_quantity", columnList = "category_id, price, id, quantity"),
+        @Index(name = "idx_product_category_name_id_quantity", columnList = "category_id, name, id, quantity")
+})
 public class Product {
 
     @Id
@@ -59,6 +69,11 @@ public class Product {
     @JoinColumn(name = "category_id")
     private ProductCategory category;
 
+    // Set by the database on every write: the search index replays products saved after its snapshot
+    @CurrentTimestamp(timing = GenerationTiming.ALWAYS)
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -0,0 +1,30 @@
+package org.stand.springbootecommerce.entity.user;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of products in a category, or in the whole catalog under {@link #CATALOG}, updated in
+ * the transaction of every product write, so that all instances read the same exact count.
+ */
+@Entity
+@Table(name = "product_counts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCount {
+
+    // Category ids start at 1
+    public static final long CATALOG = 0;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private long products;
+}
@@ -0,0 +1,49 @@
+package org.stand.springbootecommerce.entity.user;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Last snapshot of one of the search analytics sketches of one instance, serialized, so that they
+ * survive a restart and every instance can merge the others' into its reports. One row per
+ * instance and sketch, overwritten at every snapshot of that instance.
+ */
+@Entity
+@Table(name = "search_analytics_sketches")
+@IdClass(SearchSketch.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSketch {
+
+    @Id
+    @Column(length = 128)
+    private String instance;
+
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    // Sized explicitly: the default length maps to a 255 byte TINYBLOB on MySQL
+    @Lob
+    @Column(nullable = false, length = 16 * 1024 * 1024 - 1)
+    private byte[] payload;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String instance;
+        private String name;
+    }
+}
@@ -0,0 +1,42 @@
+package org.stand.springbootecommerce.entity.user;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Opaque session token, persisted so that sessions survive a restart. Only the SHA-256 of the
+ * token is stored, never the token itself.
+ */
+@Entity
+@Table(name = "sessions", indexes = @Index(name = "idx_sessions_last_accessed_at", columnList = "last_accessed_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSession {
+
+    @Id
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String email;
+
+    // Comma separated
+    @Column(nullable = false)
+    private String authorities;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "last_accessed_at", nullable = false)
+    private Instant lastAccessedAt;
+}
@@ -0,0 +1,15 @@
+package org.stand.springbootecommerce.error;
+
+/**
+ * A pagination cursor that was not issued by this API, or not for this listing.
+ */
+public class InvalidCursorException extends BaseException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package org.stand.springbootecommerce.error;
+
+/**
+ * A bounded resource is saturated and the request was rejected instead of queued.
+ * Mapped to 503 Service Unavailable.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+
+    public ServiceOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
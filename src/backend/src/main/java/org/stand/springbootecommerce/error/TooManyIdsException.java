@@ -0,0 +1,17 @@
+package org.stand.springbootecommerce.error;
+
+import lombok.Getter;
+
+/**
+ * A batch lookup asked for more ids than one request may carry.
+ */
+@Getter
+public class TooManyIdsException extends BaseException {
+
+    private final int max;
+
+    public TooManyIdsException(int max) {
+        super("At most %d ids per request".formatted(max));
+        this.max = max;
+    }
+}
@@ -57,6 +57,21 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(responseBody);
     }
 
+    /*
+     * Exception: UserNotAuthenticatedException
+     */
+    @ExceptionHandler(UserNotAuthenticatedException.class)
+    public ResponseEntity<Object> handleUserNotAuthenticatedException(
+            UserNotAuthenticatedException exception,
+            WebRequest request) {
+        Locale locale = Locale.getDefault();
+        ErrorBaseResponseBody responseBody = new ErrorBaseResponseBody(
+                HttpStatus.UNAUTHORIZED,
+                messageSource.getMessage("user.authentication.error.required", null, Objects.requireNonNull(locale)));
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(responseBody);
+    }
+
     /*
      * Exception: BaseException
      */
@@ -76,6 +91,11 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
         } else if (exception.getClass().equals(UserNotFoundException.class)) {
             messageCode = "user.register.error.not.found";
             messageArgs.add("USER");
+        } else if (exception.getClass().equals(InvalidCursorException.class)) {
+            messageCode = "product.error.cursor.invalid";
+        } else if (exception instanceof TooManyIdsException tooManyIds) {
+            messageCode = "product.error.batch.too.large";
+            messageArgs.add(tooManyIds.getMax());
         }
 
         Locale locale = Locale.getDefault();
@@ -89,6 +109,23 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(responseBody);
     }
 
+    /*
+     * Exception: ServiceOverloadedException
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Object> handleServiceOverloadedException(
+            ServiceOverloadedException exception,
+            WebRequest request) {
+        Locale locale = Locale.getDefault();
+        ErrorBaseResponseBody responseBody = new ErrorBaseResponseBody(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                messageSource.getMessage("server.error.overloaded", null, Objects.requireNonNull(locale)));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(responseBody);
+    }
+
     /*
      * Exception: MethodArgumentNotValidException
      */
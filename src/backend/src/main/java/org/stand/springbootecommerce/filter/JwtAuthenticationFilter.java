@@ -1,12 +1,15 @@
 package org.stand.springbootecommerce.filter;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,7 +18,10 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.stand.springbootecommerce.security.AuthenticatedUser;
+import org.stand.springbootecommerce.security.JwtClaims;
 import org.stand.springbootecommerce.service.JwtService;
+import org.stand.springbootecommerce.service.SessionService;
 import org.stand.springbootecommerce.utiil.JwtUtils;
 
 import java.io.IOException;
@@ -25,7 +31,14 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    // Only present when opaque session tokens are enabled
+    private final ObjectProvider<SessionService> sessionService;
     private final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
+
+    // Build the principal from the token claims instead of loading the user on every request
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(
@@ -41,14 +54,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return; // stop execution of that filter
         }
 
-        // Extract user username from JWT
-        String userUsername = null;
+        // Opaque session token: a lookup replaces signature verification and claims parsing
+        if (SessionService.isSessionToken(jwtToken)) {
+            SessionService sessions = sessionService.getIfAvailable();
+            UserDetails principal = sessions == null ? null : sessions.authenticate(jwtToken);
+            if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                authenticate(principal, request);
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Parse and verify the JWT once, everything below reads from these claims
+        JwtClaims claims;
         try {
-            userUsername = jwtService.extractUsername(jwtToken);
-        } catch (Exception e) {
-            e.printStackTrace();
+            claims = jwtService.parseToken(jwtToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            filterChain.doFilter(request, response);
+            return;
         }
 
+        String userUsername = claims.getSubject();
         if (userUsername != null && SecurityContextHolder.getContext().getAuthentication() == null) { // if user is
                                                                                                       // already
                                                                                                       // authenticated,
@@ -58,28 +85,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                                                                                       // setting (like
                                                                                                       // update security
                                                                                                       // context)
-            // Get user from db
             UserDetails userDetails = null;
-            try {
-                userDetails = this.userDetailsService.loadUserByUsername(userUsername);
-            } catch (Exception e) {
-                e.printStackTrace();
+            if (statelessPrincipal && claims.getUserId() != null) {
+                userDetails = AuthenticatedUser.from(claims);
+            } else {
+                // Get user from db
+                try {
+                    userDetails = this.userDetailsService.loadUserByUsername(userUsername);
+                } catch (Exception e) {
+                    log.debug("Could not load JWT subject {}: {}", userUsername, e.getMessage());
+                }
             }
 
-            if (userDetails != null && jwtService.isTokenValid(jwtToken, userDetails)) {
-                log.error("In 2nd if");
-
-                // Update security context
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (userDetails != null && jwtService.isTokenValid(claims, userDetails)) {
+                authenticate(userDetails, request);
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(UserDetails userDetails, HttpServletRequest request) {
+        // Update security context
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities());
+        authToken.setDetails(
+                authenticationDetailsSource.buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
\ No newline at end of file
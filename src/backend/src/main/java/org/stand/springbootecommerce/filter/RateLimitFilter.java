@@ -0,0 +1,182 @@
+package org.stand.springbootecommerce.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.stand.springbootecommerce.config.RateLimitProperties;
+import org.stand.springbootecommerce.dto.response.ErrorBaseResponseBody;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.security.AuthenticatedUser;
+import org.stand.springbootecommerce.security.TokenBucket;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiting per route group and client. Clients are keyed by user id when the
+ * request is authenticated, by IP otherwise; it therefore runs inside the security filter chain.
+ * Behind the frontend proxy, the IP is the one Tomcat's RemoteIpValve took from X-Forwarded-For,
+ * see {@code server.tomcat.remoteip} in application.yml.
+ * Over the limit, the request is answered with 429 and a Retry-After header.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<RouteGroup> groups;
+    private final ObjectMapper objectMapper;
+    private final MessageSource messageSource;
+    private final LongSupplier nanoClock;
+
+    // Caffeine: lock-free reads and striped write buffers, bounded, idle buckets evicted
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public RateLimitFilter(
+            RateLimitProperties properties,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            MessageSource messageSource,
+            LongSupplier nanoClock) {
+        for (Map.Entry<String, RateLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            // An evicted bucket comes back full: dropping it before it refilled would hand out extra tokens
+            if (properties.getIdleTimeout().compareTo(entry.getValue().getRefillPeriod()) < 0) {
+                throw new IllegalArgumentException("rate-limit.idle-timeout (" + properties.getIdleTimeout()
+                        + ") is shorter than the refill-period of group '" + entry.getKey() + "' ("
+                        + entry.getValue().getRefillPeriod() + ")");
+            }
+        }
+        this.objectMapper = objectMapper;
+        this.messageSource = messageSource;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        this.groups = new ArrayList<>();
+        for (Map.Entry<String, RateLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            groups.add(new RouteGroup(entry.getKey(), entry.getValue(), meterRegistry));
+        }
+        Gauge.builder("rate.limit.buckets", buckets, Cache::estimatedSize)
+                .description("Clients currently tracked by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RouteGroup group = match(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(new BucketKey(group.name, clientKey(request)),
+                key -> new TokenBucket(group.capacity, group.settings.getRefillPeriod(), now));
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0) {
+            group.allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        group.limited.increment();
+        reject(response, waitNanos);
+    }
+
+    private RouteGroup match(HttpServletRequest request) {
+        for (RouteGroup group : groups) {
+            if (group.matcher.matches(request)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+                return "user:" + user.getId();
+            }
+            if (authentication.getPrincipal() instanceof User user) {
+                return "user:" + user.getId();
+            }
+        }
+        // The client address once the trusted proxy's X-Forwarded-For has been applied
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorBaseResponseBody(
+                HttpStatus.TOO_MANY_REQUESTS,
+                messageSource.getMessage("server.error.too.many.requests", null, Locale.getDefault())));
+    }
+
+    private record BucketKey(String group, String client) {
+    }
+
+    private static final class RouteGroup {
+
+        final String name;
+        final RateLimitProperties.Group settings;
+        final int capacity;
+        final RequestMatcher matcher;
+        final Counter allowed;
+        final Counter limited;
+
+        RouteGroup(String name, RateLimitProperties.Group settings, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.settings = settings;
+            this.capacity = settings.getCapacity();
+            List<RequestMatcher> matchers = new ArrayList<>();
+            for (String path : settings.getPaths()) {
+                if (settings.getMethods().isEmpty()) {
+                    matchers.add(new AntPathRequestMatcher(path));
+                } else {
+                    for (String method : settings.getMethods()) {
+                        matchers.add(new AntPathRequestMatcher(path, method));
+                    }
+                }
+            }
+            this.matcher = matchers.isEmpty() ? request -> false : new OrRequestMatcher(matchers);
+            this.allowed = decisions(meterRegistry, name, "allowed");
+            this.limited = decisions(meterRegistry, name, "limited");
+        }
+
+        private static Counter decisions(MeterRegistry meterRegistry, String group, String outcome) {
+            return Counter.builder("rate.limit.decisions")
+                    .description("Rate limiter decisions per route group")
+                    .tag("group", group)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
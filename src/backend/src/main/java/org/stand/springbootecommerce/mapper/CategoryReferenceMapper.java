@@ -0,0 +1,23 @@
+package org.stand.springbootecommerce.mapper;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.service.ProductCategoryService;
+
+/**
+ * Resolves the category id of a request to its category.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryReferenceMapper {
+
+    private final ProductCategoryService productCategoryService;
+
+    /**
+     * @throws java.util.NoSuchElementException if no category has the id
+     */
+    public ProductCategory toCategory(Long categoryId) {
+        return categoryId == null ? null : productCategoryService.getProductCategoryById(categoryId);
+    }
+}
@@ -0,0 +1,16 @@
+package org.stand.springbootecommerce.mapper;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Shared by the entity/DTO mappers, whose implementations are generated at compile time as plain
+ * getter/setter calls. A DTO property left unmapped fails the build rather than staying null.
+ */
+@MapperConfig(componentModel = MappingConstants.ComponentModel.SPRING,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface MappingConfig {
+}
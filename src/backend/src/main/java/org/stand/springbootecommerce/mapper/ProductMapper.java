@@ -0,0 +1,23 @@
+package org.stand.springbootecommerce.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.stand.springbootecommerce.dto.request.ProductRequest;
+import org.stand.springbootecommerce.dto.response.ProductResponse;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.repository.ProductSummary;
+
+@Mapper(config = MappingConfig.class, uses = CategoryReferenceMapper.class)
+public interface ProductMapper {
+
+    // The id of a lazy category is read from its proxy without loading it
+    @Mapping(target = "categoryId", source = "category.id")
+    ProductResponse toResponse(Product product);
+
+    @Mapping(target = "description", ignore = true)
+    ProductResponse toResponse(ProductSummary summary);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Product toEntity(ProductRequest productRequest);
+}
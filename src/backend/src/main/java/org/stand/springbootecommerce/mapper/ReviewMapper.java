@@ -0,0 +1,16 @@
+package org.stand.springbootecommerce.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.stand.springbootecommerce.dto.response.ReviewResponse;
+import org.stand.springbootecommerce.entity.user.Review;
+import org.stand.springbootecommerce.repository.ReviewRepository;
+
+@Mapper(config = MappingConfig.class)
+public interface ReviewMapper {
+
+    @Mapping(target = "userName", source = "user.name")
+    ReviewResponse toResponse(Review review);
+
+    ReviewResponse toResponse(ReviewRepository.ReviewSummary summary);
+}
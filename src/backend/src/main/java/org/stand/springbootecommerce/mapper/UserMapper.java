@@ -0,0 +1,11 @@
+package org.stand.springbootecommerce.mapper;
+
+import org.mapstruct.Mapper;
+import org.stand.springbootecommerce.dto.UserDTO;
+import org.stand.springbootecommerce.entity.user.User;
+
+@Mapper(config = MappingConfig.class)
+public interface UserMapper {
+
+    UserDTO toDto(User user);
+}
@@ -0,0 +1,14 @@
+package org.stand.springbootecommerce.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.stand.springbootecommerce.dto.response.WishlistResponse;
+import org.stand.springbootecommerce.entity.user.Wishlist;
+
+@Mapper(config = MappingConfig.class, uses = ProductMapper.class)
+public interface WishlistMapper {
+
+    // Lombok names the getter of the boolean isPublic isPublic(), so its property is "public"
+    @Mapping(target = "isPublic", source = "public")
+    WishlistResponse toResponse(Wishlist wishlist);
+}
@@ -0,0 +1,24 @@
+package org.stand.springbootecommerce.pagination;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A page whose total was not counted by its query, telling whether it is exact: maintained
+ * counters are, search totals come from a ranking that may lag behind the database.
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final boolean approximate;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean approximate) {
+        super(content, pageable, total);
+        this.approximate = approximate;
+    }
+
+    public boolean isApproximate() {
+        return approximate;
+    }
+}
@@ -0,0 +1,10 @@
+package org.stand.springbootecommerce.pagination;
+
+import java.util.List;
+
+/**
+ * @param content    the items of the page, in order
+ * @param nextCursor where the next page starts, or null on the last page
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+}
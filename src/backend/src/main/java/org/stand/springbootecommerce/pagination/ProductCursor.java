@@ -0,0 +1,77 @@
+package org.stand.springbootecommerce.pagination;
+
+import org.stand.springbootecommerce.error.InvalidCursorException;
+import org.stand.springbootecommerce.search.TextAnalyzer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a product listing, handed to clients as an opaque string: the sort key and id of the
+ * last product of a page, so the next page is a seek on {@code (sort key, id)} rather than an
+ * offset the database has to skip row by row.
+ * <p>
+ * A search result has no sort key in the database: its cursor holds the position of the last
+ * product in the ranking instead, along with its id, which finds the spot again if products were
+ * ranked ahead of it since. Cursors also carry a hash of the query, so one cannot be replayed
+ * against another listing.
+ *
+ * @param sort     the order of the listing
+ * @param query    hash of the normalized query, 0 for the whole catalog
+ * @param id       id of the last product returned
+ * @param price    its price, for the price orders
+ * @param position number of products returned so far, for search results
+ */
+public record ProductCursor(ProductSort sort, int query, long id, BigDecimal price, int position) {
+
+    private static final String SEPARATOR = "|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static ProductCursor after(ProductSort sort, String query, long id, BigDecimal price, int position) {
+        return new ProductCursor(sort, hash(query), id, price, position);
+    }
+
+    public String encode() {
+        String value = String.join(SEPARATOR,
+                sort.name(),
+                String.valueOf(query),
+                String.valueOf(id),
+                price == null ? "" : price.toPlainString(),
+                String.valueOf(position));
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws InvalidCursorException if the cursor is malformed or was issued for another listing
+     */
+    public static ProductCursor decode(String cursor, ProductSort sort, String query) {
+        ProductCursor decoded;
+        try {
+            String[] fields = new String(DECODER.decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+            if (fields.length != 5) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            decoded = new ProductCursor(
+                    ProductSort.valueOf(fields[0]),
+                    Integer.parseInt(fields[1]),
+                    Long.parseLong(fields[2]),
+                    fields[3].isEmpty() ? null : new BigDecimal(fields[3]),
+                    Integer.parseInt(fields[4]));
+        } catch (IllegalArgumentException e) {
+            // Also covers bad Base64 and numbers
+            throw new InvalidCursorException("Malformed cursor", e);
+        }
+        if (decoded.sort() != sort || decoded.query() != hash(query) || decoded.position() < 0
+                || sort != ProductSort.ID && query == null && decoded.price() == null) {
+            throw new InvalidCursorException("Cursor does not belong to this listing");
+        }
+        return decoded;
+    }
+
+    private static int hash(String query) {
+        return query == null ? 0 : TextAnalyzer.normalize(query).hashCode();
+    }
+}
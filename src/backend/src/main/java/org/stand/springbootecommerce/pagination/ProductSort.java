@@ -0,0 +1,11 @@
+package org.stand.springbootecommerce.pagination;
+
+/**
+ * Orders a cursor-paginated product listing can be walked in. Each one ends with the id, so that
+ * products sharing a price still have a strict order to seek on.
+ */
+public enum ProductSort {
+    ID,
+    PRICE_ASC,
+    PRICE_DESC
+}
@@ -1,12 +1,44 @@
 package org.stand.springbootecommerce.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.stand.springbootecommerce.entity.user.Order;
+import org.stand.springbootecommerce.entity.user.OrderStatus;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
+
+    // The number of products is counted in the query instead of loading each order's products
+    @Query("select o.id as id, o.totalAmount as totalAmount, o.status as status, o.createdAt as createdAt,"
+            + " size(o.products) as numberOfProducts from Order o where o.user.id = :userId")
+    List<OrderSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    // distinct: an order listing the same product twice counts once
+    @Query("select p.id as productId, count(distinct o) as orders from Order o join o.products p group by p.id")
+    List<ProductOrderCount> countOrdersByProduct();
+
+    interface OrderSummary {
+        Long getId();
+
+        BigDecimal getTotalAmount();
+
+        OrderStatus getStatus();
+
+        LocalDateTime getCreatedAt();
+
+        int getNumberOfProducts();
+    }
+
+    interface ProductOrderCount {
+        Long getProductId();
+
+        long getOrders();
+    }
 }
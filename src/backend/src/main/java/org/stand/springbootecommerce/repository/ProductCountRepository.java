@@ -0,0 +1,33 @@
+package org.stand.springbootecommerce.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.stand.springbootecommerce.entity.user.ProductCount;
+
+import java.util.Collection;
+
+/**
+ * Writes run in the caller's transaction, the one saving the products they count.
+ */
+@Repository
+public interface ProductCountRepository extends JpaRepository<ProductCount, Long> {
+
+    @Modifying
+    @Query("update ProductCount c set c.products = c.products + :delta where c.categoryId in :categoryIds")
+    int add(Collection<Long> categoryIds, long delta);
+
+    // First counts, by the database from the product and category tables; rows already there are kept
+    @Modifying
+    @Query(value = "insert into product_counts (category_id, products) select 0, count(*) from product"
+            + " having not exists (select 1 from product_counts where category_id = 0)", nativeQuery = true)
+    int insertCatalogCount();
+
+    @Modifying
+    @Query(value = "insert into product_counts (category_id, products)"
+            + " select c.id, count(p.id) from category c left join product p on p.category_id = c.id"
+            + " where not exists (select 1 from product_counts pc where pc.category_id = c.id)"
+            + " group by c.id", nativeQuery = true)
+    int insertCategoryCounts();
+}
@@ -3,20 +3,35 @@ package org.stand.springbootecommerce.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.stand.springbootecommerce.entity.user.Product;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
+
+    // p.category.id reads the foreign key column, so products without a category are kept
+    String SUMMARY = "new org.stand.springbootecommerce.repository.ProductSummary(p.id, p.name,"
+            + " p.shortDescription, p.price, p.quantity, p.image, p.category.id)";
+
     @Override
     @NonNull
     Page<Product> findAll(@NonNull Pageable pageable);
 
     List<Product> findByCategoryId(Long categoryId);
 
+    long countByCategoryId(Long categoryId);
+
     Page<Product> findByNameContainingIgnoreCase(String query, Pageable pageable);
 
     List<Product> findByNameContainingIgnoreCase(String query);
@@ -25,4 +40,39 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findByCategoryNameContainingIgnoreCase(String query);
 
-}
\ No newline at end of file
+    // Categories loaded along, for products kept outside a persistence context
+    @Query("select p from Product p left join fetch p.category")
+    List<Product> findAllWithCategory();
+
+    @Query("select max(p.updatedAt) from Product p")
+    Instant findLastUpdate();
+
+    List<Product> findByUpdatedAtGreaterThanEqual(Instant updatedAt);
+
+    // Rows saved before updated_at existed, stamped once so that replays from a snapshot include them
+    @Modifying
+    @Transactional
+    @Query(value = "update product set updated_at = current_timestamp where updated_at is null", nativeQuery = true)
+    int stampMissingUpdates();
+
+    // Keyset pagination: the rows after the given one, in the order of the query
+    @Query("select p from Product p where p.id > :id order by p.id")
+    List<Product> findNextById(@Param("id") long id, Pageable pageable);
+
+    // Summaries for listings, without a count query; also the first page of keyset pagination
+    @Query("select " + SUMMARY + " from Product p")
+    List<ProductSummary> findSummaries(Pageable pageable);
+
+    @Query("select " + SUMMARY + " from Product p where p.id > :id order by p.id")
+    List<ProductSummary> findNextSummariesById(@Param("id") long id, Pageable pageable);
+
+    @Query("select " + SUMMARY + " from Product p where p.price > :price or (p.price = :price and p.id > :id)"
+            + " order by p.price, p.id")
+    List<ProductSummary> findNextSummariesByPriceAsc(@Param("price") BigDecimal price, @Param("id") long id,
+            Pageable pageable);
+
+    @Query("select " + SUMMARY + " from Product p where p.price < :price or (p.price = :price and p.id < :id)"
+            + " order by p.price desc, p.id desc")
+    List<ProductSummary> findNextSummariesByPriceDesc(@Param("price") BigDecimal price, @Param("id") long id,
+            Pageable pageable);
+}
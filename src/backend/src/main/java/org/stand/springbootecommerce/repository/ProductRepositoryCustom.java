@@ -0,0 +1,16 @@
+package org.stand.springbootecommerce.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.stand.springbootecommerce.entity.user.Product;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * At most {@code limit} products matching the specification after the first {@code offset}, without
+     * the count query that comes with {@code findAll(Specification, Pageable)}, as summaries.
+     */
+    List<ProductSummary> findPage(Specification<Product> specification, Sort sort, long offset, int limit);
+}
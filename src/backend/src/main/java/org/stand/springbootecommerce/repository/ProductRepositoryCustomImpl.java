@@ -0,0 +1,60 @@
+package org.stand.springbootecommerce.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.stand.springbootecommerce.entity.user.Product;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The page of ids first, filtered and sorted by a query on indexed columns only, so the
+     * composite indexes serve it without reading a row; then the rows of that page alone, by
+     * primary key.
+     */
+    @Override
+    public List<ProductSummary> findPage(Specification<Product> specification, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> idQuery = cb.createQuery(Long.class);
+        Root<Product> root = idQuery.from(Product.class);
+        idQuery.select(root.get("id"));
+        Predicate predicate = specification.toPredicate(root, idQuery, cb);
+        if (predicate != null) {
+            idQuery.where(predicate);
+        }
+        idQuery.orderBy(QueryUtils.toOrders(sort, root, cb));
+        List<Long> ids = entityManager.createQuery(idQuery)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.construct(ProductSummary.class, product.get("id"), product.get("name"),
+                product.get("shortDescription"), product.get("price"), product.get("quantity"),
+                product.get("image"), product.get("category").get("id")));
+        query.where(product.get("id").in(ids));
+        Map<Long, ProductSummary> byId = entityManager.createQuery(query).getResultStream()
+                .collect(Collectors.toMap(ProductSummary::id, Function.identity()));
+        // In the order of the ids; one deleted in between is skipped
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,24 @@
+package org.stand.springbootecommerce.repository;
+
+import org.stand.springbootecommerce.entity.user.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns of a product a listing shows, read into a plain value: no managed entity, no
+ * snapshot for dirty checking, and no description, which only the product page shows.
+ *
+ * @param categoryId the foreign key of the category, read without a join
+ */
+public record ProductSummary(Long id, String name, String shortDescription, BigDecimal price, int quantity,
+        String image, Long categoryId) {
+
+    /**
+     * The summary of a product already in memory, for listings served from the catalog.
+     */
+    public static ProductSummary of(Product product) {
+        return new ProductSummary(product.getId(), product.getName(), product.getShortDescription(),
+                product.getPrice(), product.getQuantity(), product.getImage(),
+                product.getCategory() == null ? null : product.getCategory().getId());
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.stand.springbootecommerce.entity.user.Review;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,13 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // Trouver tous les avis d'un produit
     Page<Review> findByProductId(Long productId, Pageable pageable);
 
+    // Avis d'un produit pour la liste, avec le nom de l'auteur, sans charger d'entité
+    @Query(value = "SELECT r.id AS id, r.rating AS rating, r.comment AS comment, u.name AS userName,"
+            + " r.createdAt AS createdAt, r.helpfulCount AS helpfulCount"
+            + " FROM Review r LEFT JOIN r.user u WHERE r.product.id = :productId",
+            countQuery = "SELECT COUNT(r) FROM Review r WHERE r.product.id = :productId")
+    Page<ReviewSummary> findSummariesByProductId(@Param("productId") Long productId, Pageable pageable);
+
     // Trouver tous les avis d'un utilisateur
     Page<Review> findByUserId(Long userId, Pageable pageable);
 
@@ -31,6 +39,10 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.product.id = :productId")
     Double findAverageRatingByProductId(@Param("productId") Long productId);
 
+    // Note moyenne de chaque produit noté, en une requête
+    @Query("SELECT r.product.id AS productId, AVG(r.rating) AS average FROM Review r GROUP BY r.product.id")
+    List<ProductRating> findAverageRatings();
+
     // Compter le nombre d'avis d'un produit
     Long countByProductId(Long productId);
 
@@ -49,4 +61,24 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // Trouver les meilleurs avis (4-5 étoiles)
     @Query("SELECT r FROM Review r WHERE r.product.id = :productId AND r.rating >= 4 ORDER BY r.createdAt DESC")
     List<Review> findTopRatedReviewsByProductId(@Param("productId") Long productId);
+
+    interface ReviewSummary {
+        Long getId();
+
+        Integer getRating();
+
+        String getComment();
+
+        String getUserName();
+
+        LocalDateTime getCreatedAt();
+
+        Integer getHelpfulCount();
+    }
+
+    interface ProductRating {
+        Long getProductId();
+
+        Double getAverage();
+    }
 }
@@ -0,0 +1,26 @@
+package org.stand.springbootecommerce.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.stand.springbootecommerce.entity.user.SearchSketch;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface SearchSketchRepository extends JpaRepository<SearchSketch, SearchSketch.Key> {
+    List<SearchSketch> findByInstance(String instance);
+
+    List<SearchSketch> findByInstanceNot(String instance);
+
+    List<SearchSketch> findByInstanceNotAndUpdatedAtBefore(String instance, Instant updatedAt);
+
+    // 0 when the snapshot was rewritten or deleted in the meantime
+    @Modifying
+    @Transactional
+    @Query("delete from SearchSketch s where s.instance = :instance and s.updatedAt = :updatedAt")
+    int deleteSnapshot(String instance, Instant updatedAt);
+}
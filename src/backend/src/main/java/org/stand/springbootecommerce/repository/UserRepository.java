@@ -8,6 +8,7 @@ import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Request principals are cached by UserPrincipalCache; this always reads the database
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
@@ -0,0 +1,27 @@
+package org.stand.springbootecommerce.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.stand.springbootecommerce.entity.user.UserSession;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface UserSessionRepository extends JpaRepository<UserSession, String> {
+    List<UserSession> findByLastAccessedAtAfter(Instant idleSince);
+
+    // 0 when the session was deleted in the meantime
+    @Modifying
+    @Transactional
+    @Query("update UserSession s set s.lastAccessedAt = :lastAccessedAt where s.tokenHash = :tokenHash")
+    int touch(String tokenHash, Instant lastAccessedAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from UserSession s where s.lastAccessedAt <= :idleSince")
+    int deleteIdle(Instant idleSince);
+}
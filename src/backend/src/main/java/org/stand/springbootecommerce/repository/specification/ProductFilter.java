@@ -0,0 +1,63 @@
+package org.stand.springbootecommerce.repository.specification;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.stand.springbootecommerce.entity.user.Product;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Criteria of the filtered product listing; null or empty ones do not filter.
+ *
+ * @param categoryIds products in any of these categories
+ * @param minPrice    inclusive
+ * @param maxPrice    inclusive
+ * @param inStock     only products with a positive quantity
+ * @param order       order of the listing
+ */
+public record ProductFilter(List<Long> categoryIds, BigDecimal minPrice, BigDecimal maxPrice, boolean inStock,
+        Order order) {
+
+    public enum Order {
+        PRICE_ASC(Sort.by("price", "id")),
+        PRICE_DESC(Sort.by(Sort.Direction.DESC, "price", "id")),
+        NAME(Sort.by("name", "id")),
+        // Ids come from a sequence: the highest is the latest product
+        NEWEST(Sort.by(Sort.Direction.DESC, "id"));
+
+        private final Sort sort;
+
+        Order(Sort sort) {
+            this.sort = sort;
+        }
+
+        public Sort sort() {
+            return sort;
+        }
+    }
+
+    public Specification<Product> toSpecification() {
+        Specification<Product> specification = Specification.where(null);
+        if (categoryIds != null && !categoryIds.isEmpty()) {
+            specification = specification.and(ProductSpecifications.inCategories(categoryIds));
+        }
+        if (minPrice != null) {
+            specification = specification.and(ProductSpecifications.priceAtLeast(minPrice));
+        }
+        if (maxPrice != null) {
+            specification = specification.and(ProductSpecifications.priceAtMost(maxPrice));
+        }
+        if (inStock) {
+            specification = specification.and(ProductSpecifications.inStock());
+        }
+        return specification;
+    }
+
+    /**
+     * Whether only categories filter the listing, so its total is a sum of maintained counts.
+     */
+    public boolean isCategoriesOnly() {
+        return minPrice == null && maxPrice == null && !inStock;
+    }
+}
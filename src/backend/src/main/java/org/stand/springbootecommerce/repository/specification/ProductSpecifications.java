@@ -0,0 +1,35 @@
+package org.stand.springbootecommerce.repository.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.stand.springbootecommerce.entity.user.Product;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Criteria of a filtered product listing, each one backed by an index of the product table
+ * together with the sort: {@code (category_id, price, id)}, {@code (category_id, name, id)},
+ * {@code (price, id)} and {@code (name, id)}.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> inCategories(Collection<Long> categoryIds) {
+        // category.id reads the foreign key column, no join
+        return (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    public static Specification<Product> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Product> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Product> inStock() {
+        return (root, query, cb) -> cb.greaterThan(root.get("quantity"), 0);
+    }
+}
@@ -0,0 +1,125 @@
+package org.stand.springbootecommerce.search;
+
+import java.util.*;
+
+/**
+ * Burkhard-Keller tree over a term vocabulary, for typo-tolerant lookups: finds every term within
+ * a given Levenshtein distance of a query term without comparing it against the whole vocabulary.
+ * <p>
+ * Each child of a node sits at an exact distance from it. By the triangle inequality, terms within
+ * {@code k} of the query can only be below children whose distance is within {@code k} of the
+ * query's distance to the node, so all the other subtrees are skipped. Plain Levenshtein is used
+ * rather than a variant counting transpositions as one edit, which is not a metric and would make
+ * that pruning miss matches. Immutable once built.
+ */
+public final class BkTree {
+
+    public static final BkTree EMPTY = build(List.of());
+
+    private final Node root;
+    private final int size;
+
+    private BkTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static BkTree build(Collection<String> terms) {
+        Node root = null;
+        int size = 0;
+        for (String term : terms) {
+            if (root == null) {
+                root = new Node(term);
+                size++;
+            } else if (root.insert(term)) {
+                size++;
+            }
+        }
+        return new BkTree(root, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Terms at most {@code maxDistance} edits away from the given one, closest first.
+     */
+    public List<Match> search(String term, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+        Deque<Node> toVisit = new ArrayDeque<>();
+        toVisit.push(root);
+        while (!toVisit.isEmpty()) {
+            Node node = toVisit.pop();
+            int distance = distance(term, node.term);
+            if (distance <= maxDistance) {
+                matches.add(new Match(node.term, distance));
+            }
+            for (int d = Math.max(1, distance - maxDistance); d <= distance + maxDistance; d++) {
+                Node child = node.children.get(d);
+                if (child != null) {
+                    toVisit.push(child);
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::term));
+        return matches;
+    }
+
+    /**
+     * Levenshtein distance: insertions, deletions and substitutions, one edit each.
+     */
+    public static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    public record Match(String term, int distance) {
+    }
+
+    private static final class Node {
+        final String term;
+        final Map<Integer, Node> children = new HashMap<>(4);
+
+        Node(String term) {
+            this.term = term;
+        }
+
+        /**
+         * @return false if the term was already in the tree
+         */
+        boolean insert(String term) {
+            Node node = this;
+            while (true) {
+                int distance = distance(term, node.term);
+                if (distance == 0) {
+                    return false;
+                }
+                Node child = node.children.get(distance);
+                if (child == null) {
+                    node.children.put(distance, new Node(term));
+                    return true;
+                }
+                node = child;
+            }
+        }
+    }
+}
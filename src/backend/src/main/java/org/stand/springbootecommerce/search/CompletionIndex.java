@@ -0,0 +1,163 @@
+package org.stand.springbootecommerce.search;
+
+import java.util.*;
+
+/**
+ * Immutable top-k completion structure: the normalized keys sorted in one array, so the keys
+ * starting with a prefix are a contiguous range found by binary search, and a max segment tree
+ * over their weights, which hands out that range's entries best first in O(log n) each.
+ * <p>
+ * Every word start of a suggestion is a key ("apple iphone 14", "iphone 14", "14"), so typing
+ * any word of a name finds it. Memory is the keys plus three ints per key.
+ */
+public final class CompletionIndex {
+
+    public static final CompletionIndex EMPTY = build(List.of());
+
+    private final String[] keys;
+    private final int[] suggestionOf;
+    private final Suggestion[] suggestions;
+    private final int leaves;
+    // tree[leaves + i] = i; inner nodes hold the key index with the highest weight below them
+    private final int[] tree;
+
+    private CompletionIndex(String[] keys, int[] suggestionOf, Suggestion[] suggestions) {
+        this.keys = keys;
+        this.suggestionOf = suggestionOf;
+        this.suggestions = suggestions;
+        int size = 1;
+        while (size < keys.length) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.tree = new int[2 * size];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < keys.length; i++) {
+            tree[size + i] = i;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = best(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    public static CompletionIndex build(List<Suggestion> suggestions) {
+        record Key(String key, int suggestion) {
+        }
+        List<Key> entries = new ArrayList<>();
+        for (int s = 0; s < suggestions.size(); s++) {
+            String normalized = TextAnalyzer.normalize(suggestions.get(s).text());
+            int start = 0;
+            while (!normalized.isEmpty()) {
+                entries.add(new Key(normalized.substring(start), s));
+                int space = normalized.indexOf(' ', start);
+                if (space < 0) {
+                    break;
+                }
+                start = space + 1;
+            }
+        }
+        entries.sort(Comparator.comparing(Key::key));
+
+        String[] keys = new String[entries.size()];
+        int[] suggestionOf = new int[entries.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = entries.get(i).key();
+            suggestionOf[i] = entries.get(i).suggestion();
+        }
+        return new CompletionIndex(keys, suggestionOf, suggestions.toArray(new Suggestion[0]));
+    }
+
+    public int size() {
+        return suggestions.length;
+    }
+
+    /**
+     * Up to {@code limit} distinct suggestions with a word starting with the normalized prefix,
+     * heaviest first.
+     */
+    public List<Suggestion> complete(String normalizedPrefix, int limit) {
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int from = lowerBound(normalizedPrefix);
+        // Upper bound: first key not starting with the prefix
+        int low = from;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].startsWith(normalizedPrefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int to = low;
+        if (from >= to) {
+            return List.of();
+        }
+
+        // Ranges ordered by their best entry; popping one splits it around that entry
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> compare(b[2], a[2]));
+        ranges.add(new int[] {from, to, argMax(from, to)});
+        List<Suggestion> completions = new ArrayList<>(limit);
+        Set<Integer> seen = new HashSet<>();
+        while (!ranges.isEmpty() && completions.size() < limit) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            if (seen.add(suggestionOf[best])) {
+                completions.add(suggestions[suggestionOf[best]]);
+            }
+            if (range[0] < best) {
+                ranges.add(new int[] {range[0], best, argMax(range[0], best)});
+            }
+            if (best + 1 < range[1]) {
+                ranges.add(new int[] {best + 1, range[1], argMax(best + 1, range[1])});
+            }
+        }
+        return completions;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Key index with the highest weight in [from, to)
+    private int argMax(int from, int to) {
+        int best = -1;
+        for (int low = from + leaves, high = to + leaves; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                best = best(best, tree[low++]);
+            }
+            if ((high & 1) == 1) {
+                best = best(best, tree[--high]);
+            }
+        }
+        return best;
+    }
+
+    private int best(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        return compare(a, b) >= 0 ? a : b;
+    }
+
+    // Heavier first, then alphabetical (lower key index)
+    private int compare(int a, int b) {
+        int byWeight = Double.compare(suggestions[suggestionOf[a]].weight(), suggestions[suggestionOf[b]].weight());
+        return byWeight != 0 ? byWeight : Integer.compare(b, a);
+    }
+}
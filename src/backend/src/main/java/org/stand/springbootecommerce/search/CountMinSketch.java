@@ -0,0 +1,121 @@
+package org.stand.springbootecommerce.search;
+
+import java.io.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch: approximate occurrence counts of arbitrarily many distinct items in a fixed
+ * {@code depth x width} table of counters. An item increments one counter per row and its
+ * estimate is the smallest of them, never below the true count and, with probability
+ * {@code 1 - e^-depth}, at most {@code e / width} of the total above it.
+ * <p>
+ * Counters are atomic, so concurrent callers need no lock. Sketches of the same size merge by
+ * adding their counters.
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    public void add(String item) {
+        int hash = item.hashCode();
+        int step = mix(hash);
+        for (int row = 0; row < depth; row++) {
+            counters.incrementAndGet(row * width + bucket(hash, step, row));
+        }
+    }
+
+    public long estimate(String item) {
+        int hash = item.hashCode();
+        int step = mix(hash);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(row * width + bucket(hash, step, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Items added so far, every row summing to it.
+     */
+    public long total() {
+        long total = 0;
+        for (int column = 0; column < width; column++) {
+            total += counters.get(column);
+        }
+        return total;
+    }
+
+    /**
+     * A sketch of both streams, as if every item had been added to one.
+     */
+    public CountMinSketch merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("only sketches of the same size merge");
+        }
+        CountMinSketch merged = new CountMinSketch(depth, width);
+        for (int i = 0; i < counters.length(); i++) {
+            merged.counters.set(i, counters.get(i) + other.counters.get(i));
+        }
+        return merged;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 + counters.length() * 8);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(depth);
+            out.writeInt(width);
+            for (int i = 0; i < counters.length(); i++) {
+                out.writeLong(counters.get(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static CountMinSketch fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            CountMinSketch sketch = new CountMinSketch(in.readInt(), in.readInt());
+            for (int i = 0; i < sketch.counters.length(); i++) {
+                sketch.counters.set(i, in.readLong());
+            }
+            return sketch;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    // Row hashes derived from two as h1 + row * h2 (Kirsch-Mitzenmacher)
+    private int bucket(int hash, int step, int row) {
+        return Math.floorMod(hash + row * step, width);
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        // Odd, so that successive rows never land on the same bucket sequence
+        return hash | 1;
+    }
+}
@@ -0,0 +1,113 @@
+package org.stand.springbootecommerce.search;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The base of the search index saved to a file, so a starting instance maps it instead of
+ * analyzing every product again, then replays only the products saved since its high-water mark.
+ * <p>
+ * A 20-byte header (magic, format version, CRC32C of the payload, payload length) precedes the
+ * payload: the high-water mark, then the index as written by {@link InvertedIndex#writeTo}. The
+ * file is written aside and moved into place, so instances sharing it never read a partial one.
+ * A file that is missing, from another format version or fails its checksum is ignored.
+ */
+@Slf4j
+final class IndexSnapshotFile {
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x53514958; // "SQIX"
+    private static final int HEADER_SIZE = 20;
+
+    private IndexSnapshotFile() {
+    }
+
+    /**
+     * @param index         the index
+     * @param highWaterMark last update of a product the index includes, as read before building it
+     */
+    record Contents(InvertedIndex index, Instant highWaterMark) {
+    }
+
+    static void write(Path file, Contents contents) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                CRC32C checksum = new CRC32C();
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        new CheckedOutputStream(Channels.newOutputStream(channel.position(HEADER_SIZE)), checksum),
+                        1 << 16));
+                out.writeLong(contents.highWaterMark().getEpochSecond());
+                out.writeInt(contents.highWaterMark().getNano());
+                contents.index().writeTo(out);
+                out.flush();
+                channel.write(ByteBuffer.allocate(HEADER_SIZE)
+                        .putInt(MAGIC)
+                        .putInt(FORMAT_VERSION)
+                        .putInt((int) checksum.getValue())
+                        .putLong(channel.size() - HEADER_SIZE)
+                        .flip(), 0);
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    static Optional<Contents> read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                return ignored(file, "unexpected size " + channel.size());
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                return ignored(file, "not a search index snapshot");
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                return ignored(file, "format version " + version + ", expected " + FORMAT_VERSION);
+            }
+            int expectedChecksum = buffer.getInt();
+            if (buffer.getLong() != channel.size() - HEADER_SIZE) {
+                return ignored(file, "truncated");
+            }
+            CRC32C checksum = new CRC32C();
+            checksum.update(buffer.slice());
+            if ((int) checksum.getValue() != expectedChecksum) {
+                return ignored(file, "checksum mismatch");
+            }
+            Instant highWaterMark = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            return Optional.of(new Contents(InvertedIndex.readFrom(buffer), highWaterMark));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Search index snapshot {} could not be read", file, e);
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Contents> ignored(Path file, String reason) {
+        log.warn("Search index snapshot {} ignored: {}", file, reason);
+        return Optional.empty();
+    }
+}
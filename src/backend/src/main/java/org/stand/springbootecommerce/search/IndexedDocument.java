@@ -0,0 +1,37 @@
+package org.stand.springbootecommerce.search;
+
+import org.stand.springbootecommerce.entity.user.Product;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Analyzed product: weighted term frequencies over name, short description and description.
+ * A term in the name counts more than the same term in the description (a simplified BM25F).
+ * The name terms are also kept apart: they are the vocabulary misspelled queries are corrected to.
+ */
+public record IndexedDocument(long id, Map<String, Float> termFrequencies, float length, Set<String> nameTerms) {
+
+    static final float NAME_WEIGHT = 3f;
+    static final float SHORT_DESCRIPTION_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+
+    public static IndexedDocument of(Product product) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = addField(frequencies, product.getName(), NAME_WEIGHT)
+                + addField(frequencies, product.getShortDescription(), SHORT_DESCRIPTION_WEIGHT)
+                + addField(frequencies, product.getDescription(), DESCRIPTION_WEIGHT);
+        return new IndexedDocument(product.getId(), Map.copyOf(frequencies), length,
+                Set.copyOf(TextAnalyzer.tokenize(product.getName())));
+    }
+
+    private static float addField(Map<String, Float> frequencies, String text, float weight) {
+        List<String> tokens = TextAnalyzer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+}
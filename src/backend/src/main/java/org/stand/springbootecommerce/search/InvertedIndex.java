@@ -0,0 +1,227 @@
+package org.stand.springbootecommerce.search;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Immutable inverted index: a sorted term dictionary with, per term, the documents containing it
+ * and the weighted term frequency in each. Documents are numbered densely; {@link #docId} maps a
+ * number back to the product id. Never modified once built, so any number of threads can read it.
+ * The terms of product names are also held in a {@link BkTree}, for typo-tolerant lookups.
+ * <p>
+ * {@link #writeTo} and {@link #readFrom} persist it as its arrays, big-endian, so loading it back
+ * does not analyze any product again.
+ */
+public final class InvertedIndex {
+
+    public static final InvertedIndex EMPTY = build(List.of());
+
+    private final long[] docIds;
+    private final long[] sortedDocIds;
+    private final float[] docLengths;
+    private final float averageLength;
+    private final String[] terms;
+    private final int[][] postingDocs;
+    private final float[][] postingFrequencies;
+    private final String[] nameTermList;
+    private final BkTree nameTerms;
+
+    private InvertedIndex(long[] docIds, float[] docLengths, String[] terms, int[][] postingDocs,
+            float[][] postingFrequencies, String[] nameTermList) {
+        this.docIds = docIds;
+        this.sortedDocIds = docIds.clone();
+        Arrays.sort(sortedDocIds);
+        this.docLengths = docLengths;
+        this.terms = terms;
+        this.postingDocs = postingDocs;
+        this.postingFrequencies = postingFrequencies;
+        this.nameTermList = nameTermList;
+        this.nameTerms = BkTree.build(Arrays.asList(nameTermList));
+        float total = 0;
+        for (float length : docLengths) {
+            total += length;
+        }
+        this.averageLength = docLengths.length == 0 ? 0 : total / docLengths.length;
+    }
+
+    public static InvertedIndex build(Collection<IndexedDocument> documents) {
+        long[] docIds = new long[documents.size()];
+        float[] docLengths = new float[documents.size()];
+        Map<String, PostingsBuilder> postings = new HashMap<>();
+        Set<String> nameTerms = new HashSet<>();
+        int doc = 0;
+        for (IndexedDocument document : documents) {
+            docIds[doc] = document.id();
+            docLengths[doc] = document.length();
+            for (Map.Entry<String, Float> entry : document.termFrequencies().entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingsBuilder()).add(doc, entry.getValue());
+            }
+            nameTerms.addAll(document.nameTerms());
+            doc++;
+        }
+
+        String[] terms = postings.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[][] postingDocs = new int[terms.length][];
+        float[][] postingFrequencies = new float[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            PostingsBuilder builder = postings.get(terms[i]);
+            postingDocs[i] = Arrays.copyOf(builder.docs, builder.size);
+            postingFrequencies[i] = Arrays.copyOf(builder.frequencies, builder.size);
+        }
+        return new InvertedIndex(docIds, docLengths, terms, postingDocs, postingFrequencies,
+                nameTerms.toArray(new String[0]));
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(docIds.length);
+        for (long docId : docIds) {
+            out.writeLong(docId);
+        }
+        for (float docLength : docLengths) {
+            out.writeFloat(docLength);
+        }
+        out.writeInt(terms.length);
+        for (int i = 0; i < terms.length; i++) {
+            writeString(out, terms[i]);
+            out.writeInt(postingDocs[i].length);
+            for (int doc : postingDocs[i]) {
+                out.writeInt(doc);
+            }
+            for (float frequency : postingFrequencies[i]) {
+                out.writeFloat(frequency);
+            }
+        }
+        out.writeInt(nameTermList.length);
+        for (String term : nameTermList) {
+            writeString(out, term);
+        }
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo}, from the position of the buffer on.
+     */
+    public static InvertedIndex readFrom(ByteBuffer in) {
+        int documentCount = in.getInt();
+        long[] docIds = new long[documentCount];
+        in.asLongBuffer().get(docIds);
+        in.position(in.position() + documentCount * Long.BYTES);
+        float[] docLengths = new float[documentCount];
+        in.asFloatBuffer().get(docLengths);
+        in.position(in.position() + documentCount * Float.BYTES);
+        String[] terms = new String[in.getInt()];
+        int[][] postingDocs = new int[terms.length][];
+        float[][] postingFrequencies = new float[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = readString(in);
+            int size = in.getInt();
+            postingDocs[i] = new int[size];
+            in.asIntBuffer().get(postingDocs[i]);
+            in.position(in.position() + size * Integer.BYTES);
+            postingFrequencies[i] = new float[size];
+            in.asFloatBuffer().get(postingFrequencies[i]);
+            in.position(in.position() + size * Float.BYTES);
+        }
+        String[] nameTermList = new String[in.getInt()];
+        for (int i = 0; i < nameTermList.length; i++) {
+            nameTermList[i] = readString(in);
+        }
+        return new InvertedIndex(docIds, docLengths, terms, postingDocs, postingFrequencies, nameTermList);
+    }
+
+    public int documentCount() {
+        return docIds.length;
+    }
+
+    public long docId(int doc) {
+        return docIds[doc];
+    }
+
+    public boolean containsDocument(long id) {
+        return Arrays.binarySearch(sortedDocIds, id) >= 0;
+    }
+
+    public float docLength(int doc) {
+        return docLengths[doc];
+    }
+
+    public float averageLength() {
+        return averageLength;
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    public String term(int termIndex) {
+        return terms[termIndex];
+    }
+
+    /**
+     * @return the index of the term in the dictionary, or -1
+     */
+    public int termIndex(String term) {
+        int index = Arrays.binarySearch(terms, term);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * First dictionary index of the terms starting with the prefix; they run up to
+     * {@link #prefixEnd}.
+     */
+    public int prefixStart(String prefix) {
+        int index = Arrays.binarySearch(terms, prefix);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public int prefixEnd(String prefix) {
+        int end = prefixStart(prefix);
+        while (end < terms.length && terms[end].startsWith(prefix)) {
+            end++;
+        }
+        return end;
+    }
+
+    public BkTree nameTerms() {
+        return nameTerms;
+    }
+
+    public int[] postingDocs(int termIndex) {
+        return postingDocs[termIndex];
+    }
+
+    public float[] postingFrequencies(int termIndex) {
+        return postingFrequencies[termIndex];
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class PostingsBuilder {
+        int[] docs = new int[4];
+        float[] frequencies = new float[4];
+        int size;
+
+        void add(int doc, float frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package org.stand.springbootecommerce.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.repository.ProductRepository;
+import org.stand.springbootecommerce.repository.ReviewRepository;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Facet counts for product listings: one compressed bitmap of product ids per category, price
+ * band, rating band and stock state. The count of a result set for a facet value is the
+ * cardinality of an intersection, computed on the compressed bitmaps without materializing it,
+ * so a listing gets all its counts without a GROUP BY.
+ * <p>
+ * An intersection costs in proportion to the facet bitmaps, whatever the size of the result set.
+ * A narrow result set (a few hundred products out of thousands) is cheaper counted from the other
+ * side: each facet also keeps a column of the value of every product, read once per result.
+ * <p>
+ * As in {@link ProductSearchIndex}, readers use an immutable snapshot swapped through a volatile
+ * field; a write copies only the bitmaps it changes and one page of each column. Products indexed
+ * while a rebuild reads the database are replayed over its result. Ratings move with reviews,
+ * which do not go through here: they are picked up by the scheduled rebuild.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductFacetIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String PRICE = "price";
+    public static final String RATING = "rating";
+    public static final String STOCK = "stock";
+
+    static final String UNRATED = "unrated";
+    static final String IN_STOCK = "in_stock";
+    static final String OUT_OF_STOCK = "out_of_stock";
+
+    private static final List<String> FACETS = List.of(CATEGORY, PRICE, RATING, STOCK);
+    // Result sets under this share of the catalog are counted through the value columns
+    private static final int NARROW_RESULT_RATIO = 4;
+
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+
+    // Upper bounds of the price bands, ascending; the last band is open-ended
+    @Value("${search.facets.price-bands:100,250,500,1000,2000}")
+    private List<BigDecimal> priceBands;
+
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+
+    // Products indexed while a rebuild runs, replayed over its result; null otherwise. Guarded by writeLock
+    private List<Product> indexedDuringRebuild;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.rebuild-interval:PT10M}",
+            initialDelayString = "${search.index.rebuild-interval:PT10M}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                indexedDuringRebuild = new ArrayList<>();
+            }
+            try {
+                Map<String, Map<String, RoaringBitmap>> facets = build();
+                synchronized (writeLock) {
+                    Snapshot next = Snapshot.of(facets);
+                    for (Product product : indexedDuringRebuild) {
+                        next = with(next, product);
+                    }
+                    snapshot = next;
+                }
+            } finally {
+                synchronized (writeLock) {
+                    indexedDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private Map<String, Map<String, RoaringBitmap>> build() {
+        Map<Long, Double> ratings = new HashMap<>();
+        reviewRepository.findAverageRatings()
+                .forEach(rating -> ratings.put(rating.getProductId(), rating.getAverage()));
+        List<Product> products = new ArrayList<>(productRepository.findAll());
+        // Category values listed by id
+        products.sort(Comparator.comparing(product -> product.getCategory() == null
+                ? Long.MAX_VALUE : product.getCategory().getId()));
+
+        Map<String, Map<String, RoaringBitmap>> facets = emptyFacets();
+        // Bands listed in their natural order, whatever products come first
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal upper : priceBands) {
+            facets.get(PRICE).put(priceBand(lower), new RoaringBitmap());
+            lower = upper;
+        }
+        facets.get(PRICE).put(priceBand(lower), new RoaringBitmap());
+        for (int band = 1; band <= 5; band++) {
+            facets.get(RATING).put(String.valueOf(band), new RoaringBitmap());
+        }
+        facets.get(RATING).put(UNRATED, new RoaringBitmap());
+        facets.get(STOCK).put(IN_STOCK, new RoaringBitmap());
+        facets.get(STOCK).put(OUT_OF_STOCK, new RoaringBitmap());
+        for (Product product : products) {
+            Map<String, String> values = valuesOf(product, ratingBand(ratings.get(product.getId())));
+            int doc = doc(product.getId());
+            values.forEach((facet, value) ->
+                    facets.get(facet).computeIfAbsent(value, v -> new RoaringBitmap()).add(doc));
+        }
+        log.info("Product facet index built: {} products", products.size());
+        return facets;
+    }
+
+    /**
+     * Adds or moves a product; counted as soon as this returns. Its rating band is kept until
+     * the next rebuild.
+     */
+    public void index(Product product) {
+        synchronized (writeLock) {
+            snapshot = with(snapshot, product);
+            if (indexedDuringRebuild != null) {
+                indexedDuringRebuild.add(product);
+            }
+        }
+    }
+
+    /**
+     * Counts per facet value over the whole catalog; values without products are left out.
+     */
+    public Map<String, Map<String, Integer>> countAll() {
+        return snapshot.count((RoaringBitmap) null);
+    }
+
+    /**
+     * Counts per facet value over the products of one category.
+     */
+    public Map<String, Map<String, Integer>> countCategory(Long categoryId) {
+        Snapshot current = snapshot;
+        return current.count(current.productsWith(CATEGORY, String.valueOf(categoryId)));
+    }
+
+    /**
+     * Counts per facet value over the given products, such as a search result.
+     */
+    public Map<String, Map<String, Integer>> count(Collection<Long> productIds) {
+        int[] docs = new int[productIds.size()];
+        int i = 0;
+        for (Long id : productIds) {
+            docs[i++] = doc(id);
+        }
+        Snapshot current = snapshot;
+        if ((long) docs.length * NARROW_RESULT_RATIO < current.documentCount()) {
+            return current.count(docs);
+        }
+        // Results come in rank order: grouped by container first instead of inserted one by one
+        return current.count(RoaringBitmap.bitmapOfUnordered(docs));
+    }
+
+    /**
+     * Id of the category of a product, or null if it has none or is not indexed.
+     */
+    public Long categoryOf(Long productId) {
+        String category = snapshot.valueOf(CATEGORY, doc(productId));
+        return category == null ? null : Long.valueOf(category);
+    }
+
+    private Snapshot with(Snapshot current, Product product) {
+        int doc = doc(product.getId());
+        String rating = current.valueOf(RATING, doc);
+        return current.with(doc, valuesOf(product, rating == null ? UNRATED : rating));
+    }
+
+    private Map<String, String> valuesOf(Product product, String rating) {
+        Map<String, String> values = new HashMap<>();
+        if (product.getCategory() != null && product.getCategory().getId() != null) {
+            values.put(CATEGORY, String.valueOf(product.getCategory().getId()));
+        }
+        if (product.getPrice() != null) {
+            values.put(PRICE, priceBand(product.getPrice()));
+        }
+        values.put(RATING, rating);
+        values.put(STOCK, product.getQuantity() > 0 ? IN_STOCK : OUT_OF_STOCK);
+        return values;
+    }
+
+    /**
+     * "0-100", "100-250"... up to "2000+" with the default bounds.
+     */
+    private String priceBand(BigDecimal price) {
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal upper : priceBands) {
+            if (price.compareTo(upper) < 0) {
+                return lower.toPlainString() + "-" + upper.toPlainString();
+            }
+            lower = upper;
+        }
+        return lower.toPlainString() + "+";
+    }
+
+    /**
+     * Average rating rounded down: "4" holds products rated from 4 to just under 5.
+     */
+    private static String ratingBand(Double average) {
+        return average == null ? UNRATED : String.valueOf((int) Math.floor(average));
+    }
+
+    // Bitmaps hold 32-bit values; product ids are sequence-generated and stay well below
+    private static int doc(Long productId) {
+        return Math.toIntExact(productId);
+    }
+
+    private static Map<String, Map<String, RoaringBitmap>> emptyFacets() {
+        Map<String, Map<String, RoaringBitmap>> facets = new LinkedHashMap<>();
+        FACETS.forEach(facet -> facets.put(facet, new LinkedHashMap<>()));
+        return facets;
+    }
+
+    /**
+     * Per product id, the position of a value (-1 for none), in fixed-size pages: a write copies
+     * the page table and the one page it changes, not the whole column.
+     */
+    private record Column(int[][] pages) {
+
+        private static final int PAGE_BITS = 10;
+        private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+        // Shared by every page no product was ever written to; never modified
+        private static final int[] EMPTY_PAGE = emptyPage();
+
+        static Column of(int maxDoc) {
+            int[][] pages = new int[maxDoc < 0 ? 0 : (maxDoc >>> PAGE_BITS) + 1][];
+            for (int page = 0; page < pages.length; page++) {
+                pages[page] = emptyPage();
+            }
+            return new Column(pages);
+        }
+
+        int get(int doc) {
+            int page = doc >>> PAGE_BITS;
+            return page < pages.length ? pages[page][doc & PAGE_MASK] : -1;
+        }
+
+        // Only while the column is built, before it is published
+        void set(int doc, int position) {
+            pages[doc >>> PAGE_BITS][doc & PAGE_MASK] = position;
+        }
+
+        Column with(int doc, int position) {
+            int page = doc >>> PAGE_BITS;
+            int[][] next = Arrays.copyOf(pages, Math.max(pages.length, page + 1));
+            Arrays.fill(next, pages.length, next.length, EMPTY_PAGE);
+            next[page] = next[page].clone();
+            next[page][doc & PAGE_MASK] = position;
+            return new Column(next);
+        }
+
+        private static int[] emptyPage() {
+            int[] page = new int[1 << PAGE_BITS];
+            Arrays.fill(page, -1);
+            return page;
+        }
+    }
+
+    /**
+     * The values of one facet, the products having each of them and, per product id, the position
+     * of its value.
+     */
+    private record Facet(List<String> values, List<RoaringBitmap> bitmaps, Column column) {
+
+        static Facet of(Map<String, RoaringBitmap> bitmaps, int maxDoc) {
+            List<String> values = List.copyOf(bitmaps.keySet());
+            Column column = Column.of(maxDoc);
+            List<RoaringBitmap> frozen = new ArrayList<>();
+            for (int value = 0; value < values.size(); value++) {
+                RoaringBitmap bitmap = bitmaps.get(values.get(value));
+                bitmap.runOptimize();
+                frozen.add(bitmap);
+                int position = value;
+                bitmap.forEach((int doc) -> column.set(doc, position));
+            }
+            return new Facet(values, List.copyOf(frozen), column);
+        }
+
+        String valueOf(int doc) {
+            int position = column.get(doc);
+            return position >= 0 ? values.get(position) : null;
+        }
+
+        RoaringBitmap productsWith(String value) {
+            int position = values.indexOf(value);
+            return position < 0 ? new RoaringBitmap() : bitmaps.get(position);
+        }
+
+        Facet with(int doc, String target) {
+            int current = column.get(doc);
+            int next = target == null ? -1 : values.indexOf(target);
+            if (current == next && (target == null || next >= 0)) {
+                return this;
+            }
+            List<String> nextValues = new ArrayList<>(values);
+            List<RoaringBitmap> nextBitmaps = new ArrayList<>(bitmaps);
+            if (target != null && next < 0) {
+                nextValues.add(target);
+                nextBitmaps.add(new RoaringBitmap());
+                next = nextValues.size() - 1;
+            }
+            // Copies of the two bitmaps involved; readers keep the originals
+            if (current >= 0) {
+                RoaringBitmap copy = nextBitmaps.get(current).clone();
+                copy.remove(doc);
+                nextBitmaps.set(current, copy);
+            }
+            if (next >= 0) {
+                RoaringBitmap copy = nextBitmaps.get(next).clone();
+                copy.add(doc);
+                nextBitmaps.set(next, copy);
+            }
+            return new Facet(List.copyOf(nextValues), List.copyOf(nextBitmaps), column.with(doc, next));
+        }
+
+        Map<String, Integer> count(RoaringBitmap results) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (int value = 0; value < values.size(); value++) {
+                RoaringBitmap bitmap = bitmaps.get(value);
+                int count = results == null ? bitmap.getCardinality() : RoaringBitmap.andCardinality(results, bitmap);
+                if (count > 0) {
+                    counts.put(values.get(value), count);
+                }
+            }
+            return counts;
+        }
+
+        Map<String, Integer> count(int[] docs) {
+            int[] tally = new int[values.size()];
+            for (int doc : docs) {
+                int position = column.get(doc);
+                if (position >= 0) {
+                    tally[position]++;
+                }
+            }
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (int value = 0; value < values.size(); value++) {
+                if (tally[value] > 0) {
+                    counts.put(values.get(value), tally[value]);
+                }
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Every facet by name, with the number of products indexed. Never modified once published.
+     */
+    private record Snapshot(Map<String, Facet> facets, int documentCount) {
+
+        static final Snapshot EMPTY = of(emptyFacets());
+
+        static Snapshot of(Map<String, Map<String, RoaringBitmap>> bitmaps) {
+            RoaringBitmap all = new RoaringBitmap();
+            bitmaps.get(STOCK).values().forEach(all::or);
+            int maxDoc = all.isEmpty() ? -1 : all.last();
+            Map<String, Facet> facets = new LinkedHashMap<>();
+            bitmaps.forEach((facet, values) -> facets.put(facet, Facet.of(values, maxDoc)));
+            return new Snapshot(facets, all.getCardinality());
+        }
+
+        String valueOf(String facet, int doc) {
+            return facets.get(facet).valueOf(doc);
+        }
+
+        RoaringBitmap productsWith(String facet, String value) {
+            return facets.get(facet).productsWith(value);
+        }
+
+        Snapshot with(int doc, Map<String, String> values) {
+            // Every product has a stock state, so that facet tells whether it is new
+            boolean added = valueOf(STOCK, doc) == null;
+            Map<String, Facet> next = new LinkedHashMap<>();
+            facets.forEach((name, facet) -> next.put(name, facet.with(doc, values.get(name))));
+            return new Snapshot(next, added ? documentCount + 1 : documentCount);
+        }
+
+        /**
+         * @param results the products to count, or null for all of them
+         */
+        Map<String, Map<String, Integer>> count(RoaringBitmap results) {
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            facets.forEach((name, facet) -> counts.put(name, facet.count(results)));
+            return counts;
+        }
+
+        Map<String, Map<String, Integer>> count(int[] docs) {
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            facets.forEach((name, facet) -> counts.put(name, facet.count(docs)));
+            return counts;
+        }
+    }
+}
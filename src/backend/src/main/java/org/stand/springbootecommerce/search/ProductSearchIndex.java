@@ -0,0 +1,614 @@
+package org.stand.springbootecommerce.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.repository.ProductRepository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Full-text product search over name, short description and description, ranked with BM25.
+ * <p>
+ * Readers take the current {@link Snapshot} from a volatile field and never block. A snapshot is
+ * an immutable base index plus the products written since it was built: those shadow their old
+ * version in the base and are scored directly. Once there are {@code search.index.max-pending}
+ * of them, a fresh base is built off to the side from the database and swapped in.
+ * <p>
+ * When a query finds fewer than {@code search.fuzzy.min-hits} products, the words that match no
+ * indexed term are taken as typos ("samsumg", "iphnoe") and replaced by the closest product-name
+ * terms, found through the {@link BkTree} of the base and by a scan of the pending products.
+ * <p>
+ * With {@code search.index.snapshot-file} set, each base built from the database is also saved
+ * there. A starting instance then maps that file and replays the products saved since it was
+ * written rather than reading them all; {@link SearchIndexHealthIndicator} keeps the instance out
+ * of service until this is done. Only this index is restored this way: the catalog, the suggester
+ * and the facet index are still loaded from the database at startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex implements MeterBinder {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    // Terms only matched as a prefix of the last query word ("lap" -> "laptop") count less
+    private static final float PREFIX_WEIGHT = 0.5f;
+    // Completions of the last word scored at most, the most frequent ones: a one- or two-letter
+    // prefix matches thousands of terms
+    static final int MAX_COMPLETIONS = 32;
+    // Weight of a corrected term, by number of edits
+    private static final float[] FUZZY_WEIGHTS = {1f, 0.5f, 0.3f};
+
+    private final ProductRepository productRepository;
+
+    @Value("${search.index.max-pending:500}")
+    private int maxPending;
+
+    // 0 disables the fallback
+    @Value("${search.fuzzy.min-hits:3}")
+    private int fuzzyMinHits;
+
+    // Empty: rebuilt from the database at startup
+    @Value("${search.index.snapshot-file:}")
+    private String snapshotFile = "";
+
+    // Longer than any transaction saving a product
+    @Value("${search.index.replay-margin:PT5M}")
+    private Duration replayMargin = Duration.ofMinutes(5);
+
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    // Bumped after each new base is swapped in
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile boolean ready;
+    private volatile Duration startupTime = Duration.ZERO;
+    private volatile int replayed;
+
+    /**
+     * Loads the index before the application reports ready: from the snapshot file and the
+     * products saved since, or else from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        long start = System.nanoTime();
+        if (!snapshotFile.isBlank()) {
+            productRepository.stampMissingUpdates();
+        }
+        boolean restored = restore();
+        if (!restored) {
+            rebuild();
+        }
+        startupTime = Duration.ofNanos(System.nanoTime() - start);
+        ready = true;
+        log.info("Product search index ready in {} ms, {}", startupTime.toMillis(),
+                restored ? "from its snapshot with " + replayed + " products replayed" : "from the database");
+    }
+
+    // Also picks up writes that did not go through this instance
+    @Scheduled(fixedDelayString = "${search.index.rebuild-interval:PT10M}",
+            initialDelayString = "${search.index.rebuild-interval:PT10M}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Adds or replaces a product; searchable as soon as this returns.
+     */
+    public void index(Product product) {
+        apply(new Mutation(product.getId(), IndexedDocument.of(product)));
+    }
+
+    public void remove(Long productId) {
+        apply(new Mutation(productId, null));
+    }
+
+    /**
+     * Product ids matching the query, best first.
+     */
+    public List<Long> search(String query) {
+        return search(query, Integer.MAX_VALUE).ids();
+    }
+
+    /**
+     * The {@code limit} best product ids matching the query, best first, and the number of matches.
+     */
+    public Ranking search(String query, int limit) {
+        Snapshot current = snapshot;
+        List<String> tokens = TextAnalyzer.tokenize(query);
+        Map<String, Float> queryTerms = expand(current, tokens);
+        if (queryTerms.isEmpty()) {
+            return Ranking.EMPTY;
+        }
+        Ranking ranking = score(current, queryTerms, limit);
+        if (ranking.total() >= fuzzyMinHits) {
+            return ranking;
+        }
+        Map<String, Float> corrections = correct(current, tokens, queryTerms);
+        if (corrections.isEmpty()) {
+            return ranking;
+        }
+        corrections.forEach(queryTerms::putIfAbsent);
+        return score(current, queryTerms, limit);
+    }
+
+    /**
+     * Scores only the documents in the postings of the query terms, and keeps the best
+     * {@code limit} of them in a bounded heap: neither depends on the size of the index.
+     */
+    private Ranking score(Snapshot current, Map<String, Float> queryTerms, int limit) {
+        InvertedIndex base = current.base();
+        int documentCount = current.documentCount();
+        float averageLength = current.averageLength();
+
+        // The terms to score, with their weight, and how many postings they will add up
+        List<Integer> termIndexes = new ArrayList<>();
+        List<String> terms = new ArrayList<>();
+        List<Float> weights = new ArrayList<>();
+        long postings = 0;
+        for (Map.Entry<String, Float> queryTerm : queryTerms.entrySet()) {
+            String term = queryTerm.getKey();
+            int termIndex = base.termIndex(term);
+            int documentFrequency = termIndex < 0 ? 0 : base.postingDocs(termIndex).length;
+            postings += documentFrequency;
+            for (IndexedDocument document : current.pending().values()) {
+                if (document.termFrequencies().containsKey(term)) {
+                    documentFrequency++;
+                }
+            }
+            if (documentFrequency == 0) {
+                continue;
+            }
+            float idf = (float) Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            termIndexes.add(termIndex);
+            terms.add(term);
+            weights.add(queryTerm.getValue() * idf);
+        }
+
+        ScoreAccumulator baseScores = new ScoreAccumulator((int) Math.min(postings, base.documentCount()));
+        Map<Long, Float> pendingScores = new HashMap<>();
+        for (int t = 0; t < terms.size(); t++) {
+            int termIndex = termIndexes.get(t);
+            float weight = weights.get(t);
+            if (termIndex >= 0) {
+                int[] docs = base.postingDocs(termIndex);
+                float[] frequencies = base.postingFrequencies(termIndex);
+                for (int i = 0; i < docs.length; i++) {
+                    baseScores.add(docs[i], weight * bm25(frequencies[i], base.docLength(docs[i]), averageLength));
+                }
+            }
+            for (IndexedDocument document : current.pending().values()) {
+                Float frequency = document.termFrequencies().get(terms.get(t));
+                if (frequency != null) {
+                    pendingScores.merge(document.id(),
+                            weight * bm25(frequency, document.length(), averageLength), Float::sum);
+                }
+            }
+        }
+
+        TopHits top = new TopHits(limit);
+        baseScores.forEach((doc, score) -> {
+            if (!current.shadowed().contains(base.docId(doc))) {
+                top.offer(base.docId(doc), score);
+            }
+        });
+        pendingScores.forEach(top::offer);
+        return new Ranking(top.ids(), top.total());
+    }
+
+    public int size() {
+        return snapshot.documentCount();
+    }
+
+    /**
+     * Whether the index was loaded at startup.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        TimeGauge.builder("search.index.startup.time", this, TimeUnit.MILLISECONDS,
+                        index -> index.startupTime.toMillis())
+                .description("Time taken to load the search index at startup")
+                .register(registry);
+        Gauge.builder("search.index.startup.replayed", this, index -> index.replayed)
+                .description("Products saved since the index snapshot, replayed at startup")
+                .register(registry);
+    }
+
+    /**
+     * Number of rebuilds so far. Results computed under one generation may miss writes that a
+     * later rebuild brought in from the database.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Builds a new base index from the database and swaps it in. Queries keep using the
+     * previous snapshot meanwhile; writes made during the build are carried over.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            int carriedFrom = snapshot.mutations().size();
+            // Read first, and saved less a margin: a product saved during the build, or stamped
+            // before the mark but committed after, is replayed even if the build saw it
+            Instant highWaterMark = snapshotFile.isBlank() ? null : productRepository.findLastUpdate();
+            List<IndexedDocument> documents = productRepository.findAll().stream()
+                    .map(IndexedDocument::of)
+                    .toList();
+            InvertedIndex base = InvertedIndex.build(documents);
+            synchronized (writeLock) {
+                List<Mutation> mutations = snapshot.mutations();
+                snapshot = Snapshot.of(base, mutations.subList(carriedFrom, mutations.size()));
+            }
+            generation.incrementAndGet();
+            log.info("Product search index rebuilt: {} products, {} terms", base.documentCount(), base.termCount());
+            if (!snapshotFile.isBlank()) {
+                save(base, highWaterMark == null ? Instant.EPOCH : highWaterMark.minus(replayMargin));
+            }
+        }
+    }
+
+    /**
+     * Swaps in the base saved in the snapshot file, with the products saved since replayed over it.
+     *
+     * @return false if there is no usable snapshot
+     */
+    private boolean restore() {
+        if (snapshotFile.isBlank()) {
+            return false;
+        }
+        Optional<IndexSnapshotFile.Contents> contents = IndexSnapshotFile.read(Path.of(snapshotFile));
+        if (contents.isEmpty()) {
+            return false;
+        }
+        int changed;
+        synchronized (rebuildLock) {
+            List<Mutation> mutations = new ArrayList<>();
+            productRepository.findByUpdatedAtGreaterThanEqual(contents.get().highWaterMark())
+                    .forEach(product -> mutations.add(new Mutation(product.getId(), IndexedDocument.of(product))));
+            changed = mutations.size();
+            synchronized (writeLock) {
+                mutations.addAll(snapshot.mutations());
+                snapshot = Snapshot.of(contents.get().index(), mutations);
+            }
+            generation.incrementAndGet();
+        }
+        replayed = changed;
+        if (changed >= maxPending) {
+            requestRebuild();
+        }
+        return true;
+    }
+
+    private void save(InvertedIndex base, Instant highWaterMark) {
+        try {
+            IndexSnapshotFile.write(Path.of(snapshotFile), new IndexSnapshotFile.Contents(base, highWaterMark));
+        } catch (IOException e) {
+            // The next startup rebuilds from the database instead
+            log.warn("Search index snapshot could not be written to {}", snapshotFile, e);
+        }
+    }
+
+    private void requestRebuild() {
+        if (rebuildRequested.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildRequested.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Product search index rebuild failed", e);
+                }
+            });
+        }
+    }
+
+    private void apply(Mutation mutation) {
+        int pending;
+        synchronized (writeLock) {
+            snapshot = snapshot.with(mutation);
+            pending = snapshot.mutations().size();
+        }
+        if (pending >= maxPending) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * Query terms with their weight: every word, plus the {@value #MAX_COMPLETIONS} completions of
+     * the last one found in the most documents.
+     */
+    private static Map<String, Float> expand(Snapshot snapshot, List<String> tokens) {
+        Map<String, Float> terms = new LinkedHashMap<>();
+        for (String token : tokens) {
+            terms.put(token, 1f);
+        }
+        if (tokens.isEmpty()) {
+            return terms;
+        }
+        String prefix = tokens.get(tokens.size() - 1);
+        // Documents written since the base, by completion
+        Map<String, Integer> pendingCompletions = new HashMap<>();
+        for (IndexedDocument document : snapshot.pending().values()) {
+            for (String term : document.termFrequencies().keySet()) {
+                if (term.startsWith(prefix)) {
+                    pendingCompletions.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        // Bounded min-heap on document count: the least frequent completion kept is at its head
+        PriorityQueue<Completion> completions = new PriorityQueue<>(Comparator.comparingInt(Completion::documents)
+                .thenComparing(Completion::term, Comparator.reverseOrder()));
+        InvertedIndex base = snapshot.base();
+        for (int i = base.prefixStart(prefix), end = base.prefixEnd(prefix); i < end; i++) {
+            String term = base.term(i);
+            Integer pending = pendingCompletions.remove(term);
+            offer(completions, new Completion(term, base.postingDocs(i).length + (pending == null ? 0 : pending)));
+        }
+        pendingCompletions.forEach((term, documents) -> offer(completions, new Completion(term, documents)));
+        for (Completion completion : completions) {
+            terms.putIfAbsent(completion.term(), PREFIX_WEIGHT);
+        }
+        return terms;
+    }
+
+    private static void offer(PriorityQueue<Completion> completions, Completion completion) {
+        if (completions.size() < MAX_COMPLETIONS) {
+            completions.add(completion);
+        } else if (completions.comparator().compare(completion, completions.peek()) > 0) {
+            completions.poll();
+            completions.add(completion);
+        }
+    }
+
+    private record Completion(String term, int documents) {
+    }
+
+    /**
+     * Closest product-name terms for each token matching no indexed term, weighted by distance.
+     * Only the nearest candidates of a token are kept: one edit away beats two.
+     */
+    private static Map<String, Float> correct(Snapshot snapshot, List<String> tokens, Map<String, Float> queryTerms) {
+        Map<String, Float> corrections = new LinkedHashMap<>();
+        for (String token : tokens) {
+            int maxDistance = maxEdits(token);
+            if (maxDistance == 0 || isIndexed(snapshot, token, queryTerms)) {
+                continue;
+            }
+            List<BkTree.Match> candidates = new ArrayList<>(snapshot.base().nameTerms().search(token, maxDistance));
+            for (IndexedDocument document : snapshot.pending().values()) {
+                for (String term : document.nameTerms()) {
+                    int distance = BkTree.distance(token, term);
+                    if (distance <= maxDistance) {
+                        candidates.add(new BkTree.Match(term, distance));
+                    }
+                }
+            }
+            int closest = candidates.stream().mapToInt(BkTree.Match::distance).min().orElse(0);
+            for (BkTree.Match candidate : candidates) {
+                if (candidate.distance() == closest) {
+                    corrections.putIfAbsent(candidate.term(), FUZZY_WEIGHTS[closest]);
+                }
+            }
+        }
+        return corrections;
+    }
+
+    /**
+     * Edits tolerated for a word: none for the shortest ones, where a single edit already
+     * reaches unrelated words, two from six letters on.
+     */
+    static int maxEdits(String token) {
+        if (token.length() < 3) {
+            return 0;
+        }
+        return token.length() < 6 ? 1 : 2;
+    }
+
+    private static boolean isIndexed(Snapshot snapshot, String token, Map<String, Float> queryTerms) {
+        if (snapshot.base().termIndex(token) >= 0) {
+            return true;
+        }
+        // The last word also counts as indexed when it is the prefix of a term
+        for (String term : queryTerms.keySet()) {
+            if (!term.equals(token) && term.startsWith(token)) {
+                return true;
+            }
+        }
+        for (IndexedDocument document : snapshot.pending().values()) {
+            if (document.termFrequencies().containsKey(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static float bm25(float frequency, float length, float averageLength) {
+        float normalization = averageLength == 0 ? 1 : 1 - B + B * length / averageLength;
+        return frequency * (K1 + 1) / (frequency + K1 * normalization);
+    }
+
+    /**
+     * @param ids   the best matches, best first
+     * @param total matches, including those beyond the limit
+     */
+    public record Ranking(List<Long> ids, int total) {
+
+        static final Ranking EMPTY = new Ranking(List.of(), 0);
+    }
+
+    private record Hit(long id, float score) {
+    }
+
+    // Best first: higher score, then lower id
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparingLong(Hit::id);
+
+    /**
+     * Scores of the base documents a query reached, keyed by document number. Open addressing,
+     * sized from the postings the query reads rather than from the number of documents.
+     */
+    private static final class ScoreAccumulator {
+
+        // Document number + 1, 0 marks a free slot
+        private final int[] slots;
+        private final float[] scores;
+        private final int mask;
+
+        ScoreAccumulator(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 1) * 2 - 1) << 1;
+            slots = new int[capacity];
+            scores = new float[capacity];
+            mask = capacity - 1;
+        }
+
+        void add(int doc, float score) {
+            int hash = doc * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (slots[slot] != 0 && slots[slot] != doc + 1) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = doc + 1;
+            scores[slot] += score;
+        }
+
+        void forEach(DocScoreConsumer consumer) {
+            for (int slot = 0; slot < slots.length; slot++) {
+                if (slots[slot] != 0 && scores[slot] > 0) {
+                    consumer.accept(slots[slot] - 1, scores[slot]);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface DocScoreConsumer {
+        void accept(int doc, float score);
+    }
+
+    /**
+     * The {@code limit} best hits offered, in a min-heap whose head is the worst one kept.
+     */
+    private static final class TopHits {
+
+        private final int limit;
+        private final PriorityQueue<Hit> heap = new PriorityQueue<>(BEST_FIRST.reversed());
+        private int total;
+
+        TopHits(int limit) {
+            this.limit = limit;
+        }
+
+        void offer(long id, float score) {
+            total++;
+            if (limit <= 0) {
+                return;
+            }
+            Hit hit = new Hit(id, score);
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (BEST_FIRST.compare(hit, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+
+        int total() {
+            return total;
+        }
+
+        List<Long> ids() {
+            Long[] ids = new Long[heap.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = heap.poll().id();
+            }
+            return List.of(ids);
+        }
+    }
+
+    // document is null for a removal
+    private record Mutation(long id, IndexedDocument document) {
+    }
+
+    /**
+     * @param mutations writes since the base was built, in order
+     * @param pending   latest version of each product written since, removed ones excluded
+     * @param shadowed  ids whose base version is stale
+     * @param documentCount products currently searchable
+     */
+    private record Snapshot(InvertedIndex base, List<Mutation> mutations, Map<Long, IndexedDocument> pending,
+            Set<Long> shadowed, int documentCount) {
+
+        static final Snapshot EMPTY = of(InvertedIndex.EMPTY, List.of());
+
+        static Snapshot of(InvertedIndex base, List<Mutation> mutations) {
+            Map<Long, IndexedDocument> pending = new HashMap<>();
+            for (Mutation mutation : mutations) {
+                if (mutation.document() == null) {
+                    pending.remove(mutation.id());
+                } else {
+                    pending.put(mutation.id(), mutation.document());
+                }
+            }
+            Set<Long> shadowed = new HashSet<>();
+            mutations.forEach(mutation -> shadowed.add(mutation.id()));
+            int shadowedInBase = (int) shadowed.stream().filter(base::containsDocument).count();
+            return new Snapshot(base, List.copyOf(mutations), Map.copyOf(pending), Set.copyOf(shadowed),
+                    base.documentCount() - shadowedInBase + pending.size());
+        }
+
+        Snapshot with(Mutation mutation) {
+            List<Mutation> next = new ArrayList<>(mutations);
+            next.add(mutation);
+            return of(base, next);
+        }
+
+        float averageLength() {
+            if (pending.isEmpty()) {
+                return base.averageLength();
+            }
+            float total = base.averageLength() * base.documentCount();
+            for (IndexedDocument document : pending.values()) {
+                total += document.length();
+            }
+            return total / (base.documentCount() + pending.size());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.stand.springbootecommerce.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.repository.OrderRepository;
+import org.stand.springbootecommerce.repository.ProductCategoryRepository;
+import org.stand.springbootecommerce.repository.ProductRepository;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Typeahead over product and category names. A product weighs one plus the number of orders
+ * containing it, a category the sum of its products.
+ * <p>
+ * Like {@link ProductSearchIndex}, readers use an immutable snapshot: a {@link CompletionIndex}
+ * plus the few products added since it was built, which are matched by a scan until the next
+ * rebuild. Rebuilds read the database without holding the write lock, on a background thread
+ * when too many products are pending, and carry over the products added meanwhile.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSuggester {
+
+    // Products added since the last build; past this, a background rebuild is requested
+    private static final int MAX_PENDING = 256;
+
+    private final ProductRepository productRepository;
+    private final ProductCategoryRepository productCategoryRepository;
+    private final OrderRepository orderRepository;
+
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-suggester-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile State state = new State(CompletionIndex.EMPTY, List.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.rebuild-interval:PT10M}",
+            initialDelayString = "${search.index.rebuild-interval:PT10M}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            // Added from here on may be missed by the reads below: kept pending after the swap
+            int carriedFrom = state.pending().size();
+            CompletionIndex index = build();
+            synchronized (writeLock) {
+                List<Suggestion> pending = state.pending();
+                state = new State(index, List.copyOf(pending.subList(carriedFrom, pending.size())));
+            }
+        }
+    }
+
+    /**
+     * Makes a new product suggestible right away.
+     */
+    public void add(Product product) {
+        int pending;
+        synchronized (writeLock) {
+            List<Suggestion> next = new ArrayList<>(state.pending());
+            next.add(new Suggestion(product.getName(), Suggestion.Type.PRODUCT, product.getId(), 1));
+            state = new State(state.index(), List.copyOf(next));
+            pending = next.size();
+        }
+        if (pending > MAX_PENDING) {
+            requestRebuild();
+        }
+    }
+
+    private CompletionIndex build() {
+        Map<Long, Long> orders = new HashMap<>();
+        orderRepository.countOrdersByProduct()
+                .forEach(count -> orders.put(count.getProductId(), count.getOrders()));
+
+        List<Suggestion> suggestions = new ArrayList<>();
+        Map<Long, Double> categoryWeights = new HashMap<>();
+        for (Product product : productRepository.findAll()) {
+            double weight = 1 + orders.getOrDefault(product.getId(), 0L);
+            suggestions.add(new Suggestion(product.getName(), Suggestion.Type.PRODUCT, product.getId(), weight));
+            if (product.getCategory() != null) {
+                categoryWeights.merge(product.getCategory().getId(), weight, Double::sum);
+            }
+        }
+        for (ProductCategory category : productCategoryRepository.findAll()) {
+            suggestions.add(new Suggestion(category.getName(), Suggestion.Type.CATEGORY, category.getId(),
+                    categoryWeights.getOrDefault(category.getId(), 0d)));
+        }
+        log.info("Product suggester built: {} suggestions", suggestions.size());
+        return CompletionIndex.build(suggestions);
+    }
+
+    private void requestRebuild() {
+        if (rebuildRequested.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildRequested.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Product suggester rebuild failed", e);
+                }
+            });
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = TextAnalyzer.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        State current = state;
+        List<Suggestion> completions = current.index().complete(normalized, limit);
+        if (current.pending().isEmpty()) {
+            return completions;
+        }
+
+        List<Suggestion> merged = new ArrayList<>(completions);
+        for (Suggestion suggestion : current.pending()) {
+            String name = TextAnalyzer.normalize(suggestion.text());
+            if (name.startsWith(normalized) || name.contains(" " + normalized)) {
+                merged.add(suggestion);
+            }
+        }
+        merged.sort(Comparator.comparingDouble(Suggestion::weight).reversed());
+        return merged.stream().distinct().limit(limit).toList();
+    }
+
+    private record State(CompletionIndex index, List<Suggestion> pending) {
+    }
+}
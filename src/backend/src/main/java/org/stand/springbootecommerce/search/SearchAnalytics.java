@@ -0,0 +1,265 @@
+package org.stand.springbootecommerce.search;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.stand.springbootecommerce.entity.user.SearchSketch;
+import org.stand.springbootecommerce.repository.SearchSketchRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * What people search for, in constant memory whatever the traffic: a {@link CountMinSketch} of
+ * the frequency of every normalized query, and {@link SpaceSaving} summaries of the most
+ * frequent queries and of the most frequent ones that found nothing.
+ * <p>
+ * Every instance writes its own sketches to the database every
+ * {@code search.analytics.snapshot-interval}, keyed by {@code search.analytics.instance}, and
+ * reads them back at startup. Reports and estimates merge the sketches of all instances; the
+ * snapshot of an instance not written for {@code search.analytics.orphan-after} is taken over by
+ * the next instance to snapshot, so the rows of replaced pods do not pile up. Totals and the top
+ * queries of this instance are exported as meters, the merged report through the
+ * {@code searchanalytics} actuator endpoint.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchAnalytics implements MeterBinder {
+
+    static final String FREQUENCIES = "frequencies";
+    static final String TOP_QUERIES = "top-queries";
+    static final String ZERO_RESULT_QUERIES = "zero-result-queries";
+
+    // Longer queries are cut, so that a tracked query has a bounded size
+    static final int MAX_QUERY_LENGTH = 100;
+
+    private final SearchSketchRepository searchSketchRepository;
+
+    @Value("${search.analytics.count-min.depth:4}")
+    private int depth;
+
+    @Value("${search.analytics.count-min.width:4096}")
+    private int width;
+
+    @Value("${search.analytics.top-k:100}")
+    private int topK;
+
+    // Top queries exported as tagged gauges; kept small, every query is a time series
+    @Value("${search.analytics.exported-top:10}")
+    private int exportedTop;
+
+    @Value("${search.analytics.instance:local}")
+    private String instance;
+
+    @Value("${search.analytics.orphan-after:PT1H}")
+    private Duration orphanAfter;
+
+    // Searches on this instance, counted in place
+    private volatile Sketches sketches;
+    // Snapshots taken over from instances gone, kept aside so that counting never pauses
+    private volatile Sketches adopted;
+
+    private MultiGauge topQueriesGauge;
+    private MultiGauge zeroResultQueriesGauge;
+
+    @PostConstruct
+    public void init() {
+        sketches = empty();
+        adopted = empty();
+        try {
+            Sketches saved = read(searchSketchRepository.findByInstance(instance));
+            if (saved != null) {
+                sketches = saved;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Search analytics not restored, starting empty", e);
+        }
+    }
+
+    /**
+     * Records a search and the number of products it found.
+     */
+    public void record(String query, int results) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Sketches current = sketches;
+        current.frequencies().add(normalized);
+        current.topQueries().offer(normalized);
+        if (results == 0) {
+            current.zeroResultQueries().offer(normalized);
+        }
+    }
+
+    /**
+     * Estimated number of searches for a query on all instances; never below the true count.
+     */
+    public long estimate(String query) {
+        return merged().frequencies().estimate(normalize(query));
+    }
+
+    /**
+     * Searches on all instances, as of the last snapshot of each other instance.
+     */
+    public Report report(int limit) {
+        Sketches merged = merged();
+        return new Report(
+                merged.frequencies().total(),
+                merged.zeroResultQueries().total(),
+                merged.topQueries().top(limit),
+                merged.zeroResultQueries().top(limit));
+    }
+
+    @Scheduled(fixedDelayString = "${search.analytics.snapshot-interval:PT5M}",
+            initialDelayString = "${search.analytics.snapshot-interval:PT5M}")
+    @PreDestroy
+    public void snapshot() {
+        refreshGauges();
+        Instant now = Instant.now();
+        try {
+            adoptOrphans(now);
+            Sketches current = sketches.merge(adopted);
+            searchSketchRepository.saveAll(List.of(
+                    new SearchSketch(instance, FREQUENCIES, current.frequencies().toBytes(), now),
+                    new SearchSketch(instance, TOP_QUERIES, current.topQueries().toBytes(), now),
+                    new SearchSketch(instance, ZERO_RESULT_QUERIES, current.zeroResultQueries().toBytes(), now)));
+            log.debug("Search analytics snapshot written: {} searches", current.frequencies().total());
+        } catch (RuntimeException e) {
+            // The sketches are still in memory, the next snapshot writes them
+            log.warn("Search analytics snapshot failed", e);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("search.queries", this, analytics -> analytics.sketches.frequencies().total())
+                .description("Product searches")
+                .register(registry);
+        FunctionCounter.builder("search.queries.zero.results", this,
+                        analytics -> analytics.sketches.zeroResultQueries().total())
+                .description("Product searches that found nothing")
+                .register(registry);
+        topQueriesGauge = MultiGauge.builder("search.queries.top")
+                .description("Searches for each of the most frequent queries, as of the last snapshot")
+                .register(registry);
+        zeroResultQueriesGauge = MultiGauge.builder("search.queries.zero.results.top")
+                .description("Searches for each of the most frequent queries finding nothing, as of the last snapshot")
+                .register(registry);
+        refreshGauges();
+    }
+
+    private void refreshGauges() {
+        if (topQueriesGauge == null) {
+            return;
+        }
+        // Overwritten: queries that left the top no longer have a series
+        Sketches current = sketches;
+        topQueriesGauge.register(rows(current.topQueries()), true);
+        zeroResultQueriesGauge.register(rows(current.zeroResultQueries()), true);
+    }
+
+    private List<MultiGauge.Row<?>> rows(SpaceSaving summary) {
+        return summary.top(exportedTop).stream()
+                .<MultiGauge.Row<?>>map(hitter -> MultiGauge.Row.of(Tags.of("query", hitter.item()), hitter.count()))
+                .toList();
+    }
+
+    private static String normalize(String query) {
+        String normalized = TextAnalyzer.normalize(query);
+        return normalized.length() > MAX_QUERY_LENGTH ? normalized.substring(0, MAX_QUERY_LENGTH) : normalized;
+    }
+
+    /**
+     * This instance's sketches merged with the last snapshot of every other instance, or alone
+     * when those cannot be read.
+     */
+    private Sketches merged() {
+        Sketches merged = sketches.merge(adopted);
+        try {
+            Map<String, List<SearchSketch>> others = searchSketchRepository.findByInstanceNot(instance).stream()
+                    .collect(Collectors.groupingBy(SearchSketch::getInstance));
+            for (List<SearchSketch> rows : others.values()) {
+                Sketches other = read(rows);
+                if (other != null) {
+                    merged = merged.merge(other);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Search analytics of other instances not read, reporting this instance only", e);
+        }
+        return merged;
+    }
+
+    /**
+     * Merges in the snapshots of the instances gone for longer than {@code orphan-after} and
+     * deletes them; written back with this instance's snapshot right after. Only the instance
+     * whose delete removed a snapshot merges it, so two taking over at once count it once.
+     */
+    private void adoptOrphans(Instant now) {
+        Map<String, List<SearchSketch>> orphans = searchSketchRepository
+                .findByInstanceNotAndUpdatedAtBefore(instance, now.minus(orphanAfter)).stream()
+                .collect(Collectors.groupingBy(SearchSketch::getInstance));
+        orphans.forEach((orphan, rows) -> {
+            Sketches other = read(rows);
+            if (searchSketchRepository.deleteSnapshot(orphan, rows.get(0).getUpdatedAt()) > 0 && other != null) {
+                adopted = adopted.merge(other);
+                log.info("Search analytics of instance {} taken over", orphan);
+            }
+        });
+    }
+
+    private Sketches empty() {
+        return new Sketches(new CountMinSketch(depth, width), new SpaceSaving(topK), new SpaceSaving(topK));
+    }
+
+    /**
+     * The sketches of one instance, or null unless all of them are there and sized as configured:
+     * a resized sketch starts over.
+     */
+    private Sketches read(List<SearchSketch> rows) {
+        Map<String, byte[]> saved = rows.stream()
+                .collect(Collectors.toMap(SearchSketch::getName, SearchSketch::getPayload));
+        if (!saved.keySet().containsAll(List.of(FREQUENCIES, TOP_QUERIES, ZERO_RESULT_QUERIES))) {
+            return null;
+        }
+        CountMinSketch frequencies = CountMinSketch.fromBytes(saved.get(FREQUENCIES));
+        SpaceSaving topQueries = SpaceSaving.fromBytes(saved.get(TOP_QUERIES));
+        SpaceSaving zeroResultQueries = SpaceSaving.fromBytes(saved.get(ZERO_RESULT_QUERIES));
+        boolean compatible = frequencies.depth() == depth && frequencies.width() == width
+                && topQueries.capacity() == topK && zeroResultQueries.capacity() == topK;
+        return compatible ? new Sketches(frequencies, topQueries, zeroResultQueries) : null;
+    }
+
+    private record Sketches(CountMinSketch frequencies, SpaceSaving topQueries, SpaceSaving zeroResultQueries) {
+
+        Sketches merge(Sketches other) {
+            return new Sketches(frequencies.merge(other.frequencies), topQueries.merge(other.topQueries),
+                    zeroResultQueries.merge(other.zeroResultQueries));
+        }
+    }
+
+    /**
+     * @param searches            searches recorded
+     * @param zeroResultSearches  searches that found nothing
+     * @param topQueries          most frequent queries, with the possible overestimate of each count
+     * @param zeroResultQueries   most frequent queries among those that found nothing
+     */
+    public record Report(long searches, long zeroResultSearches, List<SpaceSaving.HeavyHitter> topQueries,
+            List<SpaceSaving.HeavyHitter> zeroResultQueries) {
+    }
+}
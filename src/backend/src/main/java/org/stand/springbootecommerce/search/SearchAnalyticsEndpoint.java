@@ -0,0 +1,36 @@
+package org.stand.springbootecommerce.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/searchanalytics}: search totals with the most frequent queries and the most
+ * frequent ones finding nothing; {@code /actuator/searchanalytics/{query}} the estimated count
+ * of one query; both over all instances. Reserved to {@code ROLE_ADMIN}: the report holds what
+ * users typed.
+ */
+@Component
+@Endpoint(id = "searchanalytics")
+@RequiredArgsConstructor
+public class SearchAnalyticsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SearchAnalytics searchAnalytics;
+
+    @ReadOperation
+    public SearchAnalytics.Report report(@Nullable Integer limit) {
+        return searchAnalytics.report(limit == null ? DEFAULT_LIMIT : Math.max(1, limit));
+    }
+
+    @ReadOperation
+    public Map<String, Object> query(@Selector String query) {
+        return Map.of("query", query, "estimatedSearches", searchAnalytics.estimate(query));
+    }
+}
@@ -0,0 +1,28 @@
+package org.stand.springbootecommerce.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Out of service until the search index is loaded. Part of the readiness group, so a starting
+ * instance gets no traffic before it can answer searches.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexHealthIndicator implements HealthIndicator {
+
+    private final ProductSearchIndex productSearchIndex;
+
+    @Override
+    public Health health() {
+        if (!productSearchIndex.isReady()) {
+            return Health.outOfService().build();
+        }
+        return Health.up()
+                .withDetail("products", productSearchIndex.size())
+                .withDetail("generation", productSearchIndex.generation())
+                .build();
+    }
+}
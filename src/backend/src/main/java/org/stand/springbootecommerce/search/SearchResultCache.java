@@ -0,0 +1,132 @@
+package org.stand.springbootecommerce.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.stand.springbootecommerce.entity.user.Product;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ranked search results by normalized query and page window: the ids of the page and the total
+ * number of matches, so a repeated search skips scoring and only loads its page.
+ * <p>
+ * Caffeine's W-TinyLFU policy admits a new entry only if its query has been seen more often than
+ * the entries it would evict, so a burst of one-off queries does not push out "iphone" or "ps5".
+ * The cache is bounded by the number of ids it holds, each entry weighing its page.
+ * <p>
+ * Entries are keyed by the generation of the {@link ProductSearchIndex} base, so a rebuild, which
+ * may bring writes from other instances, leaves them unreachable. A product written through this
+ * instance evicts the entries whose query may match it.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchResultCache implements MeterBinder {
+
+    // Window of an unpaged search
+    public static final int ALL = Integer.MAX_VALUE;
+
+    private final ProductSearchIndex productSearchIndex;
+
+    // Ids held by all entries together: an unpaged entry holds its whole ranking, so the number
+    // of entries alone does not bound the memory
+    @Value("${search.cache.maximum-ids:1000000}")
+    private long maximumIds;
+
+    @Value("${search.cache.ttl:PT10M}")
+    private Duration ttl;
+
+    // Bumped before every invalidation, see get
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private Cache<Key, Result> results;
+
+    @PostConstruct
+    public void init() {
+        results = Caffeine.newBuilder()
+                .maximumWeight(maximumIds)
+                // An empty result still takes an entry
+                .weigher((Key key, Result result) -> 1 + result.ids().size())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The page of {@code query} starting at {@code offset}, from the cache or else from the index.
+     */
+    public Result get(String query, int offset, int limit) {
+        long generation = productSearchIndex.generation();
+        Key key = new Key(generation, TextAnalyzer.normalize(query), offset, limit);
+        Result cached = results.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long invalidationsBefore = invalidations.get();
+        // Only the hits up to the end of the page are ranked
+        ProductSearchIndex.Ranking ranking = productSearchIndex.search(query,
+                (int) Math.min((long) offset + limit, Integer.MAX_VALUE));
+        List<Long> ids = ranking.ids();
+        int from = Math.min(offset, ids.size());
+        Result result = new Result(List.copyOf(ids.subList(from, ids.size())), ranking.total());
+        results.put(key, result);
+        // A product written meanwhile may have been missed by this ranking, and its
+        // invalidation may have run before the put: drop the entry rather than keep it stale
+        if (invalidations.get() != invalidationsBefore) {
+            results.asMap().remove(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Evicts the results of every query the product may match, and those listing it.
+     */
+    public void invalidate(Product product) {
+        invalidations.incrementAndGet();
+        IndexedDocument document = IndexedDocument.of(product);
+        results.asMap().keySet().removeIf(key -> mayMatch(key.query(), document));
+        results.asMap().values().removeIf(result -> result.ids().contains(product.getId()));
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, results, "search.results");
+    }
+
+    /**
+     * Whether any word of the query matches a term of the document, a prefix of one, or one
+     * within the edits fuzzy matching allows for it. Errs on the side of matching.
+     */
+    private static boolean mayMatch(String query, IndexedDocument document) {
+        for (String token : TextAnalyzer.tokenize(query)) {
+            int maxEdits = ProductSearchIndex.maxEdits(token);
+            for (String term : document.termFrequencies().keySet()) {
+                if (term.startsWith(token)
+                        || Math.abs(term.length() - token.length()) <= maxEdits
+                        && BkTree.distance(token, term) <= maxEdits) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private record Key(long generation, String query, int offset, int limit) {
+    }
+
+    /**
+     * @param ids   the page, best first
+     * @param total matches over all pages
+     */
+    public record Result(List<Long> ids, int total) {
+    }
+}
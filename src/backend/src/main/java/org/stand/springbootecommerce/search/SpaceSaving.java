@@ -0,0 +1,256 @@
+package org.stand.springbootecommerce.search;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Space-saving summary: the most frequent items of a stream in a bounded number of counters. An
+ * item not yet tracked takes over the counter of the least frequent one and inherits its count,
+ * recorded as the item's possible overestimate. Every item occurring more than
+ * {@code total / capacity} times is guaranteed to be tracked.
+ * <p>
+ * Items are spread by hash over {@value #STRIPES} stripes of {@code capacity} counters each, so
+ * concurrent callers only contend on the same stripe. A stripe keeps its counters in a min-heap:
+ * an offer costs {@code O(log capacity)}, the least frequent counter is always at the root.
+ * Summaries of the same capacity merge, stripe by stripe.
+ */
+public final class SpaceSaving {
+
+    // Power of two: the stripe of an item is the low bits of its spread hash
+    static final int STRIPES = 8;
+
+    private final int capacity;
+    private final Stripe[] stripes;
+    private final LongAdder total = new LongAdder();
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    public void offer(String item) {
+        total.increment();
+        stripeOf(item).offer(item);
+    }
+
+    /**
+     * The {@code limit} most frequent items tracked, most frequent first, at most {@code capacity}.
+     */
+    public List<HeavyHitter> top(int limit) {
+        return hitters().stream()
+                .sorted(Comparator.comparingLong(HeavyHitter::count).reversed().thenComparing(HeavyHitter::item))
+                .limit(Math.min(limit, capacity))
+                .toList();
+    }
+
+    /**
+     * Items offered so far.
+     */
+    public long total() {
+        return total.sum();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * A summary of both streams, as if every item had been offered to one. An item missing from
+     * a full stripe may have been evicted from it, so it is counted with that stripe's smallest
+     * count, added to its overestimate.
+     */
+    public SpaceSaving merge(SpaceSaving other) {
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException("only summaries of the same capacity merge");
+        }
+        SpaceSaving merged = new SpaceSaving(capacity);
+        merged.total.add(total() + other.total());
+        for (int i = 0; i < STRIPES; i++) {
+            Stripe left = stripes[i];
+            Stripe right = other.stripes[i];
+            Stripe target = merged.stripes[i];
+            long leftMissing = left.missingCount();
+            long rightMissing = right.missingCount();
+            Map<String, long[]> counts = new HashMap<>();
+            for (HeavyHitter hitter : left.hitters()) {
+                counts.put(hitter.item(), new long[]{hitter.count() + rightMissing, hitter.error() + rightMissing});
+            }
+            for (HeavyHitter hitter : right.hitters()) {
+                long[] count = counts.get(hitter.item());
+                if (count == null) {
+                    counts.put(hitter.item(),
+                            new long[]{hitter.count() + leftMissing, hitter.error() + leftMissing});
+                } else {
+                    // Tracked by both: its right count replaces the bound added above
+                    count[0] += hitter.count() - rightMissing;
+                    count[1] += hitter.error() - rightMissing;
+                }
+            }
+            counts.entrySet().stream()
+                    .sorted(Comparator.<Map.Entry<String, long[]>>comparingLong(entry -> entry.getValue()[0])
+                            .reversed())
+                    .limit(capacity)
+                    .forEach(entry -> target.put(entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+        }
+        return merged;
+    }
+
+    public byte[] toBytes() {
+        List<HeavyHitter> hitters = hitters();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(capacity);
+            out.writeLong(total());
+            out.writeInt(hitters.size());
+            for (HeavyHitter hitter : hitters) {
+                out.writeUTF(hitter.item());
+                out.writeLong(hitter.count());
+                out.writeLong(hitter.error());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static SpaceSaving fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            SpaceSaving summary = new SpaceSaving(in.readInt());
+            summary.total.add(in.readLong());
+            for (int i = 0, size = in.readInt(); i < size; i++) {
+                String item = in.readUTF();
+                summary.stripeOf(item).put(item, in.readLong(), in.readLong());
+            }
+            return summary;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<HeavyHitter> hitters() {
+        List<HeavyHitter> hitters = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            hitters.addAll(stripe.hitters());
+        }
+        return hitters;
+    }
+
+    private Stripe stripeOf(String item) {
+        int hash = item.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * @param error how much of the count may come from the items it replaced
+     */
+    public record HeavyHitter(String item, long count, long error) {
+    }
+
+    /**
+     * Counters of the items of one stripe, in a binary min-heap on their count, with the position
+     * of each item in the heap.
+     */
+    private static final class Stripe {
+        private final String[] items;
+        private final long[] counts;
+        private final long[] errors;
+        private final Map<String, Integer> positions;
+        private int size;
+
+        Stripe(int capacity) {
+            this.items = new String[capacity];
+            this.counts = new long[capacity];
+            this.errors = new long[capacity];
+            this.positions = new HashMap<>(capacity * 2);
+        }
+
+        synchronized void offer(String item) {
+            Integer position = positions.get(item);
+            if (position != null) {
+                counts[position]++;
+                siftDown(position);
+            } else if (size < items.length) {
+                put(item, 1, 0);
+            } else {
+                // The least frequent item gives its counter up
+                long inherited = counts[0];
+                positions.remove(items[0]);
+                set(0, item, inherited + 1, inherited);
+                siftDown(0);
+            }
+        }
+
+        synchronized void put(String item, long count, long error) {
+            if (size == items.length || positions.containsKey(item)) {
+                return;
+            }
+            set(size, item, count, error);
+            siftUp(size++);
+        }
+
+        // Upper bound of the count of an item not tracked: none was evicted while not full
+        synchronized long missingCount() {
+            return size < items.length ? 0 : counts[0];
+        }
+
+        synchronized List<HeavyHitter> hitters() {
+            List<HeavyHitter> hitters = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                hitters.add(new HeavyHitter(items[i], counts[i], errors[i]));
+            }
+            return hitters;
+        }
+
+        private void siftUp(int position) {
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (counts[parent] <= counts[position]) {
+                    return;
+                }
+                swap(position, parent);
+                position = parent;
+            }
+        }
+
+        private void siftDown(int position) {
+            while (true) {
+                int smallest = position;
+                int left = 2 * position + 1;
+                int right = left + 1;
+                if (left < size && counts[left] < counts[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && counts[right] < counts[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == position) {
+                    return;
+                }
+                swap(position, smallest);
+                position = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            String item = items[i];
+            long count = counts[i];
+            long error = errors[i];
+            set(i, items[j], counts[j], errors[j]);
+            set(j, item, count, error);
+        }
+
+        private void set(int position, String item, long count, long error) {
+            items[position] = item;
+            counts[position] = count;
+            errors[position] = error;
+            positions.put(item, position);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.stand.springbootecommerce.search;
+
+/**
+ * A typeahead completion: a product or category name, weighted by popularity.
+ */
+public record Suggestion(String text, Type type, long id, double weight) {
+
+    public enum Type {
+        PRODUCT,
+        CATEGORY
+    }
+}
@@ -0,0 +1,92 @@
+package org.stand.springbootecommerce.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into index terms: lower-cased, accents folded (the catalog is partly Italian and
+ * French, "écran" must match "ecran"), split on anything that is not a letter or a digit.
+ * Queries and documents go through the same analysis.
+ */
+public final class TextAnalyzer {
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addToken(tokens, folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Folded text with every run of non word characters collapsed into one space, keeping
+     * partial and single-letter words: the form prefixes are matched on.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = fold(text);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean separator = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                separator = false;
+            } else {
+                separator = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Lower case without diacritics; ligatures, which have no decomposition, are expanded.
+     */
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            switch (c) {
+                case 'œ', 'Œ' -> folded.append("oe");
+                case 'æ', 'Æ' -> folded.append("ae");
+                case 'ß' -> folded.append("ss");
+                default -> folded.append(Character.toLowerCase(c));
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static void addToken(List<String> tokens, String token) {
+        // Single letters are elisions ("l'écran", "dell'iPhone") or noise; single digits are
+        // meaningful ("PlayStation 5")
+        if (token.length() == 1 && !Character.isDigit(token.charAt(0))) {
+            return;
+        }
+        tokens.add(token);
+    }
+}
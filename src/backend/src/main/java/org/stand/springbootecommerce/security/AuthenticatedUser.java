@@ -0,0 +1,65 @@
+package org.stand.springbootecommerce.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.stand.springbootecommerce.entity.user.User;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lightweight principal built from JWT claims or a cached lookup, without holding the User entity.
+ * Code that needs the full entity has to load it explicitly from {@link #getId()}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public static AuthenticatedUser from(JwtClaims claims) {
+        List<SimpleGrantedAuthority> authorities = claims.getAuthorities().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        return new AuthenticatedUser(claims.getUserId(), claims.getSubject(), authorities);
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), List.copyOf(user.getAuthorities()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package org.stand.springbootecommerce.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the BCrypt cost (log2 rounds) matching a per-hash latency target on the current host.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * Highest cost in [minCost, maxCost] whose measured hash time stays under the target.
+     * Never returns less than minCost, even on a host too slow to meet the target.
+     */
+    public static int calibrate(Duration target, int minCost, int maxCost) {
+        int cost = minCost;
+        // Warm-up run, so the JIT doesn't inflate the first measurement
+        new BCryptPasswordEncoder(cost).encode(SAMPLE_PASSWORD);
+        long nanos = measure(cost);
+        // Each extra round doubles the work: stop before the next one would overshoot
+        while (cost < maxCost && nanos * 2 <= target.toNanos()) {
+            cost++;
+            nanos = measure(cost);
+        }
+        log.info("BCrypt cost calibrated to {} ({} ms per hash, target {} ms)",
+                cost, TimeUnit.NANOSECONDS.toMillis(nanos), target.toMillis());
+        return cost;
+    }
+
+    private static long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return System.nanoTime() - start;
+    }
+}
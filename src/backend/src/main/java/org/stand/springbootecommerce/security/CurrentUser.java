@@ -0,0 +1,18 @@
+package org.stand.springbootecommerce.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the authenticated {@link org.stand.springbootecommerce.entity.user.User} into a
+ * controller method parameter. Resolved at most once per request by
+ * {@link CurrentUserArgumentResolver}, from the principal the JWT filter already built.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -0,0 +1,46 @@
+package org.stand.springbootecommerce.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.service.AuthenticationService;
+
+/**
+ * Resolves {@link CurrentUser} parameters. The user is looked up once and kept as a request
+ * attribute, so several parameters or dispatches within the same request share it.
+ */
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    static final String CURRENT_USER_ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".CURRENT_USER";
+
+    // Looked up lazily: web slices don't always provide an AuthenticationService
+    private final ObjectProvider<AuthenticationService> authenticationService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && User.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(
+            @NonNull MethodParameter parameter,
+            ModelAndViewContainer mavContainer,
+            @NonNull NativeWebRequest webRequest,
+            WebDataBinderFactory binderFactory) {
+        Object user = webRequest.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (user == null) {
+            user = authenticationService.getObject().me();
+            webRequest.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+}
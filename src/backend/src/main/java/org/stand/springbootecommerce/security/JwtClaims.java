@@ -0,0 +1,64 @@
+package org.stand.springbootecommerce.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Verified claims of a JWT, produced by a single parse and signature check.
+ * Everything the authentication filter needs is read from here instead of
+ * parsing the token again.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class JwtClaims {
+
+    public static final String USER_ID = "uid";
+    public static final String AUTHORITIES = "authorities";
+
+    private final String tokenId;
+    private final String subject;
+    private final Instant issuedAt;
+    private final Instant expiration;
+
+    @Getter(AccessLevel.NONE)
+    private final Claims claims;
+
+    public static JwtClaims from(Claims claims) {
+        return new JwtClaims(
+                claims.getId(),
+                claims.getSubject(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()),
+                claims);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiration != null && expiration.isBefore(now);
+    }
+
+    /**
+     * Id of the user, or null for tokens issued before the id was embedded.
+     */
+    public Long getUserId() {
+        return claims.get(USER_ID, Long.class);
+    }
+
+    public List<String> getAuthorities() {
+        List<?> authorities = claims.get(AUTHORITIES, List.class);
+        return authorities == null ? List.of() : authorities.stream().map(String::valueOf).toList();
+    }
+
+    public <T> T get(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+}
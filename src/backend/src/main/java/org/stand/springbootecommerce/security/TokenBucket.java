@@ -0,0 +1,51 @@
+package org.stand.springbootecommerce.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket held in a single {@link AtomicLong}, updated with CAS: no lock, no allocation per call.
+ * <p>
+ * Rather than a token count and a refill timestamp, it stores the time at which the bucket will be
+ * full again (the generic cell rate algorithm): each token pushes that time one refill interval
+ * further, and a request is refused when it would land more than {@code capacity} intervals ahead.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param capacity     burst size, the bucket starts full
+     * @param refillPeriod time to refill an empty bucket
+     */
+    public TokenBucket(int capacity, Duration refillPeriod, long nowNanos) {
+        if (capacity <= 0 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("capacity and refillPeriod must be positive");
+        }
+        this.nanosPerToken = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.burstNanos = nanosPerToken * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 if the token was taken, otherwise how long to wait (in nanoseconds) before one is
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            // An idle bucket never holds more than capacity tokens
+            long next = Math.max(current, nowNanos) + nanosPerToken;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
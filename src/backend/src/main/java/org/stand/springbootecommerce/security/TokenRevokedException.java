@@ -0,0 +1,13 @@
+package org.stand.springbootecommerce.security;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * The token is well-formed and correctly signed, but its jti has been revoked.
+ */
+public class TokenRevokedException extends JwtException {
+
+    public TokenRevokedException(String message) {
+        super(message);
+    }
+}
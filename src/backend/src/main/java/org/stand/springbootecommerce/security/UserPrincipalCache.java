@@ -0,0 +1,54 @@
+package org.stand.springbootecommerce.security;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.stand.springbootecommerce.config.CacheConfig;
+import org.stand.springbootecommerce.repository.UserRepository;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Principals of the users by email, for authenticating requests that carry a token. Entries are
+ * immutable {@link AuthenticatedUser}s, without the password hash: credentials are always checked
+ * against the database.
+ * <p>
+ * The cache is local to each replica. An eviction only reaches the replica that made the change,
+ * so the others may serve the previous authorities for up to {@code cache.users.ttl}.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache users;
+
+    public UserPrincipalCache(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.users = Objects.requireNonNull(cacheManager.getCache(CacheConfig.USERS));
+    }
+
+    /**
+     * Emails as stored at registration: the key of both lookups and evictions.
+     */
+    public static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public Optional<AuthenticatedUser> find(String email) {
+        String key = key(email);
+        AuthenticatedUser cached = users.get(key, AuthenticatedUser.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Unknown emails are not cached: the account may be registered next
+        Optional<AuthenticatedUser> principal = userRepository.findByEmail(key).map(AuthenticatedUser::from);
+        principal.ifPresent(user -> users.put(key, user));
+        return principal;
+    }
+
+    public void evict(String email) {
+        users.evict(key(email));
+    }
+}
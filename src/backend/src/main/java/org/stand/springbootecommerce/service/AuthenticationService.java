@@ -13,5 +13,6 @@ import org.stand.springbootecommerce.error.UserNotFoundException;
 public interface AuthenticationService {
     AuthenticationResponse authenticate(AuthenticationRequest request) throws BadCredentialsException, BaseException;
     BaseResponseBody register(RegisterRequest request) throws BaseException;
+    BaseResponseBody logout(String token);
     User me() throws UserNotFoundException, UserNotAuthenticatedException;
 }
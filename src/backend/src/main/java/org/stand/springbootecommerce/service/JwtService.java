@@ -2,11 +2,14 @@ package org.stand.springbootecommerce.service;
 
 import io.jsonwebtoken.Claims;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.stand.springbootecommerce.security.JwtClaims;
 
 import java.util.Map;
 import java.util.function.Function;
 
 public interface JwtService {
+    JwtClaims parseToken(String token);
+    boolean isTokenValid(JwtClaims claims, UserDetails userDetails);
     boolean isTokenValid(String token, UserDetails userDetails);
     String generateToken(UserDetails userDetails);
     String generateToken(Map<String, Object> extraClaims, UserDetails userDetails);
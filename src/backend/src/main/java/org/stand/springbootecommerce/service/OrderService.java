@@ -1,12 +1,14 @@
 package org.stand.springbootecommerce.service;
 
 import org.stand.springbootecommerce.entity.user.Order;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.repository.OrderRepository;
 import java.util.List;
 
 public interface OrderService {
-    Order createOrder(List<Long> productIds);
+    Order createOrder(User user, List<Long> productIds);
 
-    List<Order> getMyOrders();
+    List<OrderRepository.OrderSummary> getMyOrders(User user);
 
     Order getOrderById(Long id);
 }
@@ -1,18 +1,68 @@
 package org.stand.springbootecommerce.service;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.pagination.CountedPage;
+import org.stand.springbootecommerce.pagination.CursorPage;
+import org.stand.springbootecommerce.pagination.ProductSort;
+import org.stand.springbootecommerce.repository.ProductSummary;
+import org.stand.springbootecommerce.repository.specification.ProductFilter;
+import org.stand.springbootecommerce.search.Suggestion;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ProductService {
     Page<Product> getProducts(String query, Integer page, Integer size);
+
+    /**
+     * A page of the products matching the query, in one category when given. Its total comes from
+     * maintained counters, or from the search ranking and then flagged approximate, never from a
+     * count query.
+     */
+    CountedPage<Product> getProducts(String query, Long categoryId, Integer page, Integer size);
     List<Product> getProducts(String query);
+
+    /**
+     * The page of at most {@code size} products after the cursor, or the first page when it is
+     * null. Products matching a query come in relevance order, whatever the sort.
+     */
+    CursorPage<ProductSummary> getProducts(String query, String cursor, ProductSort sort, int size);
+    /**
+     * A page of the products matching the filter: a {@link CountedPage} with the total, or without it
+     * a slice that only tells whether there is a next page. The total is a sum of maintained counts
+     * when only categories filter, else a count over the index serving the filter.
+     */
+    Slice<ProductSummary> filterProducts(ProductFilter filter, Integer page, Integer size, boolean withTotal);
+
     List<Product> getProductsByCategoryName(String categoryName);
     List<Product> getProductsByCategoryId(Long categoryId);
     Product getProductById(Long id);
+
+    /**
+     * The products with the given ids, in the order asked and each once, along with the ids no
+     * product has.
+     *
+     * @throws org.stand.springbootecommerce.error.TooManyIdsException past the maximum batch size
+     */
+    Batch getProductsByIds(List<Long> ids);
     Product addProduct(Product product);
     Page<Product> searchProducts(String query, Integer page, Integer size);
     List<Product> searchProducts(String query);
+    List<Suggestion> suggest(String prefix, int limit);
+
+    /**
+     * Product counts per category, price band, rating band and stock state, over the products
+     * listed by {@link #getProducts}: those matching the query, or the whole catalog when it is
+     * null, restricted to the category when one is given.
+     */
+    Map<String, Map<String, Integer>> getProductFacets(String query, Long categoryId);
 
-}
\ No newline at end of file
+    /**
+     * @param products found, in request order
+     * @param missing  ids without a product, in request order
+     */
+    record Batch(List<Product> products, List<Long> missing) {
+    }
+}
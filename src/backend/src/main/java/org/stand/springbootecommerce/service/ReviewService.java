@@ -56,8 +56,8 @@ public class ReviewService {
     /**
      * Récupérer les avis d'un produit
      */
-    public Page<Review> getProductReviews(Long productId, Pageable pageable) {
-        return reviewRepository.findByProductId(productId, pageable);
+    public Page<ReviewRepository.ReviewSummary> getProductReviews(Long productId, Pageable pageable) {
+        return reviewRepository.findSummariesByProductId(productId, pageable);
     }
 
     /**
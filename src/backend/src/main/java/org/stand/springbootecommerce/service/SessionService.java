@@ -0,0 +1,27 @@
+package org.stand.springbootecommerce.service;
+
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.security.AuthenticatedUser;
+
+/**
+ * Opaque session tokens, the opt-in alternative to JWTs ({@code auth.sessions.enabled}).
+ * A token is only a random handle: validating it is a lookup, with no signature or claims.
+ */
+public interface SessionService {
+
+    // Distinguishes session tokens from JWTs, which always start with "eyJ"
+    String TOKEN_PREFIX = "st_";
+
+    static boolean isSessionToken(String token) {
+        return token != null && token.startsWith(TOKEN_PREFIX);
+    }
+
+    String create(User user);
+
+    /**
+     * @return the principal of the session, or null if the token is unknown or idle for too long
+     */
+    AuthenticatedUser authenticate(String token);
+
+    void invalidate(String token);
+}
@@ -0,0 +1,9 @@
+package org.stand.springbootecommerce.service;
+
+import org.stand.springbootecommerce.security.JwtClaims;
+
+public interface TokenRevocationService {
+    void revoke(JwtClaims claims);
+
+    boolean isRevoked(JwtClaims claims);
+}
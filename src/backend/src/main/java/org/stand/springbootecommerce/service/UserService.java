@@ -6,7 +6,8 @@ import org.stand.springbootecommerce.error.UserNotAuthenticatedException;
 import org.stand.springbootecommerce.error.UserNotFoundException;
 
 public interface UserService {
-    User updateUser(UserUpdateRequest userUpdateRequest) throws UserNotFoundException, UserNotAuthenticatedException;
+    User updateUser(User user, UserUpdateRequest userUpdateRequest)
+            throws UserNotFoundException, UserNotAuthenticatedException;
 
     User getUserByEmail(String email);
 }
\ No newline at end of file
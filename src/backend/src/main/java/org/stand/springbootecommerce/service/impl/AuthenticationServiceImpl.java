@@ -1,7 +1,10 @@
 package org.stand.springbootecommerce.service.impl;
 
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.MessageSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,8 +22,12 @@ import org.stand.springbootecommerce.error.UserEmailAlreadyTakenException;
 import org.stand.springbootecommerce.error.UserNotAuthenticatedException;
 import org.stand.springbootecommerce.error.UserNotFoundException;
 import org.stand.springbootecommerce.repository.UserRepository;
+import org.stand.springbootecommerce.security.AuthenticatedUser;
+import org.stand.springbootecommerce.security.UserPrincipalCache;
 import org.stand.springbootecommerce.service.AuthenticationService;
 import org.stand.springbootecommerce.service.JwtService;
+import org.stand.springbootecommerce.service.SessionService;
+import org.stand.springbootecommerce.service.TokenRevocationService;
 
 import java.util.Locale;
 import java.util.Objects;
@@ -34,6 +41,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final MessageSource messageSource;
+    private final TokenRevocationService tokenRevocationService;
+    private final ObjectProvider<SessionService> sessionService;
+    private final UserPrincipalCache userPrincipalCache;
 
     public BaseResponseBody register(RegisterRequest request) throws BaseException {
         // Check repository persistence constraints
@@ -48,19 +58,44 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 .password(passwordEncoder.encode(request.getPassword()))
                 .build();
         userRepository.save(Objects.requireNonNull(user));
+        userPrincipalCache.evict(user.getEmail());
         // Create and return success response
         Locale locale = Locale.getDefault();
         return new BaseResponseBody(
                 messageSource.getMessage("user.register.success", null, Objects.requireNonNull(locale)));
     }
 
+    @Override
+    public BaseResponseBody logout(String token) {
+        if (SessionService.isSessionToken(token)) {
+            sessionService.ifAvailable(sessions -> sessions.invalidate(token));
+        } else if (token != null) {
+            try {
+                tokenRevocationService.revoke(jwtService.parseToken(token));
+            } catch (JwtException | IllegalArgumentException e) {
+                // Invalid, expired or already revoked: the token is unusable already
+            }
+        }
+        Locale locale = Locale.getDefault();
+        return new BaseResponseBody(
+                messageSource.getMessage("user.logout.success", null, Objects.requireNonNull(locale)));
+    }
+
     @Override
     public User me() throws UserNotFoundException, UserNotAuthenticatedException {
         // Get the current authentication object
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null) {
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
             throw new UserNotAuthenticatedException();
         }
+        // The JWT filter already loaded the entity: reuse it
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+        // Stateless principal: the token may outlive the account, a deleted user is no longer authenticated
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return userRepository.findById(principal.getId()).orElseThrow(UserNotAuthenticatedException::new);
+        }
         // Get authenticated user email
         String email = authentication.getName();
         // Return user entity by email
@@ -85,6 +120,12 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         User user = userRepository.findByEmail(request.getEmail()).orElseThrow(
                 UserNotFoundException::new);
 
+        // Opaque session token if asked for and enabled, JWT otherwise
+        SessionService sessions = sessionService.getIfAvailable();
+        if (request.getTokenType() == AuthenticationRequest.TokenType.SESSION && sessions != null) {
+            return new AuthenticationResponse(sessions.create(user));
+        }
+
         // Generate JWT token
         String jwt = jwtService.generateToken(user);
 
@@ -1,23 +1,50 @@
 package org.stand.springbootecommerce.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.security.JwtClaims;
+import org.stand.springbootecommerce.security.TokenRevokedException;
 import org.stand.springbootecommerce.service.JwtService;
+import org.stand.springbootecommerce.service.TokenRevocationService;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
-public class JwtServiceImpl implements JwtService {
+@RequiredArgsConstructor
+public class JwtServiceImpl implements JwtService, MeterBinder {
+
+    private final TokenRevocationService tokenRevocationService;
 
     @Value("${jwt.secret}")
     private String secretKey;
@@ -25,13 +52,101 @@ public class JwtServiceImpl implements JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    @Value("${cache.tokens.maximum-size:10000}")
+    private long tokenCacheMaximumSize;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    // Built once: decoding the secret and building a parser on every call is wasted work
+    private Key signInKey;
+    private JwtParser jwtParser;
+
+    // Already verified tokens, each entry expiring exactly at the token's exp
+    private Cache<TokenDigest, JwtClaims> verifiedTokens;
+
+    // Time source of the cache, replaceable in tests
+    private Ticker ticker = Ticker.systemTicker();
+
+    @PostConstruct
+    public void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts
+                .parserBuilder()
+                .setSigningKey(signInKey) // sign in key to generate or decode a token
+                .build();
+        // Pin a wall-clock instant to a ticker reading: expiries are then measured on the
+        // cache's own ticker, which keeps them monotonic and lets tests drive them
+        long tickerOrigin = ticker.read();
+        Instant wallClockOrigin = Instant.now();
+        verifiedTokens = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(tokenCacheMaximumSize)
+                .expireAfter(new Expiry<TokenDigest, JwtClaims>() {
+                    @Override
+                    public long expireAfterCreate(TokenDigest key, JwtClaims claims, long currentTime) {
+                        Instant now = wallClockOrigin.plusNanos(currentTime - tickerOrigin);
+                        return Math.max(0, Duration.between(now, claims.getExpiration()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TokenDigest key, JwtClaims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(TokenDigest key, JwtClaims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public JwtClaims parseToken(String token) {
+        // A hit skips signature verification and Base64/JSON decoding: only tokens that
+        // passed both are cached, under a collision-resistant digest of the whole token
+        TokenDigest digest = TokenDigest.of(token);
+        JwtClaims claims = verifiedTokens.getIfPresent(digest);
+        if (claims == null) {
+            // Signature and expiration are both checked by the parser
+            claims = JwtClaims.from(extractAllClaims(token));
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims);
+            }
+        }
+        // Checked on every call, cached or not, so a revocation takes effect immediately
+        if (tokenRevocationService.isRevoked(claims)) {
+            throw new TokenRevokedException("Token has been revoked");
+        }
+        return claims;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt.tokens");
+        Gauge.builder("jwt.tokens.cache.hit.ratio", verifiedTokens, cache -> cache.stats().hitRate())
+                .description("Share of bearer tokens served without re-verifying the signature")
+                .register(registry);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    @Override
+    public boolean isTokenValid(JwtClaims claims, UserDetails userDetails) {
+        return claims.getSubject() != null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && !claims.isExpired(Instant.now());
+    }
+
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(parseToken(token), userDetails);
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -41,13 +156,23 @@ public class JwtServiceImpl implements JwtService {
     public String generateToken(
             Map<String, Object> extraClaims,
             UserDetails userDetails) {
+        // Embed the identity (the subject already carries the email) so the filter
+        // can build the principal without a DB lookup
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        if (userDetails instanceof User user && user.getId() != null) {
+            claims.put(JwtClaims.USER_ID, user.getId());
+        }
+        claims.put(JwtClaims.AUTHORITIES, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
         return Jwts
                 .builder()
-                .setClaims(extraClaims)
+                .setClaims(claims)
+                .setId(UUID.randomUUID().toString()) // jti, the handle used to revoke this token
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -55,26 +180,27 @@ public class JwtServiceImpl implements JwtService {
         return extractClaim(token, Claims::getSubject);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey()) // sign in key to generate or decode a token
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * First 128 bits of the SHA-256 of a token: 16 bytes per entry instead of the token itself,
+     * and bearer tokens are not kept on the heap.
+     */
+    private record TokenDigest(long high, long low) {
+
+        static TokenDigest of(String token) {
+            MessageDigest sha256 = SHA_256.get();
+            ByteBuffer hash = ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenDigest(hash.getLong(), hash.getLong());
+        }
     }
 }
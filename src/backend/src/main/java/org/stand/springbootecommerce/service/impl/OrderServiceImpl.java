@@ -8,7 +8,6 @@ import org.stand.springbootecommerce.entity.user.Product;
 import org.stand.springbootecommerce.entity.user.User;
 import org.stand.springbootecommerce.repository.OrderRepository;
 import org.stand.springbootecommerce.repository.ProductRepository;
-import org.stand.springbootecommerce.service.AuthenticationService;
 import org.stand.springbootecommerce.service.OrderService;
 import org.stand.springbootecommerce.error.BaseException;
 
@@ -23,14 +22,10 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
-    private final AuthenticationService authenticationService;
 
     @Override
-    public Order createOrder(List<Long> productIds) {
-        User user;
-        try {
-            user = authenticationService.me();
-        } catch (Exception e) {
+    public Order createOrder(User user, List<Long> productIds) {
+        if (user == null) {
             throw new BaseException("User must be logged in to order");
         }
 
@@ -54,13 +49,11 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public List<Order> getMyOrders() {
-        try {
-            User user = authenticationService.me();
-            return orderRepository.findByUserId(user.getId());
-        } catch (Exception e) {
+    public List<OrderRepository.OrderSummary> getMyOrders(User user) {
+        if (user == null) {
             throw new BaseException("Error fetching orders");
         }
+        return orderRepository.findSummariesByUserId(user.getId());
     }
 
     @Override
@@ -2,8 +2,9 @@ package org.stand.springbootecommerce.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.stand.springbootecommerce.catalog.ProductCatalog;
+import org.stand.springbootecommerce.catalog.ProductCounter;
 import org.stand.springbootecommerce.entity.user.ProductCategory;
-import org.stand.springbootecommerce.repository.ProductCategoryRepository;
 import org.stand.springbootecommerce.service.ProductCategoryService;
 
 import java.util.List;
@@ -13,22 +14,25 @@ import java.util.Objects;
 @RequiredArgsConstructor
 @Service
 public class ProductCategoryServiceImpl implements ProductCategoryService {
-    private final ProductCategoryRepository productCategoryRepository;
+    private final ProductCatalog productCatalog;
+    private final ProductCounter productCounter;
 
     @Override
     public List<ProductCategory> getProductCategories() {
-        return productCategoryRepository.findAll();
+        return productCatalog.snapshot().categories();
     }
 
     @Override
     public ProductCategory getProductCategoryById(Long id) {
-        return productCategoryRepository
-                .findById(Objects.requireNonNull(id))
+        return productCatalog.snapshot()
+                .category(Objects.requireNonNull(id))
                 .orElseThrow(() -> new NoSuchElementException("ProductCategory with id='%d' not found".formatted(id)));
     }
 
     @Override
     public ProductCategory addProductCategory(ProductCategory productCategory) {
-        return productCategoryRepository.save(Objects.requireNonNull(productCategory));
+        ProductCategory saved = productCounter.save(Objects.requireNonNull(productCategory));
+        productCatalog.add(saved);
+        return saved;
     }
 }
\ No newline at end of file
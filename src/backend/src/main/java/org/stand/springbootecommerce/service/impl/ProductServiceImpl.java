@@ -3,37 +3,116 @@ package org.stand.springbootecommerce.service.impl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.stand.springbootecommerce.catalog.CatalogSnapshot;
+import org.stand.springbootecommerce.catalog.ProductCatalog;
+import org.stand.springbootecommerce.catalog.ProductCounter;
 import org.stand.springbootecommerce.entity.user.Product;
-import org.stand.springbootecommerce.repository.ProductCategoryRepository;
+import org.stand.springbootecommerce.error.TooManyIdsException;
+import org.stand.springbootecommerce.pagination.CountedPage;
+import org.stand.springbootecommerce.pagination.CursorPage;
+import org.stand.springbootecommerce.pagination.ProductCursor;
+import org.stand.springbootecommerce.pagination.ProductSort;
 import org.stand.springbootecommerce.repository.ProductRepository;
+import org.stand.springbootecommerce.repository.ProductSummary;
+import org.stand.springbootecommerce.repository.specification.ProductFilter;
+import org.stand.springbootecommerce.search.ProductFacetIndex;
+import org.stand.springbootecommerce.search.ProductSearchIndex;
+import org.stand.springbootecommerce.search.ProductSuggester;
+import org.stand.springbootecommerce.search.SearchAnalytics;
+import org.stand.springbootecommerce.search.SearchResultCache;
+import org.stand.springbootecommerce.search.Suggestion;
 import org.stand.springbootecommerce.service.ProductService;
 
 import java.util.*;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class ProductServiceImpl implements ProductService {
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_IDS = 200;
+
     private final ProductRepository productRepository;
-    private final ProductCategoryRepository productCategoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggester productSuggester;
+    private final ProductFacetIndex productFacetIndex;
+    private final SearchAnalytics searchAnalytics;
+    private final SearchResultCache searchResultCache;
+    private final ProductCatalog productCatalog;
+    private final ProductCounter productCounter;
 
     @Override
     public Page<Product> getProducts(String query, Integer pageNumber, Integer pageSize) {
-        return query == null ? productRepository.findAll(PageRequest.of(pageNumber, pageSize))
-                : searchProducts(query, pageNumber, pageSize);
+        return getProducts(query, null, pageNumber, pageSize);
+    }
+
+    @Override
+    public CountedPage<Product> getProducts(String query, Long categoryId, Integer pageNumber, Integer pageSize) {
+        PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
+        if (query != null) {
+            return searchProducts(query, categoryId, pageRequest);
+        }
+        // The page from this instance's catalog, its total from the counts shared by all instances
+        CatalogSnapshot catalog = productCatalog.snapshot();
+        return categoryId == null
+                ? new CountedPage<>(catalog.products(pageRequest.getOffset(), pageSize), pageRequest,
+                        productCounter.count(), false)
+                : new CountedPage<>(catalog.productsInCategory(categoryId, pageRequest.getOffset(), pageSize),
+                        pageRequest, productCounter.count(categoryId), false);
     }
 
     @Override
     public List<Product> getProducts(String query) {
-        return query == null ? productRepository.findAll() : searchProducts(query);
+        return query == null ? productCatalog.snapshot().products() : searchProducts(query);
+    }
+
+    @Override
+    public CursorPage<ProductSummary> getProducts(String query, String cursor, ProductSort sort, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        ProductCursor after = cursor == null ? null : ProductCursor.decode(cursor, sort, query);
+        return query == null ? scrollCatalog(sort, after, limit) : scrollSearch(query, sort, after, limit);
+    }
+
+    @Override
+    public Slice<ProductSummary> filterProducts(ProductFilter filter, Integer pageNumber, Integer pageSize,
+            boolean withTotal) {
+        PageRequest pageRequest = PageRequest.of(pageNumber, pageSize, filter.order().sort());
+        Specification<Product> specification = filter.toSpecification();
+        if (!withTotal) {
+            // One row more than the page tells whether there is a next one
+            List<ProductSummary> products = productRepository.findPage(specification, pageRequest.getSort(),
+                    pageRequest.getOffset(), pageSize + 1);
+            boolean hasNext = products.size() > pageSize;
+            return new SliceImpl<>(hasNext ? products.subList(0, pageSize) : products, pageRequest, hasNext);
+        }
+        if (filter.isCategoriesOnly()) {
+            long total = filter.categoryIds() == null || filter.categoryIds().isEmpty()
+                    ? productCounter.count()
+                    : filter.categoryIds().stream().distinct().mapToLong(productCounter::count).sum();
+            return new CountedPage<>(productRepository.findPage(specification, pageRequest.getSort(),
+                    pageRequest.getOffset(), pageSize), pageRequest, total, false);
+        }
+        // Counted only when the page does not tell the total itself
+        Page<ProductSummary> page = PageableExecutionUtils.getPage(productRepository.findPage(specification,
+                pageRequest.getSort(), pageRequest.getOffset(), pageSize), pageRequest,
+                () -> productRepository.count(specification));
+        return new CountedPage<>(page.getContent(), pageRequest, page.getTotalElements(), false);
     }
 
     @Override
     public List<Product> getProductsByCategoryName(String categoryName) {
-        return productRepository.findByCategoryId(
-                productCategoryRepository
-                        .findByName(categoryName)
+        CatalogSnapshot catalog = productCatalog.snapshot();
+        return catalog.productsInCategory(
+                catalog.category(categoryName)
                         .orElseThrow(() -> new NoSuchElementException(
                                 "ProductCategory with name='%s' not found".formatted(categoryName)))
                         .getId());
@@ -41,28 +120,152 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public List<Product> getProductsByCategoryId(Long categoryId) {
-        return productRepository.findByCategoryId(categoryId);
+        return productCatalog.snapshot().productsInCategory(Objects.requireNonNull(categoryId));
     }
 
     @Override
     public Product getProductById(Long id) {
-        return productRepository
-                .findById(Objects.requireNonNull(id))
+        return productCatalog.snapshot()
+                .product(Objects.requireNonNull(id))
                 .orElseThrow(() -> new NoSuchElementException("Product with id='%d' not found".formatted(id)));
     }
 
+    @Override
+    public Batch getProductsByIds(List<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.size() > MAX_BATCH_IDS) {
+            throw new TooManyIdsException(MAX_BATCH_IDS);
+        }
+        List<Long> requested = List.copyOf(distinct);
+        List<Product> products = findAllInOrder(requested);
+        Set<Long> found = products.stream().map(Product::getId).collect(Collectors.toSet());
+        return new Batch(products, requested.stream().filter(id -> !found.contains(id)).toList());
+    }
+
     @Override
     public Product addProduct(Product product) {
-        return productRepository.save(Objects.requireNonNull(product));
+        Product saved = productCounter.save(Objects.requireNonNull(product));
+        productSearchIndex.index(saved);
+        productSuggester.add(saved);
+        productFacetIndex.index(saved);
+        searchResultCache.invalidate(saved);
+        productCatalog.add(saved);
+        return saved;
     }
 
     @Override
     public Page<Product> searchProducts(String query, Integer pageNumber, Integer pageSize) {
-        return productRepository.findByNameContainingIgnoreCase(query, PageRequest.of(pageNumber, pageSize));
+        return searchProducts(query, null, PageRequest.of(pageNumber, pageSize));
     }
 
     @Override
     public List<Product> searchProducts(String query) {
-        return productRepository.findByNameContainingIgnoreCase(query);
+        SearchResultCache.Result result = searchResultCache.get(query, 0, SearchResultCache.ALL);
+        searchAnalytics.record(query, result.total());
+        return findAllInOrder(result.ids());
+    }
+
+    @Override
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return productSuggester.suggest(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+
+    @Override
+    public Map<String, Map<String, Integer>> getProductFacets(String query, Long categoryId) {
+        if (query == null) {
+            return categoryId == null ? productFacetIndex.countAll() : productFacetIndex.countCategory(categoryId);
+        }
+        List<Long> ranking = searchResultCache.get(query, 0, SearchResultCache.ALL).ids();
+        return productFacetIndex.count(categoryId == null ? ranking : inCategory(ranking, categoryId));
+    }
+
+    private CountedPage<Product> searchProducts(String query, Long categoryId, PageRequest pageRequest) {
+        // Ranked ids of the page from the in-memory index or the result cache, then only
+        // that page is loaded
+        int offset = (int) Math.min(pageRequest.getOffset(), Integer.MAX_VALUE);
+        SearchResultCache.Result result;
+        if (categoryId == null) {
+            result = searchResultCache.get(query, offset, pageRequest.getPageSize());
+            searchAnalytics.record(query, result.total());
+        } else {
+            List<Long> ranking = searchResultCache.get(query, 0, SearchResultCache.ALL).ids();
+            searchAnalytics.record(query, ranking.size());
+            List<Long> ids = inCategory(ranking, categoryId);
+            int from = Math.min(offset, ids.size());
+            int to = (int) Math.min((long) from + pageRequest.getPageSize(), ids.size());
+            result = new SearchResultCache.Result(ids.subList(from, to), ids.size());
+        }
+        // The index lags writes from other instances until its next rebuild
+        return new CountedPage<>(findAllInOrder(result.ids()), pageRequest, result.total(), true);
+    }
+
+    private List<Long> inCategory(List<Long> ids, Long categoryId) {
+        return ids.stream()
+                .filter(id -> categoryId.equals(productFacetIndex.categoryOf(id)))
+                .toList();
+    }
+
+    private CursorPage<ProductSummary> scrollCatalog(ProductSort sort, ProductCursor after, int limit) {
+        // One row more than the page tells whether there is a next one, without a count
+        Pageable window = PageRequest.of(0, limit + 1);
+        List<ProductSummary> products = after == null
+                ? productRepository.findSummaries(PageRequest.of(0, limit + 1, orderOf(sort)))
+                : switch (sort) {
+                    case ID -> productRepository.findNextSummariesById(after.id(), window);
+                    case PRICE_ASC -> productRepository.findNextSummariesByPriceAsc(after.price(), after.id(), window);
+                    case PRICE_DESC -> productRepository.findNextSummariesByPriceDesc(after.price(), after.id(),
+                            window);
+                };
+        if (products.size() <= limit) {
+            return new CursorPage<>(products, null);
+        }
+        ProductSummary last = products.get(limit - 1);
+        return new CursorPage<>(List.copyOf(products.subList(0, limit)),
+                ProductCursor.after(sort, null, last.id(), last.price(), 0).encode());
+    }
+
+    private CursorPage<ProductSummary> scrollSearch(String query, ProductSort sort, ProductCursor after, int limit) {
+        // The whole ranking is cached once, so each page is a slice of it
+        List<Long> ids = searchResultCache.get(query, 0, SearchResultCache.ALL).ids();
+        int from = 0;
+        if (after == null) {
+            // A client walking the pages searched once
+            searchAnalytics.record(query, ids.size());
+        } else {
+            from = resumeAt(ids, after);
+        }
+        int to = Math.min(from + limit, ids.size());
+        String nextCursor = to < ids.size()
+                ? ProductCursor.after(sort, query, ids.get(to - 1), null, to).encode()
+                : null;
+        return new CursorPage<>(findAllInOrder(ids.subList(from, to)).stream().map(ProductSummary::of).toList(),
+                nextCursor);
+    }
+
+    /**
+     * Where the ranking continues after the cursor: past its last product, found where it was
+     * or wherever writes since have moved it, else at the same position.
+     */
+    private static int resumeAt(List<Long> ids, ProductCursor after) {
+        int position = Math.min(after.position(), ids.size());
+        if (position > 0 && ids.get(position - 1) == after.id()) {
+            return position;
+        }
+        int index = ids.indexOf(after.id());
+        return index >= 0 ? index + 1 : position;
+    }
+
+    private static Sort orderOf(ProductSort sort) {
+        return switch (sort) {
+            case ID -> Sort.by("id");
+            case PRICE_ASC -> Sort.by("price", "id");
+            case PRICE_DESC -> Sort.by(Sort.Direction.DESC, "price", "id");
+        };
+    }
+
+    private List<Product> findAllInOrder(List<Long> ids) {
+        // A product deleted since it was indexed is simply skipped
+        return productCatalog.snapshot().products(ids);
     }
 }
\ No newline at end of file
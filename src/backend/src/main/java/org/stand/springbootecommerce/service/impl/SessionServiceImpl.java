@@ -0,0 +1,252 @@
+package org.stand.springbootecommerce.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.entity.user.UserSession;
+import org.stand.springbootecommerce.repository.UserSessionRepository;
+import org.stand.springbootecommerce.security.AuthenticatedUser;
+import org.stand.springbootecommerce.service.SessionService;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Sessions are written to the database when created and deleted from it when ended, so every
+ * replica sees them; each replica keeps the ones it served in memory. A token missing from
+ * memory is looked up in the database, and a remembered session is checked again against it
+ * once per revalidate interval, which bounds how long a logout on another replica goes unseen.
+ * Last access times are written behind, every flush interval.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "auth.sessions", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class SessionServiceImpl implements SessionService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final UserSessionRepository userSessionRepository;
+
+    @Value("${auth.sessions.idle-timeout:30m}")
+    private Duration idleTimeout;
+
+    // Last access times are only persisted when they moved by more than this
+    @Value("${auth.sessions.flush-interval:PT10S}")
+    private Duration flushInterval;
+
+    // A session served from memory is checked against the database at most this often
+    @Value("${auth.sessions.revalidate-interval:PT5S}")
+    private Duration revalidateInterval;
+
+    // Keyed by token hash: the database never sees the token, and can still be reloaded
+    private final Map<String, ActiveSession> sessions = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        Instant idleSince = Instant.now().minus(idleTimeout);
+        long now = System.currentTimeMillis();
+        for (UserSession session : userSessionRepository.findByLastAccessedAtAfter(idleSince)) {
+            sessions.put(session.getTokenHash(), ActiveSession.from(session, now));
+        }
+        log.info("Restored {} sessions", sessions.size());
+    }
+
+    @Override
+    public String create(User user) {
+        byte[] random = new byte[16];
+        RANDOM.nextBytes(random);
+        String token = TOKEN_PREFIX + ENCODER.encodeToString(random);
+
+        String tokenHash = hash(token);
+        long now = System.currentTimeMillis();
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(),
+                List.copyOf(user.getAuthorities()));
+        ActiveSession session = new ActiveSession(principal, now, now, now);
+        // Written through: the next request may well land on another replica
+        userSessionRepository.save(session.toEntity(tokenHash));
+        session.persistedAccessAt = now;
+        sessions.put(tokenHash, session);
+        return token;
+    }
+
+    @Override
+    public AuthenticatedUser authenticate(String token) {
+        if (!SessionService.isSessionToken(token)) {
+            return null;
+        }
+        String tokenHash = hash(token);
+        long now = System.currentTimeMillis();
+        ActiveSession session = sessions.get(tokenHash);
+        if (session == null
+                || now - session.verifiedAt > revalidateInterval.toMillis()
+                || now - session.lastAccessedAt > idleTimeout.toMillis()) {
+            // Unknown here, due for a check, or idle here but maybe used on another replica
+            session = reload(tokenHash, session, now);
+            if (session == null) {
+                return null;
+            }
+        }
+        session.lastAccessedAt = now;
+        if (now - session.persistedAccessAt > flushInterval.toMillis()) {
+            dirty.add(tokenHash);
+        }
+        return session.principal;
+    }
+
+    @Override
+    public void invalidate(String token) {
+        if (!SessionService.isSessionToken(token)) {
+            return;
+        }
+        String tokenHash = hash(token);
+        sessions.remove(tokenHash);
+        dirty.remove(tokenHash);
+        // Deleted right away, the other replicas notice at their next check
+        userSessionRepository.deleteAllByIdInBatch(List.of(tokenHash));
+    }
+
+    /**
+     * Writes last access times, forgets sessions idle on this replica, and purges the ones idle
+     * everywhere from the database. A session whose row is gone was ended on another replica.
+     */
+    @Scheduled(fixedDelayString = "${auth.sessions.flush-interval:PT10S}",
+            initialDelayString = "${auth.sessions.flush-interval:PT10S}")
+    @PreDestroy
+    public synchronized void flush() {
+        long idleSince = System.currentTimeMillis() - idleTimeout.toMillis();
+        // Only forgotten here: another replica may still be using it, the purge below decides
+        sessions.values().removeIf(session -> session.lastAccessedAt < idleSince);
+
+        int written = 0;
+        int ended = 0;
+        for (String tokenHash : drain(dirty)) {
+            ActiveSession session = sessions.get(tokenHash);
+            if (session == null) {
+                continue;
+            }
+            long accessedAt = session.lastAccessedAt;
+            // An update, never an insert: a session deleted elsewhere must not come back
+            if (userSessionRepository.touch(tokenHash, Instant.ofEpochMilli(accessedAt)) == 0) {
+                sessions.remove(tokenHash, session);
+                ended++;
+            } else {
+                session.persistedAccessAt = accessedAt;
+                written++;
+            }
+        }
+        int purged = userSessionRepository.deleteIdle(Instant.ofEpochMilli(idleSince));
+        log.debug("Sessions flushed: {} written, {} ended elsewhere, {} purged", written, ended, purged);
+    }
+
+    /**
+     * Reads the session from the database, where other replicas create, touch and delete it.
+     */
+    private ActiveSession reload(String tokenHash, ActiveSession remembered, long now) {
+        UserSession stored = userSessionRepository.findById(tokenHash).orElse(null);
+        if (stored == null) {
+            if (remembered != null) {
+                sessions.remove(tokenHash, remembered);
+            }
+            return null;
+        }
+        ActiveSession session = ActiveSession.from(stored, now);
+        if (remembered != null && remembered.lastAccessedAt > session.lastAccessedAt) {
+            session.lastAccessedAt = remembered.lastAccessedAt;
+        }
+        if (now - session.lastAccessedAt > idleTimeout.toMillis()) {
+            sessions.remove(tokenHash);
+            return null;
+        }
+        sessions.put(tokenHash, session);
+        return session;
+    }
+
+    private static List<String> drain(Set<String> set) {
+        List<String> drained = new ArrayList<>();
+        for (String value : set) {
+            if (set.remove(value)) {
+                drained.add(value);
+            }
+        }
+        return drained;
+    }
+
+    private static String hash(String token) {
+        return HexFormat.of().formatHex(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class ActiveSession {
+
+        final AuthenticatedUser principal;
+        final long createdAt;
+        // When the database last confirmed the session still exists
+        final long verifiedAt;
+        volatile long lastAccessedAt;
+        volatile long persistedAccessAt;
+
+        ActiveSession(AuthenticatedUser principal, long createdAt, long lastAccessedAt, long verifiedAt) {
+            this.principal = principal;
+            this.createdAt = createdAt;
+            this.lastAccessedAt = lastAccessedAt;
+            this.verifiedAt = verifiedAt;
+        }
+
+        static ActiveSession from(UserSession session, long verifiedAt) {
+            List<SimpleGrantedAuthority> authorities = Arrays.stream(session.getAuthorities().split(","))
+                    .filter(authority -> !authority.isBlank())
+                    .map(SimpleGrantedAuthority::new)
+                    .toList();
+            ActiveSession active = new ActiveSession(
+                    new AuthenticatedUser(session.getUserId(), session.getEmail(), authorities),
+                    session.getCreatedAt().toEpochMilli(),
+                    session.getLastAccessedAt().toEpochMilli(),
+                    verifiedAt);
+            active.persistedAccessAt = active.lastAccessedAt;
+            return active;
+        }
+
+        UserSession toEntity(String tokenHash) {
+            return UserSession.builder()
+                    .tokenHash(tokenHash)
+                    .userId(principal.getId())
+                    .email(principal.getEmail())
+                    .authorities(principal.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .collect(Collectors.joining(",")))
+                    .createdAt(Instant.ofEpochMilli(createdAt))
+                    .lastAccessedAt(Instant.ofEpochMilli(lastAccessedAt))
+                    .build();
+        }
+    }
+}
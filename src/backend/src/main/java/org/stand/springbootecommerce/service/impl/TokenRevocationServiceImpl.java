@@ -0,0 +1,91 @@
+package org.stand.springbootecommerce.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.stand.springbootecommerce.entity.user.RevokedToken;
+import org.stand.springbootecommerce.repository.RevokedTokenRepository;
+import org.stand.springbootecommerce.security.BloomFilter;
+import org.stand.springbootecommerce.security.JwtClaims;
+import org.stand.springbootecommerce.service.TokenRevocationService;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids are persisted, and mirrored in memory so that checking a token never
+ * touches the database: a Bloom filter answers "not revoked" for almost every token, and
+ * the exact set confirms the rare positives.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.expected-revocations:100000}")
+    private int expectedRevocations;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // jti -> token expiration
+    private volatile Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    @Override
+    public void revoke(JwtClaims claims) {
+        if (claims.getTokenId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(claims.getTokenId())
+                .expiresAt(claims.getExpiration())
+                .revokedAt(Instant.now())
+                .build());
+        // Serialized with refresh(), so a rebuild can't drop a revocation made while it ran
+        synchronized (this) {
+            revoked.put(claims.getTokenId(), claims.getExpiration());
+            bloomFilter.put(claims.getTokenId());
+        }
+    }
+
+    @Override
+    public boolean isRevoked(JwtClaims claims) {
+        String tokenId = claims.getTokenId();
+        return tokenId != null
+                && bloomFilter.mightContain(tokenId)
+                && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Reloads the live revocations (including those made by other instances), drops the expired
+     * ones and rebuilds the Bloom filter, which has no other way to forget entries.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:PT30S}",
+            initialDelayString = "${jwt.revocation.refresh-interval:PT30S}")
+    public synchronized void refresh() {
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+
+        Map<String, Instant> live = new ConcurrentHashMap<>();
+        BloomFilter filter = BloomFilter.create(expectedRevocations, falsePositiveRate);
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            live.put(token.getTokenId(), token.getExpiresAt());
+            filter.put(token.getTokenId());
+        }
+        revoked = live;
+        bloomFilter = filter;
+        log.debug("Token revocation list refreshed: {} live, {} purged", live.size(), purged);
+    }
+}
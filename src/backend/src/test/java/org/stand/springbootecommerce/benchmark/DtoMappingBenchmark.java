@@ -0,0 +1,103 @@
+package org.stand.springbootecommerce.benchmark;
+
+import org.mockito.Mockito;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.stand.springbootecommerce.dto.request.ProductRequest;
+import org.stand.springbootecommerce.dto.response.ProductResponse;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.mapper.CategoryReferenceMapper;
+import org.stand.springbootecommerce.mapper.LegacyModelMapper;
+import org.stand.springbootecommerce.mapper.ProductMapper;
+import org.stand.springbootecommerce.mapper.ProductMapperImpl;
+import org.stand.springbootecommerce.service.ProductCategoryService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of a listing page of products to responses, and of a product request to a product,
+ * by the reflective ModelMapper configuration the mappers replaced and by the generated mappers.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.stand.springbootecommerce.benchmark.DtoMappingBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    private ModelMapper modelMapper;
+    private ProductMapper productMapper;
+    private List<Product> page;
+    private ProductRequest request;
+
+    @Setup
+    public void setUp() {
+        ProductCategory category = ProductCategory.builder().id(1L).name("Electronics").build();
+        ProductCategoryService productCategoryService = Mockito.mock(ProductCategoryService.class);
+        Mockito.when(productCategoryService.getProductCategoryById(1L)).thenReturn(category);
+        modelMapper = LegacyModelMapper.create(productCategoryService);
+        productMapper = new ProductMapperImpl(new CategoryReferenceMapper(productCategoryService));
+
+        page = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            page.add(Product.builder()
+                    .id(id)
+                    .name("Product " + id)
+                    .shortDescription("Short description " + id)
+                    .description("Description of product " + id)
+                    .image("https://cdn.souqtech.com/products/" + id + ".jpg")
+                    .price(BigDecimal.valueOf(id * 199, 2))
+                    .quantity((int) (id % 20))
+                    .category(category)
+                    .build());
+        }
+        request = new ProductRequest();
+        request.setName("Smartphone");
+        request.setDescription("Detailed description");
+        request.setShortDescription("Short desc");
+        request.setPrice(new BigDecimal("699.00"));
+        request.setQuantity(5);
+        request.setImage("https://cdn.souqtech.com/products/new.jpg");
+        request.setCategory(1L);
+    }
+
+    @Benchmark
+    public List<ProductResponse> pageWithModelMapper() {
+        return page.stream().map(product -> modelMapper.map(product, ProductResponse.class)).toList();
+    }
+
+    @Benchmark
+    public List<ProductResponse> pageWithGeneratedMapper() {
+        return page.stream().map(productMapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public Product requestWithModelMapper() {
+        return modelMapper.map(request, Product.class);
+    }
+
+    @Benchmark
+    public Product requestWithGeneratedMapper() {
+        return productMapper.toEntity(request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DtoMappingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package org.stand.springbootecommerce.benchmark;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.repository.ProductRepository;
+import org.stand.springbootecommerce.repository.ReviewRepository;
+import org.stand.springbootecommerce.search.ProductFacetIndex;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Facet counts of a search result over a 100k product catalog in 50 categories: one bitmap
+ * intersection cardinality per category, price band, rating band and stock state.
+ * {@code countAll} is the listing page without a query, served from the bitmap cardinalities.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.stand.springbootecommerce.benchmark.FacetBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FacetBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    private int resultSize;
+
+    private ProductFacetIndex index;
+    private List<Long> results;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        List<ProductCategory> categories = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            categories.add(ProductCategory.builder().id(id).name("Category " + id).build());
+        }
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            products.add(Product.builder()
+                    .id(id)
+                    .category(categories.get(random.nextInt(categories.size())))
+                    .price(BigDecimal.valueOf(random.nextInt(300_000), 2))
+                    .quantity(random.nextInt(20))
+                    .build());
+        }
+        ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+        ReviewRepository reviewRepository = Mockito.mock(ReviewRepository.class);
+        Mockito.when(productRepository.findAll()).thenReturn(products);
+        index = new ProductFacetIndex(productRepository, reviewRepository);
+        ReflectionTestUtils.setField(index, "priceBands", List.of(new BigDecimal("100"), new BigDecimal("250"),
+                new BigDecimal("500"), new BigDecimal("1000"), new BigDecimal("2000")));
+        index.rebuild();
+
+        results = new ArrayList<>();
+        for (int i = 0; i < resultSize; i++) {
+            results.add(1L + random.nextInt(100_000));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Map<String, Integer>> countResults() {
+        return index.count(results);
+    }
+
+    @Benchmark
+    public Map<String, Map<String, Integer>> countAll() {
+        return index.countAll();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FacetBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,129 @@
+package org.stand.springbootecommerce.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.mockito.Mockito;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.repository.UserSessionRepository;
+import org.stand.springbootecommerce.security.JwtClaims;
+import org.stand.springbootecommerce.service.TokenRevocationService;
+import org.stand.springbootecommerce.service.impl.JwtServiceImpl;
+import org.stand.springbootecommerce.service.impl.SessionServiceImpl;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Per-request cost of JWT validation in JwtAuthenticationFilter.
+ * <p>
+ * {@code legacy} replays what the filter used to do: decode the secret and build a parser
+ * three times (extractUsername, then username and expiration in isTokenValid).
+ * {@code singleParse} is one parse with the parser built at startup, and {@code cachedParse}
+ * the steady state of a client resending the same token, served from the verified-token cache.
+ * {@code sessionLookup} validates an opaque session token instead: a hash and a map lookup.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.stand.springbootecommerce.benchmark.JwtValidationBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private static final TokenRevocationService NOT_REVOKED = new TokenRevocationService() {
+        @Override
+        public void revoke(JwtClaims claims) {
+        }
+
+        @Override
+        public boolean isRevoked(JwtClaims claims) {
+            return false;
+        }
+    };
+
+    private JwtServiceImpl jwtService;
+    private JwtServiceImpl cachingJwtService;
+    private SessionServiceImpl sessionService;
+    private User user;
+    private String token;
+    private String sessionToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtServiceImpl(NOT_REVOKED);
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
+        jwtService.init();
+
+        cachingJwtService = new JwtServiceImpl(NOT_REVOKED);
+        ReflectionTestUtils.setField(cachingJwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(cachingJwtService, "jwtExpiration", 3600000L);
+        ReflectionTestUtils.setField(cachingJwtService, "tokenCacheMaximumSize", 10000L);
+        cachingJwtService.init();
+
+        user = User.builder().id(1L).email("bench@example.com").build();
+        token = jwtService.generateToken(user);
+
+        // Never revalidated: the (mock) repository is not reached while measuring
+        sessionService = new SessionServiceImpl(Mockito.mock(UserSessionRepository.class));
+        ReflectionTestUtils.setField(sessionService, "idleTimeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(sessionService, "flushInterval", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(sessionService, "revalidateInterval", Duration.ofDays(1));
+        sessionToken = sessionService.create(user);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String username = legacyExtractClaim(token, Claims::getSubject);
+        return username.equals(user.getUsername())
+                && legacyExtractClaim(token, Claims::getSubject).equals(user.getUsername())
+                && !legacyExtractClaim(token, Claims::getExpiration).before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        JwtClaims claims = jwtService.parseToken(token);
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    @Benchmark
+    public boolean cachedParse() {
+        JwtClaims claims = cachingJwtService.parseToken(token);
+        return cachingJwtService.isTokenValid(claims, user);
+    }
+
+    @Benchmark
+    public boolean sessionLookup() {
+        return sessionService.authenticate(sessionToken) != null;
+    }
+
+    private static <T> T legacyExtractClaim(String token, Function<Claims, T> resolver) {
+        Claims claims = Jwts
+                .parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        return resolver.apply(claims);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
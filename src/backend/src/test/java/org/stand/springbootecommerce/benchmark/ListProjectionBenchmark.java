@@ -0,0 +1,191 @@
+package org.stand.springbootecommerce.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.stand.springbootecommerce.SpringBootEcommerceApplication;
+import org.stand.springbootecommerce.dto.response.ProductResponse;
+import org.stand.springbootecommerce.dto.response.ReviewResponse;
+import org.stand.springbootecommerce.entity.user.Order;
+import org.stand.springbootecommerce.entity.user.OrderStatus;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.entity.user.Review;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.mapper.ProductMapper;
+import org.stand.springbootecommerce.mapper.ReviewMapper;
+import org.stand.springbootecommerce.repository.OrderRepository;
+import org.stand.springbootecommerce.repository.ProductCategoryRepository;
+import org.stand.springbootecommerce.repository.ProductRepository;
+import org.stand.springbootecommerce.repository.ReviewRepository;
+import org.stand.springbootecommerce.repository.UserRepository;
+import org.stand.springbootecommerce.repository.specification.ProductFilter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pages of 100 products, reviews of a product and orders of a user, on H2 in a transaction as
+ * the web requests run: read as managed entities then mapped, with the lazy authors of the
+ * reviews and products of the orders loaded one by one, and read as projections of the shown
+ * columns. The GC profiler reports the bytes allocated per page ({@code gc.alloc.rate.norm}).
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.stand.springbootecommerce.benchmark.ListProjectionBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListProjectionBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transaction;
+    private ProductRepository productRepository;
+    private ReviewRepository reviewRepository;
+    private OrderRepository orderRepository;
+    private ProductMapper productMapper;
+    private ReviewMapper reviewMapper;
+    private Specification<Product> specification;
+    private Pageable productPage;
+    private long reviewedProductId;
+    private long customerId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringBootEcommerceApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN", "spring.jpa.show-sql=false")
+                .run();
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        productRepository = context.getBean(ProductRepository.class);
+        reviewRepository = context.getBean(ReviewRepository.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        productMapper = context.getBean(ProductMapper.class);
+        reviewMapper = context.getBean(ReviewMapper.class);
+
+        ProductCategory category = context.getBean(ProductCategoryRepository.class)
+                .save(ProductCategory.builder().name("Bench").description("Bench category").build());
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            products.add(Product.builder()
+                    .name("Product " + i)
+                    .shortDescription("Short description " + i)
+                    .description(("Description of product " + i + " ").repeat(8))
+                    .image("https://cdn.souqtech.com/products/" + i + ".jpg")
+                    .price(BigDecimal.valueOf(1_000 + i * 37L % 5_000, 2))
+                    .quantity(i % 20)
+                    .category(category)
+                    .build());
+        }
+        products = productRepository.saveAll(products);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        List<Review> reviews = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        User customer = null;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User user = userRepository.save(User.builder()
+                    .name("User " + i)
+                    .surname("Bench")
+                    .email("bench" + i + "@example.com")
+                    .password("encoded_pass")
+                    .build());
+            customer = customer == null ? user : customer;
+            Review review = new Review();
+            review.setUser(user);
+            review.setProduct(products.get(0));
+            review.setRating(1 + i % 5);
+            review.setComment(("Comment " + i + " ").repeat(10));
+            reviews.add(review);
+            orders.add(Order.builder()
+                    .user(customer)
+                    .products(products.subList(i * 3, i * 3 + 3))
+                    .totalAmount(BigDecimal.TEN)
+                    .status(OrderStatus.PENDING)
+                    .build());
+        }
+        reviewRepository.saveAll(reviews);
+        orderRepository.saveAll(orders);
+
+        ProductFilter filter = new ProductFilter(List.of(category.getId()), null, null, false,
+                ProductFilter.Order.PRICE_ASC);
+        specification = filter.toSpecification();
+        productPage = PageRequest.of(0, PAGE_SIZE, filter.order().sort());
+        reviewedProductId = products.get(0).getId();
+        customerId = customer.getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductResponse> productEntities() {
+        return transaction.execute(status -> productRepository.findAll(specification, productPage).stream()
+                .map(productMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ProductResponse> productProjections() {
+        return transaction.execute(status -> PageableExecutionUtils.getPage(
+                productRepository.findPage(specification, productPage.getSort(), 0, PAGE_SIZE), productPage,
+                () -> productRepository.count(specification)).stream()
+                .map(productMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ReviewResponse> reviewEntities() {
+        return transaction.execute(status -> reviewRepository
+                .findByProductId(reviewedProductId, PageRequest.of(0, PAGE_SIZE)).stream()
+                .map(reviewMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ReviewResponse> reviewProjections() {
+        return transaction.execute(status -> reviewRepository
+                .findSummariesByProductId(reviewedProductId, PageRequest.of(0, PAGE_SIZE)).stream()
+                .map(reviewMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public int orderEntities() {
+        return transaction.execute(status -> orderRepository.findByUserId(customerId).stream()
+                .mapToInt(order -> order.getProducts().size())
+                .sum());
+    }
+
+    @Benchmark
+    public int orderProjections() {
+        return transaction.execute(status -> orderRepository.findSummariesByUserId(customerId).stream()
+                .mapToInt(OrderRepository.OrderSummary::getNumberOfProducts)
+                .sum());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ListProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,166 @@
+package org.stand.springbootecommerce.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Filtered product listing over a 1M product catalog in 200 categories, on H2 with the indexes
+ * declared on {@code Product}: the first page of in-stock products of a category within a price
+ * range sorted by price, as {@code findPage} reads it (the page of ids, then its rows by primary
+ * key), and its count; the same with the whole table scanned when {@code indexed} is false.
+ * <p>
+ * Setup fails unless the plans of the id page and of the count evaluate every predicate in
+ * {@code idx_product_category_price_id_quantity} and select only columns of it, that is, without
+ * reading a row. H2 does not report covering scans as such; on MySQL, EXPLAIN shows these two as
+ * "Using index".
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.stand.springbootecommerce.benchmark.ProductFilterBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ProductFilterBenchmark {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int CATEGORIES = 200;
+
+    private static final String INDEX = "idx_product_category_price_id_quantity";
+    private static final List<String> INDEX_COLUMNS = List.of("CATEGORY_ID", "PRICE", "ID", "QUANTITY");
+
+    // Same shape as the queries generated from ProductFilter
+    private static final String PAGE_IDS = "select p.id from product p"
+            + " where p.category_id in (?) and p.price >= ? and p.price <= ? and p.quantity > 0"
+            + " order by p.price, p.id offset 0 rows fetch first 20 rows only";
+    private static final String PAGE_ROWS = "select p.id, p.name, p.short_description, p.price, p.quantity,"
+            + " p.image, p.category_id from product p where p.id = any(?)";
+    private static final String COUNT = "select count(p.id) from product p"
+            + " where p.category_id in (?) and p.price >= ? and p.price <= ? and p.quantity > 0";
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private Connection connection;
+    private PreparedStatement pageIds;
+    private PreparedStatement pageRows;
+    private PreparedStatement count;
+    private final Random random = new Random(7);
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:filter" + indexed, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table product (id bigint primary key, category_id bigint,"
+                    + " description varchar(255), image varchar(255), name varchar(80), price numeric(10,2),"
+                    + " quantity integer not null, short_description varchar(80))");
+            statement.execute("insert into product select x, mod(x * 7919, " + CATEGORIES + ") + 1,"
+                    + " 'Description of product ' || x, 'product.jpg', 'Product ' || x,"
+                    + " mod(x * 104729, 300000) / 100.0, mod(x, 11), 'Product ' || x"
+                    + " from system_range(1, " + PRODUCTS + ")");
+            if (indexed) {
+                statement.execute("create index idx_product_price_id_quantity on product (price, id, quantity)");
+                statement.execute("create index idx_product_name_id_quantity on product (name, id, quantity)");
+                statement.execute("create index " + INDEX + " on product (category_id, price, id, quantity)");
+                statement.execute("create index idx_product_category_name_id_quantity"
+                        + " on product (category_id, name, id, quantity)");
+            }
+            statement.execute("analyze");
+            if (indexed) {
+                assertIndexOnly(statement, PAGE_IDS);
+                assertIndexOnly(statement, COUNT);
+            }
+        }
+        pageIds = connection.prepareStatement(PAGE_IDS);
+        pageRows = connection.prepareStatement(PAGE_ROWS);
+        count = connection.prepareStatement(COUNT);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<String> firstPage() throws SQLException {
+        bind(pageIds);
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rows = pageIds.executeQuery()) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        }
+        pageRows.setObject(1, ids.toArray(Long[]::new));
+        List<String> names = new ArrayList<>();
+        try (ResultSet rows = pageRows.executeQuery()) {
+            while (rows.next()) {
+                names.add(rows.getString(2));
+            }
+        }
+        return names;
+    }
+
+    @Benchmark
+    public long total() throws SQLException {
+        bind(count);
+        try (ResultSet rows = count.executeQuery()) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private void bind(PreparedStatement statement) throws SQLException {
+        BigDecimal minPrice = BigDecimal.valueOf(random.nextInt(2000));
+        statement.setLong(1, 1 + random.nextInt(CATEGORIES));
+        statement.setBigDecimal(2, minPrice);
+        statement.setBigDecimal(3, minPrice.add(BigDecimal.valueOf(500)));
+    }
+
+    /**
+     * Fails unless the plan reads the index alone: every column the query uses is in it, and every
+     * predicate is evaluated in the index condition rather than on rows.
+     */
+    private static void assertIndexOnly(Statement statement, String sql) throws SQLException {
+        String plan;
+        try (ResultSet explained = statement.executeQuery("explain " + sql
+                .replaceFirst("\\?", "42").replaceFirst("\\?", "100").replaceFirst("\\?", "600"))) {
+            explained.next();
+            plan = explained.getString(1).toUpperCase();
+        }
+        int index = plan.indexOf("/* PUBLIC." + INDEX.toUpperCase() + ":");
+        if (index < 0) {
+            throw new IllegalStateException("Not planned on " + INDEX + ":\n" + plan);
+        }
+        String indexCondition = plan.substring(index, plan.indexOf("*/", index));
+        for (String column : List.of("CATEGORY_ID", "PRICE", "QUANTITY")) {
+            if (!indexCondition.contains(column)) {
+                throw new IllegalStateException(column + " not filtered in " + INDEX + ":\n" + plan);
+            }
+        }
+        Matcher columns = Pattern.compile("\"P\"\\.\"(\\w+)\"").matcher(plan);
+        while (columns.find()) {
+            if (!INDEX_COLUMNS.contains(columns.group(1))) {
+                throw new IllegalStateException(columns.group(1) + " read from the rows:\n" + plan);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
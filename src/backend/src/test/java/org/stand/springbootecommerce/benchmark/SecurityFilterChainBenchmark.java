@@ -0,0 +1,97 @@
+package org.stand.springbootecommerce.benchmark;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.stand.springbootecommerce.SpringBootEcommerceApplication;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.repository.UserRepository;
+import org.stand.springbootecommerce.service.JwtService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Security filter chain overhead of a public catalog read sent with a bearer token, as browsers
+ * of logged-in users do.
+ * <p>
+ * {@code publicChain} goes through the anonymous chain now matching catalog GETs;
+ * {@code authenticatedChain} runs the same request through the main chain, i.e. what every
+ * catalog read used to pay: JWT verification, principal lookup, authentication details and
+ * security context population. The application runs on the test profile (H2).
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.stand.springbootecommerce.benchmark.SecurityFilterChainBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityFilterChainBenchmark {
+
+    private static final String PATH = "/api/v1/product";
+    private static final FilterChain ENDPOINT = (request, response) -> {
+    };
+
+    private ConfigurableApplicationContext context;
+    private FilterChainProxy publicChain;
+    private FilterChainProxy authenticatedChain;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringBootEcommerceApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN", "spring.jpa.show-sql=false")
+                .run();
+        publicChain = new FilterChainProxy(context.getBean("publicCatalogFilterChain", SecurityFilterChain.class));
+        authenticatedChain = new FilterChainProxy(context.getBean("securityFilterChain", SecurityFilterChain.class));
+
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .name("Bench")
+                .surname("User")
+                .email("bench@example.com")
+                .password("encoded_pass")
+                .build());
+        token = context.getBean(JwtService.class).generateToken(user);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse publicChain() throws Exception {
+        return filter(publicChain);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedChain() throws Exception {
+        return filter(authenticatedChain);
+    }
+
+    private MockHttpServletResponse filter(FilterChainProxy chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.setServletPath(PATH);
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        chain.doFilter(request, response, ENDPOINT);
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SecurityFilterChainBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
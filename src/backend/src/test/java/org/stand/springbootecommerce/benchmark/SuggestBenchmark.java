@@ -0,0 +1,67 @@
+package org.stand.springbootecommerce.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.stand.springbootecommerce.search.CompletionIndex;
+import org.stand.springbootecommerce.search.Suggestion;
+import org.stand.springbootecommerce.search.TextAnalyzer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a typeahead lookup over 100k synthetic product names, sampled so the
+ * p99 can be read against the 1 ms budget of a keystroke.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.stand.springbootecommerce.benchmark.SuggestBenchmark}
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SuggestBenchmark {
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Sony", "Xiaomi", "Lenovo", "Asus", "Canon", "Bosch"};
+    private static final String[] KINDS = {"Smartphone", "Laptop", "Tablet", "Camera", "Headphones", "Monitor", "Watch"};
+    private static final String[] PREFIXES = {"s", "sa", "sam", "smart", "lap", "x", "cam", "app", "mon", "watch 4"};
+
+    private CompletionIndex index;
+    private String[] prefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            String name = BRANDS[random.nextInt(BRANDS.length)] + " "
+                    + KINDS[random.nextInt(KINDS.length)] + " "
+                    + random.nextInt(1000) + " " + Integer.toString(random.nextInt(46656), 36);
+            suggestions.add(new Suggestion(name, Suggestion.Type.PRODUCT, i, 1 + random.nextInt(500)));
+        }
+        index = CompletionIndex.build(suggestions);
+        prefixes = new String[PREFIXES.length];
+        for (int i = 0; i < PREFIXES.length; i++) {
+            prefixes[i] = TextAnalyzer.normalize(PREFIXES[i]);
+        }
+    }
+
+    @Benchmark
+    public List<Suggestion> complete() {
+        String prefix = prefixes[next++ % prefixes.length];
+        return index.complete(prefix, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SuggestBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,155 @@
+package org.stand.springbootecommerce.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.stand.springbootecommerce.catalog.store.MappedProductStore;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests Unitaires - CatalogSnapshot")
+class CatalogSnapshotTest {
+
+    private final ProductCategory electronics = ProductCategory.builder().id(1L).name("Electronics").build();
+    private final ProductCategory furniture = ProductCategory.builder().id(2L).name("Furniture").build();
+
+    @Test
+    @DisplayName("Doit indexer les produits par id et par catégorie, dans l'ordre des ids")
+    void of_IndexesByIdAndCategory() {
+        // Act
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, List.of(
+                product(5L, electronics), product(2L, furniture), product(3L, electronics)),
+                List.of(electronics, furniture));
+
+        // Assert
+        assertThat(snapshot.products()).extracting(Product::getId).containsExactly(2L, 3L, 5L);
+        assertThat(snapshot.productsInCategory(1L)).extracting(Product::getId).containsExactly(3L, 5L);
+        assertThat(snapshot.productsInCategory(1L, 1, 10)).extracting(Product::getId).containsExactly(5L);
+        assertThat(snapshot.productCount(2L)).isEqualTo(1);
+        assertThat(snapshot.productCount(9L)).isZero();
+        assertThat(snapshot.category("Furniture")).map(ProductCategory::getId).contains(2L);
+        assertThat(snapshot.products(Arrays.asList(5L, 99L, null, 2L))).extracting(Product::getId)
+                .containsExactly(5L, 2L);
+    }
+
+    @Test
+    @DisplayName("Doit publier une nouvelle version sans modifier l'ancienne")
+    void withProduct_CopyOnWrite() {
+        // Arrange
+        CatalogSnapshot before = CatalogSnapshot.of(1, List.of(product(1L, electronics), product(2L, electronics)),
+                List.of(electronics, furniture));
+
+        // Act: product 2 moves to furniture, product 3 is new in a category not seen yet
+        CatalogSnapshot after = before
+                .withProduct(product(2L, furniture))
+                .withProduct(product(3L, ProductCategory.builder().id(3L).name("Books").build()));
+
+        // Assert
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThat(after.productsInCategory(1L)).extracting(Product::getId).containsExactly(1L);
+        assertThat(after.productsInCategory(2L)).extracting(Product::getId).containsExactly(2L);
+        assertThat(after.category("Books")).isPresent();
+        assertThat(after.productCount()).isEqualTo(3);
+        assertThat(before.productsInCategory(1L)).extracting(Product::getId).containsExactly(1L, 2L);
+        assertThat(before.productCount(2L)).isZero();
+        assertThat(before.product(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit garder l'ordre des ids quand les écritures remplissent et scindent les blocs")
+    void withProduct_AcrossChunks() {
+        // Arrange: even ids, then odd ids written between them and one before the first
+        int count = 3 * HeapProductTable.MAX_CHUNK;
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, LongStream.rangeClosed(1, count)
+                .mapToObj(id -> product(2 * id, electronics)).toList(), List.of(electronics, furniture));
+        CatalogSnapshot before = snapshot;
+
+        // Act
+        for (long id = 1; id < HeapProductTable.MAX_CHUNK + 10; id += 2) {
+            snapshot = snapshot.withProduct(product(id, furniture));
+        }
+        snapshot = snapshot.withProduct(product(2L * count, furniture));
+
+        // Assert
+        List<Long> ids = snapshot.products().stream().map(Product::getId).toList();
+        assertThat(ids).isSorted().doesNotHaveDuplicates().hasSize(count + (HeapProductTable.MAX_CHUNK + 10) / 2);
+        assertThat(snapshot.products(HeapProductTable.MAX_CHUNK, 2)).extracting(Product::getId)
+                .containsExactly(ids.get(HeapProductTable.MAX_CHUNK), ids.get(HeapProductTable.MAX_CHUNK + 1));
+        assertThat(snapshot.product(1L)).map(Product::getCategory).map(ProductCategory::getId).contains(2L);
+        assertThat(snapshot.product(2L * count)).map(Product::getCategory).map(ProductCategory::getId).contains(2L);
+        assertThat(snapshot.product(3L * count)).isEmpty();
+        assertThat(before.products()).hasSize(count);
+        assertThat(before.product(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit copier les produits, détachés de l'entité d'origine")
+    void of_CopiesProducts() {
+        // Arrange
+        Product product = product(1L, electronics);
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, List.of(product), List.of(electronics));
+
+        // Act
+        product.setName("Renamed");
+
+        // Assert
+        assertThat(snapshot.product(1L)).map(Product::getName).contains("Product 1");
+    }
+
+    @Test
+    @DisplayName("Doit servir les mêmes lectures depuis un stockage mappé en mémoire")
+    void of_MappedStore(@TempDir Path directory) {
+        // Arrange
+        MappedProductStore store = MappedProductStore.create(directory.resolve("store"));
+        List.of(product(5L, electronics), product(2L, furniture), product(3L, electronics)).forEach(store::append);
+
+        // Act
+        CatalogSnapshot before = CatalogSnapshot.of(1, store, List.of(electronics, furniture));
+        CatalogSnapshot after = before.withProduct(product(3L, furniture)).withProduct(product(4L, null));
+
+        // Assert
+        assertThat(before.products()).extracting(Product::getId).containsExactly(2L, 3L, 5L);
+        assertThat(before.productsInCategory(1L)).extracting(Product::getId).containsExactly(3L, 5L);
+        assertThat(before.product(5L)).map(Product::getCategory).map(ProductCategory::getName).contains("Electronics");
+        assertThat(after.products()).extracting(Product::getId).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(after.productsInCategory(2L)).extracting(Product::getId).containsExactly(2L, 3L);
+        assertThat(after.product(3L)).map(Product::getCategory).map(ProductCategory::getName).contains("Furniture");
+        assertThat(before.product(3L)).map(Product::getCategory).map(ProductCategory::getName).contains("Electronics");
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Doit garder l'ordre des ids d'un stockage mappé quand les écritures scindent les blocs")
+    void withProduct_MappedStoreAcrossChunks(@TempDir Path directory) {
+        // Arrange: even ids, then odd ids written between them
+        MappedProductStore store = MappedProductStore.create(directory.resolve("store"));
+        int count = 2 * HeapProductTable.MAX_CHUNK;
+        LongStream.rangeClosed(1, count).forEach(id -> store.append(product(2 * id, electronics)));
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, store, List.of(electronics, furniture));
+
+        // Act
+        for (long id = 1; id < HeapProductTable.MAX_CHUNK + 10; id += 2) {
+            snapshot = snapshot.withProduct(product(id, furniture));
+        }
+        snapshot = snapshot.withProduct(product(4L, furniture));
+
+        // Assert
+        List<Long> ids = snapshot.products().stream().map(Product::getId).toList();
+        assertThat(ids).isSorted().doesNotHaveDuplicates().hasSize(count + (HeapProductTable.MAX_CHUNK + 10) / 2);
+        assertThat(snapshot.product(1L)).map(Product::getCategory).map(ProductCategory::getId).contains(2L);
+        assertThat(snapshot.product(4L)).map(Product::getCategory).map(ProductCategory::getId).contains(2L);
+        assertThat(snapshot.productsInCategory(1L)).hasSize(count - 1);
+        store.close();
+    }
+
+    private static Product product(long id, ProductCategory category) {
+        return Product.builder().id(id).name("Product " + id).category(category).build();
+    }
+}
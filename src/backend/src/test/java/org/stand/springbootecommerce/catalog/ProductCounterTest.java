@@ -0,0 +1,145 @@
+package org.stand.springbootecommerce.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.entity.user.ProductCount;
+import org.stand.springbootecommerce.repository.ProductCategoryRepository;
+import org.stand.springbootecommerce.repository.ProductCountRepository;
+import org.stand.springbootecommerce.repository.ProductRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ProductCounter.class)
+// The counts are initialized in a transaction of their own: the data they count has to be committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Tests du compteur de produits partagé")
+class ProductCounterTest {
+
+    @Autowired
+    private ProductCounter productCounter;
+
+    @Autowired
+    private ProductCountRepository productCountRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    private ProductCategory phones;
+    private ProductCategory tablets;
+
+    @BeforeEach
+    void setUp() {
+        // Counted on an empty catalog when the context started
+        productCountRepository.deleteAllInBatch();
+        phones = productCategoryRepository.save(ProductCategory.builder().name("Phones").description("Phones").build());
+        tablets = productCategoryRepository.save(
+                ProductCategory.builder().name("Tablets").description("Tablets").build());
+        productRepository.save(product("Phone", phones));
+        productRepository.save(product("Cable", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productCountRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        productCategoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Doit compter depuis la base tant que les compteurs ne sont pas initialisés")
+    void count_QueriedUntilInitialized() {
+        // Act & Assert
+        assertThat(productCountRepository.count()).isZero();
+        assertThat(productCounter.count()).isEqualTo(2);
+        assertThat(productCounter.count(phones.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Doit initialiser les compteurs puis les tenir à jour à chaque écriture")
+    void save_UpdatesCountsInTheSameTransaction() {
+        // Arrange
+        productCounter.onApplicationReady();
+
+        // Act
+        productCounter.save(product("Phone 2", phones));
+        Product moved = productCounter.save(product("Tablet", phones));
+        moved.setCategory(tablets);
+        productCounter.save(moved);
+        ProductCategory watches = productCounter.save(
+                ProductCategory.builder().name("Watches").description("Watches").build());
+
+        // Assert
+        assertThat(productCountRepository.findById(ProductCount.CATALOG)).get()
+                .extracting(ProductCount::getProducts).isEqualTo(4L);
+        assertThat(productCounter.count()).isEqualTo(4);
+        assertThat(productCounter.count(phones.getId())).isEqualTo(2);
+        assertThat(productCounter.count(tablets.getId())).isEqualTo(1);
+        assertThat(productCountRepository.findById(watches.getId())).get()
+                .extracting(ProductCount::getProducts).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("Ne doit pas réinitialiser des compteurs déjà en place")
+    void onApplicationReady_Idempotent() {
+        // Arrange
+        productCounter.onApplicationReady();
+        productCounter.save(product("Phone 2", phones));
+
+        // Act
+        productCounter.onApplicationReady();
+
+        // Assert
+        assertThat(productCounter.count()).isEqualTo(3);
+        assertThat(productCounter.count(tablets.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Doit démarrer sans erreur quand deux instances initialisent les compteurs en même temps")
+    void onApplicationReady_ConcurrentInstances() {
+        // Arrange: two instances starting on the same fresh database
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> instances = List.of(1, 2).stream()
+                .map(instance -> CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    productCounter.onApplicationReady();
+                }))
+                .toList();
+
+        // Act
+        start.countDown();
+        CompletableFuture.allOf(instances.toArray(CompletableFuture[]::new)).join();
+
+        // Assert
+        assertThat(productCountRepository.count()).isEqualTo(3);
+        assertThat(productCounter.count()).isEqualTo(2);
+        assertThat(productCounter.count(phones.getId())).isEqualTo(1);
+        assertThat(productCounter.count(tablets.getId())).isZero();
+    }
+
+    private static Product product(String name, ProductCategory category) {
+        return Product.builder().name(name).description(name).shortDescription(name).image(name + ".jpg")
+                .price(new BigDecimal("10.00")).quantity(1).category(category).build();
+    }
+}
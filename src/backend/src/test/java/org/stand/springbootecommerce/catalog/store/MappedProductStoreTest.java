@@ -0,0 +1,118 @@
+package org.stand.springbootecommerce.catalog.store;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests Unitaires - MappedProductStore")
+class MappedProductStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Doit relire un produit ajouté, champs fixes et chaînes")
+    void append_RoundTrip() {
+        // Arrange
+        ProductCategory category = ProductCategory.builder().id(3L).name("Électronique").build();
+        Product product = Product.builder()
+                .id(42L)
+                .name("Téléphone")
+                .shortDescription("Écran 6,1\"")
+                .description("Description")
+                .image(null)
+                .price(new BigDecimal("499.9"))
+                .quantity(7)
+                .category(category)
+                .build();
+
+        try (MappedProductStore store = MappedProductStore.create(directory.resolve("store"))) {
+            // Act
+            int row = store.append(product);
+            Product read = store.product(row, id -> id == 3L ? category : null);
+
+            // Assert
+            assertThat(read.getId()).isEqualTo(42L);
+            assertThat(read.getName()).isEqualTo("Téléphone");
+            assertThat(read.getShortDescription()).isEqualTo("Écran 6,1\"");
+            assertThat(read.getImage()).isNull();
+            assertThat(read.getPrice()).isEqualByComparingTo("499.90");
+            assertThat(read.getQuantity()).isEqualTo(7);
+            assertThat(read.getCategory()).isSameAs(category);
+            assertThat(store.categoryId(row)).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    @DisplayName("Doit arrondir le prix au centime, comme la colonne en base")
+    void append_RoundsPrice() {
+        // Arrange
+        Product product = Product.builder().id(1L).name("Câble").price(new BigDecimal("9.995")).build();
+
+        try (MappedProductStore store = MappedProductStore.create(directory.resolve("store"))) {
+            // Act
+            int row = store.append(product);
+
+            // Assert
+            assertThat(store.product(row, id -> null).getPrice()).isEqualByComparingTo("10.00");
+        }
+    }
+
+    @Test
+    @DisplayName("Doit étendre le fichier par blocs sans qu'une valeur chevauche deux blocs")
+    void append_AcrossChunks() {
+        try (MappedProductStore store = MappedProductStore.create(directory.resolve("store"), 64)) {
+            // Act: about 20 bytes of strings each, so a 64-byte chunk holds three
+            for (long id = 1; id <= 50; id++) {
+                store.append(Product.builder().id(id).name("P" + id).build());
+            }
+
+            // Assert
+            assertThat(store.rows()).isEqualTo(50);
+            for (int row = 0; row < 50; row++) {
+                assertThat(store.product(row, id -> null).getName()).isEqualTo("P" + (row + 1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Doit supprimer ses fichiers à la fermeture")
+    void close_DeletesFiles() {
+        // Arrange
+        Path storeDirectory = directory.resolve("store");
+        MappedProductStore store = MappedProductStore.create(storeDirectory);
+        store.append(Product.builder().id(1L).name("Laptop").build());
+
+        // Act
+        store.close();
+
+        // Assert
+        assertThat(storeDirectory).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Doit indexer des millions d'ids dans la table à adressage ouvert")
+    void longIntHashMap_PutAndGet() {
+        // Arrange
+        LongIntHashMap map = new LongIntHashMap(16);
+
+        // Act
+        for (int i = 0; i < 1_000_000; i++) {
+            map.put(i * 31L, i);
+        }
+        map.put(31L, -7);
+
+        // Assert
+        assertThat(map.size()).isEqualTo(1_000_000);
+        assertThat(map.get(31L * 999_999)).isEqualTo(999_999);
+        assertThat(map.get(31L)).isEqualTo(-7);
+        assertThat(map.get(32L)).isEqualTo(LongIntHashMap.MISSING);
+    }
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -15,6 +14,7 @@ import org.stand.springbootecommerce.dto.UserDTO;
 import org.stand.springbootecommerce.dto.request.RegisterRequest;
 import org.stand.springbootecommerce.dto.response.BaseResponseBody;
 import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.mapper.UserMapper;
 import org.stand.springbootecommerce.service.AuthenticationService;
 import org.stand.springbootecommerce.service.JwtService;
 
@@ -22,7 +22,6 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -41,7 +40,7 @@ class AuthenticationControllerTest {
         private AuthenticationService authenticationService;
 
         @MockBean
-        private ModelMapper modelMapper;
+        private UserMapper userMapper;
 
         @MockBean
         private JwtService jwtService;
@@ -97,7 +96,7 @@ class AuthenticationControllerTest {
         void me_Success() throws Exception {
                 // Arrange
                 when(authenticationService.me()).thenReturn(user);
-                when(modelMapper.map(any(), eq(UserDTO.class))).thenReturn(userDTO);
+                when(userMapper.toDto(any())).thenReturn(userDTO);
 
                 // Act & Assert
                 mockMvc.perform(get("/api/v1/auth/me"))
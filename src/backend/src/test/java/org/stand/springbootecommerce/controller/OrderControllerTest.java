@@ -14,18 +14,24 @@ import org.stand.springbootecommerce.entity.user.Order;
 import org.stand.springbootecommerce.entity.user.OrderStatus;
 import org.stand.springbootecommerce.entity.user.Product;
 import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.repository.OrderRepository;
+import org.stand.springbootecommerce.service.AuthenticationService;
 import org.stand.springbootecommerce.service.JwtService;
 import org.stand.springbootecommerce.service.OrderService;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrderController.class)
@@ -39,6 +45,9 @@ class OrderControllerTest {
         @MockBean
         private OrderService orderService;
 
+        @MockBean
+        private AuthenticationService authenticationService;
+
         @MockBean
         private JwtService jwtService;
 
@@ -78,7 +87,8 @@ class OrderControllerTest {
                 Map<String, Object> requestMap = new HashMap<>();
                 requestMap.put("productIds", Arrays.asList(1L, 2L));
 
-                when(orderService.createOrder(anyList())).thenReturn(order);
+                when(authenticationService.me()).thenReturn(user);
+                when(orderService.createOrder(eq(user), anyList())).thenReturn(order);
 
                 // Act & Assert
                 mockMvc.perform(post("/api/v1/order")
@@ -91,10 +101,16 @@ class OrderControllerTest {
         @DisplayName("GET /api/v1/order - Doit retourner les commandes de l'utilisateur")
         void getMyOrders_Success() throws Exception {
                 // Arrange
-                when(orderService.getMyOrders()).thenReturn(Arrays.asList(order));
+                OrderRepository.OrderSummary summary = mock(OrderRepository.OrderSummary.class);
+                when(summary.getId()).thenReturn(1L);
+                when(summary.getNumberOfProducts()).thenReturn(1);
+                when(authenticationService.me()).thenReturn(user);
+                when(orderService.getMyOrders(user)).thenReturn(List.of(summary));
 
                 // Act & Assert
                 mockMvc.perform(get("/api/v1/order"))
-                                .andExpect(status().isOk());
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value(1))
+                                .andExpect(jsonPath("$[0].numberOfProducts").value(1));
         }
 }
@@ -3,7 +3,6 @@ package org.stand.springbootecommerce.controller;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -30,9 +29,6 @@ class ProductCategoryControllerTest {
     @MockBean
     private ProductCategoryService categoryService;
 
-    @MockBean
-    private ModelMapper modelMapper;
-
     @MockBean
     private JwtService jwtService;
 
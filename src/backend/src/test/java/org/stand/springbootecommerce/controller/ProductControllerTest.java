@@ -4,25 +4,30 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.stand.springbootecommerce.dto.request.ProductRequest;
 import org.stand.springbootecommerce.dto.response.ProductResponse;
 import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.mapper.ProductMapper;
+import org.stand.springbootecommerce.pagination.CountedPage;
+import org.stand.springbootecommerce.pagination.CursorPage;
+import org.stand.springbootecommerce.pagination.ProductSort;
+import org.stand.springbootecommerce.repository.ProductSummary;
+import org.stand.springbootecommerce.search.Suggestion;
 import org.stand.springbootecommerce.service.JwtService;
+import org.stand.springbootecommerce.repository.specification.ProductFilter;
 import org.stand.springbootecommerce.service.ProductService;
 
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -44,7 +49,7 @@ class ProductControllerTest {
     private ProductService productService;
 
     @MockBean
-    private ModelMapper modelMapper;
+    private ProductMapper productMapper;
 
     @MockBean
     private JwtService jwtService;
@@ -87,12 +92,83 @@ class ProductControllerTest {
     @Test
     @DisplayName("GET /api/v1/product - Doit retourner la liste des produits paginée")
     void getProducts_Success() throws Exception {
-        Page<Product> productPage = new PageImpl<>(Collections.singletonList(product), PageRequest.of(0, 10), 1);
+        CountedPage<Product> productPage = new CountedPage<>(Collections.singletonList(product),
+                PageRequest.of(0, 10), 1, false);
 
-        when(productService.getProducts(nullable(String.class), anyInt(), anyInt())).thenReturn(productPage);
-        when(modelMapper.map(any(), eq(ProductResponse.class))).thenReturn(productResponse);
+        when(productService.getProducts(nullable(String.class), nullable(Long.class), anyInt(), anyInt()))
+                .thenReturn(productPage);
+        when(productMapper.toResponse(any(Product.class))).thenReturn(productResponse);
 
         mockMvc.perform(get("/api/v1/product")
+                .param("pageNumber", "0")
+                .param("pageSize", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.approximate").value(false))
+                .andExpect(jsonPath("$.list[0].name").value("Smartphone"))
+                .andExpect(jsonPath("$.facets").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/product?facets=true - Doit retourner les facettes avec la page")
+    void getProducts_WithFacets() throws Exception {
+        CountedPage<Product> productPage = new CountedPage<>(Collections.singletonList(product),
+                PageRequest.of(0, 10), 1, true);
+
+        when(productService.getProducts(eq("phone"), nullable(Long.class), anyInt(), anyInt()))
+                .thenReturn(productPage);
+        when(productService.getProductFacets("phone", null)).thenReturn(Map.of(
+                "category", Map.of("3", 1),
+                "stock", Map.of("in_stock", 1)));
+        when(productMapper.toResponse(any(Product.class))).thenReturn(productResponse);
+
+        mockMvc.perform(get("/api/v1/product")
+                .param("q", "phone")
+                .param("pageNumber", "0")
+                .param("pageSize", "10")
+                .param("facets", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.approximate").value(true))
+                .andExpect(jsonPath("$.facets.category['3']").value(1))
+                .andExpect(jsonPath("$.facets.stock.in_stock").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/product?total=false - Doit omettre le total")
+    void getProducts_WithoutTotal() throws Exception {
+        CountedPage<Product> productPage = new CountedPage<>(Collections.singletonList(product),
+                PageRequest.of(0, 10), 1, false);
+
+        when(productService.getProducts(null, 3L, 0, 10)).thenReturn(productPage);
+        when(productMapper.toResponse(any(Product.class))).thenReturn(productResponse);
+
+        mockMvc.perform(get("/api/v1/product")
+                .param("category", "3")
+                .param("pageNumber", "0")
+                .param("pageSize", "10")
+                .param("total", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[0].name").value("Smartphone"))
+                .andExpect(jsonPath("$.total").doesNotExist())
+                .andExpect(jsonPath("$.approximate").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/product/filter - Doit transmettre les critères et retourner la page")
+    void filterProducts_Success() throws Exception {
+        CountedPage<ProductSummary> productPage = new CountedPage<>(List.of(ProductSummary.of(product)),
+                PageRequest.of(0, 10), 1, false);
+
+        when(productService.filterProducts(new ProductFilter(List.of(1L, 2L), new BigDecimal("100"), null, true,
+                ProductFilter.Order.PRICE_DESC), 0, 10, true)).thenReturn(productPage);
+        when(productMapper.toResponse(any(ProductSummary.class))).thenReturn(productResponse);
+
+        mockMvc.perform(get("/api/v1/product/filter")
+                .param("category", "1", "2")
+                .param("minPrice", "100")
+                .param("inStock", "true")
+                .param("sort", "PRICE_DESC")
                 .param("pageNumber", "0")
                 .param("pageSize", "10"))
                 .andExpect(status().isOk())
@@ -100,11 +176,62 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.list[0].name").value("Smartphone"));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/product/scroll - Doit retourner la page et le curseur suivant")
+    void scrollProducts_Success() throws Exception {
+        when(productService.getProducts(null, "abc", ProductSort.PRICE_ASC, 10))
+                .thenReturn(new CursorPage<>(List.of(ProductSummary.of(product)), "def"));
+        when(productMapper.toResponse(any(ProductSummary.class))).thenReturn(productResponse);
+
+        mockMvc.perform(get("/api/v1/product/scroll")
+                .param("cursor", "abc")
+                .param("sort", "PRICE_ASC")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[0].name").value("Smartphone"))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.total").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/product/batch - Doit retourner les produits dans l'ordre et les ids manquants")
+    void getProductsByIds_Success() throws Exception {
+        Product other = Product.builder().id(2L).name("Tablet").price(BigDecimal.TEN).build();
+        when(productService.getProductsByIds(List.of(2L, 1L, 9L)))
+                .thenReturn(new ProductService.Batch(List.of(other, product), List.of(9L)));
+        ProductResponse otherResponse = new ProductResponse();
+        otherResponse.setId(2L);
+        when(productMapper.toResponse(other)).thenReturn(otherResponse);
+        when(productMapper.toResponse(product)).thenReturn(productResponse);
+
+        mockMvc.perform(get("/api/v1/product/batch")
+                .param("ids", "2,1,9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].id").value(2))
+                .andExpect(jsonPath("$.products[1].name").value("Smartphone"))
+                .andExpect(jsonPath("$.missing[0]").value(9));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/product/batch - Doit accepter les ids dans le corps")
+    void getProductsByIds_Post() throws Exception {
+        when(productService.getProductsByIds(List.of(1L)))
+                .thenReturn(new ProductService.Batch(List.of(product), List.of()));
+        when(productMapper.toResponse(product)).thenReturn(productResponse);
+
+        mockMvc.perform(post("/api/v1/product/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("ids", List.of(1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].id").value(1))
+                .andExpect(jsonPath("$.missing").isEmpty());
+    }
+
     @Test
     @DisplayName("GET /api/v1/product/{id} - Doit retourner un produit")
     void getProductById_Success() throws Exception {
         when(productService.getProductById(1L)).thenReturn(product);
-        when(modelMapper.map(any(), eq(ProductResponse.class))).thenReturn(productResponse);
+        when(productMapper.toResponse(any(Product.class))).thenReturn(productResponse);
 
         mockMvc.perform(get("/api/v1/product/1"))
                 .andExpect(status().isOk())
@@ -114,9 +241,9 @@ class ProductControllerTest {
     @Test
     @DisplayName("POST /api/v1/product - Doit créer un produit")
     void addProduct_Success() throws Exception {
-        when(modelMapper.map(any(ProductRequest.class), eq(Product.class))).thenReturn(product);
+        when(productMapper.toEntity(any(ProductRequest.class))).thenReturn(product);
         when(productService.addProduct(any(Product.class))).thenReturn(product);
-        when(modelMapper.map(any(Product.class), eq(ProductResponse.class))).thenReturn(productResponse);
+        when(productMapper.toResponse(any(Product.class))).thenReturn(productResponse);
 
         mockMvc.perform(post("/api/v1/product")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -124,4 +251,29 @@ class ProductControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.name").value("Smartphone"));
     }
+
+    @Test
+    @DisplayName("POST /api/v1/product - Doit rejeter un prix au-delà du centime")
+    void addProduct_PriceWithThreeDecimals() throws Exception {
+        productRequestMap.put("price", new BigDecimal("9.999"));
+
+        mockMvc.perform(post("/api/v1/product")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productRequestMap)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/product/suggest - Doit retourner les complétions")
+    void suggest_Success() throws Exception {
+        when(productService.suggest("smart", 10)).thenReturn(List.of(
+                new Suggestion("Smartphone", Suggestion.Type.CATEGORY, 3L, 12),
+                new Suggestion("Smart TV Samsung", Suggestion.Type.PRODUCT, 7L, 4)));
+
+        mockMvc.perform(get("/api/v1/product/suggest").param("prefix", "smart"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].text").value("Smartphone"))
+                .andExpect(jsonPath("$[0].type").value("CATEGORY"))
+                .andExpect(jsonPath("$[1].id").value(7));
+    }
 }
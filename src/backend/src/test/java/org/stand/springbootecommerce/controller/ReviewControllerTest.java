@@ -4,7 +4,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -18,9 +17,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.stand.springbootecommerce.dto.response.ReviewResponse;
 import org.stand.springbootecommerce.entity.user.Review;
 import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.mapper.ReviewMapper;
+import org.stand.springbootecommerce.repository.ReviewRepository;
+import org.stand.springbootecommerce.service.AuthenticationService;
 import org.stand.springbootecommerce.service.JwtService;
 import org.stand.springbootecommerce.service.ReviewService;
-import org.stand.springbootecommerce.service.UserService;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -30,8 +31,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -50,10 +51,10 @@ class ReviewControllerTest {
     private ReviewService reviewService;
 
     @MockBean
-    private UserService userService;
+    private AuthenticationService authenticationService;
 
     @MockBean
-    private ModelMapper modelMapper;
+    private ReviewMapper reviewMapper;
 
     @MockBean
     private JwtService jwtService;
@@ -82,9 +83,9 @@ class ReviewControllerTest {
         reviewMap.put("rating", 5);
         reviewMap.put("comment", "Excellent!");
 
-        when(userService.getUserByEmail(anyString())).thenReturn(user);
+        when(authenticationService.me()).thenReturn(user);
         when(reviewService.addReview(anyLong(), anyLong(), anyInt(), any())).thenReturn(new Review());
-        when(modelMapper.map(any(), eq(ReviewResponse.class))).thenReturn(new ReviewResponse());
+        when(reviewMapper.toResponse(any(Review.class))).thenReturn(new ReviewResponse());
 
         // Act & Assert
         mockMvc.perform(post("/api/v1/reviews/product/1")
@@ -97,15 +98,19 @@ class ReviewControllerTest {
     @DisplayName("GET /api/v1/reviews/product/{productId} - Doit retourner les avis d'un produit")
     void getProductReviews_Success() throws Exception {
         // Arrange
-        Page<Review> reviewPage = new PageImpl<>(Arrays.asList(new Review()), PageRequest.of(0, 10), 1);
+        ReviewResponse response = new ReviewResponse();
+        response.setUserName("Test");
+        Page<ReviewRepository.ReviewSummary> reviewPage = new PageImpl<>(
+                Arrays.asList(mock(ReviewRepository.ReviewSummary.class)), PageRequest.of(0, 10), 1);
         when(reviewService.getProductReviews(anyLong(), any())).thenReturn(reviewPage);
-        when(modelMapper.map(any(), eq(ReviewResponse.class))).thenReturn(new ReviewResponse());
+        when(reviewMapper.toResponse(any(ReviewRepository.ReviewSummary.class))).thenReturn(response);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/reviews/product/1")
                 .param("page", "0")
                 .param("size", "10"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].userName").value("Test"));
     }
 
     @Test
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -14,6 +13,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.stand.springbootecommerce.dto.UserDTO;
 import org.stand.springbootecommerce.dto.request.UserUpdateRequest;
 import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.mapper.UserMapper;
+import org.stand.springbootecommerce.service.AuthenticationService;
 import org.stand.springbootecommerce.service.JwtService;
 import org.stand.springbootecommerce.service.UserService;
 
@@ -38,7 +39,10 @@ class UserControllerTest {
     private UserService userService;
 
     @MockBean
-    private ModelMapper modelMapper;
+    private UserMapper userMapper;
+
+    @MockBean
+    private AuthenticationService authenticationService;
 
     @MockBean
     private JwtService jwtService;
@@ -66,8 +70,9 @@ class UserControllerTest {
         updateMap.put("name", "Jane");
         updateMap.put("surname", "Smith");
 
-        when(userService.updateUser(any(UserUpdateRequest.class))).thenReturn(user);
-        when(modelMapper.map(any(), eq(UserDTO.class))).thenReturn(new UserDTO());
+        when(authenticationService.me()).thenReturn(user);
+        when(userService.updateUser(eq(user), any(UserUpdateRequest.class))).thenReturn(user);
+        when(userMapper.toDto(any())).thenReturn(new UserDTO());
 
         // Act & Assert
         mockMvc.perform(patch("/api/v1/user")
@@ -3,7 +3,6 @@ package org.stand.springbootecommerce.controller;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -13,14 +12,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.stand.springbootecommerce.dto.response.WishlistResponse;
 import org.stand.springbootecommerce.entity.user.User;
 import org.stand.springbootecommerce.entity.user.Wishlist;
+import org.stand.springbootecommerce.mapper.WishlistMapper;
+import org.stand.springbootecommerce.service.AuthenticationService;
 import org.stand.springbootecommerce.service.JwtService;
-import org.stand.springbootecommerce.service.UserService;
 import org.stand.springbootecommerce.service.WishlistService;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -37,10 +36,10 @@ class WishlistControllerTest {
     private WishlistService wishlistService;
 
     @MockBean
-    private UserService userService;
+    private AuthenticationService authenticationService;
 
     @MockBean
-    private ModelMapper modelMapper;
+    private WishlistMapper wishlistMapper;
 
     @MockBean
     private JwtService jwtService;
@@ -61,9 +60,9 @@ class WishlistControllerTest {
     @WithMockUser(username = "test@example.com")
     void getWishlist_Success() throws Exception {
         // Arrange
-        when(userService.getUserByEmail(anyString())).thenReturn(user);
+        when(authenticationService.me()).thenReturn(user);
         when(wishlistService.getOrCreateWishlist(anyLong())).thenReturn(new Wishlist());
-        when(modelMapper.map(any(), eq(WishlistResponse.class))).thenReturn(new WishlistResponse());
+        when(wishlistMapper.toResponse(any())).thenReturn(new WishlistResponse());
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/wishlist"))
@@ -75,9 +74,9 @@ class WishlistControllerTest {
     @WithMockUser(username = "test@example.com")
     void addToWishlist_Success() throws Exception {
         // Arrange
-        when(userService.getUserByEmail(anyString())).thenReturn(user);
+        when(authenticationService.me()).thenReturn(user);
         when(wishlistService.addToWishlist(anyLong(), anyLong())).thenReturn(new Wishlist());
-        when(modelMapper.map(any(), eq(WishlistResponse.class))).thenReturn(new WishlistResponse());
+        when(wishlistMapper.toResponse(any())).thenReturn(new WishlistResponse());
 
         // Act & Assert
         mockMvc.perform(post("/api/v1/wishlist/add/1"))
@@ -89,9 +88,9 @@ class WishlistControllerTest {
     @WithMockUser(username = "test@example.com")
     void removeFromWishlist_Success() throws Exception {
         // Arrange
-        when(userService.getUserByEmail(anyString())).thenReturn(user);
+        when(authenticationService.me()).thenReturn(user);
         when(wishlistService.removeFromWishlist(anyLong(), anyLong())).thenReturn(new Wishlist());
-        when(modelMapper.map(any(), eq(WishlistResponse.class))).thenReturn(new WishlistResponse());
+        when(wishlistMapper.toResponse(any())).thenReturn(new WishlistResponse());
 
         // Act & Assert
         mockMvc.perform(delete("/api/v1/wishlist/remove/1"))
@@ -103,9 +102,9 @@ class WishlistControllerTest {
     @WithMockUser(username = "test@example.com")
     void toggleSharing_Success() throws Exception {
         // Arrange
-        when(userService.getUserByEmail(anyString())).thenReturn(user);
+        when(authenticationService.me()).thenReturn(user);
         when(wishlistService.togglePublicSharing(anyLong())).thenReturn(new Wishlist());
-        when(modelMapper.map(any(), eq(WishlistResponse.class))).thenReturn(new WishlistResponse());
+        when(wishlistMapper.toResponse(any())).thenReturn(new WishlistResponse());
 
         // Act & Assert
         mockMvc.perform(post("/api/v1/wishlist/share/toggle"))
@@ -117,7 +116,7 @@ class WishlistControllerTest {
     void getSharedWishlist_Success() throws Exception {
         // Arrange
         when(wishlistService.getSharedWishlist(anyString())).thenReturn(new Wishlist());
-        when(modelMapper.map(any(), eq(WishlistResponse.class))).thenReturn(new WishlistResponse());
+        when(wishlistMapper.toResponse(any())).thenReturn(new WishlistResponse());
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/wishlist/shared/test-token-123"))
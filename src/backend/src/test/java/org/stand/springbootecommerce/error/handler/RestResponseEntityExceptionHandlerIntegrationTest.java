@@ -9,6 +9,8 @@ import org.springframework.context.MessageSource;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.stand.springbootecommerce.error.ServiceOverloadedException;
+import org.stand.springbootecommerce.error.UserNotAuthenticatedException;
 import org.stand.springbootecommerce.service.ProductCategoryService;
 import org.stand.springbootecommerce.filter.JwtAuthenticationFilter;
 import org.stand.springbootecommerce.service.JwtService;
@@ -17,6 +19,7 @@ import java.util.Locale;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -63,4 +66,33 @@ class RestResponseEntityExceptionHandlerIntegrationTest {
                 .andExpect(jsonPath("$.status").value("INTERNAL_SERVER_ERROR"))
                 .andExpect(jsonPath("$.message").value("Generic error"));
     }
+
+    @Test
+    @DisplayName("Devrait répondre 503 avec Retry-After quand le service est saturé")
+    void handleServiceOverloadedException() throws Exception {
+        when(productCategoryService.getProductCategories())
+                .thenThrow(new ServiceOverloadedException("Password hashing queue is full"));
+
+        String expectedMessage = messageSource.getMessage("server.error.overloaded", null, Locale.getDefault());
+
+        mockMvc.perform(get("/api/v1/category"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value("SERVICE_UNAVAILABLE"))
+                .andExpect(jsonPath("$.message").value(expectedMessage));
+    }
+
+    @Test
+    @DisplayName("Devrait répondre 401 quand l'utilisateur n'est plus authentifié")
+    void handleUserNotAuthenticatedException() throws Exception {
+        when(productCategoryService.getProductCategories()).thenThrow(new UserNotAuthenticatedException());
+
+        String expectedMessage = messageSource.getMessage("user.authentication.error.required", null,
+                Locale.getDefault());
+
+        mockMvc.perform(get("/api/v1/category"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.status").value("UNAUTHORIZED"))
+                .andExpect(jsonPath("$.message").value(expectedMessage));
+    }
 }
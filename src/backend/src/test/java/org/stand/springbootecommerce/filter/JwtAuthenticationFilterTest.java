@@ -1,5 +1,6 @@
 package org.stand.springbootecommerce.filter;
 
+import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,13 +12,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.stand.springbootecommerce.security.AuthenticatedUser;
+import org.stand.springbootecommerce.security.JwtClaims;
 import org.stand.springbootecommerce.service.JwtService;
+import org.stand.springbootecommerce.service.SessionService;
 
 import java.io.IOException;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +40,12 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private ObjectProvider<SessionService> sessionServiceProvider;
+
+    @Mock
+    private SessionService sessionService;
+
     @Mock
     private FilterChain filterChain;
 
@@ -64,15 +80,85 @@ class JwtAuthenticationFilterTest {
         String token = "valid-token";
         String username = "user@test.com";
         UserDetails userDetails = mock(UserDetails.class);
+        JwtClaims claims = mock(JwtClaims.class);
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(username);
+        when(jwtService.parseToken(token)).thenReturn(claims);
+        when(claims.getSubject()).thenReturn(username);
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtService.isTokenValid(token, userDetails)).thenReturn(true);
+        when(jwtService.isTokenValid(claims, userDetails)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
+        verify(jwtService, times(1)).parseToken(token);
         assert SecurityContextHolder.getContext().getAuthentication() != null;
     }
+
+    @Test
+    @DisplayName("Ne devrait pas authentifier si le token est invalide")
+    void doFilterInternal_ShouldNotAuthenticate_WhenInvalidToken() throws ServletException, IOException {
+        String token = "invalid-token";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.parseToken(token)).thenThrow(new MalformedJwtException("malformed"));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+        assert SecurityContextHolder.getContext().getAuthentication() == null;
+    }
+
+    @Test
+    @DisplayName("Devrait construire le principal depuis les claims sans accès base en mode stateless")
+    void doFilterInternal_ShouldUseClaims_WhenStatelessPrincipal() throws ServletException, IOException {
+        String token = "valid-token";
+        JwtClaims claims = mock(JwtClaims.class);
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessPrincipal", true);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.parseToken(token)).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("user@test.com");
+        when(claims.getUserId()).thenReturn(7L);
+        when(claims.getAuthorities()).thenReturn(List.of());
+        when(jwtService.isTokenValid(eq(claims), any(AuthenticatedUser.class))).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+        AuthenticatedUser principal = (AuthenticatedUser) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("user@test.com");
+    }
+
+    @Test
+    @DisplayName("Devrait authentifier un token de session opaque sans analyser de JWT")
+    void doFilterInternal_ShouldAuthenticate_WhenSessionToken() throws ServletException, IOException {
+        AuthenticatedUser user = new AuthenticatedUser(7L, "user@test.com", List.of());
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer st_opaque");
+        when(sessionServiceProvider.getIfAvailable()).thenReturn(sessionService);
+        when(sessionService.authenticate("st_opaque")).thenReturn(user);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(jwtService, userDetailsService);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(user);
+    }
+
+    @Test
+    @DisplayName("Ne devrait pas authentifier un token de session si le mode est désactivé")
+    void doFilterInternal_ShouldIgnoreSessionToken_WhenDisabled() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer st_opaque");
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(jwtService);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
 }
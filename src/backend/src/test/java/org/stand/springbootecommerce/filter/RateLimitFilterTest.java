@@ -0,0 +1,163 @@
+package org.stand.springbootecommerce.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.stand.springbootecommerce.config.RateLimitProperties;
+import org.stand.springbootecommerce.security.AuthenticatedUser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests unitaires de RateLimitFilter")
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Group login = new RateLimitProperties.Group();
+        login.setPaths(List.of("/api/v1/auth/authenticate"));
+        login.setMethods(List.of("POST"));
+        login.setCapacity(2);
+        login.setRefillPeriod(Duration.ofSeconds(10));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("auth", login);
+
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("server.error.too.many.requests", Locale.getDefault(), "Too many requests");
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(properties, meterRegistry, new ObjectMapper(), messageSource, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Devrait répondre 429 avec Retry-After une fois la capacité épuisée")
+    void doFilter_ShouldRejectOverCapacity() throws ServletException, IOException {
+        // Act
+        MockHttpServletResponse first = perform("10.0.0.1");
+        MockHttpServletResponse second = perform("10.0.0.1");
+        MockHttpServletResponse third = perform("10.0.0.1");
+
+        // Assert
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(third.getHeader("Retry-After")).isEqualTo("5");
+        assertThat(third.getContentAsString()).contains("Too many requests");
+        assertThat(meterRegistry.get("rate.limit.decisions").tags("group", "auth", "outcome", "allowed")
+                .counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("rate.limit.decisions").tags("group", "auth", "outcome", "limited")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Devrait accepter de nouveau après le remplissage du seau")
+    void doFilter_ShouldAllowAfterRefill() throws ServletException, IOException {
+        // Arrange
+        perform("10.0.0.1");
+        perform("10.0.0.1");
+
+        // Act
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        // Assert
+        assertThat(perform("10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Devrait limiter chaque IP séparément")
+    void doFilter_ShouldKeyByClientIp() throws ServletException, IOException {
+        // Arrange
+        perform("10.0.0.1");
+        perform("10.0.0.1");
+
+        // Act & Assert
+        assertThat(perform("10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Devrait limiter par utilisateur authentifié, quelle que soit l'IP")
+    void doFilter_ShouldKeyByUserId() throws ServletException, IOException {
+        // Arrange
+        AuthenticatedUser user = new AuthenticatedUser(1L, "user@test.com", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+
+        // Act
+        perform("10.0.0.1");
+        perform("10.0.0.2");
+
+        // Assert
+        assertThat(perform("10.0.0.3").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Ne devrait pas limiter les routes hors groupe")
+    void doFilter_ShouldIgnoreUnmatchedRoutes() throws ServletException, IOException {
+        // Arrange
+        FilterChain chain = mock(FilterChain.class);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/product");
+            request.setServletPath("/api/v1/product");
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        }
+
+        // Assert
+        verify(chain, times(5)).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Devrait refuser un délai d'inactivité plus court que la période de remplissage")
+    void constructor_ShouldRejectIdleTimeoutShorterThanRefill() {
+        // Arrange
+        RateLimitProperties.Group login = new RateLimitProperties.Group();
+        login.setRefillPeriod(Duration.ofMinutes(5));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        properties.getGroups().put("auth", login);
+        StaticMessageSource messageSource = new StaticMessageSource();
+
+        // Act & Assert
+        assertThatThrownBy(() -> new RateLimitFilter(properties, new SimpleMeterRegistry(), new ObjectMapper(),
+                messageSource, clock::get))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("auth");
+    }
+
+    private MockHttpServletResponse perform(String ip) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/authenticate");
+        request.setServletPath("/api/v1/auth/authenticate");
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, mock(FilterChain.class));
+        return response;
+    }
+}
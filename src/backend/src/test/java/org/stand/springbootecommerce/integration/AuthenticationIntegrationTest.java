@@ -75,6 +75,43 @@ class AuthenticationIntegrationTest {
                                 .andExpect(jsonPath("$.name").value("integration"));
         }
 
+        @Test
+        @DisplayName("Déconnexion : le token révoqué n'est plus accepté")
+        void logout_RevokesToken() throws Exception {
+                mockMvc.perform(post("/api/v1/auth/register")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(RegisterRequest.builder()
+                                                .name("Logout")
+                                                .surname("Test")
+                                                .email("logout@test.com")
+                                                .password("password123")
+                                                .build())))
+                                .andExpect(status().isCreated());
+
+                String token = objectMapper.readValue(mockMvc.perform(post("/api/v1/auth/authenticate")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(AuthenticationRequest.builder()
+                                                .email("logout@test.com")
+                                                .password("password123")
+                                                .build())))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString(), AuthenticationResponse.class)
+                                .getToken();
+
+                mockMvc.perform(get("/api/v1/order")
+                                .header("Authorization", "Bearer " + token))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(post("/api/v1/auth/logout")
+                                .header("Authorization", "Bearer " + token))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.message").exists());
+
+                mockMvc.perform(get("/api/v1/order")
+                                .header("Authorization", "Bearer " + token))
+                                .andExpect(status().isForbidden());
+        }
+
         @Test
         @DisplayName("Connexion échouée avec mauvais mot de passe")
         void login_BadCredentials_Failure() throws Exception {
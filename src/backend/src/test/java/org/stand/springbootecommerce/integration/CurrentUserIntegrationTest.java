@@ -0,0 +1,168 @@
+package org.stand.springbootecommerce.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.stand.springbootecommerce.config.CacheConfig;
+import org.stand.springbootecommerce.dto.request.AuthenticationRequest;
+import org.stand.springbootecommerce.dto.request.RegisterRequest;
+import org.stand.springbootecommerce.dto.response.AuthenticationResponse;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.repository.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.stand.springbootecommerce.integration.CurrentUserIntegrationTest$UserQueryCounter")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DisplayName("Tests d'Intégration - Résolution de @CurrentUser")
+class CurrentUserIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCategoryRepository categoryRepository;
+
+    @Autowired
+    private WishlistRepository wishlistRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private String jwtToken;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        orderRepository.deleteAll();
+        reviewRepository.deleteAll();
+        wishlistRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        ProductCategory category = categoryRepository.save(ProductCategory.builder()
+                .name("Test Category")
+                .description("Test Description")
+                .build());
+        productId = productRepository.save(Product.builder()
+                .name("Test Product")
+                .description("Long Description")
+                .shortDescription("Short Description")
+                .price(new BigDecimal("99.99"))
+                .quantity(10)
+                .image("test.jpg")
+                .category(category)
+                .build()).getId();
+
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterRequest.builder()
+                                .name("Current")
+                                .surname("User")
+                                .email("current@test.com")
+                                .password("password123")
+                                .build())))
+                .andExpect(status().isCreated());
+
+        String loginResponse = mockMvc.perform(post("/api/v1/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(AuthenticationRequest.builder()
+                                .email("current@test.com")
+                                .password("password123")
+                                .build())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        jwtToken = objectMapper.readValue(loginResponse, AuthenticationResponse.class).getToken();
+    }
+
+    @Test
+    @DisplayName("Chaque requête authentifiée ne doit interroger la table users qu'une fois au plus")
+    void authenticatedRequests_AtMostOneUserQuery() throws Exception {
+        // /me lit le profil : la seule requête users de la requête
+        assertThat(assertUserQueriesAtMostOne(get("/api/v1/auth/me"))).isEqualTo(1);
+        assertUserQueriesAtMostOne(patch("/api/v1/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("name", "New", "surname", "Name"))));
+        assertUserQueriesAtMostOne(post("/api/v1/order")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(productId))));
+        assertUserQueriesAtMostOne(get("/api/v1/order"));
+        assertUserQueriesAtMostOne(get("/api/v1/wishlist"));
+        assertUserQueriesAtMostOne(post("/api/v1/wishlist/add/" + productId));
+        assertUserQueriesAtMostOne(post("/api/v1/reviews/product/" + productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("rating", 5, "comment", "Top"))));
+    }
+
+    private int assertUserQueriesAtMostOne(MockHttpServletRequestBuilder request) throws Exception {
+        // Le cache ne doit pas masquer des requêtes répétées
+        cacheManager.getCache(CacheConfig.USERS).clear();
+        UserQueryCounter.COUNT.set(0);
+
+        RequestBuilder authenticated = request.header("Authorization", "Bearer " + jwtToken);
+        mockMvc.perform(authenticated).andExpect(status().is2xxSuccessful());
+
+        assertThat(UserQueryCounter.COUNT.get())
+                .as("user queries for %s", request)
+                .isLessThanOrEqualTo(1);
+        return UserQueryCounter.COUNT.get();
+    }
+
+    /**
+     * Counts the SELECT statements reading the users table.
+     */
+    public static class UserQueryCounter implements StatementInspector {
+
+        static final AtomicInteger COUNT = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            String normalized = sql.toLowerCase();
+            if (normalized.startsWith("select") && normalized.contains(" from users ")) {
+                COUNT.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+}
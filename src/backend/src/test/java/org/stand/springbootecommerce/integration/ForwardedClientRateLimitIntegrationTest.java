@@ -0,0 +1,76 @@
+package org.stand.springbootecommerce.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.stand.springbootecommerce.dto.request.AuthenticationRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs on a real Tomcat, the only place the RemoteIpValve applies X-Forwarded-For: the test
+ * client connects from the loopback address, the trusted proxy of the default configuration.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "rate-limit.enabled=true",
+        "rate-limit.groups.auth.capacity=2"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DisplayName("Tests d'Intégration - Limitation de débit derrière le proxy")
+class ForwardedClientRateLimitIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Deux clients relayés par le proxy doivent avoir chacun leur seau")
+    void login_ThroughProxy_ShouldKeyByForwardedClient() {
+        // Arrange : le premier client épuise son seau
+        assertThat(login("203.0.113.7")).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(login("203.0.113.7")).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(login("203.0.113.7")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        // Act
+        HttpStatus otherClient = login("198.51.100.23");
+
+        // Assert
+        assertThat(otherClient).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Un X-Forwarded-For forgé par le client ne doit pas lui donner un nouveau seau")
+    void login_SpoofedForwardedFor_ShouldKeepProxyReportedClient() {
+        // Arrange : nginx ajoute l'adresse réelle à la fin de l'en-tête envoyé par le client
+        assertThat(login("10.0.0.1, 203.0.113.7")).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(login("10.0.0.2, 203.0.113.7")).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        // Act
+        HttpStatus third = login("10.0.0.3, 203.0.113.7");
+
+        // Assert
+        assertThat(third).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private HttpStatus login(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+        AuthenticationRequest request = AuthenticationRequest.builder()
+                .email("nobody@test.com")
+                .password("wrong")
+                .build();
+        return HttpStatus.valueOf(restTemplate.postForEntity("/api/v1/auth/authenticate",
+                new HttpEntity<>(request, headers), String.class).getStatusCode().value());
+    }
+}
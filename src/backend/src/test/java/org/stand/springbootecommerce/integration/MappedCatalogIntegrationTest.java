@@ -0,0 +1,113 @@
+package org.stand.springbootecommerce.integration;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.stand.springbootecommerce.catalog.ProductCatalog;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.service.ProductService;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DisplayName("Tests d'Intégration - Catalogue mappé en mémoire")
+class MappedCatalogIntegrationTest {
+
+    @TempDir
+    static Path storeDirectory;
+
+    @DynamicPropertySource
+    static void store(DynamicPropertyRegistry registry) {
+        registry.add("catalog.store.directory", () -> storeDirectory.toString());
+    }
+
+    // The directory may be a volume mount point: its own entries are left alone
+    @BeforeAll
+    static void mountPoint() throws IOException {
+        Files.createDirectories(storeDirectory.resolve("lost+found"));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Test
+    @DisplayName("Servir le catalogue depuis le stockage chargé de la base")
+    void getProducts_FromStore() throws Exception {
+        // Arrange
+        Product iphone = productCatalog.snapshot().products().stream()
+                .filter(product -> product.getName().equals("APPLE iPhone 14 256GB Mezzanotte"))
+                .findFirst().orElseThrow();
+
+        // Act & Assert
+        assertThat(storeDirectory.resolve("stores")).isNotEmptyDirectory();
+        assertThat(storeDirectory.resolve("lost+found")).isDirectory();
+        assertThat(iphone.getCategory().getName()).isEqualTo("Smartphone");
+        mockMvc.perform(get("/api/v1/product/{id}", iphone.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("APPLE iPhone 14 256GB Mezzanotte"))
+                .andExpect(jsonPath("$.categoryId").value(iphone.getCategory().getId()));
+        mockMvc.perform(get("/api/v1/product")
+                        .param("category", String.valueOf(iphone.getCategory().getId()))
+                        .param("pageNumber", "0")
+                        .param("pageSize", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(productCatalog.snapshot()
+                        .productCount(iphone.getCategory().getId())));
+    }
+
+    @Test
+    @DisplayName("Ajouter un produit le rend lisible depuis le stockage")
+    void addProduct_AppendedToStore() {
+        // Arrange
+        ProductCategory category = productCatalog.snapshot().category("Laptop").orElseThrow();
+        int before = productCatalog.snapshot().productCount(category.getId());
+
+        // Act
+        Product saved = productService.addProduct(Product.builder()
+                .name("Lenovo ThinkPad X1")
+                .shortDescription("Ultrabook 14\"")
+                .description("Ultrabook professionnel")
+                .image("thinkpad.jpg")
+                .price(new BigDecimal("1899.00"))
+                .quantity(3)
+                .category(category)
+                .build());
+
+        // Assert
+        Product read = productService.getProductById(saved.getId());
+        assertThat(read.getName()).isEqualTo("Lenovo ThinkPad X1");
+        assertThat(read.getPrice()).isEqualByComparingTo("1899");
+        assertThat(read.getCategory().getName()).isEqualTo("Laptop");
+        assertThat(productCatalog.snapshot().productCount(category.getId())).isEqualTo(before + 1);
+    }
+}
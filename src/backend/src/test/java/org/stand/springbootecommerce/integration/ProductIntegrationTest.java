@@ -1,5 +1,6 @@
 package org.stand.springbootecommerce.integration;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,8 +10,19 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.annotation.DirtiesContext;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.repository.ProductCategoryRepository;
+import org.stand.springbootecommerce.repository.ProductRepository;
+import org.stand.springbootecommerce.service.ProductService;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -24,6 +36,15 @@ class ProductIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
     @Test
     @DisplayName("Lister toutes les catégories")
     void getAllCategories_Success() throws Exception {
@@ -55,4 +76,201 @@ class ProductIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.list").isEmpty());
     }
+
+    @Test
+    @DisplayName("Rechercher un produit par sa description, sans tenir compte des accents")
+    void searchProduct_FullText_Success() throws Exception {
+        mockMvc.perform(get("/api/v1/product")
+                .param("q", "MEZZANOTTE")
+                .param("pageNumber", "0")
+                .param("pageSize", "10")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[0].name").value("APPLE iPhone 14 256GB Mezzanotte"));
+
+        mockMvc.perform(get("/api/v1/product")
+                .param("q", "schérmata")
+                .param("pageNumber", "0")
+                .param("pageSize", "10")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[0].name").value("APPLE iPhone 14 256GB Mezzanotte"));
+    }
+
+    @Test
+    @DisplayName("Retourner les facettes des résultats de recherche")
+    void searchProduct_WithFacets_Success() throws Exception {
+        mockMvc.perform(get("/api/v1/product")
+                .param("q", "playstation")
+                .param("pageNumber", "0")
+                .param("pageSize", "1")
+                .param("facets", "true")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(1))
+                .andExpect(jsonPath("$.facets.price['250-500']").value(1))
+                .andExpect(jsonPath("$.facets.price['500-1000']").value(1))
+                .andExpect(jsonPath("$.facets.stock.in_stock").value(2));
+    }
+
+    @Test
+    @DisplayName("Rechercher un produit malgré une faute de frappe")
+    void searchProduct_Misspelled_Success() throws Exception {
+        mockMvc.perform(get("/api/v1/product")
+                .param("q", "iphnoe")
+                .param("pageNumber", "0")
+                .param("pageSize", "10")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list[0].name").value("APPLE iPhone 14 256GB Mezzanotte"));
+    }
+
+    @Test
+    @DisplayName("Un produit ajouté doit apparaître dans une recherche déjà en cache")
+    void searchProduct_CachedThenProductAdded() throws Exception {
+        // Arrange
+        assertThat(productService.searchProducts("hoverboard", 0, 10).getTotalElements()).isZero();
+
+        // Act
+        productService.addProduct(Product.builder()
+                .name("Hoverboard Segway")
+                .description("Gyropode électrique")
+                .shortDescription("Hoverboard")
+                .price(new BigDecimal("299.00"))
+                .quantity(3)
+                .image("hoverboard.jpg")
+                .category(productCategoryRepository.findAll().get(0))
+                .build());
+
+        // Assert
+        assertThat(productService.searchProducts("hoverboard", 0, 10).getContent())
+                .extracting(Product::getName).containsExactly("Hoverboard Segway");
+    }
+
+    @Test
+    @DisplayName("Le total du catalogue et d'une catégorie doit suivre les produits ajoutés")
+    void getProducts_TotalsFollowAddedProducts() throws Exception {
+        // Arrange
+        var category = productCategoryRepository.findAll().get(0);
+        long catalog = productService.getProducts(null).size();
+        long inCategory = productService.getProductsByCategoryId(category.getId()).size();
+
+        // Act
+        productService.addProduct(Product.builder()
+                .name("Hoverboard Segway")
+                .description("Gyropode électrique")
+                .shortDescription("Hoverboard")
+                .price(new BigDecimal("299.00"))
+                .quantity(3)
+                .image("hoverboard.jpg")
+                .category(category)
+                .build());
+
+        // Assert
+        mockMvc.perform(get("/api/v1/product")
+                .param("pageNumber", "0")
+                .param("pageSize", "5")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(catalog + 1))
+                .andExpect(jsonPath("$.approximate").value(false));
+        mockMvc.perform(get("/api/v1/product")
+                .param("category", String.valueOf(category.getId()))
+                .param("pageNumber", "0")
+                .param("pageSize", "5")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(inCategory + 1));
+    }
+
+    @Test
+    @DisplayName("Charger un lot de produits dans l'ordre demandé, avec les ids manquants")
+    void getProductsByIds_Success() throws Exception {
+        List<Product> products = productService.getProducts(null);
+        Long first = products.get(0).getId();
+        Long second = products.get(1).getId();
+
+        mockMvc.perform(get("/api/v1/product/batch")
+                .param("ids", second + "," + first + ",999999")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].id").value(second))
+                .andExpect(jsonPath("$.products[1].id").value(first))
+                .andExpect(jsonPath("$.products[1].categoryId").value(products.get(0).getCategory().getId()))
+                .andExpect(jsonPath("$.missing[0]").value(999999));
+    }
+
+    @Test
+    @DisplayName("Rejeter un lot de plus de 200 ids avec une erreur 400")
+    void getProductsByIds_TooMany() throws Exception {
+        String ids = java.util.stream.LongStream.rangeClosed(1, 201)
+                .mapToObj(String::valueOf)
+                .collect(java.util.stream.Collectors.joining(","));
+
+        mockMvc.perform(post("/api/v1/product/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [" + ids + "]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most 200 products can be looked up at once."));
+    }
+
+    @Test
+    @DisplayName("Suggérer des noms de produits et de catégories")
+    void suggest_Success() throws Exception {
+        mockMvc.perform(get("/api/v1/product/suggest")
+                .param("prefix", "smartph")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].text").value("Smartphone"))
+                .andExpect(jsonPath("$[0].type").value("CATEGORY"));
+    }
+
+    @Test
+    @DisplayName("Parcourir tout le catalogue par curseur, trié par prix")
+    void scrollProducts_WalksWholeCatalog() throws Exception {
+        List<Product> expected = productService.getProducts(null).stream()
+                .sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getId))
+                .toList();
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/v1/product/scroll")
+                    .param("sort", "PRICE_ASC")
+                    .param("size", "4")
+                    .accept(MediaType.APPLICATION_JSON);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            ids.addAll(JsonPath.read(body, "$.list[*].id"));
+            cursor = JsonPath.read(body, "$.nextCursor");
+        } while (cursor != null);
+
+        assertThat(ids).containsExactlyElementsOf(
+                expected.stream().map(product -> product.getId().intValue()).toList());
+    }
+
+    @Test
+    @DisplayName("Rejeter un curseur invalide avec une erreur 400")
+    void scrollProducts_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/product/scroll")
+                .param("cursor", "not-a-cursor")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Invalid or expired cursor, please start again from the first page."));
+    }
+
+    @Test
+    @DisplayName("Ne déclarer l'instance prête qu'une fois l'index de recherche chargé")
+    void readiness_IncludesSearchIndex() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components.searchIndex.status").value("UP"));
+        // The high-water mark of the index snapshot is stamped by the database on each write
+        assertThat(productRepository.findLastUpdate()).isNotNull();
+    }
 }
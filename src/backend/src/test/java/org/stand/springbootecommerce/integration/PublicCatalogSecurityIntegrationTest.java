@@ -0,0 +1,77 @@
+package org.stand.springbootecommerce.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.stand.springbootecommerce.filter.JwtAuthenticationFilter;
+import org.stand.springbootecommerce.service.JwtService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DisplayName("Tests d'Intégration - Chaîne de sécurité du catalogue public")
+class PublicCatalogSecurityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilterChainProxy filterChainProxy;
+
+    @SpyBean
+    private JwtService jwtService;
+
+    @Test
+    @DisplayName("Les lectures du catalogue ne doivent pas analyser le token envoyé")
+    void catalogReads_ShouldNotParseBearerToken() throws Exception {
+        mockMvc.perform(get("/api/v1/product")
+                .param("pageNumber", "0")
+                .param("pageSize", "10")
+                .header("Authorization", "Bearer not-a-jwt")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/category")
+                .header("Authorization", "Bearer not-a-jwt")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(jwtService, never()).parseToken(anyString());
+    }
+
+    @Test
+    @DisplayName("Seules les lectures du catalogue passent par la chaîne sans JWT")
+    void catalogReads_ShouldUseChainWithoutJwtFilter() {
+        assertThat(filterChainProxy.getFilters("/api/v1/product/1"))
+                .noneMatch(JwtAuthenticationFilter.class::isInstance);
+        assertThat(filterChainProxy.getFilters("/api/v1/reviews/product/1"))
+                .noneMatch(JwtAuthenticationFilter.class::isInstance);
+        assertThat(filterChainProxy.getFilters("/api/v1/order"))
+                .anyMatch(JwtAuthenticationFilter.class::isInstance);
+    }
+
+    @Test
+    @DisplayName("Les autres requêtes passent toujours par le filtre JWT")
+    void otherRequests_ShouldStillParseBearerToken() throws Exception {
+        mockMvc.perform(get("/api/v1/order")
+                .header("Authorization", "Bearer not-a-jwt"))
+                .andExpect(status().isForbidden());
+
+        verify(jwtService).parseToken("not-a-jwt");
+    }
+}
@@ -0,0 +1,62 @@
+package org.stand.springbootecommerce.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.stand.springbootecommerce.dto.request.AuthenticationRequest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "rate-limit.enabled=true",
+        "rate-limit.groups.auth.capacity=3"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DisplayName("Tests d'Intégration - Limitation de débit")
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Les tentatives de connexion au-delà de la capacité doivent recevoir 429")
+    void login_OverCapacity_ShouldReturn429() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(login()).andExpect(status().isBadRequest());
+        }
+
+        mockMvc.perform(login())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        // Les autres groupes ont leur propre seau
+        mockMvc.perform(get("/api/v1/category")).andExpect(status().isOk());
+    }
+
+    private MockHttpServletRequestBuilder login() throws Exception {
+        return post("/api/v1/auth/authenticate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(AuthenticationRequest.builder()
+                        .email("nobody@test.com")
+                        .password("wrong")
+                        .build()));
+    }
+}
@@ -0,0 +1,80 @@
+package org.stand.springbootecommerce.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.stand.springbootecommerce.repository.SearchSketchRepository;
+import org.stand.springbootecommerce.search.SearchAnalytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DisplayName("Tests d'Intégration - Statistiques de recherche")
+class SearchAnalyticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SearchAnalytics searchAnalytics;
+
+    @Autowired
+    private SearchSketchRepository searchSketchRepository;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Doit exposer les requêtes fréquentes et sans résultat via l'actuator")
+    void searches_ReportedByActuator() throws Exception {
+        // Arrange
+        search("PlayStation");
+        search("playstation");
+        search("zzzz introuvable");
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/searchanalytics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.searches").value(3))
+                .andExpect(jsonPath("$.zeroResultSearches").value(1))
+                .andExpect(jsonPath("$.topQueries[0].item").value("playstation"))
+                .andExpect(jsonPath("$.topQueries[0].count").value(2))
+                .andExpect(jsonPath("$.zeroResultQueries[0].item").value("zzzz introuvable"));
+        mockMvc.perform(get("/actuator/searchanalytics/PLAYSTATION"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estimatedSearches").value(2));
+
+        searchAnalytics.snapshot();
+        assertThat(searchSketchRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Doit refuser le rapport aux utilisateurs qui ne sont pas administrateurs")
+    void report_ReservedToAdmins() throws Exception {
+        mockMvc.perform(get("/actuator/searchanalytics"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/searchanalytics/playstation").with(user("client@example.com")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    private void search(String query) throws Exception {
+        mockMvc.perform(get("/api/v1/product")
+                        .param("q", query)
+                        .param("pageNumber", "0")
+                        .param("pageSize", "10"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,92 @@
+package org.stand.springbootecommerce.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.stand.springbootecommerce.dto.request.AuthenticationRequest;
+import org.stand.springbootecommerce.dto.request.RegisterRequest;
+import org.stand.springbootecommerce.dto.response.AuthenticationResponse;
+import org.stand.springbootecommerce.repository.UserSessionRepository;
+import org.stand.springbootecommerce.service.impl.SessionServiceImpl;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "auth.sessions.enabled=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DisplayName("Tests d'Intégration - Tokens de session opaques")
+class SessionAuthenticationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SessionServiceImpl sessionService;
+
+    @Autowired
+    private UserSessionRepository userSessionRepository;
+
+    @Test
+    @DisplayName("Connexion en mode session, accès protégé puis déconnexion")
+    void sessionLifecycle() throws Exception {
+        mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(RegisterRequest.builder()
+                        .name("Session")
+                        .surname("Test")
+                        .email("session@test.com")
+                        .password("password123")
+                        .build())))
+                .andExpect(status().isCreated());
+
+        String token = objectMapper.readValue(mockMvc.perform(post("/api/v1/auth/authenticate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new AuthenticationRequest(
+                        "session@test.com", "password123", AuthenticationRequest.TokenType.SESSION))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), AuthenticationResponse.class)
+                .getToken();
+        assertThat(token).startsWith("st_");
+
+        mockMvc.perform(get("/api/v1/order")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        assertThat(userSessionRepository.count()).isEqualTo(1);
+
+        // Une seconde instance sur la même base reconnaît la session sans l'avoir créée
+        SessionServiceImpl otherReplica = new SessionServiceImpl(userSessionRepository);
+        ReflectionTestUtils.setField(otherReplica, "idleTimeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(otherReplica, "flushInterval", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(otherReplica, "revalidateInterval", Duration.ZERO);
+        assertThat(otherReplica.authenticate(token)).isNotNull();
+
+        mockMvc.perform(post("/api/v1/auth/logout")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/order")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        assertThat(userSessionRepository.count()).isZero();
+        assertThat(otherReplica.authenticate(token)).isNull();
+    }
+}
@@ -0,0 +1,164 @@
+package org.stand.springbootecommerce.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.stand.springbootecommerce.config.CacheConfig;
+import org.stand.springbootecommerce.dto.request.RegisterRequest;
+import org.stand.springbootecommerce.dto.request.UserUpdateRequest;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.repository.UserRepository;
+import org.stand.springbootecommerce.security.AuthenticatedUser;
+import org.stand.springbootecommerce.security.UserPrincipalCache;
+import org.stand.springbootecommerce.service.AuthenticationService;
+import org.stand.springbootecommerce.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DisplayName("Tests d'Intégration - Cache des utilisateurs")
+class UserCacheIntegrationTest {
+
+    private static final String EMAIL = "cache@test.com";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache usersCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        usersCache = cacheManager.getCache(CacheConfig.USERS);
+        usersCache.clear();
+    }
+
+    @Test
+    @DisplayName("Devrait servir le principal depuis le cache après le premier appel, sans le mot de passe")
+    void find_ShouldBeCached() {
+        // Arrange
+        saveUser();
+
+        // Act
+        AuthenticatedUser first = userPrincipalCache.find(EMAIL).orElseThrow();
+        AuthenticatedUser second = userPrincipalCache.find(" Cache@Test.com").orElseThrow();
+
+        // Assert
+        assertSame(first, second);
+        assertNull(first.getPassword());
+        assertSame(first, usersCache.get(EMAIL).get());
+    }
+
+    @Test
+    @DisplayName("Devrait vérifier les identifiants en base, sans passer par le cache")
+    void findByEmail_ShouldReadDatabase() {
+        // Arrange
+        User user = saveUser();
+        userPrincipalCache.find(EMAIL);
+        user.setPassword("new_encoded_pass");
+        userRepository.save(user);
+
+        // Act
+        User loaded = userRepository.findByEmail(EMAIL).orElseThrow();
+
+        // Assert
+        assertEquals("new_encoded_pass", loaded.getPassword());
+    }
+
+    @Test
+    @DisplayName("Ne devrait pas mettre en cache un email inconnu")
+    void find_Unknown_ShouldNotBeCached() {
+        // Act
+        assertTrue(userPrincipalCache.find("unknown@test.com").isEmpty());
+
+        // Assert
+        assertNull(usersCache.get("unknown@test.com"));
+    }
+
+    @Test
+    @DisplayName("Devrait invalider l'entrée du cache lors de la mise à jour du profil")
+    void updateUser_ShouldEvictEntry() {
+        // Arrange
+        User user = saveUser();
+        userPrincipalCache.find(EMAIL);
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setName("Nouveau");
+        request.setSurname("Nom");
+
+        // Act
+        userService.updateUser(user, request);
+
+        // Assert
+        assertNull(usersCache.get(EMAIL));
+        assertEquals("Nouveau", userRepository.findByEmail(EMAIL).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Devrait invalider l'email normalisé lors de l'inscription")
+    void register_ShouldEvictNormalizedEmail() {
+        // Arrange
+        usersCache.put(EMAIL, "stale");
+        RegisterRequest request = new RegisterRequest();
+        request.setName("Cache");
+        request.setSurname("Test");
+        request.setEmail("  Cache@Test.com ");
+        request.setPassword("password123");
+
+        // Act
+        authenticationService.register(request);
+
+        // Assert
+        assertNull(usersCache.get(EMAIL));
+    }
+
+    @Test
+    @DisplayName("Devrait exporter les statistiques du cache vers le registre de métriques")
+    void usersCache_ShouldExportMetrics() {
+        // Arrange
+        saveUser();
+
+        // Act
+        userPrincipalCache.find(EMAIL);
+        userPrincipalCache.find(EMAIL);
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", CacheConfig.USERS, "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", CacheConfig.USERS, "result", "miss").functionCounter().count());
+        assertNotNull(meterRegistry.get("cache.evictions").tags("cache", CacheConfig.USERS).functionCounter());
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder()
+                .name("Cache")
+                .surname("Test")
+                .email(EMAIL)
+                .password("encoded_pass")
+                .build());
+    }
+}
@@ -0,0 +1,33 @@
+package org.stand.springbootecommerce.mapper;
+
+import org.modelmapper.Converter;
+import org.modelmapper.ModelMapper;
+import org.stand.springbootecommerce.dto.request.ProductRequest;
+import org.stand.springbootecommerce.dto.response.ProductResponse;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.service.ProductCategoryService;
+
+/**
+ * The ModelMapper configuration the generated mappers replaced, kept as the reference their
+ * output is compared with.
+ */
+public final class LegacyModelMapper {
+
+    private LegacyModelMapper() {
+    }
+
+    public static ModelMapper create(ProductCategoryService productCategoryService) {
+        ModelMapper modelMapper = new ModelMapper();
+
+        Converter<Long, ProductCategory> categoryIdToCategory = context -> productCategoryService
+                .getProductCategoryById(context.getSource());
+        Converter<ProductCategory, Long> categoryToCategoryId = context -> context.getSource().getId();
+
+        modelMapper.createTypeMap(ProductRequest.class, Product.class).addMappings(
+                mapper -> mapper.using(categoryIdToCategory).map(ProductRequest::getCategory, Product::setCategory));
+        modelMapper.createTypeMap(Product.class, ProductResponse.class).addMappings(
+                mapper -> mapper.using(categoryToCategoryId).map(Product::getCategory, ProductResponse::setCategoryId));
+        return modelMapper;
+    }
+}
@@ -0,0 +1,180 @@
+package org.stand.springbootecommerce.mapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.MappingException;
+import org.modelmapper.ModelMapper;
+import org.stand.springbootecommerce.dto.UserDTO;
+import org.stand.springbootecommerce.dto.request.ProductRequest;
+import org.stand.springbootecommerce.dto.response.ProductResponse;
+import org.stand.springbootecommerce.dto.response.ReviewResponse;
+import org.stand.springbootecommerce.dto.response.WishlistResponse;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.entity.user.Review;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.entity.user.Wishlist;
+import org.stand.springbootecommerce.service.ProductCategoryService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Tests Unitaires - Équivalence des mappers avec ModelMapper")
+class MapperEquivalenceTest {
+
+    private final ProductCategory electronics = ProductCategory.builder().id(1L).name("Electronics").build();
+
+    private ModelMapper modelMapper;
+    private ProductMapper productMapper;
+    private ReviewMapper reviewMapper;
+    private WishlistMapper wishlistMapper;
+    private UserMapper userMapper;
+
+    @BeforeEach
+    void setUp() {
+        ProductCategoryService productCategoryService = mock(ProductCategoryService.class);
+        when(productCategoryService.getProductCategoryById(1L)).thenReturn(electronics);
+        modelMapper = LegacyModelMapper.create(productCategoryService);
+        productMapper = new ProductMapperImpl(new CategoryReferenceMapper(productCategoryService));
+        reviewMapper = new ReviewMapperImpl();
+        wishlistMapper = new WishlistMapperImpl(productMapper);
+        userMapper = new UserMapperImpl();
+    }
+
+    @Test
+    @DisplayName("Doit produire la même réponse produit")
+    void productResponse_SameAsModelMapper() {
+        // Arrange
+        Product product = product(1L, electronics);
+
+        // Act
+        ProductResponse expected = modelMapper.map(product, ProductResponse.class);
+        ProductResponse actual = productMapper.toResponse(product);
+
+        // Assert
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Doit laisser l'id de catégorie vide sans catégorie, là où ModelMapper échouait")
+    void productResponse_WithoutCategory() {
+        // Arrange
+        Product product = product(2L, null);
+
+        // Act
+        ProductResponse actual = productMapper.toResponse(product);
+
+        // Assert
+        assertThatThrownBy(() -> modelMapper.map(product, ProductResponse.class))
+                .isInstanceOf(MappingException.class);
+        assertThat(actual.getId()).isEqualTo(2L);
+        assertThat(actual.getCategoryId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Doit produire le même produit depuis une requête, catégorie résolue par son id")
+    void productEntity_SameAsModelMapper() {
+        // Arrange
+        ProductRequest request = new ProductRequest();
+        request.setName("Smartphone");
+        request.setDescription("Detailed description");
+        request.setShortDescription("Short desc");
+        request.setPrice(new BigDecimal("699.00"));
+        request.setQuantity(5);
+        request.setImage("http://image.url/test.jpg");
+        request.setCategory(1L);
+
+        // Act
+        Product expected = modelMapper.map(request, Product.class);
+        Product actual = productMapper.toEntity(request);
+
+        // Assert
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual.getCategory()).isSameAs(electronics);
+    }
+
+    @Test
+    @DisplayName("Doit produire le même avis, nom de l'auteur compris")
+    void reviewResponse_SameAsModelMapper() {
+        // Arrange
+        Review review = new Review();
+        review.setId(3L);
+        review.setProduct(product(1L, electronics));
+        review.setUser(User.builder().id(4L).name("John").surname("Doe").email("john@test.com").build());
+        review.setRating(5);
+        review.setComment("Great");
+        review.setHelpfulCount(2);
+        review.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        Review anonymous = new Review();
+        anonymous.setId(5L);
+
+        for (Review source : List.of(review, anonymous)) {
+            // Act
+            ReviewResponse expected = modelMapper.map(source, ReviewResponse.class);
+            if (source.getUser() != null) {
+                expected.setUserName(source.getUser().getName());
+            }
+            ReviewResponse actual = reviewMapper.toResponse(source);
+
+            // Assert
+            assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        }
+        assertThat(reviewMapper.toResponse(review).getUserName()).isEqualTo("John");
+    }
+
+    @Test
+    @DisplayName("Doit produire la même liste d'envies, avec la visibilité que ModelMapper laissait vide")
+    void wishlistResponse_SameAsModelMapper() {
+        // Arrange
+        Wishlist wishlist = new Wishlist();
+        wishlist.setId(6L);
+        wishlist.setProducts(new LinkedHashSet<>(List.of(product(1L, electronics), product(2L, electronics))));
+        wishlist.setPublic(true);
+        wishlist.setShareToken("token");
+
+        // Act
+        WishlistResponse expected = modelMapper.map(wishlist, WishlistResponse.class);
+        WishlistResponse actual = wishlistMapper.toResponse(wishlist);
+
+        // Assert
+        assertThat(actual).usingRecursiveComparison().ignoringCollectionOrder().ignoringFields("isPublic")
+                .isEqualTo(expected);
+        assertThat(expected.getIsPublic()).isNull();
+        assertThat(actual.getIsPublic()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Doit produire le même utilisateur, sans le mot de passe")
+    void userDto_SameAsModelMapper() {
+        // Arrange
+        User user = User.builder().id(4L).name("John").surname("Doe").email("john@test.com").password("secret").build();
+
+        // Act
+        UserDTO expected = modelMapper.map(user, UserDTO.class);
+        UserDTO actual = userMapper.toDto(user);
+
+        // Assert
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static Product product(long id, ProductCategory category) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Description " + id)
+                .shortDescription("Short " + id)
+                .price(BigDecimal.valueOf(id * 100, 2))
+                .quantity((int) id)
+                .image("http://image.url/" + id)
+                .category(category)
+                .build();
+    }
+}
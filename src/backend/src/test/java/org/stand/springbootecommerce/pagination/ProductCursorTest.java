@@ -0,0 +1,65 @@
+package org.stand.springbootecommerce.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.stand.springbootecommerce.error.InvalidCursorException;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests Unitaires - ProductCursor")
+class ProductCursorTest {
+
+    @Test
+    @DisplayName("Doit relire la position encodée dans le curseur")
+    void decode_RoundTrip() {
+        // Arrange
+        String cursor = ProductCursor.after(ProductSort.PRICE_DESC, null, 42L, new BigDecimal("499.99"), 0)
+                .encode();
+
+        // Act
+        ProductCursor decoded = ProductCursor.decode(cursor, ProductSort.PRICE_DESC, null);
+
+        // Assert
+        assertThat(decoded.id()).isEqualTo(42L);
+        assertThat(decoded.price()).isEqualByComparingTo("499.99");
+        assertThat(cursor).doesNotContain("499.99").matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    @DisplayName("Doit accepter le curseur d'une recherche pour la même requête normalisée")
+    void decode_SameNormalizedQuery() {
+        // Arrange
+        String cursor = ProductCursor.after(ProductSort.ID, "iPhone", 7L, null, 20).encode();
+
+        // Act
+        ProductCursor decoded = ProductCursor.decode(cursor, ProductSort.ID, "  iphone ");
+
+        // Assert
+        assertThat(decoded.position()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Doit rejeter un curseur émis pour un autre tri ou une autre requête")
+    void decode_OtherListing() {
+        // Arrange
+        String cursor = ProductCursor.after(ProductSort.ID, "iphone", 7L, null, 20).encode();
+
+        // Act & Assert
+        assertThatThrownBy(() -> ProductCursor.decode(cursor, ProductSort.PRICE_ASC, "iphone"))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> ProductCursor.decode(cursor, ProductSort.ID, "samsung"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("Doit rejeter un curseur malformé")
+    void decode_Malformed() {
+        assertThatThrownBy(() -> ProductCursor.decode("not a cursor!", ProductSort.ID, null))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> ProductCursor.decode("SUQ", ProductSort.ID, null))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -1,5 +1,6 @@
 package org.stand.springbootecommerce.repository;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.stand.springbootecommerce.entity.user.Order;
+import org.stand.springbootecommerce.entity.user.OrderStatus;
+import org.stand.springbootecommerce.entity.user.Product;
 import org.stand.springbootecommerce.entity.user.User;
 
 import java.util.List;
@@ -78,4 +81,69 @@ class OrderRepositoryTest {
         assertThat(savedOrder.getId()).isNotNull();
         assertThat(savedOrder.getTotalAmount()).isEqualByComparingTo(new java.math.BigDecimal("500.0"));
     }
+
+    @Test
+    @DisplayName("Doit lister les commandes avec leur nombre de produits, sans charger les produits")
+    void findSummariesByUserId_Success() {
+        // Arrange
+        Product phone = Product.builder().name("Phone").description("Phone").shortDescription("Phone")
+                .image("phone.jpg").price(new java.math.BigDecimal("100.0")).quantity(1).build();
+        Product tablet = Product.builder().name("Tablet").description("Tablet").shortDescription("Tablet")
+                .image("tablet.jpg").price(new java.math.BigDecimal("150.0")).quantity(1).build();
+        entityManager.persist(phone);
+        entityManager.persist(tablet);
+        Order withProducts = entityManager.persist(Order.builder()
+                .user(user)
+                .products(List.of(phone, tablet))
+                .totalAmount(new java.math.BigDecimal("250.0"))
+                .status(OrderStatus.PENDING)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<OrderRepository.OrderSummary> orders = orderRepository.findSummariesByUserId(user.getId());
+
+        // Assert
+        assertThat(orders).extracting(OrderRepository.OrderSummary::getId)
+                .containsExactlyInAnyOrder(order.getId(), withProducts.getId());
+        assertThat(orders).filteredOn(summary -> summary.getId().equals(withProducts.getId())).singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.getNumberOfProducts()).isEqualTo(2);
+                    assertThat(summary.getStatus()).isEqualTo(OrderStatus.PENDING);
+                    assertThat(summary.getTotalAmount()).isEqualByComparingTo("250.0");
+                });
+        assertThat(orders).filteredOn(summary -> summary.getId().equals(order.getId())).singleElement()
+                .extracting(OrderRepository.OrderSummary::getNumberOfProducts).isEqualTo(0);
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Doit compter chaque commande une seule fois par produit, même s'il y figure plusieurs fois")
+    void countOrdersByProduct_CountsDistinctOrders() {
+        // Arrange
+        Product phone = Product.builder().name("Phone").description("Phone").shortDescription("Phone")
+                .image("phone.jpg").price(new java.math.BigDecimal("100.0")).quantity(1).build();
+        entityManager.persist(phone);
+        entityManager.persist(Order.builder()
+                .user(user)
+                .products(List.of(phone, phone))
+                .totalAmount(new java.math.BigDecimal("200.0"))
+                .build());
+        entityManager.persist(Order.builder()
+                .user(user)
+                .products(List.of(phone))
+                .totalAmount(new java.math.BigDecimal("100.0"))
+                .build());
+        entityManager.flush();
+
+        // Act
+        List<OrderRepository.ProductOrderCount> counts = orderRepository.countOrdersByProduct();
+
+        // Assert
+        assertThat(counts).singleElement().satisfies(count -> {
+            assertThat(count.getProductId()).isEqualTo(phone.getId());
+            assertThat(count.getOrders()).isEqualTo(2);
+        });
+    }
 }
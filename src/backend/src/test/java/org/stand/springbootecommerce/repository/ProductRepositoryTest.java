@@ -1,5 +1,6 @@
 package org.stand.springbootecommerce.repository;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,9 +9,12 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.stand.springbootecommerce.entity.user.Product;
 import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.repository.specification.ProductFilter;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -114,4 +118,100 @@ class ProductRepositoryTest {
 
         assertThat(products).isEmpty();
     }
+
+    @Test
+    @DisplayName("Doit filtrer par catégorie, prix et stock, trié par prix, sans requête de comptage")
+    void findPage_Filter_Success() {
+        // Arrange
+        persist("Laptop Lenovo", "800.0", 2, category);
+        persist("Laptop HP", "950.0", 0, category);
+        persist("Laptop Asus", "1500.0", 4, category);
+        entityManager.flush();
+        ProductFilter filter = new ProductFilter(List.of(category.getId()), new BigDecimal("700"),
+                new BigDecimal("1300"), true, ProductFilter.Order.PRICE_ASC);
+
+        // Act
+        List<ProductSummary> products = productRepository.findPage(filter.toSpecification(), filter.order().sort(), 0,
+                10);
+        long total = productRepository.count(filter.toSpecification());
+
+        // Assert
+        assertThat(products).extracting(ProductSummary::name).containsExactly("Laptop Lenovo", "Laptop Dell XPS");
+        assertThat(products).extracting(ProductSummary::categoryId).containsOnly(category.getId());
+        assertThat(total).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Doit servir la page d'ids du filtre par catégorie, prix et stock depuis l'index composite seul")
+    void filterByCategoryAndPrice_UsesCompositeIndex() {
+        // Arrange: enough rows in other categories for the planner to prefer the index
+        entityManager.getEntityManager().createNativeQuery(
+                "insert into product (id, name, description, short_description, quantity, price, image, category_id)"
+                        + " select 1000000 + x, 'Product ' || x, 'Description', 'Short', mod(x, 7),"
+                        + " mod(x, 2000) + 0.99, 'product.jpg', null from system_range(1, 5000)")
+                .executeUpdate();
+
+        // Act
+        String plan = String.valueOf(entityManager.getEntityManager().createNativeQuery(
+                "explain select id from product where category_id = " + category.getId()
+                        + " and price between 100 and 1000 and quantity > 0 order by price, id")
+                .getSingleResult());
+
+        // Assert: the stock filter too is evaluated in the index, no row is read
+        String indexCondition = plan.substring(plan.indexOf("/*"), plan.indexOf("*/"));
+        assertThat(indexCondition).containsIgnoringCase("idx_product_category_price_id_quantity")
+                .containsIgnoringCase("QUANTITY > 0");
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("Doit paginer les résumés par curseur sans entité gérée, produits sans catégorie compris")
+    void findNextSummariesByPriceAsc_Success() {
+        // Arrange
+        persist("Laptop Lenovo", "800.0", 2, category);
+        persist("Laptop HP", "950.0", 0, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<ProductSummary> first = productRepository.findSummaries(PageRequest.of(0, 2, Sort.by("price", "id")));
+        List<ProductSummary> next = productRepository.findNextSummariesByPriceAsc(first.get(1).price(),
+                first.get(1).id(), PageRequest.of(0, 2));
+
+        // Assert
+        assertThat(first).extracting(ProductSummary::name).containsExactly("Laptop Lenovo", "Laptop HP");
+        assertThat(first.get(1).categoryId()).isNull();
+        assertThat(next).extracting(ProductSummary::name).containsExactly("Laptop Dell XPS");
+        assertThat(next.get(0).categoryId()).isEqualTo(category.getId());
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Doit horodater les produits enregistrés sans date de mise à jour")
+    void stampMissingUpdates_Success() {
+        // Arrange: a row saved before the column existed
+        entityManager.getEntityManager().createNativeQuery("update product set updated_at = null").executeUpdate();
+        entityManager.clear();
+
+        // Act
+        int stamped = productRepository.stampMissingUpdates();
+        entityManager.clear();
+
+        // Assert
+        assertThat(stamped).isEqualTo(1);
+        assertThat(productRepository.findById(product.getId())).map(Product::getUpdatedAt).isPresent();
+        assertThat(productRepository.stampMissingUpdates()).isZero();
+    }
+
+    private void persist(String name, String price, int quantity, ProductCategory category) {
+        entityManager.persist(Product.builder()
+                .name(name)
+                .description("Laptop")
+                .shortDescription(name)
+                .image("laptop.jpg")
+                .price(new BigDecimal(price))
+                .quantity(quantity)
+                .category(category)
+                .build());
+    }
 }
@@ -1,5 +1,6 @@
 package org.stand.springbootecommerce.repository;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.stand.springbootecommerce.entity.user.Product;
 import org.stand.springbootecommerce.entity.user.ProductCategory;
 import org.stand.springbootecommerce.entity.user.Review;
@@ -171,4 +173,24 @@ class ReviewRepositoryTest {
         assertThat(topReviews).isNotEmpty();
         assertThat(topReviews.get(0).getRating()).isGreaterThanOrEqualTo(4);
     }
+
+    @Test
+    @DisplayName("Doit lister les avis d'un produit avec le nom de l'auteur, sans entité gérée")
+    void findSummariesByProductId_Success() {
+        // Arrange
+        entityManager.clear();
+
+        // Act
+        Page<ReviewRepository.ReviewSummary> reviews = reviewRepository.findSummariesByProductId(product.getId(),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "helpfulCount")));
+
+        // Assert
+        assertThat(reviews.getTotalElements()).isEqualTo(1);
+        ReviewRepository.ReviewSummary summary = reviews.getContent().get(0);
+        assertThat(summary.getId()).isEqualTo(review.getId());
+        assertThat(summary.getUserName()).isEqualTo("Test");
+        assertThat(summary.getComment()).isEqualTo("Excellent!");
+        assertThat(summary.getHelpfulCount()).isEqualTo(10);
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
 }
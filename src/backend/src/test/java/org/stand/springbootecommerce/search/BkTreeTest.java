@@ -0,0 +1,73 @@
+package org.stand.springbootecommerce.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests Unitaires - BkTree")
+class BkTreeTest {
+
+    @Test
+    @DisplayName("Doit calculer la distance de Levenshtein")
+    void distance() {
+        assertThat(BkTree.distance("samsung", "samsung")).isZero();
+        assertThat(BkTree.distance("samsumg", "samsung")).isEqualTo(1);
+        assertThat(BkTree.distance("iphnoe", "iphone")).isEqualTo(2);
+        assertThat(BkTree.distance("", "sony")).isEqualTo(4);
+        assertThat(BkTree.distance("kitten", "sitting")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Doit retourner les termes proches, du plus proche au plus éloigné")
+    void search_ClosestFirst() {
+        // Arrange
+        BkTree tree = BkTree.build(List.of("samsung", "samsun", "sony", "galaxy", "samsung"));
+
+        // Act & Assert
+        assertThat(tree.size()).isEqualTo(4);
+        assertThat(tree.search("samsumg", 2)).extracting(BkTree.Match::term)
+                .containsExactly("samsung", "samsun");
+        assertThat(tree.search("samsumg", 1)).extracting(BkTree.Match::term).containsExactly("samsung");
+        assertThat(tree.search("xbox", 1)).isEmpty();
+        assertThat(BkTree.EMPTY.search("sony", 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit trouver exactement les mêmes termes qu'un parcours exhaustif")
+    void search_MatchesBruteForce() {
+        // Arrange
+        Random random = new Random(42);
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            terms.add(randomWord(random));
+        }
+        BkTree tree = BkTree.build(terms);
+
+        for (int i = 0; i < 50; i++) {
+            String query = randomWord(random);
+
+            // Act
+            List<String> found = tree.search(query, 2).stream().map(BkTree.Match::term).toList();
+
+            // Assert
+            List<String> expected = terms.stream()
+                    .distinct()
+                    .filter(term -> BkTree.distance(query, term) <= 2)
+                    .toList();
+            assertThat(found).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, length = 3 + random.nextInt(5); i < length; i++) {
+            word.append((char) ('a' + random.nextInt(6)));
+        }
+        return word.toString();
+    }
+}
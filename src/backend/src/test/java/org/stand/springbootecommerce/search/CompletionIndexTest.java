@@ -0,0 +1,73 @@
+package org.stand.springbootecommerce.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests Unitaires - CompletionIndex")
+class CompletionIndexTest {
+
+    private static Suggestion product(long id, String name, double weight) {
+        return new Suggestion(name, Suggestion.Type.PRODUCT, id, weight);
+    }
+
+    @Test
+    @DisplayName("Doit retourner les complétions les plus populaires en premier")
+    void complete_ByWeight() {
+        // Arrange
+        CompletionIndex index = CompletionIndex.build(List.of(
+                product(1, "Samsung Galaxy S22", 5),
+                product(2, "Samsung Smart TV", 9),
+                product(3, "Sony PlayStation 5", 20)));
+
+        // Act & Assert
+        assertThat(index.complete("sam", 10)).extracting(Suggestion::id).containsExactly(2L, 1L);
+        assertThat(index.complete("s", 2)).extracting(Suggestion::id).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Doit compléter n'importe quel mot du nom, sans doublon")
+    void complete_AnyWordStart() {
+        // Arrange
+        CompletionIndex index = CompletionIndex.build(List.of(
+                product(1, "APPLE iPhone 14 256GB Mezzanotte", 3),
+                product(2, "Caméra instantanée", 1)));
+
+        // Act & Assert
+        assertThat(index.complete("iph", 10)).extracting(Suggestion::id).containsExactly(1L);
+        assertThat(index.complete("iphone 14", 10)).extracting(Suggestion::id).containsExactly(1L);
+        assertThat(index.complete("camera inst", 10)).extracting(Suggestion::id).containsExactly(2L);
+        assertThat(index.complete("i", 10)).extracting(Suggestion::id).containsExactly(1L, 2L);
+        assertThat(index.complete("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit donner le même résultat qu'un tri exhaustif")
+    void complete_MatchesBruteForce() {
+        // Arrange
+        Random random = new Random(42);
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            suggestions.add(product(i, "p" + Integer.toString(random.nextInt(500), 36) + " item", random.nextInt(1000)));
+        }
+        CompletionIndex index = CompletionIndex.build(suggestions);
+
+        // Act
+        List<Suggestion> completions = index.complete("p1", 10);
+
+        // Assert
+        List<Suggestion> expected = suggestions.stream()
+                .filter(suggestion -> suggestion.text().startsWith("p1"))
+                .sorted(Comparator.comparingDouble(Suggestion::weight).reversed())
+                .limit(10)
+                .toList();
+        assertThat(completions).extracting(Suggestion::weight)
+                .containsExactlyElementsOf(expected.stream().map(Suggestion::weight).toList());
+    }
+}
@@ -0,0 +1,79 @@
+package org.stand.springbootecommerce.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests Unitaires - CountMinSketch")
+class CountMinSketchTest {
+
+    @Test
+    @DisplayName("Ne doit jamais sous-estimer et rester dans la borne d'erreur")
+    void estimate_WithinBounds() {
+        // Arrange: Zipf-like stream over 20k distinct queries
+        CountMinSketch sketch = new CountMinSketch(4, 2048);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            String query = "query " + (int) Math.floor(Math.pow(20_000, random.nextDouble()));
+            sketch.add(query);
+            exact.merge(query, 1L, Long::sum);
+        }
+
+        // Act & Assert
+        long bound = (long) Math.ceil(Math.E / 2048 * 200_000);
+        long withinBound = exact.entrySet().stream()
+                .filter(entry -> sketch.estimate(entry.getKey()) - entry.getValue() <= bound)
+                .count();
+        exact.forEach((query, count) -> assertThat(sketch.estimate(query)).isGreaterThanOrEqualTo(count));
+        assertThat((double) withinBound / exact.size()).isGreaterThan(0.98);
+        assertThat(sketch.total()).isEqualTo(200_000);
+        assertThat(sketch.estimate("jamais vu")).isLessThanOrEqualTo(bound);
+    }
+
+    @Test
+    @DisplayName("Doit se restaurer à l'identique depuis sa forme sérialisée")
+    void bytes_RoundTrip() {
+        // Arrange
+        CountMinSketch sketch = new CountMinSketch(3, 64);
+        for (int i = 0; i < 500; i++) {
+            sketch.add("q" + i % 37);
+        }
+
+        // Act
+        CountMinSketch restored = CountMinSketch.fromBytes(sketch.toBytes());
+
+        // Assert
+        assertThat(restored.depth()).isEqualTo(3);
+        assertThat(restored.width()).isEqualTo(64);
+        assertThat(restored.total()).isEqualTo(500);
+        for (int i = 0; i < 37; i++) {
+            assertThat(restored.estimate("q" + i)).isEqualTo(sketch.estimate("q" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Doit fusionner deux sketches comme un seul flux")
+    void merge_SumsStreams() {
+        // Arrange
+        CountMinSketch left = new CountMinSketch(4, 256);
+        CountMinSketch right = new CountMinSketch(4, 256);
+        left.add("iphone");
+        left.add("ps5");
+        right.add("iphone");
+
+        // Act
+        CountMinSketch merged = left.merge(right);
+
+        // Assert
+        assertThat(merged.estimate("iphone")).isEqualTo(2);
+        assertThat(merged.estimate("ps5")).isEqualTo(1);
+        assertThat(merged.total()).isEqualTo(3);
+        assertThat(left.total()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,82 @@
+package org.stand.springbootecommerce.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.stand.springbootecommerce.entity.user.Product;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests Unitaires - IndexSnapshotFile")
+class IndexSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    private final InvertedIndex index = InvertedIndex.build(List.of(
+            IndexedDocument.of(Product.builder().id(7L).name("Téléviseur OLED").description("Écran 4K").build()),
+            IndexedDocument.of(Product.builder().id(3L).name("Casque audio").description("Sans fil").build())));
+
+    @Test
+    @DisplayName("Doit relire l'index et le high-water mark écrits")
+    void write_RoundTrip() throws IOException {
+        // Arrange
+        Path file = directory.resolve("products.idx");
+        Instant highWaterMark = Instant.parse("2026-03-01T10:15:30.123456Z");
+
+        // Act
+        IndexSnapshotFile.write(file, new IndexSnapshotFile.Contents(index, highWaterMark));
+        IndexSnapshotFile.Contents read = IndexSnapshotFile.read(file).orElseThrow();
+
+        // Assert
+        assertThat(read.highWaterMark()).isEqualTo(highWaterMark);
+        InvertedIndex restored = read.index();
+        assertThat(restored.documentCount()).isEqualTo(2);
+        assertThat(restored.docId(0)).isEqualTo(7L);
+        assertThat(restored.averageLength()).isEqualTo(index.averageLength());
+        assertThat(restored.termCount()).isEqualTo(index.termCount());
+        int term = restored.termIndex("ecran");
+        assertThat(restored.postingDocs(term)).containsExactly(index.postingDocs(index.termIndex("ecran")));
+        assertThat(restored.nameTerms().search("televiseur", 0)).hasSize(1);
+        assertThat(directory).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    @DisplayName("Doit ignorer un fichier corrompu")
+    void read_ChecksumMismatch() throws IOException {
+        // Arrange
+        Path file = directory.resolve("products.idx");
+        IndexSnapshotFile.write(file, new IndexSnapshotFile.Contents(index, Instant.EPOCH));
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(raw.length() - 1);
+            int last = raw.read();
+            raw.seek(raw.length() - 1);
+            raw.write(last ^ 0xFF);
+        }
+
+        // Act & Assert
+        assertThat(IndexSnapshotFile.read(file)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit ignorer un fichier d'une autre version du format, ou absent")
+    void read_OtherVersion() throws IOException {
+        // Arrange
+        Path file = directory.resolve("products.idx");
+        IndexSnapshotFile.write(file, new IndexSnapshotFile.Contents(index, Instant.EPOCH));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[7] = (byte) (IndexSnapshotFile.FORMAT_VERSION + 1);
+        Files.write(file, bytes);
+
+        // Act & Assert
+        assertThat(IndexSnapshotFile.read(file)).isEmpty();
+        assertThat(IndexSnapshotFile.read(directory.resolve("missing.idx"))).isEmpty();
+    }
+}
@@ -0,0 +1,199 @@
+package org.stand.springbootecommerce.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.repository.ProductRepository;
+import org.stand.springbootecommerce.repository.ReviewRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitaires - ProductFacetIndex")
+class ProductFacetIndexTest {
+
+    private static final ProductCategory PHONES = ProductCategory.builder().id(1L).name("Smartphone").build();
+    private static final ProductCategory LAPTOPS = ProductCategory.builder().id(2L).name("Laptop").build();
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    private ProductFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductFacetIndex(productRepository, reviewRepository);
+        ReflectionTestUtils.setField(index, "priceBands",
+                List.of(new BigDecimal("100"), new BigDecimal("500"), new BigDecimal("1000")));
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, PHONES, "1099.99", 5),
+                product(2L, PHONES, "499.99", 0),
+                product(3L, LAPTOPS, "1299.99", 2),
+                product(4L, null, "49.90", 10)));
+        when(reviewRepository.findAverageRatings()).thenReturn(List.of(rating(1L, 4.5), rating(3L, 4.0), rating(2L, 2.7)));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Doit compter chaque valeur de facette sur tout le catalogue")
+    void countAll() {
+        // Act
+        Map<String, Map<String, Integer>> facets = index.countAll();
+
+        // Assert
+        assertThat(facets.get(ProductFacetIndex.CATEGORY)).containsExactly(Map.entry("1", 2), Map.entry("2", 1));
+        assertThat(facets.get(ProductFacetIndex.PRICE))
+                .containsExactly(Map.entry("0-100", 1), Map.entry("100-500", 1), Map.entry("1000+", 2));
+        assertThat(facets.get(ProductFacetIndex.RATING))
+                .containsExactly(Map.entry("2", 1), Map.entry("4", 2), Map.entry("unrated", 1));
+        assertThat(facets.get(ProductFacetIndex.STOCK))
+                .containsExactly(Map.entry("in_stock", 3), Map.entry("out_of_stock", 1));
+    }
+
+    @Test
+    @DisplayName("Doit compter les facettes d'un ensemble de résultats")
+    void count_ResultSet() {
+        // Act
+        Map<String, Map<String, Integer>> facets = index.count(List.of(1L, 2L, 99L));
+
+        // Assert
+        assertThat(facets.get(ProductFacetIndex.CATEGORY)).containsExactly(Map.entry("1", 2));
+        assertThat(facets.get(ProductFacetIndex.PRICE))
+                .containsExactly(Map.entry("100-500", 1), Map.entry("1000+", 1));
+        assertThat(facets.get(ProductFacetIndex.STOCK))
+                .containsExactly(Map.entry("in_stock", 1), Map.entry("out_of_stock", 1));
+        assertThat(index.count(List.of()).get(ProductFacetIndex.CATEGORY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit déplacer un produit modifié et garder sa note jusqu'à la reconstruction")
+    void index_MovesProduct() {
+        // Act
+        index.index(product(1L, LAPTOPS, "89.00", 0));
+        index.index(product(5L, PHONES, "150.00", 1));
+
+        // Assert
+        Map<String, Map<String, Integer>> facets = index.countAll();
+        assertThat(facets.get(ProductFacetIndex.CATEGORY)).containsExactly(Map.entry("1", 2), Map.entry("2", 2));
+        assertThat(facets.get(ProductFacetIndex.PRICE))
+                .containsExactly(Map.entry("0-100", 2), Map.entry("100-500", 2), Map.entry("1000+", 1));
+        assertThat(facets.get(ProductFacetIndex.RATING))
+                .containsExactly(Map.entry("2", 1), Map.entry("4", 2), Map.entry("unrated", 2));
+        assertThat(index.count(List.of(1L)).get(ProductFacetIndex.STOCK)).containsExactly(Map.entry("out_of_stock", 1));
+    }
+
+    @Test
+    @DisplayName("Doit donner les mêmes comptes pour un petit ou un grand ensemble de résultats")
+    void count_NarrowAndWideResultsAgree() {
+        // Arrange
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            products.add(product(id, id % 3 == 0 ? LAPTOPS : PHONES, String.valueOf(id * 40), (int) (id % 4)));
+        }
+        when(productRepository.findAll()).thenReturn(products);
+        when(reviewRepository.findAverageRatings()).thenReturn(List.of());
+        index.rebuild();
+
+        for (List<Long> results : List.of(List.of(3L, 6L, 7L), LongStream.rangeClosed(1, 30).boxed().toList())) {
+            // Act
+            Map<String, Map<String, Integer>> facets = index.count(results);
+
+            // Assert
+            long laptops = results.stream().filter(id -> id % 3 == 0).count();
+            long outOfStock = results.stream().filter(id -> id % 4 == 0).count();
+            assertThat(facets.get(ProductFacetIndex.CATEGORY).getOrDefault("2", 0)).isEqualTo((int) laptops);
+            assertThat(facets.get(ProductFacetIndex.CATEGORY).getOrDefault("1", 0))
+                    .isEqualTo((int) (results.size() - laptops));
+            assertThat(facets.get(ProductFacetIndex.STOCK).getOrDefault("out_of_stock", 0))
+                    .isEqualTo((int) outOfStock);
+            assertThat(facets.get(ProductFacetIndex.RATING)).containsExactly(Map.entry("unrated", results.size()));
+        }
+    }
+
+    @Test
+    @DisplayName("Doit compter les facettes des produits d'une catégorie")
+    void countCategory() {
+        // Act
+        Map<String, Map<String, Integer>> facets = index.countCategory(1L);
+
+        // Assert
+        assertThat(facets.get(ProductFacetIndex.CATEGORY)).containsExactly(Map.entry("1", 2));
+        assertThat(facets.get(ProductFacetIndex.STOCK))
+                .containsExactly(Map.entry("in_stock", 1), Map.entry("out_of_stock", 1));
+        assertThat(index.countCategory(99L).get(ProductFacetIndex.STOCK)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit conserver un produit indexé pendant la lecture de la base par une reconstruction")
+    void rebuild_KeepsProductIndexedMeanwhile() {
+        // Arrange : le produit 5 est enregistré après la lecture du catalogue
+        when(productRepository.findAll()).thenAnswer(invocation -> {
+            List<Product> read = List.of(product(1L, PHONES, "1099.99", 5));
+            index.index(product(5L, LAPTOPS, "150.00", 1));
+            return read;
+        });
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertThat(index.categoryOf(5L)).isEqualTo(2L);
+        assertThat(index.countAll().get(ProductFacetIndex.CATEGORY))
+                .containsExactly(Map.entry("1", 1), Map.entry("2", 1));
+    }
+
+    @Test
+    @DisplayName("Doit indexer des identifiants au-delà de la première page de la colonne")
+    void index_IdsAcrossColumnPages() {
+        // Act
+        index.index(product(5000L, LAPTOPS, "150.00", 1));
+        index.index(product(1025L, PHONES, "20.00", 0));
+
+        // Assert
+        assertThat(index.categoryOf(5000L)).isEqualTo(2L);
+        assertThat(index.categoryOf(1025L)).isEqualTo(1L);
+        assertThat(index.categoryOf(3000L)).isNull();
+        assertThat(index.count(List.of(5000L, 1025L, 1L)).get(ProductFacetIndex.CATEGORY))
+                .containsExactly(Map.entry("1", 2), Map.entry("2", 1));
+    }
+
+    private static Product product(Long id, ProductCategory category, String price, int quantity) {
+        return Product.builder()
+                .id(id)
+                .name("Produit " + id)
+                .category(category)
+                .price(new BigDecimal(price))
+                .quantity(quantity)
+                .build();
+    }
+
+    private static ReviewRepository.ProductRating rating(Long productId, double average) {
+        return new ReviewRepository.ProductRating() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Double getAverage() {
+                return average;
+            }
+        };
+    }
+}
@@ -0,0 +1,260 @@
+package org.stand.springbootecommerce.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.repository.ProductRepository;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitaires - ProductSearchIndex")
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(productRepository);
+        ReflectionTestUtils.setField(index, "maxPending", 500);
+    }
+
+    @Test
+    @DisplayName("Doit classer un terme du nom avant le même terme dans la description")
+    void search_RanksNameAboveDescription() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Casque audio", "Compatible avec tout smartphone"),
+                product(2L, "Smartphone Galaxy", "Un téléphone puissant"),
+                product(3L, "Aspirateur", "Silencieux")));
+        index.rebuild();
+
+        // Act & Assert
+        assertThat(index.search("smartphone")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Doit ne classer que les meilleurs résultats demandés, avec le nombre total de correspondances")
+    void search_TopKMatchesFullRanking() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Câble USB", "Câble USB-C vers USB-A, câble tressé"),
+                product(2L, "Chargeur", "Chargeur rapide avec câble"),
+                product(3L, "Câble HDMI", "Câble"),
+                product(4L, "Souris", "Sans fil")));
+        index.rebuild();
+        index.index(product(5L, "Câble Lightning", "Câble pour iPhone"));
+        index.index(product(2L, "Chargeur", "Chargeur rapide"));
+        List<Long> full = index.search("cable");
+
+        // Act
+        ProductSearchIndex.Ranking top = index.search("cable", 2);
+
+        // Assert
+        assertThat(full).hasSize(3);
+        assertThat(top.ids()).containsExactlyElementsOf(full.subList(0, 2));
+        assertThat(top.total()).isEqualTo(3);
+        assertThat(index.search("cable", 0).ids()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit trouver un produit quels que soient les accents")
+    void search_AccentInsensitive() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Téléviseur", "Écran 4K"),
+                product(2L, "Caffettiera", "Qualità italiana")));
+        index.rebuild();
+
+        // Act & Assert
+        assertThat(index.search("ecran")).containsExactly(1L);
+        assertThat(index.search("QUALITA")).containsExactly(2L);
+        assertThat(index.search("téléviseur")).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Doit compléter le dernier mot de la requête")
+    void search_PrefixOnLastWord() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Laptop Dell", "Portable"),
+                product(2L, "Lampe", "Bureau")));
+        index.rebuild();
+
+        // Act & Assert
+        assertThat(index.search("lap")).containsExactly(1L);
+        assertThat(index.search("la")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("lap dell")).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Doit limiter les complétions d'un préfixe court aux termes les plus fréquents")
+    void search_ShortPrefixCapsCompletions() {
+        // Arrange: many rare completions of "pa", and one found in three products
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 2 * ProductSearchIndex.MAX_COMPLETIONS; i++) {
+            String term = "pa" + (char) ('a' + i / 26) + (char) ('a' + i % 26);
+            products.add(product((long) i + 1, term, "Accessoire"));
+        }
+        for (long id = 100; id < 103; id++) {
+            products.add(product(id, "Papaye", "Fruit"));
+        }
+        when(productRepository.findAll()).thenReturn(products);
+        index.rebuild();
+
+        // Act
+        ProductSearchIndex.Ranking ranking = index.search("pa", 10);
+
+        // Assert
+        assertThat(ranking.total()).isEqualTo(3 + ProductSearchIndex.MAX_COMPLETIONS - 1);
+        assertThat(index.search("pa")).contains(100L, 101L, 102L);
+    }
+
+    @Test
+    @DisplayName("Doit rendre un produit indexé immédiatement visible et remplacer l'ancienne version")
+    void index_IncrementalUpdate() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(product(1L, "Console", "Jeux")));
+        index.rebuild();
+
+        // Act
+        index.index(product(2L, "Console portable", "Nintendo"));
+        index.index(product(1L, "Manette", "Sans fil"));
+
+        // Assert
+        assertThat(index.search("console")).containsExactly(2L);
+        assertThat(index.search("manette")).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Doit conserver les écritures faites pendant une reconstruction")
+    void rebuild_KeepsConcurrentWrites() {
+        // Arrange: the database read happens before the write reaches the index
+        when(productRepository.findAll()).thenAnswer(invocation -> {
+            index.index(product(2L, "Drone", "Caméra"));
+            return List.of(product(1L, "Console", "Jeux"));
+        });
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertThat(index.search("drone")).containsExactly(2L);
+        assertThat(index.search("console")).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Doit corriger les fautes de frappe quand la recherche exacte trouve peu de produits")
+    void search_FuzzyFallback() {
+        // Arrange
+        ReflectionTestUtils.setField(index, "fuzzyMinHits", 3);
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Samsung Galaxy S22", "Smartphone"),
+                product(2L, "APPLE iPhone 14", "Smartphone"),
+                product(3L, "Sony PlayStation 5", "Console")));
+        index.rebuild();
+        index.index(product(4L, "Nintendo Switch", "Console portable"));
+
+        // Act & Assert
+        assertThat(index.search("samsumg")).containsExactly(1L);
+        assertThat(index.search("iphnoe")).containsExactly(2L);
+        assertThat(index.search("samsumg galaxy")).containsExactly(1L);
+        assertThat(index.search("nintedo")).containsExactly(4L);
+        // Too short to be corrected, and a known word is never replaced
+        assertThat(index.search("xy")).isEmpty();
+        assertThat(index.search("sony")).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Ne doit pas corriger la requête quand la recherche exacte suffit")
+    void search_FuzzyDisabledWithEnoughHits() {
+        // Arrange
+        ReflectionTestUtils.setField(index, "fuzzyMinHits", 1);
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Câble HDMI", "Accessoire"),
+                product(2L, "Cable USB", "Accessoire")));
+        index.rebuild();
+
+        // Act & Assert
+        assertThat(index.search("usb")).containsExactly(2L);
+        assertThat(index.search("usn")).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Doit retirer un produit supprimé")
+    void remove_HidesProduct() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(product(1L, "Console", "Jeux")));
+        index.rebuild();
+
+        // Act
+        index.remove(1L);
+
+        // Assert
+        assertThat(index.search("console")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit redémarrer depuis le snapshot en ne rejouant que les produits modifiés depuis")
+    void onApplicationReady_RestoresSnapshotAndReplaysChanges(@TempDir Path directory) {
+        // Arrange
+        String snapshotFile = directory.resolve("products.idx").toString();
+        Instant highWaterMark = Instant.parse("2026-01-01T00:00:00Z");
+        ReflectionTestUtils.setField(index, "snapshotFile", snapshotFile);
+        when(productRepository.findLastUpdate()).thenReturn(highWaterMark);
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Casque audio", "Sans fil"),
+                product(2L, "Smartphone Galaxy", "Un téléphone puissant")));
+        index.rebuild();
+
+        ProductSearchIndex restarted = new ProductSearchIndex(productRepository);
+        ReflectionTestUtils.setField(restarted, "maxPending", 500);
+        ReflectionTestUtils.setField(restarted, "snapshotFile", snapshotFile);
+        // Replayed from before the mark, for transactions stamped earlier but committed after it
+        when(productRepository.findByUpdatedAtGreaterThanEqual(highWaterMark.minus(Duration.ofMinutes(5))))
+                .thenReturn(List.of(
+                        product(2L, "Smartphone Pixel", "Un téléphone puissant"),
+                        product(3L, "Tablette", "Écran 11 pouces")));
+
+        // Act
+        restarted.onApplicationReady();
+
+        // Assert
+        assertThat(restarted.isReady()).isTrue();
+        assertThat(restarted.size()).isEqualTo(3);
+        assertThat(restarted.search("casque")).containsExactly(1L);
+        assertThat(restarted.search("pixel")).containsExactly(2L);
+        assertThat(restarted.search("galaxy")).isEmpty();
+        assertThat(restarted.search("tablette")).containsExactly(3L);
+        verify(productRepository, times(1)).findAll();
+        verify(productRepository).stampMissingUpdates();
+    }
+
+    private static Product product(Long id, String name, String description) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .shortDescription(name)
+                .description(description)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package org.stand.springbootecommerce.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.stand.springbootecommerce.entity.user.Product;
+import org.stand.springbootecommerce.entity.user.ProductCategory;
+import org.stand.springbootecommerce.repository.OrderRepository;
+import org.stand.springbootecommerce.repository.ProductCategoryRepository;
+import org.stand.springbootecommerce.repository.ProductRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitaires - ProductSuggester")
+class ProductSuggesterTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private ProductSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new ProductSuggester(productRepository, productCategoryRepository, orderRepository);
+    }
+
+    @Test
+    @DisplayName("Doit pondérer les produits par leurs commandes et les catégories par leurs produits")
+    void suggest_PopularityWeights() {
+        // Arrange
+        ProductCategory consoles = ProductCategory.builder().id(10L).name("Console").build();
+        when(productRepository.findAll()).thenReturn(List.of(
+                Product.builder().id(1L).name("Console Xbox").category(consoles).build(),
+                Product.builder().id(2L).name("Console PlayStation").category(consoles).build()));
+        when(productCategoryRepository.findAll()).thenReturn(List.of(consoles));
+        when(orderRepository.countOrdersByProduct()).thenReturn(List.of(orderCount(2L, 3)));
+        suggester.rebuild();
+
+        // Act
+        List<Suggestion> suggestions = suggester.suggest("cons", 10);
+
+        // Assert
+        assertThat(suggestions).extracting(Suggestion::text)
+                .containsExactly("Console", "Console PlayStation", "Console Xbox");
+        assertThat(suggestions.get(0).weight()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("Doit proposer un produit ajouté sans attendre la reconstruction")
+    void add_SuggestibleImmediately() {
+        // Act
+        suggester.add(Product.builder().id(5L).name("Drone DJI Mini").build());
+
+        // Assert
+        assertThat(suggester.suggest("dji", 10)).extracting(Suggestion::id).containsExactly(5L);
+        assertThat(suggester.suggest("", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit accepter les ajouts pendant une reconstruction, et les conserver ensuite")
+    void add_DuringRebuild() {
+        // Arrange : un produit est ajouté pendant la lecture de la base
+        when(productRepository.findAll()).thenAnswer(invocation -> {
+            CompletableFuture<Void> adding = CompletableFuture.runAsync(
+                    () -> suggester.add(Product.builder().id(5L).name("Drone DJI Mini").build()));
+            assertThat(adding).succeedsWithin(Duration.ofSeconds(5));
+            return List.of(Product.builder().id(1L).name("Console Xbox").build());
+        });
+
+        // Act
+        suggester.rebuild();
+
+        // Assert
+        assertThat(suggester.suggest("dji", 10)).extracting(Suggestion::id).containsExactly(5L);
+        assertThat(suggester.suggest("xbox", 10)).extracting(Suggestion::id).containsExactly(1L);
+    }
+
+    private static OrderRepository.ProductOrderCount orderCount(long productId, long orders) {
+        return new OrderRepository.ProductOrderCount() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public long getOrders() {
+                return orders;
+            }
+        };
+    }
+}
@@ -0,0 +1,179 @@
+package org.stand.springbootecommerce.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.stand.springbootecommerce.entity.user.SearchSketch;
+import org.stand.springbootecommerce.repository.SearchSketchRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitaires - SearchAnalytics")
+class SearchAnalyticsTest {
+
+    @Mock
+    private SearchSketchRepository searchSketchRepository;
+
+    private SearchAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        analytics = newAnalytics(searchSketchRepository);
+    }
+
+    @Test
+    @DisplayName("Doit regrouper les requêtes normalisées et isoler celles sans résultat")
+    void record_NormalizedQueries() {
+        // Act
+        analytics.record("iPhone 14", 3);
+        analytics.record("  iphone   14 ", 3);
+        analytics.record("Écran OLED", 0);
+        analytics.record("   ", 0);
+
+        // Assert
+        SearchAnalytics.Report report = analytics.report(10);
+        assertThat(report.searches()).isEqualTo(3);
+        assertThat(report.zeroResultSearches()).isEqualTo(1);
+        assertThat(report.topQueries()).extracting(SpaceSaving.HeavyHitter::item)
+                .containsExactly("iphone 14", "ecran oled");
+        assertThat(report.zeroResultQueries()).extracting(SpaceSaving.HeavyHitter::item)
+                .containsExactly("ecran oled");
+        assertThat(analytics.estimate("IPHONE 14")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Doit sauvegarder les sketches et les restaurer au démarrage")
+    void snapshot_RestoredOnStartup() {
+        // Arrange
+        analytics.record("ps5", 2);
+        analytics.record("ps6", 0);
+
+        // Act
+        analytics.snapshot();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SearchSketch>> saved = ArgumentCaptor.forClass(List.class);
+        verify(searchSketchRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(SearchSketch::getName).containsExactlyInAnyOrder(
+                SearchAnalytics.FREQUENCIES, SearchAnalytics.TOP_QUERIES, SearchAnalytics.ZERO_RESULT_QUERIES);
+        assertThat(saved.getValue()).extracting(SearchSketch::getInstance).containsOnly("pod-a");
+
+        SearchSketchRepository restoredRepository = mock(SearchSketchRepository.class);
+        when(restoredRepository.findByInstance("pod-a")).thenReturn(saved.getValue());
+        SearchAnalytics restored = newAnalytics(restoredRepository);
+        assertThat(restored.report(10)).isEqualTo(analytics.report(10));
+        assertThat(restored.estimate("ps5")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Doit fusionner les sketches des autres instances dans le rapport")
+    void report_MergesOtherInstances() {
+        // Arrange
+        SearchSketchRepository otherRepository = mock(SearchSketchRepository.class);
+        SearchAnalytics other = newAnalytics(otherRepository, "pod-b");
+        other.record("ps5", 2);
+        other.record("drone", 0);
+        other.snapshot();
+        List<SearchSketch> otherSketches = savedBy(otherRepository);
+        when(searchSketchRepository.findByInstanceNot("pod-a")).thenReturn(otherSketches);
+        analytics.record("ps5", 2);
+
+        // Act
+        SearchAnalytics.Report report = analytics.report(10);
+
+        // Assert
+        assertThat(report.searches()).isEqualTo(3);
+        assertThat(report.zeroResultSearches()).isEqualTo(1);
+        assertThat(report.topQueries()).first().isEqualTo(new SpaceSaving.HeavyHitter("ps5", 2, 0));
+        assertThat(analytics.estimate("ps5")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Doit reprendre le snapshot d'une instance disparue une seule fois")
+    void snapshot_AdoptsOrphanedInstance() {
+        // Arrange
+        SearchSketchRepository goneRepository = mock(SearchSketchRepository.class);
+        SearchAnalytics gone = newAnalytics(goneRepository, "pod-gone");
+        gone.record("tv", 1);
+        gone.snapshot();
+        List<SearchSketch> orphan = savedBy(goneRepository);
+        Instant writtenAt = orphan.get(0).getUpdatedAt();
+        when(searchSketchRepository.findByInstanceNotAndUpdatedAtBefore(eq("pod-a"), any()))
+                .thenReturn(orphan);
+        when(searchSketchRepository.deleteSnapshot("pod-gone", writtenAt)).thenReturn(3, 0);
+        analytics.record("tv", 1);
+
+        // Act: the second time, another instance already took it over
+        analytics.snapshot();
+        analytics.snapshot();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SearchSketch>> saved = ArgumentCaptor.forClass(List.class);
+        verify(searchSketchRepository, times(2)).saveAll(saved.capture());
+        SearchSketchRepository restoredRepository = mock(SearchSketchRepository.class);
+        when(restoredRepository.findByInstance("pod-a")).thenReturn(saved.getValue());
+        assertThat(newAnalytics(restoredRepository).estimate("tv")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Doit exporter les totaux et les requêtes les plus fréquentes")
+    void bindTo_ExportsMeters() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        analytics.bindTo(registry);
+        analytics.record("drone", 0);
+        analytics.record("drone", 0);
+        analytics.record("tv", 4);
+
+        // Act
+        analytics.snapshot();
+
+        // Assert
+        assertThat(registry.get("search.queries").functionCounter().count()).isEqualTo(3);
+        assertThat(registry.get("search.queries.zero.results").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("search.queries.top").tag("query", "drone").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("search.queries.zero.results.top").gauges()).hasSize(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<SearchSketch> savedBy(SearchSketchRepository repository) {
+        ArgumentCaptor<List<SearchSketch>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        return saved.getValue();
+    }
+
+    private static SearchAnalytics newAnalytics(SearchSketchRepository repository) {
+        return newAnalytics(repository, "pod-a");
+    }
+
+    private static SearchAnalytics newAnalytics(SearchSketchRepository repository, String instance) {
+        SearchAnalytics analytics = new SearchAnalytics(repository);
+        ReflectionTestUtils.setField(analytics, "depth", 4);
+        ReflectionTestUtils.setField(analytics, "width", 256);
+        ReflectionTestUtils.setField(analytics, "topK", 10);
+        ReflectionTestUtils.setField(analytics, "exportedTop", 5);
+        ReflectionTestUtils.setField(analytics, "instance", instance);
+        ReflectionTestUtils.setField(analytics, "orphanAfter", Duration.ofHours(1));
+        analytics.init();
+        return analytics;
+    }
+}
@@ -0,0 +1,134 @@
+package org.stand.springbootecommerce.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.stand.springbootecommerce.entity.user.Product;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitaires - SearchResultCache")
+class SearchResultCacheTest {
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache(productSearchIndex);
+        ReflectionTestUtils.setField(cache, "maximumIds", 100L);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(10));
+        cache.init();
+    }
+
+    @Test
+    @DisplayName("Doit servir une requête répétée depuis le cache, quelle que soit sa forme")
+    void get_NormalizedQueryHitsCache() {
+        // Arrange
+        when(productSearchIndex.search(anyString(), anyInt()))
+                .thenAnswer(invocation -> top(List.of(4L, 2L, 9L), invocation.getArgument(1)));
+
+        // Act
+        SearchResultCache.Result first = cache.get("iPhone", 0, 2);
+        SearchResultCache.Result second = cache.get("  IPHONE ", 0, 2);
+        SearchResultCache.Result nextPage = cache.get("iphone", 2, 2);
+
+        // Assert
+        assertThat(first).isEqualTo(new SearchResultCache.Result(List.of(4L, 2L), 3));
+        assertThat(second).isSameAs(first);
+        assertThat(nextPage).isEqualTo(new SearchResultCache.Result(List.of(9L), 3));
+        verify(productSearchIndex).search(anyString(), eq(2));
+        verify(productSearchIndex).search(anyString(), eq(4));
+    }
+
+    @Test
+    @DisplayName("Doit borner le cache au nombre d'ids retenus, pas au nombre d'entrées")
+    void get_BoundedByIdsHeld() {
+        // Arrange
+        List<Long> ranking = LongStream.range(0, 80).boxed().toList();
+        when(productSearchIndex.search(anyString(), anyInt())).thenReturn(top(ranking, SearchResultCache.ALL));
+
+        // Act
+        cache.get("tv", 0, SearchResultCache.ALL);
+        cache.get("drone", 0, SearchResultCache.ALL);
+
+        // Assert
+        Cache<?, ?> results = (Cache<?, ?>) ReflectionTestUtils.getField(cache, "results");
+        results.cleanUp();
+        assertThat(results.estimatedSize()).isEqualTo(1);
+        assertThat(results.policy().eviction().orElseThrow().weightedSize()).hasValue(81);
+    }
+
+    @Test
+    @DisplayName("Doit ignorer les entrées d'une génération précédente de l'index")
+    void get_NewGenerationMisses() {
+        // Arrange
+        when(productSearchIndex.search("tv", 10)).thenReturn(top(List.of(1L), 10));
+        cache.get("tv", 0, 10);
+
+        // Act
+        when(productSearchIndex.generation()).thenReturn(1L);
+        cache.get("tv", 0, 10);
+
+        // Assert
+        verify(productSearchIndex, times(2)).search("tv", 10);
+    }
+
+    @Test
+    @DisplayName("Doit invalider uniquement les requêtes que le produit ajouté peut satisfaire")
+    void invalidate_MatchingQueriesOnly() {
+        // Arrange
+        when(productSearchIndex.search(anyString(), anyInt())).thenReturn(top(List.of(1L), 10));
+        for (String query : List.of("samsung", "sams", "samsumg", "tv", "drone")) {
+            cache.get(query, 0, 10);
+        }
+
+        // Act
+        cache.invalidate(Product.builder().id(7L).name("Samsung Galaxy").description("Écran").build());
+        for (String query : List.of("samsung", "sams", "samsumg", "tv", "drone")) {
+            cache.get(query, 0, 10);
+        }
+
+        // Assert: prefix and typo still match, the others stay cached
+        verify(productSearchIndex, times(2)).search("samsung", 10);
+        verify(productSearchIndex, times(2)).search("sams", 10);
+        verify(productSearchIndex, times(2)).search("samsumg", 10);
+        verify(productSearchIndex, times(1)).search("tv", 10);
+        verify(productSearchIndex, times(1)).search("drone", 10);
+    }
+
+    @Test
+    @DisplayName("Ne doit pas conserver un résultat calculé pendant une invalidation")
+    void get_InvalidatedDuringSearchNotCached() {
+        // Arrange: the product is added while the ranking is being computed
+        Product added = Product.builder().id(7L).name("Drone").build();
+        when(productSearchIndex.search("drone", 10)).thenAnswer(invocation -> {
+            cache.invalidate(added);
+            return top(List.of(), 10);
+        });
+
+        // Act
+        cache.get("drone", 0, 10);
+        cache.get("drone", 0, 10);
+
+        // Assert
+        verify(productSearchIndex, times(2)).search("drone", 10);
+    }
+
+    private static ProductSearchIndex.Ranking top(List<Long> ranking, int limit) {
+        return new ProductSearchIndex.Ranking(ranking.subList(0, Math.min(limit, ranking.size())), ranking.size());
+    }
+}
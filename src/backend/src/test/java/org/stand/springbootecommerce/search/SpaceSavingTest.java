@@ -0,0 +1,119 @@
+package org.stand.springbootecommerce.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests Unitaires - SpaceSaving")
+class SpaceSavingTest {
+
+    @Test
+    @DisplayName("Doit compter exactement tant que la capacité n'est pas atteinte")
+    void top_ExactUnderCapacity() {
+        // Arrange
+        SpaceSaving summary = new SpaceSaving(10);
+
+        // Act
+        for (String query : new String[]{"iphone", "samsung", "iphone", "ps5", "iphone", "samsung"}) {
+            summary.offer(query);
+        }
+
+        // Assert
+        assertThat(summary.top(2)).containsExactly(
+                new SpaceSaving.HeavyHitter("iphone", 3, 0),
+                new SpaceSaving.HeavyHitter("samsung", 2, 0));
+        assertThat(summary.total()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Doit garder les requêtes fréquentes malgré un flux de requêtes uniques")
+    void top_HeavyHittersSurviveNoise() {
+        // Arrange
+        SpaceSaving summary = new SpaceSaving(20);
+        Random random = new Random(1);
+
+        // Act: 10% "iphone", 5% "ps5", the rest distinct
+        for (int i = 0; i < 10_000; i++) {
+            double draw = random.nextDouble();
+            summary.offer(draw < 0.10 ? "iphone" : draw < 0.15 ? "ps5" : "noise " + i);
+        }
+
+        // Assert
+        assertThat(summary.top(2)).extracting(SpaceSaving.HeavyHitter::item).containsExactly("iphone", "ps5");
+        SpaceSaving.HeavyHitter iphone = summary.top(1).get(0);
+        assertThat(iphone.count() - iphone.error()).isLessThanOrEqualTo(1100).isGreaterThan(900);
+        assertThat(summary.top(100)).hasSize(20);
+    }
+
+    @Test
+    @DisplayName("Doit se restaurer à l'identique depuis sa forme sérialisée")
+    void bytes_RoundTrip() {
+        // Arrange
+        SpaceSaving summary = new SpaceSaving(3);
+        for (String query : new String[]{"écran", "ps5", "écran", "drone", "tv"}) {
+            summary.offer(query);
+        }
+
+        // Act
+        SpaceSaving restored = SpaceSaving.fromBytes(summary.toBytes());
+
+        // Assert
+        assertThat(restored.capacity()).isEqualTo(3);
+        assertThat(restored.total()).isEqualTo(5);
+        assertThat(restored.top(3)).containsExactlyElementsOf(summary.top(3));
+    }
+
+    @Test
+    @DisplayName("Doit fusionner deux résumés sans perdre les requêtes fréquentes de l'un ou l'autre")
+    void merge_KeepsHeavyHittersOfBoth() {
+        // Arrange: "iphone" frequent on one instance, "ps5" on the other, noise on both
+        SpaceSaving left = new SpaceSaving(20);
+        SpaceSaving right = new SpaceSaving(20);
+        for (int i = 0; i < 5_000; i++) {
+            left.offer(i % 10 == 0 ? "iphone" : "left " + i);
+            right.offer(i % 5 == 0 ? "ps5" : i % 20 == 1 ? "iphone" : "right " + i);
+        }
+
+        // Act
+        SpaceSaving merged = left.merge(right);
+
+        // Assert
+        assertThat(merged.total()).isEqualTo(10_000);
+        assertThat(merged.top(2)).extracting(SpaceSaving.HeavyHitter::item).containsExactly("ps5", "iphone");
+        SpaceSaving.HeavyHitter iphone = merged.top(2).get(1);
+        assertThat(iphone.count()).isGreaterThanOrEqualTo(750);
+        assertThat(iphone.count() - iphone.error()).isLessThanOrEqualTo(750);
+    }
+
+    @Test
+    @DisplayName("Doit compter exactement les offres concurrentes")
+    void offer_Concurrent() throws Exception {
+        // Arrange
+        SpaceSaving summary = new SpaceSaving(50);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        // Act
+        for (int thread = 0; thread < 4; thread++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    summary.offer("query " + i % 40);
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        assertThat(summary.total()).isEqualTo(40_000);
+        assertThat(summary.top(40)).hasSize(40).allSatisfy(hitter -> {
+            assertThat(hitter.count()).isEqualTo(1_000);
+            assertThat(hitter.error()).isZero();
+        });
+    }
+}
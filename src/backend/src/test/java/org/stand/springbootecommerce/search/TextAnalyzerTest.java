@@ -0,0 +1,37 @@
+package org.stand.springbootecommerce.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests Unitaires - TextAnalyzer")
+class TextAnalyzerTest {
+
+    @Test
+    @DisplayName("Doit découper en termes minuscules sans accents")
+    void tokenize_FoldsCaseAndAccents() {
+        assertThat(TextAnalyzer.tokenize("Écran OLED très lumineux, qualità élevée"))
+                .containsExactly("ecran", "oled", "tres", "lumineux", "qualita", "elevee");
+    }
+
+    @Test
+    @DisplayName("Doit ignorer les élisions mais conserver les chiffres isolés")
+    void tokenize_ElisionsAndDigits() {
+        assertThat(TextAnalyzer.tokenize("L'écran dell'iPhone 14 - PlayStation 5"))
+                .containsExactly("ecran", "dell", "iphone", "14", "playstation", "5");
+    }
+
+    @Test
+    @DisplayName("Doit développer les ligatures")
+    void tokenize_Ligatures() {
+        assertThat(TextAnalyzer.tokenize("Cœur Straße")).containsExactly("coeur", "strasse");
+    }
+
+    @Test
+    @DisplayName("Doit retourner une liste vide pour un texte vide")
+    void tokenize_Empty() {
+        assertThat(TextAnalyzer.tokenize(null)).isEmpty();
+        assertThat(TextAnalyzer.tokenize(" ,;! ")).isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package org.stand.springbootecommerce.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests Unitaires - BloomFilter")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Ne doit jamais produire de faux négatif")
+    void mightContain_NoFalseNegatives() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        String[] values = new String[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i]);
+        }
+
+        // Act & Assert
+        for (String value : values) {
+            assertThat(filter.mightContain(value)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Le taux de faux positifs doit rester proche du taux configuré")
+    void mightContain_FalsePositiveRateWithinBounds() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        // Act
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("Un filtre vide ne doit rien contenir")
+    void mightContain_EmptyFilter() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(100, 0.01);
+
+        // Act & Assert
+        assertThat(filter.mightContain("anything")).isFalse();
+    }
+}
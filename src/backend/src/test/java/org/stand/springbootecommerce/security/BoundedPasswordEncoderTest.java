@@ -0,0 +1,119 @@
+package org.stand.springbootecommerce.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.stand.springbootecommerce.error.ServiceOverloadedException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests unitaires de BoundedPasswordEncoder")
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Doit hacher et vérifier un mot de passe sur le pool dédié")
+    void encodeAndMatches() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, registry);
+
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertThat(encoder.matches("password123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(registry.get("password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(registry.get("password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Doit rejeter immédiatement quand le pool et la file sont pleins")
+    void rejectsWhenSaturated() throws Exception {
+        // Arrange : 1 thread occupé + 1 place dans la file
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started, release), 1, 1, registry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        waitForQueueDepth(1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(registry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+    }
+
+    @Test
+    @DisplayName("Doit dimensionner le pool par défaut à la moitié des CPU, au moins un thread")
+    void defaultThreads_HalfTheCpus() {
+        assertThat(BoundedPasswordEncoder.defaultThreads(1)).isEqualTo(1);
+        assertThat(BoundedPasswordEncoder.defaultThreads(2)).isEqualTo(1);
+        assertThat(BoundedPasswordEncoder.defaultThreads(8)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Doit refuser une file sans capacité")
+    void rejectsEmptyQueue() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+
+        assertThatThrownBy(() -> new BoundedPasswordEncoder(bcrypt, 1, 0, registry))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("La calibration ne doit jamais descendre sous le coût minimal")
+    void calibrate_NeverBelowMinimum() {
+        assertThat(BCryptCostCalibrator.calibrate(Duration.ofNanos(1), 4, 6)).isEqualTo(4);
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("password.hash.queue.depth").gauge().value() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+    }
+}
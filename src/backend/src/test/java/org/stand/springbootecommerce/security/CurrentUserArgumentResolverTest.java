@@ -0,0 +1,104 @@
+package org.stand.springbootecommerce.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.error.UserNotAuthenticatedException;
+import org.stand.springbootecommerce.service.AuthenticationService;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires de CurrentUserArgumentResolver")
+class CurrentUserArgumentResolverTest {
+
+    @Mock
+    private AuthenticationService authenticationService;
+
+    @Mock
+    private ObjectProvider<AuthenticationService> authenticationServiceProvider;
+
+    private CurrentUserArgumentResolver resolver;
+    private NativeWebRequest webRequest;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new CurrentUserArgumentResolver(authenticationServiceProvider);
+        webRequest = new ServletWebRequest(new MockHttpServletRequest());
+        user = User.builder().id(1L).email("test@example.com").build();
+    }
+
+    @Test
+    @DisplayName("Ne doit supporter que les paramètres User annotés @CurrentUser")
+    void supportsParameter() throws Exception {
+        assertThat(resolver.supportsParameter(parameter("annotated", 0))).isTrue();
+        assertThat(resolver.supportsParameter(parameter("notAnnotated", 0))).isFalse();
+        assertThat(resolver.supportsParameter(parameter("wrongType", 0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Doit résoudre l'utilisateur une seule fois par requête")
+    void resolveArgument_OncePerRequest() throws Exception {
+        // Arrange
+        when(authenticationServiceProvider.getObject()).thenReturn(authenticationService);
+        when(authenticationService.me()).thenReturn(user);
+        MethodParameter parameter = parameter("annotated", 0);
+
+        // Act
+        Object first = resolver.resolveArgument(parameter, null, webRequest, null);
+        Object second = resolver.resolveArgument(parameter, null, webRequest, null);
+
+        // Assert
+        assertThat(first).isSameAs(user);
+        assertThat(second).isSameAs(user);
+        verify(authenticationService, times(1)).me();
+    }
+
+    @Test
+    @DisplayName("Doit propager l'absence d'authentification")
+    void resolveArgument_NotAuthenticated() throws Exception {
+        // Arrange
+        when(authenticationServiceProvider.getObject()).thenReturn(authenticationService);
+        when(authenticationService.me()).thenThrow(new UserNotAuthenticatedException());
+        MethodParameter parameter = parameter("annotated", 0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> resolver.resolveArgument(parameter, null, webRequest, null))
+                .isInstanceOf(UserNotAuthenticatedException.class);
+    }
+
+    private static MethodParameter parameter(String methodName, int index) throws NoSuchMethodException {
+        for (Method method : Handlers.class.getDeclaredMethods()) {
+            if (method.getName().equals(methodName)) {
+                return new MethodParameter(method, index);
+            }
+        }
+        throw new NoSuchMethodException(methodName);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Handlers {
+        void annotated(@CurrentUser User user) {
+        }
+
+        void notAnnotated(User user) {
+        }
+
+        void wrongType(@CurrentUser String email) {
+        }
+    }
+}
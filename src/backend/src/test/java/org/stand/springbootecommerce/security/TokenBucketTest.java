@@ -0,0 +1,80 @@
+package org.stand.springbootecommerce.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Tests Unitaires - TokenBucket")
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Doit autoriser une rafale jusqu'à la capacité puis refuser")
+    void tryConsume_BurstUpToCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(5, Duration.ofSeconds(5), 0);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryConsume(0)).isZero();
+        }
+        assertThat(bucket.tryConsume(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    @DisplayName("Doit se remplir au rythme configuré sans dépasser la capacité")
+    void tryConsume_RefillsOverTime() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2, Duration.ofSeconds(2), 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        // Act & Assert
+        assertThat(bucket.tryConsume(SECOND)).isZero();
+        assertThat(bucket.tryConsume(SECOND)).isPositive();
+        // Longtemps inactif : de nouveau plein, mais pas au-delà de la capacité
+        assertThat(bucket.tryConsume(100 * SECOND)).isZero();
+        assertThat(bucket.tryConsume(100 * SECOND)).isZero();
+        assertThat(bucket.tryConsume(100 * SECOND)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Ne doit jamais distribuer plus de jetons que la capacité en concurrence")
+    void tryConsume_Concurrent() throws InterruptedException {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1000, Duration.ofHours(1), 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 500; j++) {
+                    if (bucket.tryConsume(0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        assertThat(granted.get()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Doit refuser une capacité nulle")
+    void constructor_InvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, Duration.ofSeconds(1), 0));
+    }
+}
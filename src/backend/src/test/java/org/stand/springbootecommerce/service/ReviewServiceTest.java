@@ -132,16 +132,17 @@ class ReviewServiceTest {
     void getProductReviews_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Review> reviewPage = new PageImpl<>(Arrays.asList(review));
-        when(reviewRepository.findByProductId(1L, pageable)).thenReturn(reviewPage);
+        Page<ReviewRepository.ReviewSummary> reviewPage = new PageImpl<>(
+                Arrays.asList(mock(ReviewRepository.ReviewSummary.class)));
+        when(reviewRepository.findSummariesByProductId(1L, pageable)).thenReturn(reviewPage);
 
         // Act
-        Page<Review> result = reviewService.getProductReviews(1L, pageable);
+        Page<ReviewRepository.ReviewSummary> result = reviewService.getProductReviews(1L, pageable);
 
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
-        verify(reviewRepository, times(1)).findByProductId(1L, pageable);
+        verify(reviewRepository, times(1)).findSummariesByProductId(1L, pageable);
     }
 
     @Test
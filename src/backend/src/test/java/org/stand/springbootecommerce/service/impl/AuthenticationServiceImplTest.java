@@ -7,13 +7,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.MessageSource;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.stand.springbootecommerce.dto.request.AuthenticationRequest;
 import org.stand.springbootecommerce.service.JwtService;
+import org.stand.springbootecommerce.service.SessionService;
+import org.stand.springbootecommerce.service.TokenRevocationService;
+import org.stand.springbootecommerce.security.JwtClaims;
 import org.stand.springbootecommerce.dto.request.RegisterRequest;
 import org.stand.springbootecommerce.entity.user.User;
 import org.stand.springbootecommerce.repository.UserRepository;
+import org.stand.springbootecommerce.security.AuthenticatedUser;
+import org.stand.springbootecommerce.security.UserPrincipalCache;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +40,14 @@ class AuthenticationServiceImplTest {
     private AuthenticationManager authenticationManager;
     @Mock
     private MessageSource messageSource;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+    @Mock
+    private ObjectProvider<SessionService> sessionServiceProvider;
+    @Mock
+    private SessionService sessionService;
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
 
     @InjectMocks
     private AuthenticationServiceImpl authenticationService;
@@ -71,6 +86,7 @@ class AuthenticationServiceImplTest {
         // Assert
         assertThat(response).isNotNull();
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userPrincipalCache).evict(registerRequest.getEmail().trim().toLowerCase());
     }
 
     @Test
@@ -135,6 +151,85 @@ class AuthenticationServiceImplTest {
         }
     }
 
+    @Test
+    @DisplayName("Doit charger l'utilisateur d'un principal stateless")
+    void me_StatelessPrincipal() {
+        // Arrange
+        org.springframework.security.core.Authentication authentication = mock(
+                org.springframework.security.core.Authentication.class);
+        org.springframework.security.core.context.SecurityContext securityContext = mock(
+                org.springframework.security.core.context.SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(
+                new AuthenticatedUser(1L, "ahmed@email.com", java.util.List.of()));
+
+        try (org.mockito.MockedStatic<org.springframework.security.core.context.SecurityContextHolder> mockedSecurityContextHolder = mockStatic(
+                org.springframework.security.core.context.SecurityContextHolder.class)) {
+            mockedSecurityContextHolder
+                    .when(org.springframework.security.core.context.SecurityContextHolder::getContext)
+                    .thenReturn(securityContext);
+            when(userRepository.findById(1L)).thenReturn(java.util.Optional.of(user));
+
+            // Act
+            User result = authenticationService.me();
+
+            // Assert
+            assertThat(result).isSameAs(user);
+            verify(userRepository, never()).findByEmail(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Doit refuser un principal stateless dont le compte a été supprimé")
+    void me_StatelessPrincipal_DeletedUser() {
+        // Arrange
+        org.springframework.security.core.Authentication authentication = mock(
+                org.springframework.security.core.Authentication.class);
+        org.springframework.security.core.context.SecurityContext securityContext = mock(
+                org.springframework.security.core.context.SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(
+                new AuthenticatedUser(1L, "ahmed@email.com", java.util.List.of()));
+
+        try (org.mockito.MockedStatic<org.springframework.security.core.context.SecurityContextHolder> mockedSecurityContextHolder = mockStatic(
+                org.springframework.security.core.context.SecurityContextHolder.class)) {
+            mockedSecurityContextHolder
+                    .when(org.springframework.security.core.context.SecurityContextHolder::getContext)
+                    .thenReturn(securityContext);
+            when(userRepository.findById(1L)).thenReturn(java.util.Optional.empty());
+
+            // Act & Assert
+            org.assertj.core.api.Assertions.assertThatThrownBy(() -> authenticationService.me())
+                    .isInstanceOf(org.stand.springbootecommerce.error.UserNotAuthenticatedException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Doit réutiliser l'utilisateur déjà chargé par le filtre JWT")
+    void me_EntityPrincipal() {
+        // Arrange
+        org.springframework.security.core.Authentication authentication = mock(
+                org.springframework.security.core.Authentication.class);
+        org.springframework.security.core.context.SecurityContext securityContext = mock(
+                org.springframework.security.core.context.SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(user);
+
+        try (org.mockito.MockedStatic<org.springframework.security.core.context.SecurityContextHolder> mockedSecurityContextHolder = mockStatic(
+                org.springframework.security.core.context.SecurityContextHolder.class)) {
+            mockedSecurityContextHolder
+                    .when(org.springframework.security.core.context.SecurityContextHolder::getContext)
+                    .thenReturn(securityContext);
+
+            // Act
+            User result = authenticationService.me();
+
+            // Assert
+            assertThat(result).isSameAs(user);
+            verifyNoInteractions(userRepository);
+        }
+    }
+
     @Test
     @DisplayName("Doit lancer une exception si l'utilisateur n'est pas authentifié")
     void me_NotAuthenticated() {
@@ -154,4 +249,82 @@ class AuthenticationServiceImplTest {
                     .isInstanceOf(org.stand.springbootecommerce.error.UserNotAuthenticatedException.class);
         }
     }
+
+    @Test
+    @DisplayName("Doit révoquer le token lors de la déconnexion")
+    void logout_RevokesToken() {
+        // Arrange
+        JwtClaims claims = mock(JwtClaims.class);
+        when(jwtService.parseToken("token")).thenReturn(claims);
+
+        // Act
+        authenticationService.logout("token");
+
+        // Assert
+        verify(tokenRevocationService).revoke(claims);
+    }
+
+    @Test
+    @DisplayName("Ne doit rien révoquer pour un token déjà invalide")
+    void logout_InvalidToken() {
+        // Arrange
+        when(jwtService.parseToken("expired")).thenThrow(new io.jsonwebtoken.ExpiredJwtException(null, null, "expired"));
+
+        // Act
+        authenticationService.logout("expired");
+
+        // Assert
+        verifyNoInteractions(tokenRevocationService);
+    }
+
+    @Test
+    @DisplayName("Doit émettre un token de session opaque lorsqu'il est demandé et activé")
+    void authenticate_SessionToken() {
+        // Arrange
+        AuthenticationRequest authRequest = new AuthenticationRequest(
+                "ahmed@email.com", "password123", AuthenticationRequest.TokenType.SESSION);
+        when(userRepository.findByEmail("ahmed@email.com")).thenReturn(java.util.Optional.of(user));
+        when(sessionServiceProvider.getIfAvailable()).thenReturn(sessionService);
+        when(sessionService.create(user)).thenReturn("st_opaque");
+
+        // Act
+        var response = authenticationService.authenticate(authRequest);
+
+        // Assert
+        assertThat(response.getToken()).isEqualTo("st_opaque");
+        verify(jwtService, never()).generateToken(any());
+    }
+
+    @Test
+    @DisplayName("Doit retomber sur un JWT si les sessions opaques sont désactivées")
+    void authenticate_SessionToken_Disabled() {
+        // Arrange
+        AuthenticationRequest authRequest = new AuthenticationRequest(
+                "ahmed@email.com", "password123", AuthenticationRequest.TokenType.SESSION);
+        when(userRepository.findByEmail("ahmed@email.com")).thenReturn(java.util.Optional.of(user));
+        when(jwtService.generateToken(user)).thenReturn("jwt-token");
+
+        // Act
+        var response = authenticationService.authenticate(authRequest);
+
+        // Assert
+        assertThat(response.getToken()).isEqualTo("jwt-token");
+    }
+
+    @Test
+    @DisplayName("Doit clore la session lors de la déconnexion avec un token opaque")
+    void logout_SessionToken() {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.<java.util.function.Consumer<SessionService>>getArgument(0).accept(sessionService);
+            return null;
+        }).when(sessionServiceProvider).ifAvailable(any());
+
+        // Act
+        authenticationService.logout("st_opaque");
+
+        // Assert
+        verify(sessionService).invalidate("st_opaque");
+        verifyNoInteractions(jwtService, tokenRevocationService);
+    }
 }
@@ -4,28 +4,47 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.security.JwtClaims;
+import org.stand.springbootecommerce.security.TokenRevokedException;
+import org.stand.springbootecommerce.service.TokenRevocationService;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.security.SignatureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Tests unitaires de JwtServiceImpl")
 class JwtServiceImplTest {
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     private JwtServiceImpl jwtService;
     private User user;
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtServiceImpl();
+        jwtService = new JwtServiceImpl(tokenRevocationService);
         // Injecter une clé secrète de test
         ReflectionTestUtils.setField(jwtService, "secretKey",
                 "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
         // Injecter une durée d'expiration de 1 heure (3600000 ms)
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
+        ReflectionTestUtils.setField(jwtService, "tokenCacheMaximumSize", 100L);
+        jwtService.init();
 
         user = User.builder()
                 .id(1L)
@@ -90,4 +109,152 @@ class JwtServiceImplTest {
         // Assert
         assertThat(isValid).isFalse();
     }
+
+    @Test
+    @DisplayName("Doit extraire toutes les claims en un seul parsing")
+    void parseToken_Success() {
+        // Arrange
+        String token = jwtService.generateToken(user);
+
+        // Act
+        JwtClaims claims = jwtService.parseToken(token);
+
+        // Assert
+        assertAll("Claims",
+                () -> assertThat(claims.getSubject()).isEqualTo("test@example.com"),
+                () -> assertThat(claims.getExpiration()).isAfter(Instant.now()),
+                () -> assertThat(claims.getIssuedAt()).isBeforeOrEqualTo(Instant.now()),
+                () -> assertThat(jwtService.isTokenValid(claims, user)).isTrue());
+    }
+
+    @Test
+    @DisplayName("Doit rejeter un token dont la signature a été altérée")
+    void parseToken_TamperedSignature() {
+        // Arrange
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThatThrownBy(() -> jwtService.parseToken(tampered))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    @DisplayName("Doit rejeter un token expiré")
+    void parseToken_Expired() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", -1000L);
+        String token = jwtService.generateToken(user);
+
+        // Act & Assert
+        assertThatThrownBy(() -> jwtService.parseToken(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    @DisplayName("Doit embarquer l'identifiant et les autorités de l'utilisateur dans le token")
+    void generateToken_EmbedsIdentityClaims() {
+        // Act
+        JwtClaims claims = jwtService.parseToken(jwtService.generateToken(user));
+
+        // Assert
+        assertAll("Identity claims",
+                () -> assertThat(claims.getUserId()).isEqualTo(1L),
+                () -> assertThat(claims.getSubject()).isEqualTo("test@example.com"),
+                () -> assertThat(claims.getAuthorities()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Doit servir un token déjà vérifié depuis le cache")
+    void parseToken_CachedAfterFirstVerification() {
+        // Arrange
+        String token = jwtService.generateToken(user);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwtService.bindTo(registry);
+
+        // Act
+        JwtClaims first = jwtService.parseToken(token);
+        JwtClaims second = jwtService.parseToken(token);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(registry.get("jwt.tokens.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Doit rejeter un token altéré même si l'original est en cache")
+    void parseToken_TamperedAfterCachedOriginal() {
+        // Arrange
+        String token = jwtService.generateToken(user);
+        jwtService.parseToken(token);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThatThrownBy(() -> jwtService.parseToken(tampered))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    @DisplayName("Doit expirer l'entrée du cache à l'expiration du token")
+    void parseToken_CacheEntryExpiresWithToken() throws InterruptedException {
+        // Arrange (exp est exprimé en secondes : le token expire dans moins de 1,5 s)
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 1500L);
+        String token = jwtService.generateToken(user);
+        jwtService.parseToken(token);
+
+        // Act
+        Thread.sleep(2000);
+
+        // Assert
+        assertThatThrownBy(() -> jwtService.parseToken(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    @DisplayName("Doit mesurer l'expiration de l'entrée du cache sur le ticker du cache")
+    void parseToken_CacheEntryExpiresOnCacheTicker() {
+        // Arrange
+        AtomicLong nanos = new AtomicLong();
+        ReflectionTestUtils.setField(jwtService, "ticker", (com.github.benmanes.caffeine.cache.Ticker) nanos::get);
+        jwtService.init();
+        String token = jwtService.generateToken(user);
+        JwtClaims first = jwtService.parseToken(token);
+
+        // Act
+        nanos.addAndGet(Duration.ofMinutes(59).toNanos());
+        JwtClaims beforeExpiry = jwtService.parseToken(token);
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        JwtClaims afterExpiry = jwtService.parseToken(token);
+
+        // Assert (après l'expiration sur le ticker, le token est vérifié à nouveau)
+        assertThat(beforeExpiry).isSameAs(first);
+        assertThat(afterExpiry).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Doit attribuer un identifiant unique (jti) à chaque token")
+    void generateToken_UniqueTokenId() {
+        // Act
+        JwtClaims first = jwtService.parseToken(jwtService.generateToken(user));
+        JwtClaims second = jwtService.parseToken(jwtService.generateToken(user));
+
+        // Assert
+        assertThat(first.getTokenId()).isNotBlank();
+        assertThat(first.getTokenId()).isNotEqualTo(second.getTokenId());
+    }
+
+    @Test
+    @DisplayName("Doit rejeter un token révoqué, même déjà présent dans le cache")
+    void parseToken_RevokedAfterCaching() {
+        // Arrange
+        String token = jwtService.generateToken(user);
+        JwtClaims claims = jwtService.parseToken(token);
+        when(tokenRevocationService.isRevoked(claims)).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> jwtService.parseToken(token))
+                .isInstanceOf(TokenRevokedException.class);
+    }
 }
@@ -13,7 +13,6 @@ import org.stand.springbootecommerce.entity.user.Product;
 import org.stand.springbootecommerce.entity.user.User;
 import org.stand.springbootecommerce.repository.OrderRepository;
 import org.stand.springbootecommerce.repository.ProductRepository;
-import org.stand.springbootecommerce.service.AuthenticationService;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -37,9 +36,6 @@ class OrderServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
-    @Mock
-    private AuthenticationService authenticationService;
-
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -83,12 +79,11 @@ class OrderServiceImplTest {
     void createOrder_Success() throws Exception {
         // Arrange
         List<Long> productIds = Arrays.asList(1L, 2L);
-        when(authenticationService.me()).thenReturn(user);
         when(productRepository.findAllById(anyList())).thenReturn(Arrays.asList(product1, product2));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
         // Act
-        Order result = orderService.createOrder(productIds);
+        Order result = orderService.createOrder(user, productIds);
 
         // Assert
         assertThat(result).isNotNull();
@@ -102,10 +97,9 @@ class OrderServiceImplTest {
     void createOrder_UserNotAuthenticated() throws Exception {
         // Arrange
         List<Long> productIds = Arrays.asList(1L, 2L);
-        when(authenticationService.me()).thenThrow(new RuntimeException("Not authenticated"));
 
         // Act & Assert
-        assertThatThrownBy(() -> orderService.createOrder(productIds))
+        assertThatThrownBy(() -> orderService.createOrder(null, productIds))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("User must be logged in to order");
     }
@@ -115,11 +109,10 @@ class OrderServiceImplTest {
     void createOrder_NoValidProducts() throws Exception {
         // Arrange
         List<Long> productIds = Arrays.asList(999L);
-        when(authenticationService.me()).thenReturn(user);
         when(productRepository.findAllById(anyList())).thenReturn(List.of());
 
         // Act & Assert
-        assertThatThrownBy(() -> orderService.createOrder(productIds))
+        assertThatThrownBy(() -> orderService.createOrder(user, productIds))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Cannot create order with no valid products");
     }
@@ -128,16 +121,16 @@ class OrderServiceImplTest {
     @DisplayName("Doit récupérer les commandes de l'utilisateur connecté")
     void getMyOrders_Success() throws Exception {
         // Arrange
-        when(authenticationService.me()).thenReturn(user);
-        when(orderRepository.findByUserId(1L)).thenReturn(Arrays.asList(order));
+        OrderRepository.OrderSummary summary = mock(OrderRepository.OrderSummary.class);
+        when(orderRepository.findSummariesByUserId(1L)).thenReturn(List.of(summary));
 
         // Act
-        List<Order> result = orderService.getMyOrders();
+        List<OrderRepository.OrderSummary> result = orderService.getMyOrders(user);
 
         // Assert
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getUser().getId()).isEqualTo(1L);
-        verify(orderRepository, times(1)).findByUserId(1L);
+        assertThat(result).containsExactly(summary);
+        verify(orderRepository, times(1)).findSummariesByUserId(1L);
+        verify(orderRepository, never()).findByUserId(any());
     }
 
     @Test
@@ -7,12 +7,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.stand.springbootecommerce.catalog.CatalogSnapshot;
+import org.stand.springbootecommerce.catalog.ProductCatalog;
+import org.stand.springbootecommerce.catalog.ProductCounter;
 import org.stand.springbootecommerce.entity.user.ProductCategory;
-import org.stand.springbootecommerce.repository.ProductCategoryRepository;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -22,7 +22,10 @@ import static org.mockito.Mockito.*;
 class ProductCategoryServiceImplTest {
 
     @Mock
-    private ProductCategoryRepository categoryRepository;
+    private ProductCounter productCounter;
+
+    @Mock
+    private ProductCatalog productCatalog;
 
     @InjectMocks
     private ProductCategoryServiceImpl categoryService;
@@ -42,7 +45,7 @@ class ProductCategoryServiceImplTest {
     @DisplayName("Doit retourner la liste de toutes les catégories")
     void getProductCategories_Success() {
         // Arrange
-        when(categoryRepository.findAll()).thenReturn(Arrays.asList(category));
+        when(productCatalog.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(), List.of(category)));
 
         // Act
         List<ProductCategory> result = categoryService.getProductCategories();
@@ -50,14 +53,14 @@ class ProductCategoryServiceImplTest {
         // Assert
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("Electronics");
-        verify(categoryRepository, times(1)).findAll();
+        verifyNoInteractions(productCounter);
     }
 
     @Test
     @DisplayName("Doit trouver une catégorie par son ID")
     void getProductCategoryById_Success() {
         // Arrange
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(productCatalog.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(), List.of(category)));
 
         // Act
         ProductCategory result = categoryService.getProductCategoryById(1L);
@@ -71,7 +74,7 @@ class ProductCategoryServiceImplTest {
     @DisplayName("Doit lancer une exception si la catégorie n'existe pas")
     void getProductCategoryById_NotFound() {
         // Arrange
-        when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productCatalog.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(), List.of(category)));
 
         // Act & Assert
         org.assertj.core.api.Assertions.assertThatThrownBy(() -> categoryService.getProductCategoryById(99L))
@@ -83,13 +86,14 @@ class ProductCategoryServiceImplTest {
     @DisplayName("Doit ajouter une catégorie")
     void addProductCategory_Success() {
         // Arrange
-        when(categoryRepository.save(any(ProductCategory.class))).thenReturn(category);
+        when(productCounter.save(any(ProductCategory.class))).thenReturn(category);
 
         // Act
         ProductCategory result = categoryService.addProductCategory(category);
 
         // Assert
         assertThat(result).isNotNull();
-        verify(categoryRepository).save(category);
+        verify(productCounter).save(category);
+        verify(productCatalog).add(category);
     }
 }
@@ -7,19 +7,35 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.stand.springbootecommerce.catalog.CatalogSnapshot;
+import org.stand.springbootecommerce.catalog.ProductCatalog;
+import org.stand.springbootecommerce.catalog.ProductCounter;
 import org.stand.springbootecommerce.entity.user.Product;
 import org.stand.springbootecommerce.entity.user.ProductCategory;
-import org.stand.springbootecommerce.repository.ProductCategoryRepository;
+import org.stand.springbootecommerce.error.TooManyIdsException;
+import org.stand.springbootecommerce.pagination.CountedPage;
+import org.stand.springbootecommerce.pagination.CursorPage;
+import org.stand.springbootecommerce.pagination.ProductCursor;
+import org.stand.springbootecommerce.pagination.ProductSort;
 import org.stand.springbootecommerce.repository.ProductRepository;
+import org.stand.springbootecommerce.repository.ProductSummary;
+import org.stand.springbootecommerce.repository.specification.ProductFilter;
+import org.stand.springbootecommerce.search.ProductFacetIndex;
+import org.stand.springbootecommerce.search.ProductSearchIndex;
+import org.stand.springbootecommerce.search.ProductSuggester;
+import org.stand.springbootecommerce.search.SearchAnalytics;
+import org.stand.springbootecommerce.search.SearchResultCache;
+import org.stand.springbootecommerce.service.ProductService;
 
 import java.math.BigDecimal;
-import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,7 +46,25 @@ class ProductServiceImplTest {
     private ProductRepository productRepository;
 
     @Mock
-    private ProductCategoryRepository productCategoryRepository;
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductSuggester productSuggester;
+
+    @Mock
+    private ProductFacetIndex productFacetIndex;
+
+    @Mock
+    private SearchAnalytics searchAnalytics;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @Mock
+    private ProductCounter productCounter;
 
     @InjectMocks
     private ProductServiceImpl productService;
@@ -58,7 +92,7 @@ class ProductServiceImplTest {
     @DisplayName("Doit trouver un produit par son ID")
     void getProductById_Success() {
         // Arrange
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        givenCatalog(product);
 
         // Act
         Product result = productService.getProductById(1L);
@@ -66,14 +100,15 @@ class ProductServiceImplTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getName()).isEqualTo("Laptop");
-        verify(productRepository, times(1)).findById(1L);
+        assertThat(result.getCategory().getName()).isEqualTo("Electronics");
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     @DisplayName("Doit lancer une exception si le produit n'existe pas")
     void getProductById_NotFound() {
         // Arrange
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        givenCatalog(product);
 
         // Act & Assert
         assertThatThrownBy(() -> productService.getProductById(99L))
@@ -81,11 +116,39 @@ class ProductServiceImplTest {
                 .hasMessageContaining("Product with id='99' not found");
     }
 
+    @Test
+    @DisplayName("Doit servir un lot de produits depuis le catalogue, dans l'ordre demandé, avec les ids manquants")
+    void getProductsByIds_KeepsOrderAndReportsMissing() {
+        // Arrange
+        Product third = Product.builder().id(3L).name("Tablet").build();
+        givenCatalog(product, third);
+
+        // Act
+        ProductService.Batch batch = productService.getProductsByIds(java.util.Arrays.asList(3L, 99L, 3L, null, 1L));
+
+        // Assert
+        assertThat(batch.products()).extracting(Product::getId).containsExactly(3L, 1L);
+        assertThat(batch.missing()).containsExactly(99L);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Doit refuser un lot de plus de 200 ids")
+    void getProductsByIds_TooMany() {
+        // Arrange
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, 201).boxed().toList();
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getProductsByIds(ids))
+                .isInstanceOf(TooManyIdsException.class);
+        verifyNoInteractions(productRepository);
+    }
+
     @Test
     @DisplayName("Doit ajouter un produit avec succès")
     void addProduct_Success() {
         // Arrange
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productCounter.save(any(Product.class))).thenReturn(product);
 
         // Act
         Product result = productService.addProduct(product);
@@ -93,14 +156,18 @@ class ProductServiceImplTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getName()).isEqualTo("Laptop");
-        verify(productRepository, times(1)).save(product);
+        verify(productCounter).save(product);
+        verify(productSearchIndex).index(product);
+        verify(searchResultCache).invalidate(product);
+        verify(productSuggester).add(product);
+        verify(productFacetIndex).index(product);
+        verify(productCatalog).add(product);
     }
 
     @Test
     @DisplayName("Doit lister les produits par nom de catégorie")
     void getProductsByCategoryName_Success() {
-        when(productCategoryRepository.findByName("Electronics")).thenReturn(Optional.of(category));
-        when(productRepository.findByCategoryId(1L)).thenReturn(Collections.singletonList(product));
+        givenCatalog(product, Product.builder().id(2L).name("Chair").build());
 
         var results = productService.getProductsByCategoryName("Electronics");
 
@@ -111,49 +178,113 @@ class ProductServiceImplTest {
     @Test
     @DisplayName("Doit rechercher des produits par nom")
     void searchProducts_Success() {
-        when(productRepository.findByNameContainingIgnoreCase("Lap")).thenReturn(Collections.singletonList(product));
+        when(searchResultCache.get("Lap", 0, SearchResultCache.ALL))
+                .thenReturn(new SearchResultCache.Result(List.of(1L), 1));
+        givenCatalog(product);
 
         var results = productService.searchProducts("Lap");
 
         assertThat(results).hasSize(1);
         assertThat(results.get(0).getName()).isEqualTo("Laptop");
+        verify(searchAnalytics).record("Lap", 1);
+    }
+
+    @Test
+    @DisplayName("Doit paginer les résultats de recherche en conservant l'ordre du classement")
+    void searchProducts_Paged_KeepsRanking() {
+        // Arrange
+        Product third = Product.builder().id(3L).name("Laptop Air").build();
+        when(searchResultCache.get("laptop", 1, 1)).thenReturn(new SearchResultCache.Result(List.of(3L), 3));
+        givenCatalog(product, third);
+
+        // Act
+        var page = productService.searchProducts("laptop", 1, 1);
+
+        // Assert
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(Product::getId).containsExactly(3L);
+        verify(productRepository, never()).findByNameContainingIgnoreCase(any());
+        verify(searchAnalytics).record("laptop", 3);
     }
 
     @Test
-    @DisplayName("Doit retourner tous les produits paginés (query null)")
+    @DisplayName("Doit retourner tous les produits paginés (query null) depuis le catalogue, avec le total partagé")
     void getProducts_All_Paged() {
         // Arrange
-        org.springframework.data.domain.Page<Product> productPage = new org.springframework.data.domain.PageImpl<>(
-                java.util.Collections.singletonList(product));
-        when(productRepository.findAll(any(org.springframework.data.domain.PageRequest.class))).thenReturn(productPage);
+        givenCatalog(java.util.stream.LongStream.rangeClosed(1, 12)
+                .mapToObj(id -> Product.builder().id(id).name("Product " + id).build())
+                .toArray(Product[]::new));
+        when(productCounter.count()).thenReturn(12L);
+
+        // Act
+        org.springframework.data.domain.Page<Product> result = productService.getProducts(null, 1, 10);
+
+        // Assert
+        assertThat(result.getContent()).extracting(Product::getId).containsExactly(11L, 12L);
+        assertThat(result.getTotalElements()).isEqualTo(12);
+        assertThat(((CountedPage<Product>) result).isApproximate()).isFalse();
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Doit paginer une catégorie depuis le catalogue, avec son total partagé")
+    void getProducts_Category_Paged() {
+        // Arrange
+        ProductCategory other = ProductCategory.builder().id(2L).name("Furniture").build();
+        givenCatalog(product,
+                Product.builder().id(2L).name("Chair").category(other).build(),
+                Product.builder().id(3L).name("Phone").category(category).build());
+        when(productCounter.count(1L)).thenReturn(2L);
+
+        // Act
+        CountedPage<Product> result = productService.getProducts(null, 1L, 1, 1);
+
+        // Assert
+        assertThat(result.getContent()).extracting(Product::getId).containsExactly(3L);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.isApproximate()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Doit filtrer la recherche par catégorie avec un total approximatif")
+    void getProducts_SearchInCategory_Approximate() {
+        // Arrange
+        Product other = Product.builder().id(2L).name("Laptop Bag").build();
+        when(searchResultCache.get("laptop", 0, SearchResultCache.ALL))
+                .thenReturn(new SearchResultCache.Result(List.of(2L, 1L), 2));
+        when(productFacetIndex.categoryOf(1L)).thenReturn(1L);
+        when(productFacetIndex.categoryOf(2L)).thenReturn(4L);
+        givenCatalog(product, other);
 
         // Act
-        org.springframework.data.domain.Page<Product> result = productService.getProducts(null, 0, 10);
+        CountedPage<Product> result = productService.getProducts("laptop", 1L, 0, 10);
 
         // Assert
+        assertThat(result.getContent()).extracting(Product::getId).containsExactly(1L);
         assertThat(result.getTotalElements()).isEqualTo(1);
-        verify(productRepository).findAll(any(org.springframework.data.domain.PageRequest.class));
+        assertThat(result.isApproximate()).isTrue();
+        verify(searchAnalytics).record("laptop", 2);
     }
 
     @Test
     @DisplayName("Doit retourner les produits par ID de catégorie")
     void getProductsByCategoryId_Success() {
         // Arrange
-        when(productRepository.findByCategoryId(1L)).thenReturn(Collections.singletonList(product));
+        givenCatalog(product, Product.builder().id(2L).name("Chair").build());
 
         // Act
         java.util.List<Product> result = productService.getProductsByCategoryId(1L);
 
         // Assert
-        assertThat(result).hasSize(1);
-        verify(productRepository).findByCategoryId(1L);
+        assertThat(result).extracting(Product::getId).containsExactly(1L);
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     @DisplayName("Doit lancer une exception si la catégorie n'existe pas lors de la recherche par nom")
     void getProductsByCategoryName_CategoryNotFound() {
         // Arrange
-        when(productCategoryRepository.findByName("NonExistent")).thenReturn(java.util.Optional.empty());
+        givenCatalog(product);
 
         // Act & Assert
         org.assertj.core.api.Assertions
@@ -161,4 +292,127 @@ class ProductServiceImplTest {
                 .isInstanceOf(java.util.NoSuchElementException.class)
                 .hasMessageContaining("ProductCategory with name='NonExistent' not found");
     }
+
+    @Test
+    @DisplayName("Doit calculer les facettes sur les résultats de la recherche")
+    void getProductFacets_OverSearchResults() {
+        // Arrange
+        Map<String, Map<String, Integer>> facets = Map.of("stock", Map.of("in_stock", 2));
+        when(searchResultCache.get("laptop", 0, SearchResultCache.ALL))
+                .thenReturn(new SearchResultCache.Result(List.of(1L, 3L), 2));
+        when(productFacetIndex.count(List.of(1L, 3L))).thenReturn(facets);
+
+        // Act & Assert
+        assertThat(productService.getProductFacets("laptop", null)).isEqualTo(facets);
+    }
+
+    @Test
+    @DisplayName("Doit restreindre les facettes à la catégorie filtrée")
+    void getProductFacets_InCategory() {
+        // Arrange
+        Map<String, Map<String, Integer>> inCategory = Map.of("stock", Map.of("in_stock", 1));
+        Map<String, Map<String, Integer>> searchInCategory = Map.of("stock", Map.of("in_stock", 2));
+        when(productFacetIndex.countCategory(2L)).thenReturn(inCategory);
+        when(searchResultCache.get("laptop", 0, SearchResultCache.ALL))
+                .thenReturn(new SearchResultCache.Result(List.of(1L, 3L, 4L), 3));
+        when(productFacetIndex.categoryOf(1L)).thenReturn(2L);
+        when(productFacetIndex.categoryOf(3L)).thenReturn(1L);
+        when(productFacetIndex.categoryOf(4L)).thenReturn(2L);
+        when(productFacetIndex.count(List.of(1L, 4L))).thenReturn(searchInCategory);
+
+        // Act & Assert
+        assertThat(productService.getProductFacets(null, 2L)).isEqualTo(inCategory);
+        assertThat(productService.getProductFacets("laptop", 2L)).isEqualTo(searchInCategory);
+    }
+
+    @Test
+    @DisplayName("Doit paginer le catalogue par curseur sur (prix, id) sans compter les lignes")
+    void getProducts_Cursor_SeeksOnPriceAndId() {
+        // Arrange
+        ProductSummary first = ProductSummary.of(product);
+        ProductSummary second = ProductSummary.of(
+                Product.builder().id(2L).name("Phone").price(BigDecimal.valueOf(999.99)).build());
+        ProductSummary third = ProductSummary.of(
+                Product.builder().id(3L).name("Tablet").price(BigDecimal.valueOf(1299)).build());
+        when(productRepository.findSummaries(org.springframework.data.domain.PageRequest.of(0, 2,
+                org.springframework.data.domain.Sort.by("price", "id"))))
+                .thenReturn(List.of(first, second));
+        when(productRepository.findNextSummariesByPriceAsc(eq(BigDecimal.valueOf(999.99)), eq(1L), any()))
+                .thenReturn(List.of(second, third));
+
+        // Act
+        CursorPage<ProductSummary> page = productService.getProducts(null, null, ProductSort.PRICE_ASC, 1);
+        CursorPage<ProductSummary> next = productService.getProducts(null, page.nextCursor(), ProductSort.PRICE_ASC,
+                1);
+
+        // Assert
+        assertThat(page.content()).containsExactly(first);
+        assertThat(next.content()).containsExactly(second);
+        assertThat(next.nextCursor()).isNotNull();
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Doit reprendre la recherche après le dernier produit même si le classement a bougé")
+    void getProducts_Cursor_ResumesSearchAfterLastProduct() {
+        // Arrange
+        Product third = Product.builder().id(3L).name("Laptop Air").build();
+        // Product 9 was ranked ahead of product 1 since the first page
+        when(searchResultCache.get("laptop", 0, SearchResultCache.ALL))
+                .thenReturn(new SearchResultCache.Result(List.of(9L, 1L, 3L), 3));
+        givenCatalog(product, third);
+        String cursor = ProductCursor.after(ProductSort.ID, "laptop", 1L, null, 1).encode();
+
+        // Act
+        CursorPage<ProductSummary> page = productService.getProducts("laptop", cursor, ProductSort.ID, 2);
+
+        // Assert
+        assertThat(page.content()).extracting(ProductSummary::id).containsExactly(3L);
+        assertThat(page.nextCursor()).isNull();
+        verify(searchAnalytics, never()).record(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Doit filtrer par catégories avec les totaux partagés, sans requête de comptage")
+    void filterProducts_CategoriesOnly_CountsFromCounter() {
+        // Arrange
+        ProductFilter filter = new ProductFilter(List.of(1L, 2L, 1L), null, null, false, ProductFilter.Order.NAME);
+        when(productRepository.findPage(any(), eq(ProductFilter.Order.NAME.sort()), eq(0L), eq(1)))
+                .thenReturn(List.of(ProductSummary.of(product)));
+        when(productCounter.count(1L)).thenReturn(1L);
+        when(productCounter.count(2L)).thenReturn(2L);
+
+        // Act
+        var result = productService.filterProducts(filter, 0, 1, true);
+
+        // Assert
+        assertThat(result).isInstanceOf(CountedPage.class);
+        assertThat(((CountedPage<ProductSummary>) result).getTotalElements()).isEqualTo(3);
+        verify(productRepository, never()).findAll(
+                any(org.springframework.data.jpa.domain.Specification.class), any(org.springframework.data.domain.Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Doit filtrer sans total en lisant une ligne de plus que la page")
+    void filterProducts_WithoutTotal_Slice() {
+        // Arrange
+        ProductFilter filter = new ProductFilter(null, BigDecimal.ONE, null, true, ProductFilter.Order.PRICE_ASC);
+        ProductSummary first = ProductSummary.of(product);
+        ProductSummary second = ProductSummary.of(Product.builder().id(2L).name("Phone").build());
+        when(productRepository.findPage(any(), eq(ProductFilter.Order.PRICE_ASC.sort()), eq(1L), eq(2)))
+                .thenReturn(List.of(first, second));
+
+        // Act
+        var result = productService.filterProducts(filter, 1, 1, false);
+
+        // Assert
+        assertThat(result).isNotInstanceOf(CountedPage.class);
+        assertThat(result.getContent()).containsExactly(first);
+        assertThat(result.hasNext()).isTrue();
+        verify(productRepository, never()).count(any(org.springframework.data.jpa.domain.Specification.class));
+    }
+
+    private void givenCatalog(Product... products) {
+        when(productCatalog.snapshot()).thenReturn(CatalogSnapshot.of(1, List.of(products), List.of(category)));
+    }
 }
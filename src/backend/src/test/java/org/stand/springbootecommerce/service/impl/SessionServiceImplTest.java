@@ -0,0 +1,174 @@
+package org.stand.springbootecommerce.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.stand.springbootecommerce.entity.user.User;
+import org.stand.springbootecommerce.entity.user.UserSession;
+import org.stand.springbootecommerce.repository.UserSessionRepository;
+import org.stand.springbootecommerce.security.AuthenticatedUser;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitaires - SessionServiceImpl")
+class SessionServiceImplTest {
+
+    @Mock
+    private UserSessionRepository userSessionRepository;
+
+    private SessionServiceImpl sessionService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        sessionService = newInstance();
+        user = User.builder().id(1L).email("session@test.com").build();
+    }
+
+    @Test
+    @DisplayName("Doit émettre un token opaque de 128 bits reconnu ensuite")
+    void create_ThenAuthenticate() {
+        // Act
+        String token = sessionService.create(user);
+        AuthenticatedUser principal = sessionService.authenticate(token);
+
+        // Assert
+        assertThat(token).startsWith("st_").hasSize(3 + 22);
+        assertThat(principal.getId()).isEqualTo(1L);
+        assertThat(principal.getUsername()).isEqualTo("session@test.com");
+        assertThat(sessionService.authenticate("st_unknown")).isNull();
+        assertThat(sessionService.authenticate("eyJ.not.session")).isNull();
+    }
+
+    @Test
+    @DisplayName("Doit écrire la session dès sa création, sans jamais stocker le token")
+    void create_WritesThrough() {
+        // Act
+        String token = sessionService.create(user);
+
+        // Assert
+        UserSession saved = savedSession();
+        assertThat(saved.getTokenHash()).hasSize(64).doesNotContain(token);
+        assertThat(saved.getUserId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Doit rejeter une session inactive au-delà du délai")
+    void authenticate_IdleSession() {
+        // Arrange
+        String token = sessionService.create(user);
+        ReflectionTestUtils.setField(sessionService, "idleTimeout", Duration.ofMillis(-1));
+
+        // Act & Assert
+        assertThat(sessionService.authenticate(token)).isNull();
+    }
+
+    @Test
+    @DisplayName("Doit invalider la session lors de la déconnexion, en base immédiatement")
+    void invalidate_EndsSession() {
+        // Arrange
+        String token = sessionService.create(user);
+
+        // Act
+        sessionService.invalidate(token);
+
+        // Assert
+        String tokenHash = savedSession().getTokenHash();
+        assertThat(sessionService.authenticate(token)).isNull();
+        verify(userSessionRepository).deleteAllByIdInBatch(List.of(tokenHash));
+    }
+
+    @Test
+    @DisplayName("Doit reconnaître une session créée par une autre instance")
+    void authenticate_SessionCreatedOnAnotherReplica() {
+        // Arrange
+        String token = sessionService.create(user);
+        UserSession saved = savedSession();
+        SessionServiceImpl otherReplica = newInstance();
+        when(userSessionRepository.findById(saved.getTokenHash())).thenReturn(Optional.of(saved));
+
+        // Act
+        AuthenticatedUser principal = otherReplica.authenticate(token);
+
+        // Assert
+        assertThat(principal).isNotNull();
+        assertThat(principal.getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Doit constater une déconnexion faite sur une autre instance")
+    void authenticate_SessionEndedOnAnotherReplica() {
+        // Arrange : session connue en mémoire, supprimée en base par l'autre instance
+        String token = sessionService.create(user);
+        String tokenHash = savedSession().getTokenHash();
+        assertThat(sessionService.authenticate(token)).isNotNull();
+        ReflectionTestUtils.setField(sessionService, "revalidateInterval", Duration.ofMillis(-1));
+
+        // Act & Assert
+        assertThat(sessionService.authenticate(token)).isNull();
+        verify(userSessionRepository).findById(tokenHash);
+    }
+
+    @Test
+    @DisplayName("Doit écrire les accès en différé, et oublier une session supprimée ailleurs")
+    void flush_TouchesOrForgets() {
+        // Arrange
+        String token = sessionService.create(user);
+        String tokenHash = savedSession().getTokenHash();
+        ReflectionTestUtils.setField(sessionService, "flushInterval", Duration.ofMillis(-1));
+        sessionService.authenticate(token);
+        when(userSessionRepository.touch(eq(tokenHash), any(Instant.class))).thenReturn(0);
+
+        // Act
+        sessionService.flush();
+
+        // Assert (l'accès est une mise à jour : la session supprimée n'est pas recréée)
+        verify(userSessionRepository, never()).saveAll(any());
+        assertThat(sessionService.authenticate(token)).isNull();
+    }
+
+    @Test
+    @DisplayName("Doit restaurer les sessions persistées au démarrage")
+    void init_RestoresSessions() {
+        // Arrange
+        String token = sessionService.create(user);
+        UserSession saved = savedSession();
+        SessionServiceImpl restarted = newInstance();
+        when(userSessionRepository.findByLastAccessedAtAfter(any(Instant.class))).thenReturn(List.of(saved));
+
+        // Act
+        restarted.init();
+
+        // Assert
+        assertThat(restarted.authenticate(token)).isNotNull();
+        verify(userSessionRepository, never()).findById(any());
+    }
+
+    private SessionServiceImpl newInstance() {
+        SessionServiceImpl instance = new SessionServiceImpl(userSessionRepository);
+        ReflectionTestUtils.setField(instance, "idleTimeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(instance, "flushInterval", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(instance, "revalidateInterval", Duration.ofSeconds(5));
+        return instance;
+    }
+
+    private UserSession savedSession() {
+        ArgumentCaptor<UserSession> saved = ArgumentCaptor.forClass(UserSession.class);
+        verify(userSessionRepository).save(saved.capture());
+        return saved.getValue();
+    }
+}
@@ -0,0 +1,90 @@
+package org.stand.springbootecommerce.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.stand.springbootecommerce.entity.user.RevokedToken;
+import org.stand.springbootecommerce.repository.RevokedTokenRepository;
+import org.stand.springbootecommerce.security.JwtClaims;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitaires - TokenRevocationServiceImpl")
+class TokenRevocationServiceImplTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationServiceImpl(revokedTokenRepository);
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedRevocations", 1000);
+        ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.01);
+        tokenRevocationService.init();
+    }
+
+    @Test
+    @DisplayName("Doit persister et reconnaître immédiatement un token révoqué")
+    void revoke_PersistsAndRejects() {
+        // Arrange
+        JwtClaims claims = claims("jti-1", Instant.now().plusSeconds(3600));
+
+        // Act
+        tokenRevocationService.revoke(claims);
+
+        // Assert
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getTokenId()).isEqualTo("jti-1");
+        assertThat(tokenRevocationService.isRevoked(claims)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(claims("jti-2", Instant.now().plusSeconds(3600)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Ne doit rien persister pour un token sans identifiant")
+    void revoke_WithoutTokenId() {
+        // Act
+        tokenRevocationService.revoke(claims(null, Instant.now().plusSeconds(3600)));
+
+        // Assert
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Le rafraîchissement doit charger les révocations des autres instances et purger les expirées")
+    void refresh_LoadsLiveRevocations() {
+        // Arrange
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(RevokedToken.builder()
+                .tokenId("remote")
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .revokedAt(Instant.now())
+                .build()));
+
+        // Act
+        tokenRevocationService.refresh();
+
+        // Assert
+        verify(revokedTokenRepository, times(2)).deleteExpired(any());
+        assertThat(tokenRevocationService.isRevoked(claims("remote", Instant.now().plusSeconds(3600)))).isTrue();
+    }
+
+    private JwtClaims claims(String tokenId, Instant expiration) {
+        JwtClaims claims = mock(JwtClaims.class);
+        lenient().when(claims.getTokenId()).thenReturn(tokenId);
+        lenient().when(claims.getExpiration()).thenReturn(expiration);
+        return claims;
+    }
+}
@@ -10,6 +10,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.stand.springbootecommerce.entity.user.User;
 import org.stand.springbootecommerce.error.UserNotFoundException;
 import org.stand.springbootecommerce.repository.UserRepository;
+import org.stand.springbootecommerce.security.UserPrincipalCache;
 
 import java.util.Optional;
 
@@ -25,6 +26,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -74,43 +78,32 @@ class UserServiceImplTest {
         org.stand.springbootecommerce.dto.request.UserUpdateRequest updateRequest = new org.stand.springbootecommerce.dto.request.UserUpdateRequest();
         updateRequest.setName("JohnUpdated");
         updateRequest.setSurname("DoeUpdated");
+        User managed = User.builder()
+                .id(1L)
+                .name("John")
+                .surname("Doe")
+                .email("john@test.com")
+                .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(managed));
+
+        // Act
+        User result = userService.updateUser(user, updateRequest);
 
-        org.springframework.security.core.Authentication authentication = mock(
-                org.springframework.security.core.Authentication.class);
-        org.springframework.security.core.context.SecurityContext securityContext = mock(
-                org.springframework.security.core.context.SecurityContext.class);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("john@test.com");
-
-        try (org.mockito.MockedStatic<org.springframework.security.core.context.SecurityContextHolder> mockedSecurityContextHolder = mockStatic(
-                org.springframework.security.core.context.SecurityContextHolder.class)) {
-            mockedSecurityContextHolder
-                    .when(org.springframework.security.core.context.SecurityContextHolder::getContext)
-                    .thenReturn(securityContext);
-            when(userRepository.findByEmail("john@test.com")).thenReturn(Optional.of(user));
-
-            // Act
-            User result = userService.updateUser(updateRequest);
-
-            // Assert
-            assertThat(result.getName()).isEqualTo("JohnUpdated");
-            verify(userRepository).save(user);
-        }
+        // Assert
+        assertThat(result.getName()).isEqualTo("JohnUpdated");
+        // L'instance courante n'est pas modifiée
+        assertThat(user.getName()).isEqualTo("John");
+        verify(userRepository).save(managed);
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userPrincipalCache).evict("john@test.com");
     }
 
     @Test
     @DisplayName("Doit lancer une exception si l'utilisateur n'est pas authentifié lors de la mise à jour")
     void updateUser_NotAuthenticated() {
-         org.springframework.security.core.context.SecurityContext securityContext = mock(org.springframework.security.core.context.SecurityContext.class);
-         when(securityContext.getAuthentication()).thenReturn(null);
-
-         try (org.mockito.MockedStatic<org.springframework.security.core.context.SecurityContextHolder> mockedSecurityContextHolder = mockStatic(org.springframework.security.core.context.SecurityContextHolder.class)) {
-            mockedSecurityContextHolder.when(org.springframework.security.core.context.SecurityContextHolder::getContext).thenReturn(securityContext);
-            
-            org.stand.springbootecommerce.dto.request.UserUpdateRequest updateRequest = new org.stand.springbootecommerce.dto.request.UserUpdateRequest();
+        org.stand.springbootecommerce.dto.request.UserUpdateRequest updateRequest = new org.stand.springbootecommerce.dto.request.UserUpdateRequest();
 
-            assertThatThrownBy(() -> userService.updateUser(updateRequest))
-                    .isInstanceOf(org.stand.springbootecommerce.error.UserNotAuthenticatedException.class);
-        }
+        assertThatThrownBy(() -> userService.updateUser(null, updateRequest))
+                .isInstanceOf(org.stand.springbootecommerce.error.UserNotAuthenticatedException.class);
     }
 }